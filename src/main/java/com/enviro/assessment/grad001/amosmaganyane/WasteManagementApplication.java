@@ -2,8 +2,10 @@ package com.enviro.assessment.grad001.amosmaganyane;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class WasteManagementApplication {
     public static void main(String[] args) {
         SpringApplication.run(WasteManagementApplication.class, args);
@@ -0,0 +1,76 @@
+package com.enviro.assessment.grad001.amosmaganyane.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration class which provides the executors used
+ * for background work such as CSV imports and search fan-out.
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Creates a small bounded executor for import jobs, so concurrent
+     * uploads queue up instead of competing for database connections.
+     *
+     * @return the import executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("csv-import-");
+        return executor;
+    }
+
+    /**
+     * Creates a single-thread executor for loading the startup data in the
+     * background, used when wastemanagement.loader.async is enabled.
+     *
+     * @return the data loader executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor dataLoaderExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("data-loader-");
+        return executor;
+    }
+
+    /**
+     * Creates a single-thread executor for watching the data location, used
+     * when wastemanagement.loader.watch is enabled. Shutting it down on
+     * context close interrupts the watcher.
+     *
+     * @return the data watcher executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor dataWatcherExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("data-watcher-");
+        return executor;
+    }
+
+    /**
+     * Creates a bounded executor for the sources queried by the unified search,
+     * so a burst of searches queues up rather than starting a thread per source.
+     *
+     * @return the search executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor searchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("search-");
+        return executor;
+    }
+}
@@ -0,0 +1,186 @@
+package com.enviro.assessment.grad001.amosmaganyane.config;
+
+import com.enviro.assessment.grad001.amosmaganyane.services.CacheStats;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Hibernate second-level cache regions held in this process. Entity,
+ * collection and query result regions keep their entries in
+ * least-recently-used order, evict the eldest once full and drop an entry
+ * older than the TTL when it is next read, like the entity caches.
+ * <p>
+ * The update timestamps region is neither bounded nor expired: cached query
+ * results are checked against it, and a dropped timestamp would let a stale
+ * result pass as current.
+ */
+public class BoundedRegionFactory extends RegionFactoryTemplate {
+
+    private final SecondLevelCacheProperties properties;
+    private final LongSupplier ticker;
+    private final Map<String, RegionStorage> regions = new ConcurrentHashMap<>();
+
+    public BoundedRegionFactory(SecondLevelCacheProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    BoundedRegionFactory(SecondLevelCacheProperties properties, LongSupplier ticker) {
+        this.properties = properties;
+        this.ticker = ticker;
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(
+            DomainDataRegionConfig regionConfig, DomainDataRegionBuildingContext buildingContext) {
+        return register(new RegionStorage(regionConfig.getRegionName(), properties.getMaxEntries(),
+                properties.getTtl().toNanos(), ticker));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(
+            String regionName, SessionFactoryImplementor sessionFactory) {
+        return register(new RegionStorage(regionName, properties.getMaxEntries(),
+                properties.getTtl().toNanos(), ticker));
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(
+            String regionName, SessionFactoryImplementor sessionFactory) {
+        return register(new RegionStorage(regionName, 0, 0, ticker));
+    }
+
+    private RegionStorage register(RegionStorage storage) {
+        regions.put(storage.name, storage);
+        return storage;
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        // Regions are created when Hibernate asks for them
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(RegionStorage::release);
+        regions.clear();
+    }
+
+    /**
+     * Empties every region, including cached query results, for writes that
+     * bypass Hibernate such as JDBC bulk imports.
+     */
+    public void evictAll() {
+        regions.values().forEach(RegionStorage::evictData);
+    }
+
+    /**
+     * Returns the statistics of every region, ordered by name. A max size of
+     * 0 marks a region that is never bounded.
+     *
+     * @return the region statistics, empty while the second-level cache is off
+     */
+    public List<CacheStats> getStats() {
+        return regions.values().stream()
+                .map(RegionStorage::getStats)
+                .sorted(Comparator.comparing(CacheStats::getName))
+                .toList();
+    }
+
+    /**
+     * The entries of one region. A max size or TTL of 0 turns that limit off.
+     */
+    private static final class RegionStorage implements DomainDataStorageAccess {
+
+        private record Entry(Object value, long storedAt) {
+        }
+
+        private final String name;
+        private final int maxEntries;
+        private final long ttlNanos;
+        private final LongSupplier ticker;
+        private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        // Guarded by this
+        private long hits;
+        private long misses;
+        private long evictions;
+        private long expirations;
+
+        RegionStorage(String name, int maxEntries, long ttlNanos, LongSupplier ticker) {
+            this.name = name;
+            this.maxEntries = maxEntries;
+            this.ttlNanos = ttlNanos;
+            this.ticker = ticker;
+        }
+
+        @Override
+        public synchronized Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            Entry entry = entries.get(key);
+            if (entry != null && isExpired(entry)) {
+                entries.remove(key);
+                expirations++;
+                entry = null;
+            }
+            if (entry == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            return entry.value();
+        }
+
+        @Override
+        public synchronized void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            entries.put(key, new Entry(value, ticker.getAsLong()));
+            if (maxEntries > 0 && entries.size() > maxEntries) {
+                Iterator<Object> eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions++;
+            }
+        }
+
+        @Override
+        public synchronized boolean contains(Object key) {
+            Entry entry = entries.get(key);
+            return entry != null && !isExpired(entry);
+        }
+
+        @Override
+        public synchronized void evictData() {
+            entries.clear();
+        }
+
+        @Override
+        public synchronized void evictData(Object key) {
+            entries.remove(key);
+        }
+
+        @Override
+        public void release() {
+            evictData();
+        }
+
+        synchronized CacheStats getStats() {
+            return new CacheStats(name, true, entries.size(), maxEntries, hits, misses,
+                    evictions, expirations);
+        }
+
+        private boolean isExpired(Entry entry) {
+            return ttlNanos > 0 && ticker.getAsLong() - entry.storedAt() >= ttlNanos;
+        }
+    }
+}
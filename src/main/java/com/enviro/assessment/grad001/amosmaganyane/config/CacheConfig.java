@@ -0,0 +1,30 @@
+package com.enviro.assessment.grad001.amosmaganyane.config;
+
+import com.enviro.assessment.grad001.amosmaganyane.services.EntityCacheManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class which provides the caches used by the
+ * service layer for by-id lookups, and binds the catalog snapshot,
+ * response cache, search cache and fuzzy search settings.
+ */
+@Configuration
+@EnableConfigurationProperties({CacheProperties.class, CatalogProperties.class,
+        ResponseCacheProperties.class, SearchCacheProperties.class, FuzzySearchProperties.class,
+        UnifiedSearchProperties.class})
+public class CacheConfig {
+
+    /**
+     * Creates the cache manager, which hands out bounded caches or, when
+     * wastemanagement.cache.enabled is false, caches that always load.
+     *
+     * @param properties the cache settings
+     * @return the entity cache manager
+     */
+    @Bean
+    public EntityCacheManager entityCacheManager(CacheProperties properties) {
+        return new EntityCacheManager(properties);
+    }
+}
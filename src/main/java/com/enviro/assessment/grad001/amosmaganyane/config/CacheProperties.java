@@ -0,0 +1,52 @@
+package com.enviro.assessment.grad001.amosmaganyane.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-process entity caches,
+ * bound from the {@code wastemanagement.cache} section of application.yml.
+ */
+@ConfigurationProperties(prefix = "wastemanagement.cache")
+public class CacheProperties {
+
+    // Serve by-id lookups from memory; false sends every lookup to the database
+    private boolean enabled = true;
+
+    // Entries held per cache before the least recently used one is evicted
+    private int maxSize = 10_000;
+
+    // How long a loaded entry is served before it is read from the database again
+    private Duration ttl = Duration.ofMinutes(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache max size must be at least 1");
+        }
+        this.maxSize = maxSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache TTL must be positive");
+        }
+        this.ttl = ttl;
+    }
+}
@@ -0,0 +1,55 @@
+package com.enviro.assessment.grad001.amosmaganyane.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Configuration properties for the in-memory catalog snapshot,
+ * bound from the {@code wastemanagement.catalog} section of application.yml.
+ */
+@ConfigurationProperties(prefix = "wastemanagement.catalog")
+public class CatalogProperties {
+
+    /**
+     * Read endpoints that can be served from the catalog snapshot.
+     */
+    public enum Endpoint {
+        // GET /categories
+        CATEGORIES,
+        // GET /categories/{id}
+        CATEGORY_BY_ID,
+        // GET /categories/{id}/tips
+        CATEGORY_TIPS,
+        // GET /categories/{id}/guidelines
+        CATEGORY_GUIDELINES,
+        // GET /tips/{id}
+        TIP_BY_ID,
+        // GET /guidelines/{id}
+        GUIDELINE_BY_ID
+    }
+
+    // Serve reads from the snapshot; false sends every read through JPA
+    private boolean enabled = true;
+
+    // Endpoints served from the snapshot while it is enabled
+    private Set<Endpoint> endpoints = EnumSet.allOf(Endpoint.class);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Set<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Set<Endpoint> endpoints) {
+        this.endpoints = endpoints.isEmpty()
+                ? EnumSet.noneOf(Endpoint.class) : EnumSet.copyOf(endpoints);
+    }
+}
@@ -0,0 +1,146 @@
+package com.enviro.assessment.grad001.amosmaganyane.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the startup data loader,
+ * bound from the {@code wastemanagement.loader} section of application.yml.
+ */
+@ConfigurationProperties(prefix = "wastemanagement.loader")
+public class DataLoaderProperties {
+
+    /**
+     * Strategies the loader can use to write CSV rows to the database.
+     */
+    public enum Mode {
+        // One service call (and one INSERT) per CSV row
+        STANDARD,
+        // Rows validated a chunk at a time and written in JDBC batches
+        BULK,
+        // As BULK, with tips and guidelines loaded concurrently and chunks written in parallel
+        PARALLEL,
+        // As BULK, but rows matching an existing natural key are updated, so loading is repeatable
+        UPSERT
+    }
+
+    /**
+     * Parsers the bulk and parallel modes can read CSV files with.
+     */
+    public enum Parser {
+        // OpenCSV over a character stream
+        OPENCSV,
+        // Memory-mapped files scanned as bytes; resources that are not files fall back to OpenCSV
+        MAPPED
+    }
+
+    private Mode mode = Mode.STANDARD;
+
+    private Parser parser = Parser.OPENCSV;
+
+    private int chunkSize = 1000;
+
+    // Load in the background so the web server starts before the data is in place
+    private boolean async = false;
+
+    // Spring resource location of the directory holding the CSV files
+    private String location = "classpath:/data/";
+
+    // Number of threads writing chunks in parallel mode
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    // Binary snapshot restored instead of the CSV files while they are unchanged; empty to disable
+    private String snapshotPath = "";
+
+    // Watch the data location for changed CSV files and apply them as a delta
+    private boolean watch = false;
+
+    // Quiet period after the last file change before a reload starts
+    private Duration watchDebounce = Duration.ofMillis(500);
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public Parser getParser() {
+        return parser;
+    }
+
+    public void setParser(Parser parser) {
+        this.parser = parser;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location.endsWith("/") ? location : location + "/";
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public String getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    public void setSnapshotPath(String snapshotPath) {
+        this.snapshotPath = snapshotPath == null ? "" : snapshotPath.trim();
+    }
+
+    public boolean isSnapshotEnabled() {
+        return !snapshotPath.isEmpty();
+    }
+
+    public boolean isWatch() {
+        return watch;
+    }
+
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+
+    public Duration getWatchDebounce() {
+        return watchDebounce;
+    }
+
+    public void setWatchDebounce(Duration watchDebounce) {
+        if (watchDebounce.isNegative()) {
+            throw new IllegalArgumentException("Watch debounce must not be negative");
+        }
+        this.watchDebounce = watchDebounce;
+    }
+}
@@ -0,0 +1,25 @@
+package com.enviro.assessment.grad001.amosmaganyane.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for typo-tolerant searches,
+ * bound from the {@code wastemanagement.fuzzy-search} section of application.yml.
+ */
+@ConfigurationProperties(prefix = "wastemanagement.fuzzy-search")
+public class FuzzySearchProperties {
+
+    // Most single-character insertions, deletions or substitutions allowed per word of six or more characters
+    private int maxEdits = 2;
+
+    public int getMaxEdits() {
+        return maxEdits;
+    }
+
+    public void setMaxEdits(int maxEdits) {
+        if (maxEdits < 1 || maxEdits > 2) {
+            throw new IllegalArgumentException("Fuzzy search max edits must be 1 or 2");
+        }
+        this.maxEdits = maxEdits;
+    }
+}
@@ -0,0 +1,28 @@
+package com.enviro.assessment.grad001.amosmaganyane.config;
+
+import com.enviro.assessment.grad001.amosmaganyane.models.PooledSequenceGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class which passes application settings
+ * through to Hibernate.
+ */
+@Configuration
+public class PersistenceConfig {
+
+    /**
+     * Sets the number of identifiers reserved per sequence call for all entities.
+     *
+     * @param allocationSize the configured allocation size
+     * @return a customizer adding the allocation size to the Hibernate settings
+     */
+    @Bean
+    public HibernatePropertiesCustomizer idAllocationSizeCustomizer(
+            @Value("${wastemanagement.id.allocation-size:50}") int allocationSize) {
+        return properties -> properties.put(
+                PooledSequenceGenerator.ALLOCATION_SIZE_SETTING, allocationSize);
+    }
+}
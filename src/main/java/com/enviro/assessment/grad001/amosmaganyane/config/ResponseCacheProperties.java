@@ -0,0 +1,47 @@
+package com.enviro.assessment.grad001.amosmaganyane.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the cache of encoded list responses,
+ * bound from the {@code wastemanagement.response-cache} section of application.yml.
+ */
+@ConfigurationProperties(prefix = "wastemanagement.response-cache")
+public class ResponseCacheProperties {
+
+    // Keep the encoded JSON of the list endpoints; false encodes every response
+    private boolean enabled = true;
+
+    // Send a gzip-compressed body to clients that accept it
+    private boolean gzip = true;
+
+    // Bodies smaller than this many bytes are sent uncompressed
+    private int gzipMinSize = 1024;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    public void setGzip(boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    public int getGzipMinSize() {
+        return gzipMinSize;
+    }
+
+    public void setGzipMinSize(int gzipMinSize) {
+        if (gzipMinSize < 0) {
+            throw new IllegalArgumentException("Gzip min size must not be negative");
+        }
+        this.gzipMinSize = gzipMinSize;
+    }
+}
@@ -0,0 +1,13 @@
+package com.enviro.assessment.grad001.amosmaganyane.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class which enables scheduled maintenance tasks,
+ * such as reconciling the stored category counters.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
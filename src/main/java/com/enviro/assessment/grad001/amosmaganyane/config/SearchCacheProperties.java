@@ -0,0 +1,52 @@
+package com.enviro.assessment.grad001.amosmaganyane.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the search result cache,
+ * bound from the {@code wastemanagement.search-cache} section of application.yml.
+ */
+@ConfigurationProperties(prefix = "wastemanagement.search-cache")
+public class SearchCacheProperties {
+
+    // Keep the IDs matched by each keyword search; false runs every search against the database
+    private boolean enabled = true;
+
+    // Keywords held across categories, tips and guidelines before the least recently used one is evicted
+    private int maxEntries = 1_000;
+
+    // How long a result is served before the search runs against the database again
+    private Duration ttl = Duration.ofMinutes(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Search cache max entries must be at least 1");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Search cache TTL must be positive");
+        }
+        this.ttl = ttl;
+    }
+}
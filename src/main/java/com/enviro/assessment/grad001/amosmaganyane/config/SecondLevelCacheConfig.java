@@ -0,0 +1,59 @@
+package com.enviro.assessment.grad001.amosmaganyane.config;
+
+import com.enviro.assessment.grad001.amosmaganyane.services.EntityCacheManager;
+import org.hibernate.cfg.CacheSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class which turns on the Hibernate second-level cache for
+ * the entities and collections marked cacheable. The query cache stays off,
+ * since keyword searches are answered by the in-memory indexes.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    /**
+     * Creates the region factory. Writes that bypass Hibernate empty the
+     * entity caches through the cache manager, so they empty every region too.
+     *
+     * @param properties   the second-level cache settings
+     * @param cacheManager the entity cache manager
+     * @return the region factory
+     */
+    @Bean
+    public BoundedRegionFactory boundedRegionFactory(SecondLevelCacheProperties properties,
+                                                     EntityCacheManager cacheManager) {
+        BoundedRegionFactory regionFactory = new BoundedRegionFactory(properties);
+        cacheManager.addInvalidateAllListener(regionFactory::evictAll);
+        return regionFactory;
+    }
+
+    /**
+     * Passes the region factory to Hibernate, or turns the second-level cache
+     * off when wastemanagement.second-level-cache.enabled is false.
+     *
+     * @param properties    the second-level cache settings
+     * @param regionFactory the region factory
+     * @return the Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(SecondLevelCacheProperties properties,
+                                                                    BoundedRegionFactory regionFactory) {
+        return hibernateProperties -> {
+            if (!properties.isEnabled()) {
+                hibernateProperties.put(CacheSettings.USE_SECOND_LEVEL_CACHE, false);
+                hibernateProperties.put(CacheSettings.USE_QUERY_CACHE, false);
+                return;
+            }
+            hibernateProperties.put(CacheSettings.CACHE_REGION_FACTORY, regionFactory);
+            hibernateProperties.put(CacheSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(CacheSettings.USE_QUERY_CACHE, false);
+            // Adding or removing a tip or guideline evicts the cached collection of its category
+            hibernateProperties.put(CacheSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+        };
+    }
+}
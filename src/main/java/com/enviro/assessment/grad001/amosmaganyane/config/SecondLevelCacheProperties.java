@@ -0,0 +1,52 @@
+package com.enviro.assessment.grad001.amosmaganyane.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the Hibernate second-level cache,
+ * bound from the {@code wastemanagement.second-level-cache} section of application.yml.
+ */
+@ConfigurationProperties(prefix = "wastemanagement.second-level-cache")
+public class SecondLevelCacheProperties {
+
+    // Cache entities and their child collections across sessions
+    private boolean enabled = true;
+
+    // Entries held per entity or collection region before the least recently used one is evicted
+    private int maxEntries = 10_000;
+
+    // How long a cached entry is served before it is read from the database again
+    private Duration ttl = Duration.ofMinutes(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Second-level cache max entries must be at least 1");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Second-level cache TTL must be positive");
+        }
+        this.ttl = ttl;
+    }
+}
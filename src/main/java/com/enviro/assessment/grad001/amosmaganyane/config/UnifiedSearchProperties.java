@@ -0,0 +1,27 @@
+package com.enviro.assessment.grad001.amosmaganyane.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the unified search across categories, tips and guidelines,
+ * bound from the {@code wastemanagement.unified-search} section of application.yml.
+ */
+@ConfigurationProperties(prefix = "wastemanagement.unified-search")
+public class UnifiedSearchProperties {
+
+    // Longest wait for each source; results from a source still running are left out of the response
+    private Duration sourceTimeout = Duration.ofMillis(500);
+
+    public Duration getSourceTimeout() {
+        return sourceTimeout;
+    }
+
+    public void setSourceTimeout(Duration sourceTimeout) {
+        if (sourceTimeout.isNegative() || sourceTimeout.isZero()) {
+            throw new IllegalArgumentException("Unified search source timeout must be positive");
+        }
+        this.sourceTimeout = sourceTimeout;
+    }
+}
@@ -0,0 +1,46 @@
+package com.enviro.assessment.grad001.amosmaganyane.controllers;
+
+import com.enviro.assessment.grad001.amosmaganyane.dto.SuggestionDTO;
+import com.enviro.assessment.grad001.amosmaganyane.services.AutocompleteIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/wastemanagementapi/autocomplete")
+@Tag(name = "Autocomplete", description = "APIs for completing category names and tip and guideline titles")
+public class AutocompleteController {
+
+    private final AutocompleteIndex autocompleteIndex;
+
+    public AutocompleteController(AutocompleteIndex autocompleteIndex) {
+        this.autocompleteIndex = autocompleteIndex;
+    }
+
+    @Operation(summary = "Suggest completions",
+            description = "Suggests category names and tip and guideline titles with a word starting "
+                    + "with the prefix, ignoring case, shortest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Limit below 1 or above "
+                    + AutocompleteIndex.MAX_SUGGESTIONS)
+    })
+    @GetMapping
+    public ResponseEntity<List<SuggestionDTO>> autocomplete(
+            @Parameter(description = "What has been typed so far") @RequestParam String prefix,
+            @Parameter(description = "Number of suggestions to return, at most "
+                    + AutocompleteIndex.MAX_SUGGESTIONS)
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > AutocompleteIndex.MAX_SUGGESTIONS) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(autocompleteIndex.suggest(prefix, limit), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,94 @@
+package com.enviro.assessment.grad001.amosmaganyane.controllers;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.BoundedRegionFactory;
+import com.enviro.assessment.grad001.amosmaganyane.dto.CacheStatsDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SearchKeywordDTO;
+import com.enviro.assessment.grad001.amosmaganyane.services.EntityCacheManager;
+import com.enviro.assessment.grad001.amosmaganyane.services.ResponseBodyCache;
+import com.enviro.assessment.grad001.amosmaganyane.services.SearchResultCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@RestController
+@RequestMapping("/wastemanagementapi/caches")
+@Tag(name = "Caches", description = "APIs for inspecting and clearing the entity caches")
+public class CacheController {
+
+    private final EntityCacheManager cacheManager;
+    private final ResponseBodyCache responseCache;
+    private final BoundedRegionFactory regionFactory;
+    private final SearchResultCache searchCache;
+
+    public CacheController(EntityCacheManager cacheManager, ResponseBodyCache responseCache,
+                           BoundedRegionFactory regionFactory, SearchResultCache searchCache) {
+        this.cacheManager = cacheManager;
+        this.responseCache = responseCache;
+        this.regionFactory = regionFactory;
+        this.searchCache = searchCache;
+    }
+
+    @Operation(summary = "Get cache statistics",
+            description = "Returns the size, hits, misses, evictions and expirations of each cache")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved")
+    })
+    @GetMapping
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        List<CacheStatsDTO> stats = Stream.concat(cacheManager.getStats().stream(),
+                        Stream.of(responseCache.getStats(), searchCache.getStats()))
+                .map(CacheStatsDTO::fromStats)
+                .toList();
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get second-level cache statistics",
+            description = "Returns the size, hits, misses, evictions and expirations of each Hibernate "
+                    + "second-level cache region, including the query cache. The list is empty while "
+                    + "the second-level cache is disabled")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved")
+    })
+    @GetMapping("/second-level")
+    public ResponseEntity<List<CacheStatsDTO>> getSecondLevelCacheStats() {
+        List<CacheStatsDTO> stats = regionFactory.getStats().stream()
+                .map(CacheStatsDTO::fromStats)
+                .toList();
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get the most searched keywords",
+            description = "Returns the keywords held in the search result cache with the most hits, "
+                    + "after trimming, collapsing whitespace and folding case")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Keywords retrieved"),
+            @ApiResponse(responseCode = "400", description = "Limit below 1")
+    })
+    @GetMapping("/search/keywords")
+    public ResponseEntity<List<SearchKeywordDTO>> getTopSearchKeywords(
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(searchCache.getTopKeywords(limit), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Clear all caches",
+            description = "Empties every cache, including the second-level cache, for example after "
+                    + "editing the database directly. Cached responses are rebuilt on their next request")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Caches cleared")
+    })
+    @DeleteMapping
+    public ResponseEntity<Void> clearCaches() {
+        cacheManager.invalidateAll();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
@@ -1,18 +1,30 @@
 package com.enviro.assessment.grad001.amosmaganyane.controllers;
 
+import com.enviro.assessment.grad001.amosmaganyane.config.CatalogProperties.Endpoint;
 import com.enviro.assessment.grad001.amosmaganyane.dto.DisposalGuidelineDTO;
 import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
+import com.enviro.assessment.grad001.amosmaganyane.services.CatalogReadModel;
+import com.enviro.assessment.grad001.amosmaganyane.services.ContentVersion;
 import com.enviro.assessment.grad001.amosmaganyane.services.DisposalGuidelineService;
+import com.enviro.assessment.grad001.amosmaganyane.services.EncodedBody;
+import com.enviro.assessment.grad001.amosmaganyane.services.EntityCacheManager;
+import com.enviro.assessment.grad001.amosmaganyane.services.ResponseBodyCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -22,9 +34,16 @@ import java.util.stream.Collectors;
 public class DisposalGuidelineController {
 
     private final DisposalGuidelineService guidelineService;
+    private final CatalogReadModel catalog;
+    private final EntityCacheManager cacheManager;
+    private final ResponseBodyCache responseCache;
 
-    public DisposalGuidelineController(DisposalGuidelineService guidelineService) {
+    public DisposalGuidelineController(DisposalGuidelineService guidelineService, CatalogReadModel catalog,
+                                       EntityCacheManager cacheManager, ResponseBodyCache responseCache) {
         this.guidelineService = guidelineService;
+        this.catalog = catalog;
+        this.cacheManager = cacheManager;
+        this.responseCache = responseCache;
     }
 
     @Operation(summary = "Create a new disposal guideline",
@@ -60,17 +79,23 @@ public class DisposalGuidelineController {
             description = "Returns a single disposal guideline based on the provided ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Guideline found"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Guideline not found")
     })
     @GetMapping("/guidelines/{id}")
     public ResponseEntity<DisposalGuidelineDTO> getGuidelineById(
             @Parameter(description = "ID of the guideline to retrieve")
-            @PathVariable Long id) {
-        return guidelineService.getGuidelineById(id)
-                .map(guideline -> new ResponseEntity<>(
-                        DisposalGuidelineDTO.fromEntity(guideline),
-                        HttpStatus.OK
-                ))
+            @PathVariable Long id,
+            WebRequest request) {
+        ContentVersion version = cacheManager.getContentVersion(EntityCacheManager.GUIDELINES, id);
+        if (request.checkNotModified(version.eTag(), version.lastModified())) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+        Optional<DisposalGuidelineDTO> guideline = catalog.serves(Endpoint.GUIDELINE_BY_ID)
+                ? catalog.getSnapshot().findGuideline(id)
+                : guidelineService.getGuidelineById(id).map(DisposalGuidelineDTO::fromEntity);
+        return guideline
+                .map(dto -> new ResponseEntity<>(dto, HttpStatus.OK))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
@@ -78,12 +103,25 @@ public class DisposalGuidelineController {
             description = "Returns all disposal guidelines associated with a specific category")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Guidelines retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Category not found")
     })
     @GetMapping("/categories/{categoryId}/guidelines")
     public ResponseEntity<List<DisposalGuidelineDTO>> getGuidelinesByCategory(
             @Parameter(description = "ID of the category")
-            @PathVariable Long categoryId) {
+            @PathVariable Long categoryId,
+            WebRequest request) {
+        // The category version covers the category being created or deleted
+        ContentVersion version = cacheManager.getContentVersion(EntityCacheManager.GUIDELINES)
+                .orLater(cacheManager.getContentVersion(EntityCacheManager.CATEGORIES, categoryId));
+        if (request.checkNotModified(version.eTag(), version.lastModified())) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+        if (catalog.serves(Endpoint.CATEGORY_GUIDELINES)) {
+            return catalog.getSnapshot().findGuidelinesByCategory(categoryId)
+                    .map(guidelines -> new ResponseEntity<>(guidelines, HttpStatus.OK))
+                    .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        }
         try {
             List<DisposalGuidelineDTO> guidelineDTOs = guidelineService
                     .getGuidelinesByCategory(categoryId)
@@ -98,14 +136,25 @@ public class DisposalGuidelineController {
 
     @Operation(summary = "Get all disposal guidelines",
             description = "Returns a list of all disposal guidelines across all categories")
-    @ApiResponse(responseCode = "200", description = "List of guidelines retrieved successfully")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of guidelines retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = DisposalGuidelineDTO.class)))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
+    })
     @GetMapping("/guidelines")
-    public ResponseEntity<List<DisposalGuidelineDTO>> getAllGuidelines() {
-        List<DisposalGuidelineDTO> guidelineDTOs = guidelineService.getAllGuidelines()
-                .stream()
-                .map(DisposalGuidelineDTO::fromEntity)
-                .collect(Collectors.toList());
-        return new ResponseEntity<>(guidelineDTOs, HttpStatus.OK);
+    public ResponseEntity<byte[]> getAllGuidelines(WebRequest request) {
+        ContentVersion version = cacheManager.getContentVersion(EntityCacheManager.GUIDELINES);
+        if (request.checkNotModified(version.eTag(), version.lastModified())) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+        EncodedBody body = responseCache.get(EntityCacheManager.GUIDELINES, version,
+                request.getHeader(HttpHeaders.ACCEPT_ENCODING),
+                () -> guidelineService.getAllGuidelines()
+                        .stream()
+                        .map(DisposalGuidelineDTO::fromEntity)
+                        .collect(Collectors.toList()));
+        return new ResponseEntity<>(body.getBytes(), body.getHeaders(), HttpStatus.OK);
     }
 
     @Operation(summary = "Update a disposal guideline",
@@ -163,13 +212,19 @@ public class DisposalGuidelineController {
     }
 
     @Operation(summary = "Search disposal guidelines",
-            description = "Search for disposal guidelines based on a keyword in their titles")
+            description = "Search for disposal guidelines based on a keyword in their titles, "
+                    + "optionally allowing for typos")
     @ApiResponse(responseCode = "200", description = "Search results retrieved successfully")
     @GetMapping("/guidelines/search")
     public ResponseEntity<List<DisposalGuidelineDTO>> searchGuidelines(
             @Parameter(description = "Keyword to search for in guideline titles")
-            @RequestParam(required = false) String keyword) {
-        List<DisposalGuidelineDTO> guidelineDTOs = guidelineService.searchGuidelines(keyword)
+            @RequestParam(required = false) String keyword,
+            @Parameter(description = "Allow typos in each word of the keyword and rank by closeness")
+            @RequestParam(defaultValue = "false") boolean fuzzy) {
+        List<DisposalGuideline> guidelines = fuzzy
+                ? guidelineService.fuzzySearchGuidelines(keyword)
+                : guidelineService.searchGuidelines(keyword);
+        List<DisposalGuidelineDTO> guidelineDTOs = guidelines
                 .stream()
                 .map(DisposalGuidelineDTO::fromEntity)
                 .collect(Collectors.toList());
@@ -0,0 +1,61 @@
+package com.enviro.assessment.grad001.amosmaganyane.controllers;
+
+import com.enviro.assessment.grad001.amosmaganyane.services.DataExportService;
+import com.enviro.assessment.grad001.amosmaganyane.services.ImportJob;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/wastemanagementapi/export")
+@Tag(name = "Data Export",
+        description = "APIs for streaming full dumps of categories, tips and guidelines")
+public class ExportController {
+
+    private final DataExportService exportService;
+
+    public ExportController(DataExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @Operation(summary = "Export all rows of an entity type",
+            description = "Streams every row as CSV, in the same layout as the startup data files, " +
+                    "or as NDJSON with one JSON object per line. Rows are written as they are " +
+                    "read, so dumps of any size are served with bounded memory")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dump streamed"),
+            @ApiResponse(responseCode = "400", description = "Unknown entity type or format")
+    })
+    @GetMapping("/{entity}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Entity type to export: categories, tips or guidelines")
+            @PathVariable String entity,
+            @Parameter(description = "Output format: csv or ndjson")
+            @RequestParam(defaultValue = "csv") String format) {
+        ImportJob.Entity type;
+        DataExportService.Format outputFormat;
+        try {
+            type = ImportJob.Entity.fromPath(entity);
+            outputFormat = DataExportService.Format.fromName(format);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(outputFormat.contentType() + ";charset=UTF-8"));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(exportService.fileName(type, outputFormat))
+                .build());
+        StreamingResponseBody body = out -> exportService.export(type, outputFormat, out);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,98 @@
+package com.enviro.assessment.grad001.amosmaganyane.controllers;
+
+import com.enviro.assessment.grad001.amosmaganyane.dto.ImportJobDTO;
+import com.enviro.assessment.grad001.amosmaganyane.services.CsvImportService;
+import com.enviro.assessment.grad001.amosmaganyane.services.ImportJob;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/wastemanagementapi/import")
+@Tag(name = "Data Import",
+        description = "APIs for bulk importing categories, tips and guidelines from CSV")
+public class ImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final CsvImportService importService;
+
+    @FunctionalInterface
+    private interface Submission {
+        ImportJob submit() throws IOException;
+    }
+
+    public ImportController(CsvImportService importService) {
+        this.importService = importService;
+    }
+
+    @Operation(summary = "Import CSV data from the request body",
+            description = "Starts a background import of a raw text/csv body. Rows use the same " +
+                    "layout as the startup data files and are committed in chunks")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import job started"),
+            @ApiResponse(responseCode = "400", description = "Unknown entity type"),
+            @ApiResponse(responseCode = "503", description = "Import queue is full; retry later")
+    })
+    @PostMapping(value = "/{entity}", consumes = TEXT_CSV)
+    public ResponseEntity<ImportJobDTO> importCsv(
+            @Parameter(description = "Entity type to import: categories, tips or guidelines")
+            @PathVariable String entity,
+            InputStream body) throws IOException {
+        return startImport(() -> importService.submit(entity, body));
+    }
+
+    @Operation(summary = "Import CSV data from a file upload",
+            description = "Starts a background import of a multipart CSV file upload")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import job started"),
+            @ApiResponse(responseCode = "400", description = "Unknown entity type"),
+            @ApiResponse(responseCode = "503", description = "Import queue is full; retry later")
+    })
+    @PostMapping(value = "/{entity}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobDTO> importFile(
+            @Parameter(description = "Entity type to import: categories, tips or guidelines")
+            @PathVariable String entity,
+            @Parameter(description = "CSV file to import")
+            @RequestParam("file") MultipartFile file) throws IOException {
+        // The container has already stored the upload; transferTo moves it rather than copying
+        return startImport(() -> importService.submit(entity, file::transferTo));
+    }
+
+    @Operation(summary = "Get import job progress",
+            description = "Returns rows read, committed and rejected so far, and the throughput")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job found"),
+            @ApiResponse(responseCode = "404", description = "Job not found")
+    })
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ImportJobDTO> getJob(
+            @Parameter(description = "ID of the import job")
+            @PathVariable String jobId) {
+        return importService.getJob(jobId)
+                .map(job -> new ResponseEntity<>(ImportJobDTO.fromJob(job), HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    private ResponseEntity<ImportJobDTO> startImport(Submission submission) throws IOException {
+        try {
+            ImportJob job = submission.submit();
+            return new ResponseEntity<>(ImportJobDTO.fromJob(job), HttpStatus.ACCEPTED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (RejectedExecutionException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+}
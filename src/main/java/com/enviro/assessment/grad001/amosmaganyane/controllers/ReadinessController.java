@@ -0,0 +1,40 @@
+package com.enviro.assessment.grad001.amosmaganyane.controllers;
+
+import com.enviro.assessment.grad001.amosmaganyane.dto.ReadinessDTO;
+import com.enviro.assessment.grad001.amosmaganyane.services.DataLoadProgress;
+import com.enviro.assessment.grad001.amosmaganyane.services.DataLoaderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/wastemanagementapi/readiness")
+@Tag(name = "Readiness", description = "API reporting whether the startup data has been loaded")
+public class ReadinessController {
+
+    private final DataLoaderService dataLoaderService;
+
+    public ReadinessController(DataLoaderService dataLoaderService) {
+        this.dataLoaderService = dataLoaderService;
+    }
+
+    @Operation(summary = "Check data readiness",
+            description = "Reports the progress of the startup data load. Load balancers should " +
+                    "only route traffic to the instance once this returns 200")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "All data is loaded"),
+            @ApiResponse(responseCode = "503", description = "Data is still loading or failed to load")
+    })
+    @GetMapping
+    public ResponseEntity<ReadinessDTO> getReadiness() {
+        DataLoadProgress progress = dataLoaderService.getProgress();
+        HttpStatus status = progress.isReady() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return new ResponseEntity<>(ReadinessDTO.fromProgress(progress), status);
+    }
+}
@@ -1,18 +1,30 @@
 package com.enviro.assessment.grad001.amosmaganyane.controllers;
 
+import com.enviro.assessment.grad001.amosmaganyane.config.CatalogProperties.Endpoint;
 import com.enviro.assessment.grad001.amosmaganyane.dto.RecyclingTipDTO;
 import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.services.CatalogReadModel;
+import com.enviro.assessment.grad001.amosmaganyane.services.ContentVersion;
+import com.enviro.assessment.grad001.amosmaganyane.services.EncodedBody;
+import com.enviro.assessment.grad001.amosmaganyane.services.EntityCacheManager;
 import com.enviro.assessment.grad001.amosmaganyane.services.RecyclingTipService;
+import com.enviro.assessment.grad001.amosmaganyane.services.ResponseBodyCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -22,9 +34,16 @@ import java.util.stream.Collectors;
 public class RecyclingTipController {
 
     private final RecyclingTipService tipService;
+    private final CatalogReadModel catalog;
+    private final EntityCacheManager cacheManager;
+    private final ResponseBodyCache responseCache;
 
-    public RecyclingTipController(RecyclingTipService tipService) {
+    public RecyclingTipController(RecyclingTipService tipService, CatalogReadModel catalog,
+                                  EntityCacheManager cacheManager, ResponseBodyCache responseCache) {
         this.tipService = tipService;
+        this.catalog = catalog;
+        this.cacheManager = cacheManager;
+        this.responseCache = responseCache;
     }
 
     @PostMapping("/categories/{categoryId}/tips")
@@ -62,17 +81,23 @@ public class RecyclingTipController {
             description = "Returns a single recycling tip based on the provided ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tip found"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Tip not found")
     })
     @GetMapping("/tips/{id}")
     public ResponseEntity<RecyclingTipDTO> getTipById(
             @Parameter(description = "ID of the tip to retrieve")
-            @PathVariable Long id) {
-        return tipService.getTipById(id)
-                .map(tip -> new ResponseEntity<>(
-                        RecyclingTipDTO.fromEntity(tip),
-                        HttpStatus.OK
-                ))
+            @PathVariable Long id,
+            WebRequest request) {
+        ContentVersion version = cacheManager.getContentVersion(EntityCacheManager.TIPS, id);
+        if (request.checkNotModified(version.eTag(), version.lastModified())) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+        Optional<RecyclingTipDTO> tip = catalog.serves(Endpoint.TIP_BY_ID)
+                ? catalog.getSnapshot().findTip(id)
+                : tipService.getTipById(id).map(RecyclingTipDTO::fromEntity);
+        return tip
+                .map(dto -> new ResponseEntity<>(dto, HttpStatus.OK))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
@@ -80,12 +105,25 @@ public class RecyclingTipController {
             description = "Returns all recycling tips associated with a specific category")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tips retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Category not found")
     })
     @GetMapping("/categories/{categoryId}/tips")
     public ResponseEntity<List<RecyclingTipDTO>> getTipsByCategory(
             @Parameter(description = "ID of the category")
-            @PathVariable Long categoryId) {
+            @PathVariable Long categoryId,
+            WebRequest request) {
+        // The category version covers the category being created or deleted
+        ContentVersion version = cacheManager.getContentVersion(EntityCacheManager.TIPS)
+                .orLater(cacheManager.getContentVersion(EntityCacheManager.CATEGORIES, categoryId));
+        if (request.checkNotModified(version.eTag(), version.lastModified())) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+        if (catalog.serves(Endpoint.CATEGORY_TIPS)) {
+            return catalog.getSnapshot().findTipsByCategory(categoryId)
+                    .map(tips -> new ResponseEntity<>(tips, HttpStatus.OK))
+                    .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        }
         try {
             List<RecyclingTipDTO> tipDTOs = tipService.getTipsByCategory(categoryId)
                     .stream()
@@ -99,14 +137,25 @@ public class RecyclingTipController {
 
     @Operation(summary = "Get all recycling tips",
             description = "Returns a list of all recycling tips across all categories")
-    @ApiResponse(responseCode = "200", description = "List of tips retrieved successfully")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of tips retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = RecyclingTipDTO.class)))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
+    })
     @GetMapping("/tips")
-    public ResponseEntity<List<RecyclingTipDTO>> getAllTips() {
-        List<RecyclingTipDTO> tipDTOs = tipService.getAllTips()
-                .stream()
-                .map(RecyclingTipDTO::fromEntity)
-                .collect(Collectors.toList());
-        return new ResponseEntity<>(tipDTOs, HttpStatus.OK);
+    public ResponseEntity<byte[]> getAllTips(WebRequest request) {
+        ContentVersion version = cacheManager.getContentVersion(EntityCacheManager.TIPS);
+        if (request.checkNotModified(version.eTag(), version.lastModified())) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+        EncodedBody body = responseCache.get(EntityCacheManager.TIPS, version,
+                request.getHeader(HttpHeaders.ACCEPT_ENCODING),
+                () -> tipService.getAllTips()
+                        .stream()
+                        .map(RecyclingTipDTO::fromEntity)
+                        .collect(Collectors.toList()));
+        return new ResponseEntity<>(body.getBytes(), body.getHeaders(), HttpStatus.OK);
     }
 
     @Operation(summary = "Update a recycling tip",
@@ -162,13 +211,17 @@ public class RecyclingTipController {
     }
 
     @Operation(summary = "Search recycling tips",
-            description = "Search for recycling tips based on a keyword in their titles")
+            description = "Search for recycling tips based on a keyword in their titles, "
+                    + "optionally allowing for typos")
     @ApiResponse(responseCode = "200", description = "Search results retrieved successfully")
     @GetMapping("/tips/search")
     public ResponseEntity<List<RecyclingTipDTO>> searchTips(
             @Parameter(description = "Keyword to search for in tip titles")
-            @RequestParam(required = false) String keyword) {
-        List<RecyclingTipDTO> tipDTOs = tipService.searchTips(keyword)
+            @RequestParam(required = false) String keyword,
+            @Parameter(description = "Allow typos in each word of the keyword and rank by closeness")
+            @RequestParam(defaultValue = "false") boolean fuzzy) {
+        List<RecyclingTip> tips = fuzzy ? tipService.fuzzySearchTips(keyword) : tipService.searchTips(keyword);
+        List<RecyclingTipDTO> tipDTOs = tips
                 .stream()
                 .map(RecyclingTipDTO::fromEntity)
                 .collect(Collectors.toList());
@@ -0,0 +1,80 @@
+package com.enviro.assessment.grad001.amosmaganyane.controllers;
+
+import com.enviro.assessment.grad001.amosmaganyane.dto.SearchHitDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SearchResultsDTO;
+import com.enviro.assessment.grad001.amosmaganyane.services.FullTextIndex;
+import com.enviro.assessment.grad001.amosmaganyane.services.UnifiedSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/wastemanagementapi/search")
+@Tag(name = "Search", description = "APIs for searching categories, tips and guidelines together")
+public class SearchController {
+
+    private final FullTextIndex fullTextIndex;
+    private final UnifiedSearchService unifiedSearchService;
+
+    public SearchController(FullTextIndex fullTextIndex, UnifiedSearchService unifiedSearchService) {
+        this.fullTextIndex = fullTextIndex;
+        this.unifiedSearchService = unifiedSearchService;
+    }
+
+    @Operation(summary = "Search categories, tips and guidelines",
+            description = "Searches category names and tip and guideline titles at the same time and returns "
+                    + "the matches scored on one scale, grouped by kind, with the number of matches in each "
+                    + "category; kinds that fail or take too long are listed as unavailable")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Blank query or limit below 1")
+    })
+    @GetMapping
+    public ResponseEntity<SearchResultsDTO> search(
+            @Parameter(description = "Text to search for") @RequestParam String q,
+            @Parameter(description = "Number of results to return overall and in each group")
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return new ResponseEntity<>(unifiedSearchService.search(q, limit), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Operation(summary = "Ranked full-text search",
+            description = "Searches category names and descriptions, tip titles and content, and "
+                    + "guideline titles and instructions for any word of the query, most relevant first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown type or limit below 1")
+    })
+    @GetMapping("/ranked")
+    public ResponseEntity<List<SearchHitDTO>> searchRanked(
+            @Parameter(description = "Words to search for") @RequestParam String q,
+            @Parameter(description = "Kinds of result to return: category, tip or guideline; all if omitted")
+            @RequestParam(required = false) List<String> type,
+            @Parameter(description = "Number of results to return")
+            @RequestParam(defaultValue = "10") int limit) {
+        Set<FullTextIndex.DocumentType> types = EnumSet.noneOf(FullTextIndex.DocumentType.class);
+        try {
+            if (type != null) {
+                type.forEach(name -> types.add(FullTextIndex.DocumentType.fromName(name)));
+            }
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (limit < 1) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(fullTextIndex.search(q, types, limit), HttpStatus.OK);
+    }
+}
@@ -1,20 +1,33 @@
 package com.enviro.assessment.grad001.amosmaganyane.controllers;
 
+import com.enviro.assessment.grad001.amosmaganyane.config.CatalogProperties.Endpoint;
+import com.enviro.assessment.grad001.amosmaganyane.dto.LeaderboardEntryDTO;
 import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
 import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.services.CatalogReadModel;
+import com.enviro.assessment.grad001.amosmaganyane.services.CategoryLeaderboard;
+import com.enviro.assessment.grad001.amosmaganyane.services.ContentVersion;
+import com.enviro.assessment.grad001.amosmaganyane.services.EncodedBody;
+import com.enviro.assessment.grad001.amosmaganyane.services.EntityCacheManager;
+import com.enviro.assessment.grad001.amosmaganyane.services.ResponseBodyCache;
 import com.enviro.assessment.grad001.amosmaganyane.services.WasteCategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/wastemanagementapi/categories")
@@ -22,9 +35,19 @@ import java.util.stream.Collectors;
 public class WasteCategoryController {
 
     private final WasteCategoryService categoryService;
+    private final CatalogReadModel catalog;
+    private final EntityCacheManager cacheManager;
+    private final ResponseBodyCache responseCache;
+    private final CategoryLeaderboard leaderboard;
 
-    public WasteCategoryController(WasteCategoryService categoryService) {
+    public WasteCategoryController(WasteCategoryService categoryService, CatalogReadModel catalog,
+                                   EntityCacheManager cacheManager, ResponseBodyCache responseCache,
+                                   CategoryLeaderboard leaderboard) {
         this.categoryService = categoryService;
+        this.catalog = catalog;
+        this.cacheManager = cacheManager;
+        this.responseCache = responseCache;
+        this.leaderboard = leaderboard;
     }
 
     @Operation(summary = "Create a new waste category",
@@ -57,30 +80,46 @@ public class WasteCategoryController {
             description = "Returns a single waste category based on the provided ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Category found"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Category not found")
     })
     @GetMapping("/{id}")
     public ResponseEntity<WasteCategoryDTO> getCategoryById(
             @Parameter(description = "ID of the category to retrieve")
-            @PathVariable Long id) {
-        return categoryService.getCategoryById(id)
-                .map(category -> new ResponseEntity<>(
-                        WasteCategoryDTO.fromEntity(category),
-                        HttpStatus.OK
-                ))
+            @PathVariable Long id,
+            WebRequest request) {
+        ContentVersion version = cacheManager.getContentVersion(EntityCacheManager.CATEGORIES, id);
+        if (request.checkNotModified(version.eTag(), version.lastModified())) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+        Optional<WasteCategoryDTO> category = catalog.serves(Endpoint.CATEGORY_BY_ID)
+                ? catalog.getSnapshot().findCategory(id)
+                : categoryService.getCategorySummaryById(id);
+        return category
+                .map(dto -> new ResponseEntity<>(dto, HttpStatus.OK))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @Operation(summary = "Get all waste categories",
             description = "Returns a list of all waste categories")
-    @ApiResponse(responseCode = "200", description = "List of categories retrieved successfully")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of categories retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = WasteCategoryDTO.class)))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
+    })
     @GetMapping
-    public ResponseEntity<List<WasteCategoryDTO>> getAllCategories() {
-        List<WasteCategoryDTO> categoryDTOS = categoryService.getAllCategories()
-                .stream()
-                .map(WasteCategoryDTO::fromEntity)
-                .toList();
-        return new ResponseEntity<>(categoryDTOS, HttpStatus.OK);
+    public ResponseEntity<byte[]> getAllCategories(WebRequest request) {
+        ContentVersion version = cacheManager.getContentVersion(EntityCacheManager.CATEGORIES);
+        if (request.checkNotModified(version.eTag(), version.lastModified())) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+        EncodedBody body = responseCache.get(EntityCacheManager.CATEGORIES, version,
+                request.getHeader(HttpHeaders.ACCEPT_ENCODING),
+                () -> catalog.serves(Endpoint.CATEGORIES)
+                        ? catalog.getSnapshot().getCategories()
+                        : categoryService.getAllCategorySummaries());
+        return new ResponseEntity<>(body.getBytes(), body.getHeaders(), HttpStatus.OK);
     }
 
     @Operation(summary = "Update a waste category",
@@ -115,16 +154,30 @@ public class WasteCategoryController {
     }
 
     @Operation(summary = "Delete a waste category",
-            description = "Deletes a waste category based on the provided ID")
+            description = "Deletes a waste category based on the provided ID. In cascade mode its "
+                    + "guidelines and tips are deleted with it; in safe mode a category that still "
+                    + "has guidelines or tips is left in place")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Category deleted successfully"),
-            @ApiResponse(responseCode = "404", description = "Category not found")
+            @ApiResponse(responseCode = "400", description = "Unknown mode"),
+            @ApiResponse(responseCode = "404", description = "Category not found"),
+            @ApiResponse(responseCode = "409", description = "Safe mode and the category has guidelines or tips")
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCategory(
-            @Parameter(description = "ID of the category to delete") @PathVariable Long id)
+            @Parameter(description = "ID of the category to delete") @PathVariable Long id,
+            @Parameter(description = "cascade or safe")
+            @RequestParam(defaultValue = "cascade") String mode)
      {
         try {
+            if ("safe".equalsIgnoreCase(mode)) {
+                return categoryService.deleteCategoryIfEmpty(id)
+                        ? new ResponseEntity<>(HttpStatus.NO_CONTENT)
+                        : new ResponseEntity<>(HttpStatus.CONFLICT);
+            }
+            if (!"cascade".equalsIgnoreCase(mode)) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
             categoryService.deleteCategory(id);
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } catch (IllegalStateException e) {
@@ -133,18 +186,46 @@ public class WasteCategoryController {
     }
 
     @Operation(summary = "Search waste categories",
-            description = "Search for waste categories based on a keyword")
+            description = "Search for waste categories based on a keyword, optionally allowing for typos")
     @ApiResponse(responseCode = "200", description = "Search results retrieved successfully")
     @GetMapping("/search")
     public ResponseEntity<List<WasteCategoryDTO>> searchCategories(
             @Parameter(description = "Keyword to search for in category names")
-            @RequestParam(required = false) String keyword) {
+            @RequestParam(required = false) String keyword,
+            @Parameter(description = "Allow typos in each word of the keyword and rank by closeness")
+            @RequestParam(defaultValue = "false") boolean fuzzy) {
+
+        return new ResponseEntity<>(fuzzy
+                ? categoryService.fuzzySearchCategorySummaries(keyword)
+                : categoryService.searchCategorySummaries(keyword),
+                HttpStatus.OK);
+    }
 
-        List<WasteCategoryDTO> categoryDTOs = categoryService.searchCategories(keyword)
-                .stream()
-                .map(WasteCategoryDTO::fromEntity)
-                .collect(Collectors.toList());
-        return new ResponseEntity<>(categoryDTOs, HttpStatus.OK);
+    @Operation(summary = "Get the categories with the most guidelines or tips",
+            description = "Ranks categories by their number of guidelines or tips, highest first, "
+                    + "from an in-memory leaderboard. Categories with equal counts share a rank")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown ranking or limit below 1")
+    })
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<LeaderboardEntryDTO>> getLeaderboard(
+            @Parameter(description = "Count to rank by: guidelines or tips")
+            @RequestParam(defaultValue = "guidelines") String by,
+            @Parameter(description = "Number of categories to return")
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "Also return the categories tied with the last one")
+            @RequestParam(defaultValue = "false") boolean withTies) {
+        CategoryLeaderboard.Ranking ranking;
+        try {
+            ranking = CategoryLeaderboard.Ranking.fromName(by);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (limit < 1) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(leaderboard.getTop(ranking, limit, withTies), HttpStatus.OK);
     }
 
     @Operation(summary = "Get guidelines count for a category",
@@ -0,0 +1,146 @@
+package com.enviro.assessment.grad001.amosmaganyane.dto;
+
+import com.enviro.assessment.grad001.amosmaganyane.services.CacheStats;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Data Transfer Object for the statistics of an entity cache")
+public class CacheStatsDTO {
+
+    @Schema(example = "tips",
+            description = "Name of the cache: categories, tips or guidelines")
+    private String name;
+
+    @Schema(example = "true",
+            description = "Whether the cache stores entries; when false every lookup reads the database")
+    private boolean enabled;
+
+    @Schema(example = "850",
+            description = "Number of entries currently cached")
+    private int size;
+
+    @Schema(example = "10000",
+            description = "Maximum number of entries before the least recently used is evicted")
+    private int maxSize;
+
+    @Schema(example = "98000",
+            description = "Number of lookups served from the cache")
+    private long hits;
+
+    @Schema(example = "2000",
+            description = "Number of lookups that read the database")
+    private long misses;
+
+    @Schema(example = "0",
+            description = "Number of entries removed to make room for new ones")
+    private long evictions;
+
+    @Schema(example = "120",
+            description = "Number of entries dropped because their TTL had passed")
+    private long expirations;
+
+    @Schema(example = "0.98",
+            description = "Fraction of lookups served from the cache")
+    private double hitRate;
+
+    public CacheStatsDTO() {}
+
+    public CacheStatsDTO(String name, boolean enabled, int size, int maxSize, long hits,
+                         long misses, long evictions, long expirations, double hitRate) {
+        this.name = name;
+        this.enabled = enabled;
+        this.size = size;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.hitRate = hitRate;
+    }
+
+    @Schema(hidden = true)
+    public static CacheStatsDTO fromStats(CacheStats stats) {
+        return new CacheStatsDTO(
+                stats.getName(),
+                stats.isEnabled(),
+                stats.getSize(),
+                stats.getMaxSize(),
+                stats.getHits(),
+                stats.getMisses(),
+                stats.getEvictions(),
+                stats.getExpirations(),
+                stats.getHitRate()
+        );
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public void setExpirations(long expirations) {
+        this.expirations = expirations;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public void setHitRate(double hitRate) {
+        this.hitRate = hitRate;
+    }
+}
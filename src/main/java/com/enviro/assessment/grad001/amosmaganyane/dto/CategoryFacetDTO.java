@@ -0,0 +1,51 @@
+package com.enviro.assessment.grad001.amosmaganyane.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Data Transfer Object for the number of search results in one waste category")
+public class CategoryFacetDTO {
+
+    @Schema(example = "1",
+            description = "Unique identifier of the waste category")
+    private Long categoryId;
+
+    @Schema(example = "Recyclable Materials",
+            description = "Name of the waste category")
+    private String categoryName;
+
+    @Schema(example = "4",
+            description = "Number of matching categories, tips and guidelines in this category")
+    private int count;
+
+    public CategoryFacetDTO() {}
+
+    public CategoryFacetDTO(Long categoryId, String categoryName, int count) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.count = count;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,135 @@
+package com.enviro.assessment.grad001.amosmaganyane.dto;
+
+import com.enviro.assessment.grad001.amosmaganyane.services.ImportJob;
+import com.enviro.assessment.grad001.amosmaganyane.services.ImportReport;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Data Transfer Object for CSV import job progress")
+public class ImportJobDTO {
+
+    @Schema(example = "3f6c2a1e-8d4b-4a51-9a0e-6f1d2c3b4a5e",
+            description = "Unique identifier of the import job")
+    private String jobId;
+
+    @Schema(example = "tips",
+            description = "Entity type being imported")
+    private String entity;
+
+    @Schema(example = "RUNNING",
+            description = "Current job status: QUEUED, RUNNING, COMPLETED or FAILED")
+    private String status;
+
+    @Schema(example = "120000",
+            description = "Number of CSV rows read so far")
+    private long rowsRead;
+
+    @Schema(example = "119000",
+            description = "Number of rows committed to the database so far")
+    private long rowsCommitted;
+
+    @Schema(example = "12",
+            description = "Number of rows rejected as invalid")
+    private long rowsRejected;
+
+    @Schema(example = "45000.0",
+            description = "Average number of rows committed per second")
+    private double rowsPerSecond;
+
+    @Schema(example = "Unknown import entity: bins",
+            description = "Error message if the job failed")
+    private String error;
+
+    public ImportJobDTO() {}
+
+    public ImportJobDTO(String jobId, String entity, String status, long rowsRead,
+                        long rowsCommitted, long rowsRejected, double rowsPerSecond,
+                        String error) {
+        this.jobId = jobId;
+        this.entity = entity;
+        this.status = status;
+        this.rowsRead = rowsRead;
+        this.rowsCommitted = rowsCommitted;
+        this.rowsRejected = rowsRejected;
+        this.rowsPerSecond = rowsPerSecond;
+        this.error = error;
+    }
+
+    @Schema(hidden = true)
+    public static ImportJobDTO fromJob(ImportJob job) {
+        ImportReport report = job.getReport();
+        return new ImportJobDTO(
+                job.getId(),
+                job.getEntity().path(),
+                job.getStatus().name(),
+                report.getRowsRead(),
+                report.getRowsWritten(),
+                report.getRowsRejected(),
+                report.getRowsPerSecond(),
+                job.getError()
+        );
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public void setEntity(String entity) {
+        this.entity = entity;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsCommitted() {
+        return rowsCommitted;
+    }
+
+    public void setRowsCommitted(long rowsCommitted) {
+        this.rowsCommitted = rowsCommitted;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
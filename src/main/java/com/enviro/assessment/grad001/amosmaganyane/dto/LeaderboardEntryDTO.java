@@ -0,0 +1,77 @@
+package com.enviro.assessment.grad001.amosmaganyane.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Data Transfer Object for a category's place in a leaderboard")
+public class LeaderboardEntryDTO {
+
+    @Schema(example = "1",
+            description = "Position in the ranking; categories with equal counts share a rank")
+    private int rank;
+
+    @Schema(example = "1",
+            description = "Unique identifier of the waste category")
+    private Long id;
+
+    @Schema(example = "Recyclable Materials",
+            description = "Name of the waste category")
+    private String name;
+
+    @Schema(example = "0",
+            description = "Number of disposal guidelines associated with this category")
+    private int guidelinesCount;
+
+    @Schema(example = "0",
+            description = "Number of recycling tips associated with this category")
+    private int tipsCount;
+
+    public LeaderboardEntryDTO() {}
+
+    public LeaderboardEntryDTO(int rank, Long id, String name, int guidelinesCount, int tipsCount) {
+        this.rank = rank;
+        this.id = id;
+        this.name = name;
+        this.guidelinesCount = guidelinesCount;
+        this.tipsCount = tipsCount;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getGuidelinesCount() {
+        return guidelinesCount;
+    }
+
+    public void setGuidelinesCount(int guidelinesCount) {
+        this.guidelinesCount = guidelinesCount;
+    }
+
+    public int getTipsCount() {
+        return tipsCount;
+    }
+
+    public void setTipsCount(int tipsCount) {
+        this.tipsCount = tipsCount;
+    }
+}
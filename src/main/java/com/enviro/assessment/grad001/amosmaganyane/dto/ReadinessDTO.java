@@ -0,0 +1,75 @@
+package com.enviro.assessment.grad001.amosmaganyane.dto;
+
+import com.enviro.assessment.grad001.amosmaganyane.services.DataLoadProgress;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Data Transfer Object for the readiness of the startup data")
+public class ReadinessDTO {
+
+    @Schema(example = "LOADING",
+            description = "Data load status: LOADING, READY or FAILED")
+    private String status;
+
+    @Schema(example = "42",
+            description = "Estimated percentage of the data loaded so far")
+    private int percentComplete;
+
+    @Schema(example = "1250",
+            description = "Time spent loading in milliseconds")
+    private long elapsedMillis;
+
+    @Schema(example = "Failed to read CSV files: File not found: categories.csv",
+            description = "Error message if loading failed")
+    private String error;
+
+    public ReadinessDTO() {}
+
+    public ReadinessDTO(String status, int percentComplete, long elapsedMillis, String error) {
+        this.status = status;
+        this.percentComplete = percentComplete;
+        this.elapsedMillis = elapsedMillis;
+        this.error = error;
+    }
+
+    @Schema(hidden = true)
+    public static ReadinessDTO fromProgress(DataLoadProgress progress) {
+        return new ReadinessDTO(
+                progress.getStatus().name(),
+                progress.getPercentComplete(),
+                progress.getElapsedMillis(),
+                progress.getError()
+        );
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getPercentComplete() {
+        return percentComplete;
+    }
+
+    public void setPercentComplete(int percentComplete) {
+        this.percentComplete = percentComplete;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
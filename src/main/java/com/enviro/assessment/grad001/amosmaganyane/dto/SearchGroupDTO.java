@@ -0,0 +1,52 @@
+package com.enviro.assessment.grad001.amosmaganyane.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Data Transfer Object for the search results of one kind")
+public class SearchGroupDTO {
+
+    @Schema(example = "tip",
+            description = "Kind of result in this group: category, tip or guideline")
+    private String type;
+
+    @Schema(example = "12",
+            description = "Number of matches of this kind, including those beyond the limit")
+    private int total;
+
+    @Schema(description = "Best matches of this kind, highest score first")
+    private List<SearchHitDTO> hits;
+
+    public SearchGroupDTO() {}
+
+    public SearchGroupDTO(String type, int total, List<SearchHitDTO> hits) {
+        this.type = type;
+        this.total = total;
+        this.hits = hits;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public List<SearchHitDTO> getHits() {
+        return hits;
+    }
+
+    public void setHits(List<SearchHitDTO> hits) {
+        this.hits = hits;
+    }
+}
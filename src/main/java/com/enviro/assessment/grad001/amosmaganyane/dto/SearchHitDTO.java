@@ -0,0 +1,77 @@
+package com.enviro.assessment.grad001.amosmaganyane.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Data Transfer Object for a ranked search result")
+public class SearchHitDTO {
+
+    @Schema(example = "tip",
+            description = "Kind of result: category, tip or guideline")
+    private String type;
+
+    @Schema(example = "1",
+            description = "ID of the category, tip or guideline")
+    private Long id;
+
+    @Schema(example = "1",
+            description = "ID of the category the result belongs to; a category's own ID for categories")
+    private Long categoryId;
+
+    @Schema(example = "Plastic Recycling",
+            description = "Title of the tip or guideline, or name of the category")
+    private String title;
+
+    @Schema(example = "3.42",
+            description = "Relevance score; higher is better, comparable only within one response")
+    private double score;
+
+    public SearchHitDTO() {}
+
+    public SearchHitDTO(String type, Long id, Long categoryId, String title, double score) {
+        this.type = type;
+        this.id = id;
+        this.categoryId = categoryId;
+        this.title = title;
+        this.score = score;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,64 @@
+package com.enviro.assessment.grad001.amosmaganyane.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Data Transfer Object for a keyword held in the search result cache")
+public class SearchKeywordDTO {
+
+    @Schema(example = "tips",
+            description = "Collection searched: categories, tips or guidelines")
+    private String collection;
+
+    @Schema(example = "plastic",
+            description = "Keyword after trimming, collapsing whitespace and folding case")
+    private String keyword;
+
+    @Schema(example = "42",
+            description = "Searches answered from the cache since the keyword was stored")
+    private long hits;
+
+    @Schema(example = "3",
+            description = "Number of matching rows")
+    private int results;
+
+    public SearchKeywordDTO() {}
+
+    public SearchKeywordDTO(String collection, String keyword, long hits, int results) {
+        this.collection = collection;
+        this.keyword = keyword;
+        this.hits = hits;
+        this.results = results;
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public void setCollection(String collection) {
+        this.collection = collection;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public void setKeyword(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public int getResults() {
+        return results;
+    }
+
+    public void setResults(int results) {
+        this.results = results;
+    }
+}
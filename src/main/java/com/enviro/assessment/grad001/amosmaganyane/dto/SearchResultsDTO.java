@@ -0,0 +1,77 @@
+package com.enviro.assessment.grad001.amosmaganyane.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Data Transfer Object for the results of a search across categories, tips and guidelines")
+public class SearchResultsDTO {
+
+    @Schema(example = "plastic",
+            description = "The query that was searched for")
+    private String query;
+
+    @Schema(description = "Best matches of every kind, highest score first")
+    private List<SearchHitDTO> hits;
+
+    @Schema(description = "Matches grouped by kind; the group with the best match comes first")
+    private List<SearchGroupDTO> groups;
+
+    @Schema(description = "Number of matches in each waste category, most first")
+    private List<CategoryFacetDTO> facets;
+
+    @Schema(example = "[\"guideline\"]",
+            description = "Kinds of result left out because their search failed or did not finish in time")
+    private List<String> unavailable;
+
+    public SearchResultsDTO() {}
+
+    public SearchResultsDTO(String query, List<SearchHitDTO> hits, List<SearchGroupDTO> groups,
+                            List<CategoryFacetDTO> facets, List<String> unavailable) {
+        this.query = query;
+        this.hits = hits;
+        this.groups = groups;
+        this.facets = facets;
+        this.unavailable = unavailable;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public List<SearchHitDTO> getHits() {
+        return hits;
+    }
+
+    public void setHits(List<SearchHitDTO> hits) {
+        this.hits = hits;
+    }
+
+    public List<SearchGroupDTO> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<SearchGroupDTO> groups) {
+        this.groups = groups;
+    }
+
+    public List<CategoryFacetDTO> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(List<CategoryFacetDTO> facets) {
+        this.facets = facets;
+    }
+
+    public List<String> getUnavailable() {
+        return unavailable;
+    }
+
+    public void setUnavailable(List<String> unavailable) {
+        this.unavailable = unavailable;
+    }
+}
@@ -0,0 +1,64 @@
+package com.enviro.assessment.grad001.amosmaganyane.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Data Transfer Object for an autocomplete suggestion")
+public class SuggestionDTO {
+
+    @Schema(example = "tip",
+            description = "Kind of suggestion: category, tip or guideline")
+    private String type;
+
+    @Schema(example = "1",
+            description = "ID of the category, tip or guideline")
+    private Long id;
+
+    @Schema(example = "1",
+            description = "ID of the category the suggestion belongs to; a category's own ID for categories")
+    private Long categoryId;
+
+    @Schema(example = "Plastic Recycling",
+            description = "Title of the tip or guideline, or name of the category")
+    private String text;
+
+    public SuggestionDTO() {}
+
+    public SuggestionDTO(String type, Long id, Long categoryId, String text) {
+        this.type = type;
+        this.id = id;
+        this.categoryId = categoryId;
+        this.text = text;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+}
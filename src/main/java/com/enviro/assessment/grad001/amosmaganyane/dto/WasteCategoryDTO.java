@@ -40,6 +40,14 @@ public class WasteCategoryDTO {
         this.tipsCount = tipsCount;
     }
 
+    /**
+     * Creates a DTO from a JPQL constructor expression, where counts are long.
+     */
+    public WasteCategoryDTO(Long id, String name, String description,
+                            long guidelinesCount, long tipsCount) {
+        this(id, name, description, Math.toIntExact(guidelinesCount), Math.toIntExact(tipsCount));
+    }
+
     @Schema(hidden = true)
     public static WasteCategoryDTO fromEntity(WasteCategory category) {
         return new WasteCategoryDTO(
@@ -1,15 +1,19 @@
 package com.enviro.assessment.grad001.amosmaganyane.models;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Objects;
 
 // Represents a disposal guideline entity with many-to-one relationship to WasteCategory
 @Entity
 @Table(name = "disposal_guidelines")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "guidelines")
 public class DisposalGuideline {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "disposal_guidelines_seq")
     private Long id;
 
     // Title and instructions are required fields to make recycling tips meaningful
@@ -0,0 +1,24 @@
+package com.enviro.assessment.grad001.amosmaganyane.models;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an identifier as generated from a database sequence using
+ * Hibernate's pooled optimizer, so inserts can be batched.
+ * The allocation size is shared by all entities and comes from configuration.
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledSequence {
+
+    /**
+     * Name of the database sequence backing the identifier.
+     */
+    String name();
+}
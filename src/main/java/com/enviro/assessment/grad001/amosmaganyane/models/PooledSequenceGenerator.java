@@ -0,0 +1,42 @@
+package com.enviro.assessment.grad001.amosmaganyane.models;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+/**
+ * Sequence generator behind {@link PooledSequence}.
+ * Reserves blocks of identifiers with the pooled optimizer, using the allocation
+ * size from the {@value #ALLOCATION_SIZE_SETTING} Hibernate setting.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+    public static final String ALLOCATION_SIZE_SETTING = "wastemanagement.id.allocation_size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private final String sequenceName;
+
+    public PooledSequenceGenerator(PooledSequence config, Member member,
+                                   CustomIdGeneratorCreationContext context) {
+        this.sequenceName = config.name();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry)
+            throws MappingException {
+        Object allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSettings()
+                .getOrDefault(ALLOCATION_SIZE_SETTING, DEFAULT_ALLOCATION_SIZE);
+
+        parameters.put(SEQUENCE_PARAM, sequenceName);
+        parameters.put(INCREMENT_PARAM, allocationSize.toString());
+        parameters.put(OPT_PARAM, StandardOptimizerDescriptor.POOLED.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -1,14 +1,18 @@
 package com.enviro.assessment.grad001.amosmaganyane.models;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Objects;
 
 // Represents a recycling tip entity with many-to-one relationship to WasteCategory
 @Entity
 @Table(name = "recycling_tips")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tips")
 public class RecyclingTip {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "recycling_tips_seq")
     private Long id;
 
     //Title and content are required fields to make recycling tips meaningful
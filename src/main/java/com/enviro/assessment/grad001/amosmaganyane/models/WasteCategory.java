@@ -1,6 +1,9 @@
 package com.enviro.assessment.grad001.amosmaganyane.models;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -8,9 +11,11 @@ import java.util.Objects;
 // Represents a waste category with its associated recycling tips and disposal guidelines
 @Entity
 @Table(name = "waste_categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 public class WasteCategory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "waste_categories_seq")
     private Long id;
 
     // Name is required as it identifies the category type
@@ -22,11 +27,24 @@ public class WasteCategory {
 
     // One category can have multiple recycling tips
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories.recyclingTips")
     private List<RecyclingTip> recyclingTips;
 
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories.guidelines")
     private List<DisposalGuideline> guidelines;
 
+    // Child counts kept on the row so they can be read by primary key. They are
+    // set on insert and afterwards only changed by atomic updates in the
+    // repositories and bulk loaders, never by saving the entity
+    @Column(name = "guideline_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private int guidelineCount;
+
+    @Column(name = "tip_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private int tipCount;
+
     public WasteCategory() {
         this.recyclingTips = new ArrayList<>();
         this.guidelines = new ArrayList<>();
@@ -68,6 +86,20 @@ public class WasteCategory {
         return List.copyOf(guidelines);
     }
 
+    /**
+     * Returns the stored guideline count, as of when this entity was loaded.
+     */
+    public int getGuidelineCount() {
+        return guidelineCount;
+    }
+
+    /**
+     * Returns the stored tip count, as of when this entity was loaded.
+     */
+    public int getTipCount() {
+        return tipCount;
+    }
+
     public void addRecyclingTip(RecyclingTip tip) {
         recyclingTips.add(tip);
     }
@@ -76,6 +108,13 @@ public class WasteCategory {
         guidelines.add(guideline);
     }
 
+    // Children saved together with a new category are counted on insert
+    @PrePersist
+    void initializeCounts() {
+        guidelineCount = guidelines.size();
+        tipCount = recyclingTips.size();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
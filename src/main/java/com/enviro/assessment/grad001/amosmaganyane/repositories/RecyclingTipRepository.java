@@ -1,14 +1,38 @@
 package com.enviro.assessment.grad001.amosmaganyane.repositories;
 
+import com.enviro.assessment.grad001.amosmaganyane.dto.RecyclingTipDTO;
 import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface RecyclingTipRepository extends JpaRepository<RecyclingTip, Long> {
     // Basic CRUD operations inherited from JpaRepository
+    // LIKE search kept only as the reference tests and benchmarks compare the trigram index with;
+    // the service searches through TrigramIndex
     List<RecyclingTip> findByTitleContainingIgnoreCase(String keyword);
 
+    // Stops at the first tip of the category instead of counting them
+    boolean existsByCategoryId(Long categoryId);
+
+    /**
+     * Streams all tips as DTOs, ordered by ID, without loading entities.
+     * Rows are fetched from the database in batches while the stream is consumed;
+     * the stream must be read inside a transaction and closed afterwards.
+     *
+     * @return a stream of all tips
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.enviro.assessment.grad001.amosmaganyane.dto.RecyclingTipDTO(" +
+            "t.id, t.title, t.content, c.id, c.name) " +
+            "FROM RecyclingTip t JOIN t.category c ORDER BY t.id")
+    Stream<RecyclingTipDTO> streamAllForExport();
+
 }
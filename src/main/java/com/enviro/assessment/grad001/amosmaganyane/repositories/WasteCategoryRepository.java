@@ -1,16 +1,42 @@
 package com.enviro.assessment.grad001.amosmaganyane.repositories;
 
+import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
 import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface WasteCategoryRepository extends JpaRepository<WasteCategory, Long> {
-    
+
+    /**
+     * Selects categories as DTOs with their guideline and tip counts computed
+     * by the database, so neither child collection is loaded.
+     */
+    String SUMMARY_SELECT = "SELECT new com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO(" +
+            "w.id, w.name, w.description, " +
+            "(SELECT COUNT(g) FROM DisposalGuideline g WHERE g.category = w), " +
+            "(SELECT COUNT(t) FROM RecyclingTip t WHERE t.category = w)) " +
+            "FROM WasteCategory w ";
+
+    /**
+     * Native statement setting the stored guideline and tip counts from the
+     * child tables; append a WHERE clause on alias c to limit the categories.
+     */
+    String RECOUNT = "UPDATE waste_categories c SET " +
+            "guideline_count = (SELECT COUNT(*) FROM disposal_guidelines g WHERE g.category_id = c.id), " +
+            "tip_count = (SELECT COUNT(*) FROM recycling_tips t WHERE t.category_id = c.id) ";
+
     // Basic CRUD operations inherited from JpaRepository
 
     /**
@@ -24,13 +50,137 @@ public interface WasteCategoryRepository extends JpaRepository<WasteCategory, Lo
 
     /**
      * Finds categories with names containing the given keyword (case-insensitive).
+     * Kept only as the LIKE reference that tests compare the trigram index
+     * with; the service searches through TrigramIndex.
      *
      * @param keyword the keyword to search for
      * @return a list of matching WasteCategory objects
      */
     List<WasteCategory> findByNameContainingIgnoreCase(String keyword);
 
+    /**
+     * Finds all categories as DTOs with their counts, in a single query.
+     *
+     * @return all categories ordered by ID
+     */
+    @Query(SUMMARY_SELECT + "ORDER BY w.id")
+    List<WasteCategoryDTO> findAllSummaries();
+
+    /**
+     * Finds one category as a DTO with its counts, in a single query.
+     *
+     * @param id the category ID
+     * @return the category, or empty if it does not exist
+     */
+    @Query(SUMMARY_SELECT + "WHERE w.id = :id")
+    Optional<WasteCategoryDTO> findSummaryById(@Param("id") Long id);
+
+    /**
+     * Reads the stored guideline count of a category by primary key.
+     *
+     * @param id the category ID
+     * @return the count, or empty if the category does not exist
+     */
+    @Query("SELECT w.guidelineCount FROM WasteCategory w WHERE w.id = :id")
+    Optional<Integer> findGuidelineCountById(@Param("id") Long id);
+
+    /**
+     * Reads the stored tip count of a category by primary key.
+     *
+     * @param id the category ID
+     * @return the count, or empty if the category does not exist
+     */
+    @Query("SELECT w.tipCount FROM WasteCategory w WHERE w.id = :id")
+    Optional<Integer> findTipCountById(@Param("id") Long id);
+
+    /**
+     * Checks whether a category has any guidelines or tips, in one query.
+     * Each EXISTS stops at the first child row found through the foreign key
+     * index, so the cost does not grow with the size of the category.
+     *
+     * @param id the category ID
+     * @return true if it has children, or empty if the category does not exist
+     */
+    @Query("SELECT CASE WHEN EXISTS (SELECT 1 FROM DisposalGuideline g WHERE g.category.id = w.id) " +
+            "OR EXISTS (SELECT 1 FROM RecyclingTip t WHERE t.category.id = w.id) " +
+            "THEN true ELSE false END FROM WasteCategory w WHERE w.id = :id")
+    Optional<Boolean> hasChildrenById(@Param("id") Long id);
+
+    /**
+     * Deletes a category only if it has no guidelines or tips. The check and
+     * the delete are one statement, so no separate read can go stale, and the
+     * foreign keys reject a child inserted concurrently.
+     *
+     * @param id the category ID
+     * @return 1 if the category was deleted, 0 if it has children or does not exist
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "waste_categories"))
+    @Query(value = "DELETE FROM waste_categories c WHERE c.id = :id " +
+            "AND NOT EXISTS (SELECT 1 FROM disposal_guidelines g WHERE g.category_id = c.id) " +
+            "AND NOT EXISTS (SELECT 1 FROM recycling_tips t WHERE t.category_id = c.id)",
+            nativeQuery = true)
+    int deleteByIdIfEmpty(@Param("id") Long id);
+
+    /**
+     * Atomically adds to the stored guideline count of a category. The
+     * statement names the table it writes, so Hibernate evicts only the
+     * cached categories instead of every second-level cache region.
+     *
+     * @param id    the category ID
+     * @param delta the change, negative for removals
+     * @return the number of categories updated
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "waste_categories"))
+    @Query(value = "UPDATE waste_categories SET guideline_count = guideline_count + :delta " +
+            "WHERE id = :id", nativeQuery = true)
+    int adjustGuidelineCount(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * Atomically adds to the stored tip count of a category, evicting only
+     * the cached categories.
+     *
+     * @param id    the category ID
+     * @param delta the change, negative for removals
+     * @return the number of categories updated
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "waste_categories"))
+    @Query(value = "UPDATE waste_categories SET tip_count = tip_count + :delta " +
+            "WHERE id = :id", nativeQuery = true)
+    int adjustTipCount(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * Recounts the guidelines and tips of every category, writing only the
+     * categories whose stored counts are wrong.
+     *
+     * @return the number of categories corrected
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "waste_categories"))
+    @Query(value = RECOUNT + "WHERE c.guideline_count <> " +
+            "(SELECT COUNT(*) FROM disposal_guidelines g WHERE g.category_id = c.id) " +
+            "OR c.tip_count <> (SELECT COUNT(*) FROM recycling_tips t WHERE t.category_id = c.id)",
+            nativeQuery = true)
+    int recountStaleCounters();
+
     @Query("SELECT w FROM WasteCategory w LEFT JOIN w.guidelines g " +
             "GROUP BY w ORDER BY COUNT(g) DESC LIMIT :limit")
     List<WasteCategory> findTopCategoriesByGuidelineCount(@Param("limit") int limit);
+
+    /**
+     * Streams all categories as DTOs, ordered by ID, with their tip and
+     * guideline counts computed by the query instead of loading the collections.
+     * The stream must be read inside a transaction and closed afterwards.
+     *
+     * @return a stream of all categories
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SUMMARY_SELECT + "ORDER BY w.id")
+    Stream<WasteCategoryDTO> streamAllForExport();
 }
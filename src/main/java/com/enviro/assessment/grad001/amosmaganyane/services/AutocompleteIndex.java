@@ -0,0 +1,437 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.dto.DisposalGuidelineDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.RecyclingTipDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SuggestionDTO;
+import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.RecyclingTipRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import com.enviro.assessment.grad001.amosmaganyane.services.FullTextIndex.DocumentType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Suggests category names and tip and guideline titles that complete what
+ * a user has typed so far. A prefix matches the start of any word, so
+ * "bott" suggests "Rinse Plastic Bottles". Case is ignored and runs of
+ * whitespace count as one space. Shorter texts are suggested first, then
+ * in alphabetical order.
+ * <p>
+ * The texts are held in a trie of characters stored in flat arrays, with
+ * one path for every word start of every text. Each node keeps the best
+ * {@value #MAX_SUGGESTIONS} texts below it, so a lookup walks the prefix
+ * and returns that list without visiting the subtree. A write updates only
+ * the lists on the paths of the text it adds or removes. The index follows
+ * the services' writes as described in {@link CatalogIndex}.
+ */
+@Service
+public class AutocompleteIndex extends CatalogIndex<AutocompleteIndex.Trie> {
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteIndex.class);
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private final WasteCategoryRepository categoryRepository;
+    private final RecyclingTipRepository tipRepository;
+    private final DisposalGuidelineRepository guidelineRepository;
+
+    public AutocompleteIndex(WasteCategoryRepository categoryRepository,
+                             RecyclingTipRepository tipRepository,
+                             DisposalGuidelineRepository guidelineRepository,
+                             TransactionTemplate transactionTemplate,
+                             EntityCacheManager cacheManager) {
+        super(Trie::new, transactionTemplate, cacheManager);
+        this.categoryRepository = categoryRepository;
+        this.tipRepository = tipRepository;
+        this.guidelineRepository = guidelineRepository;
+    }
+
+    /**
+     * Lower-cases text and collapses each run of whitespace to one space,
+     * keeping a leading or trailing space.
+     *
+     * @param text the text
+     * @return the normalised text
+     */
+    static String normalize(String text) {
+        return text.replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the texts with a word starting with the prefix, best first.
+     *
+     * @param prefix what has been typed so far; blank returns nothing
+     * @param limit  the number of suggestions, at most {@value #MAX_SUGGESTIONS}
+     * @return the suggestions
+     * @throws IllegalArgumentException if the limit is below 1 or above {@value #MAX_SUGGESTIONS}
+     */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        String key = normalize(prefix).stripLeading();
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        return read(trie -> trie.suggest(key, limit));
+    }
+
+    /**
+     * Returns the number of texts in the index, loading it first if needed.
+     */
+    public int size() {
+        return read(trie -> trie.live);
+    }
+
+    @Override
+    public void categorySaved(WasteCategory category) {
+        long id = category.getId();
+        String name = category.getName();
+        apply(trie -> trie.put(DocumentType.CATEGORY, id, id, name));
+    }
+
+    @Override
+    public void categoryDeleted(Long id) {
+        apply(trie -> trie.removeCategory(id));
+    }
+
+    @Override
+    public void tipSaved(RecyclingTip tip) {
+        long id = tip.getId();
+        long categoryId = tip.getCategory().getId();
+        String title = tip.getTitle();
+        apply(trie -> trie.put(DocumentType.TIP, id, categoryId, title));
+    }
+
+    @Override
+    public void tipDeleted(Long id) {
+        apply(trie -> trie.remove(DocumentType.TIP, id));
+    }
+
+    @Override
+    public void guidelineSaved(DisposalGuideline guideline) {
+        long id = guideline.getId();
+        long categoryId = guideline.getCategory().getId();
+        String title = guideline.getTitle();
+        apply(trie -> trie.put(DocumentType.GUIDELINE, id, categoryId, title));
+    }
+
+    @Override
+    public void guidelineDeleted(Long id) {
+        apply(trie -> trie.remove(DocumentType.GUIDELINE, id));
+    }
+
+    @Override
+    protected void afterChange(Trie trie) {
+        trie.compactIfSparse();
+    }
+
+    @Override
+    protected void load(Trie trie) {
+        long started = System.nanoTime();
+        categoryRepository.findAllSummaries().forEach(category ->
+                trie.put(DocumentType.CATEGORY, category.getId(), category.getId(), category.getName()));
+        try (Stream<RecyclingTipDTO> tips = tipRepository.streamAllForExport()) {
+            tips.forEach(tip -> trie.put(DocumentType.TIP, tip.getId(), tip.getCategoryId(), tip.getTitle()));
+        }
+        try (Stream<DisposalGuidelineDTO> guidelines = guidelineRepository.streamAllForExport()) {
+            guidelines.forEach(guideline -> trie.put(DocumentType.GUIDELINE, guideline.getId(),
+                    guideline.getCategoryId(), guideline.getTitle()));
+        }
+        log.info("Indexed {} texts in {} trie nodes in {} ms", trie.live, trie.nodes,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * The trie itself, not thread-safe. Texts are numbered as they are
+     * added; a changed text gets a new number. Nodes are numbered too, with
+     * the root at 0, and each links to its first child and next sibling.
+     */
+    static final class Trie {
+        private static final int[] NONE = new int[0];
+
+        // Per text
+        DocumentType[] types = new DocumentType[16];
+        long[] ids = new long[16];
+        long[] categoryIds = new long[16];
+        String[] texts = new String[16];
+        String[] keys = new String[16];
+        final Map<DocumentType, Map<Long, Integer>> entriesById = new EnumMap<>(DocumentType.class);
+        int entries;
+        int live;
+
+        // Per node
+        char[] labels = new char[64];
+        int[] firstChildren = new int[64];
+        int[] nextSiblings = new int[64];
+        // The best texts at or below each node, best first
+        int[][] best = new int[64][];
+        // The texts with a word start ending exactly at each node
+        int[][] ends = new int[64][];
+        int nodes = 1;
+
+        Trie() {
+            for (DocumentType type : DocumentType.values()) {
+                entriesById.put(type, new HashMap<>());
+            }
+            firstChildren[0] = -1;
+            nextSiblings[0] = -1;
+            best[0] = NONE;
+            ends[0] = NONE;
+        }
+
+        // Shorter texts first, then alphabetical, so the order never depends on when a text was added
+        private int compare(int a, int b) {
+            int order = Integer.compare(keys[a].length(), keys[b].length());
+            if (order == 0) {
+                order = keys[a].compareTo(keys[b]);
+            }
+            if (order == 0) {
+                order = types[a].compareTo(types[b]);
+            }
+            return order != 0 ? order : Long.compare(ids[a], ids[b]);
+        }
+
+        private static List<Integer> wordStarts(String key) {
+            List<Integer> starts = new ArrayList<>();
+            for (int i = 0; i < key.length(); i++) {
+                if (Character.isLetterOrDigit(key.charAt(i))
+                        && (i == 0 || !Character.isLetterOrDigit(key.charAt(i - 1)))) {
+                    starts.add(i);
+                }
+            }
+            if (starts.isEmpty() && !key.isBlank()) {
+                starts.add(0);
+            }
+            return starts;
+        }
+
+        private int child(int node, char label) {
+            for (int child = firstChildren[node]; child >= 0; child = nextSiblings[child]) {
+                if (labels[child] == label) {
+                    return child;
+                }
+            }
+            return -1;
+        }
+
+        private int addChild(int node, char label) {
+            if (nodes == labels.length) {
+                int capacity = nodes * 2;
+                labels = Arrays.copyOf(labels, capacity);
+                firstChildren = Arrays.copyOf(firstChildren, capacity);
+                nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+                best = Arrays.copyOf(best, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+            }
+            int child = nodes++;
+            labels[child] = label;
+            firstChildren[child] = -1;
+            nextSiblings[child] = firstChildren[node];
+            firstChildren[node] = child;
+            best[child] = NONE;
+            ends[child] = NONE;
+            return child;
+        }
+
+        void put(DocumentType type, long id, long categoryId, String text) {
+            remove(type, id);
+            if (text == null) {
+                return;
+            }
+            if (entries == ids.length) {
+                int capacity = entries * 2;
+                types = Arrays.copyOf(types, capacity);
+                ids = Arrays.copyOf(ids, capacity);
+                categoryIds = Arrays.copyOf(categoryIds, capacity);
+                texts = Arrays.copyOf(texts, capacity);
+                keys = Arrays.copyOf(keys, capacity);
+            }
+            int entry = entries++;
+            types[entry] = type;
+            ids[entry] = id;
+            categoryIds[entry] = categoryId;
+            texts[entry] = text;
+            keys[entry] = normalize(text);
+            entriesById.get(type).put(id, entry);
+            live++;
+            String key = keys[entry];
+            for (int start : wordStarts(key)) {
+                int node = 0;
+                for (int i = start; i < key.length(); i++) {
+                    int next = child(node, key.charAt(i));
+                    node = next >= 0 ? next : addChild(node, key.charAt(i));
+                    best[node] = withEntry(best[node], entry);
+                }
+                ends[node] = append(ends[node], entry);
+            }
+        }
+
+        // Adds an entry to a best list if it ranks high enough
+        private int[] withEntry(int[] list, int entry) {
+            int at = 0;
+            while (at < list.length && compare(list[at], entry) < 0) {
+                at++;
+            }
+            if (at == MAX_SUGGESTIONS || (at < list.length && list[at] == entry)) {
+                return list;
+            }
+            int[] updated = new int[Math.min(list.length + 1, MAX_SUGGESTIONS)];
+            System.arraycopy(list, 0, updated, 0, at);
+            updated[at] = entry;
+            System.arraycopy(list, at, updated, at + 1, updated.length - at - 1);
+            return updated;
+        }
+
+        private static int[] append(int[] list, int entry) {
+            int[] updated = Arrays.copyOf(list, list.length + 1);
+            updated[list.length] = entry;
+            return updated;
+        }
+
+        void remove(DocumentType type, long id) {
+            Integer entry = entriesById.get(type).remove(id);
+            if (entry == null) {
+                return;
+            }
+            live--;
+            String key = keys[entry];
+            // The nodes on the entry's paths, grouped by depth
+            List<List<Integer>> levels = new ArrayList<>();
+            for (int start : wordStarts(key)) {
+                int node = 0;
+                for (int i = start; i < key.length(); i++) {
+                    node = child(node, key.charAt(i));
+                    int depth = i - start;
+                    if (levels.size() == depth) {
+                        levels.add(new ArrayList<>());
+                    }
+                    levels.get(depth).add(node);
+                }
+                ends[node] = without(ends[node], entry);
+            }
+            // Rebuild the lists that held the entry from the deepest nodes up,
+            // so each node merges children that no longer hold it
+            for (int depth = levels.size() - 1; depth >= 0; depth--) {
+                for (int node : levels.get(depth)) {
+                    if (contains(best[node], entry)) {
+                        best[node] = collectBest(node);
+                    }
+                }
+            }
+            texts[entry] = null;
+            keys[entry] = null;
+        }
+
+        private static int[] without(int[] list, int entry) {
+            int at = 0;
+            while (at < list.length && list[at] != entry) {
+                at++;
+            }
+            if (at == list.length) {
+                return list;
+            }
+            int[] updated = new int[list.length - 1];
+            System.arraycopy(list, 0, updated, 0, at);
+            System.arraycopy(list, at + 1, updated, at, updated.length - at);
+            return updated;
+        }
+
+        private static boolean contains(int[] list, int entry) {
+            for (int candidate : list) {
+                if (candidate == entry) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Merges the texts ending at a node with its children's best lists
+        private int[] collectBest(int node) {
+            int[] collected = NONE;
+            for (int entry : ends[node]) {
+                collected = withEntry(collected, entry);
+            }
+            for (int child = firstChildren[node]; child >= 0; child = nextSiblings[child]) {
+                for (int entry : best[child]) {
+                    if (collected.length == MAX_SUGGESTIONS
+                            && compare(entry, collected[MAX_SUGGESTIONS - 1]) > 0) {
+                        // Later entries of the child rank lower still
+                        break;
+                    }
+                    collected = withEntry(collected, entry);
+                }
+            }
+            return collected;
+        }
+
+        // Rebuilds the trie once removed texts and their nodes outnumber the live ones
+        void compactIfSparse() {
+            int removed = entries - live;
+            if (removed < 1024 || removed < live) {
+                return;
+            }
+            Trie compact = new Trie();
+            for (int entry = 0; entry < entries; entry++) {
+                if (texts[entry] != null) {
+                    compact.put(types[entry], ids[entry], categoryIds[entry], texts[entry]);
+                }
+            }
+            types = compact.types;
+            ids = compact.ids;
+            categoryIds = compact.categoryIds;
+            texts = compact.texts;
+            keys = compact.keys;
+            entriesById.clear();
+            entriesById.putAll(compact.entriesById);
+            entries = compact.entries;
+            labels = compact.labels;
+            firstChildren = compact.firstChildren;
+            nextSiblings = compact.nextSiblings;
+            best = compact.best;
+            ends = compact.ends;
+            nodes = compact.nodes;
+        }
+
+        // A category's tips and guidelines are deleted with it
+        void removeCategory(long categoryId) {
+            remove(DocumentType.CATEGORY, categoryId);
+            for (int entry = 0; entry < entries; entry++) {
+                if (texts[entry] != null && categoryIds[entry] == categoryId) {
+                    remove(types[entry], ids[entry]);
+                }
+            }
+        }
+
+        List<SuggestionDTO> suggest(String prefix, int limit) {
+            int node = 0;
+            for (int i = 0; i < prefix.length() && node >= 0; i++) {
+                node = child(node, prefix.charAt(i));
+            }
+            if (node < 0) {
+                return List.of();
+            }
+            int[] list = best[node];
+            List<SuggestionDTO> suggestions = new ArrayList<>(Math.min(limit, list.length));
+            for (int i = 0; i < list.length && i < limit; i++) {
+                int entry = list[i];
+                suggestions.add(new SuggestionDTO(types[entry].name().toLowerCase(Locale.ROOT), ids[entry],
+                        categoryIds[entry], texts[entry]));
+            }
+            return suggestions;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * An entity cache bounded by size and age. Entries are kept in
+ * least-recently-used order and the eldest is evicted once the cache is
+ * full; an entry older than the TTL is dropped when it is next read.
+ * <p>
+ * Loaders run outside the cache lock, so a slow database read does not
+ * block hits on other keys. A value loaded while the cache was invalidated
+ * is not stored, since it may predate the change that caused the invalidation.
+ *
+ * @param <K> the key type
+ * @param <V> the cached value type
+ */
+class BoundedEntityCache<K, V> implements EntityCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final Map<K, Entry<V>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    // Incremented by every invalidation; guarded by this
+    private long generation;
+
+    BoundedEntityCache(String name, int maxSize, Duration ttl) {
+        this(name, maxSize, ttl, System::nanoTime);
+    }
+
+    BoundedEntityCache(String name, int maxSize, Duration ttl, LongSupplier ticker) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedEntityCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (ticker.getAsLong() - entry.expiresAt() < 0) {
+                    hits.increment();
+                    return Optional.of(entry.value());
+                }
+                entries.remove(key);
+                expirations.increment();
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        Optional<V> loaded = loader.apply(key);
+        loaded.ifPresent(value -> {
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    entries.put(key, new Entry<>(value, ticker.getAsLong() + ttlNanos));
+                }
+            }
+        });
+        return loaded;
+    }
+
+    @Override
+    public void invalidate(K key) {
+        remove(key);
+        TransactionCallbacks.afterTransaction(() -> remove(key));
+    }
+
+    @Override
+    public void invalidateAll() {
+        clear();
+        TransactionCallbacks.afterTransaction(this::clear);
+    }
+
+    @Override
+    public synchronized CacheStats getStats() {
+        return new CacheStats(name, true, entries.size(), maxSize, hits.sum(), misses.sum(),
+                evictions.sum(), expirations.sum());
+    }
+
+    private synchronized void remove(K key) {
+        entries.remove(key);
+        generation++;
+    }
+
+    private synchronized void clear() {
+        entries.clear();
+        generation++;
+    }
+}
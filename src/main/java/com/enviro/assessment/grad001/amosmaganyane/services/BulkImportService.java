@@ -0,0 +1,499 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes CSV rows to the database in JDBC batches.
+ * Each chunk is validated in memory using the same rules as the per-row
+ * service methods, then written in a single transaction. Identifiers are
+ * reserved through Hibernate's own generator for each entity, so they come
+ * from the same pooled blocks as IDs of entities saved through JPA.
+ * <p>
+ * The upsert methods make imports idempotent: rows are matched on their
+ * natural key (the category name, ignoring case, or the category and title
+ * of a tip or guideline), existing rows are updated in place and only
+ * missing rows are inserted. Each chunk needs one query to find which keys
+ * exist and one MERGE batch, so round trips grow with chunks, not rows.
+ * <p>
+ * The stored tip and guideline counts of each category are increased by
+ * the rows a chunk inserts, in the same transaction as the chunk. Since
+ * these writes bypass the entity services, callers empty the entity caches
+ * with {@link #invalidateCaches()} once the whole import is written.
+ */
+@Service
+public class BulkImportService {
+    private static final String INSERT_CATEGORY =
+            "INSERT INTO waste_categories (id, name, description) VALUES (?, ?, ?)";
+    private static final String INSERT_TIP =
+            "INSERT INTO recycling_tips (id, title, content, category_id) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_GUIDELINE =
+            "INSERT INTO disposal_guidelines (id, title, instructions, category_id) "
+                    + "VALUES (?, ?, ?, ?)";
+    private static final String MERGE_CATEGORY =
+            "MERGE INTO waste_categories t USING (VALUES (CAST(? AS BIGINT), "
+                    + "CAST(? AS VARCHAR), CAST(? AS VARCHAR))) s (id, name, description) "
+                    + "ON LOWER(t.name) = LOWER(s.name) "
+                    + "WHEN MATCHED AND (t.name <> s.name "
+                    + "OR t.description IS DISTINCT FROM s.description) THEN "
+                    + "UPDATE SET name = s.name, description = s.description "
+                    + "WHEN NOT MATCHED THEN "
+                    + "INSERT (id, name, description) VALUES (s.id, s.name, s.description)";
+    private static final String MERGE_ENTRY =
+            "MERGE INTO %1$s t USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR), "
+                    + "CAST(? AS VARCHAR), CAST(? AS BIGINT))) s (id, title, %2$s, category_id) "
+                    + "ON t.category_id = s.category_id AND t.title = s.title "
+                    + "WHEN MATCHED AND t.%2$s <> s.%2$s THEN UPDATE SET %2$s = s.%2$s "
+                    + "WHEN NOT MATCHED THEN INSERT (id, title, %2$s, category_id) "
+                    + "VALUES (s.id, s.title, s.%2$s, s.category_id)";
+    private static final String ADD_TIP_COUNT =
+            "UPDATE waste_categories SET tip_count = tip_count + ? WHERE id = ?";
+    private static final String ADD_GUIDELINE_COUNT =
+            "UPDATE waste_categories SET guideline_count = guideline_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WasteCategoryService categoryService;
+    private final RecyclingTipService tipService;
+    private final DisposalGuidelineService guidelineService;
+    private final EntityCacheManager cacheManager;
+    private final EntityIdAllocator idAllocator;
+
+    public BulkImportService(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             WasteCategoryService categoryService,
+                             RecyclingTipService tipService,
+                             DisposalGuidelineService guidelineService,
+                             EntityCacheManager cacheManager,
+                             EntityIdAllocator idAllocator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.categoryService = categoryService;
+        this.tipService = tipService;
+        this.guidelineService = guidelineService;
+        this.cacheManager = cacheManager;
+        this.idAllocator = idAllocator;
+    }
+
+    /**
+     * Empties the entity caches, and with them the indexes and rankings that
+     * follow them, after rows were written by this service. Called once an
+     * import or load has written its last chunk, rather than after every
+     * chunk, so a long import does not keep dropping what other requests read.
+     */
+    public void invalidateCaches() {
+        cacheManager.invalidateAll();
+    }
+
+    /**
+     * Loads the names of all existing categories in lower case, so that
+     * uniqueness can be checked in memory instead of once per row.
+     *
+     * @return a mutable set of lower-cased category names
+     */
+    public Set<String> findExistingCategoryNames() {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT LOWER(name) FROM waste_categories", String.class));
+    }
+
+    /**
+     * Loads the IDs of all existing categories keyed by their exact name.
+     *
+     * @return a map of category name to category ID
+     */
+    public Map<String, Long> findCategoryIds() {
+        Map<String, Long> categoryIds = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM waste_categories",
+                rs -> {
+                    categoryIds.put(rs.getString("name"), rs.getLong("id"));
+                });
+        return categoryIds;
+    }
+
+    /**
+     * Validates and writes a chunk of category rows (name, description).
+     *
+     * @param rows         CSV rows to import
+     * @param knownNames   lower-cased names already present; updated with accepted rows
+     * @param skipInvalid  true to count invalid rows as rejects, false to fail the chunk
+     * @param report       report receiving row counts and timings
+     * @return the number of rows written
+     * @throws IllegalArgumentException if a row is invalid and skipInvalid is false
+     */
+    public int importCategories(List<String[]> rows, Set<String> knownNames,
+                                boolean skipInvalid, ImportReport report) {
+        long start = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        for (String[] line : rows) {
+            String error = validateCategory(line, knownNames);
+            if (error != null) {
+                reject(error, skipInvalid, report);
+                continue;
+            }
+            String name = line[0].trim();
+            knownNames.add(name.toLowerCase(Locale.ROOT));
+            batch.add(new Object[]{name, line[1].trim()});
+        }
+        return write(INSERT_CATEGORY, WasteCategory.class, null, batch, rows.size(), start, report);
+    }
+
+    /**
+     * Validates and writes a chunk of recycling tip rows (title, content, category_name).
+     *
+     * @param rows         CSV rows to import
+     * @param categoryIds  category IDs keyed by category name
+     * @param skipInvalid  true to count invalid rows as rejects, false to fail the chunk
+     * @param report       report receiving row counts and timings
+     * @return the number of rows written
+     * @throws IllegalArgumentException if a row is invalid and skipInvalid is false
+     */
+    public int importTips(List<String[]> rows, Map<String, Long> categoryIds,
+                          boolean skipInvalid, ImportReport report) {
+        long start = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        for (String[] line : rows) {
+            String error = validateTip(line, categoryIds);
+            if (error != null) {
+                reject(error, skipInvalid, report);
+                continue;
+            }
+            batch.add(new Object[]{line[0].trim(), line[1].trim(),
+                    categoryIds.get(line[2].trim())});
+        }
+        return write(INSERT_TIP, RecyclingTip.class, ADD_TIP_COUNT, batch, rows.size(), start, report);
+    }
+
+    /**
+     * Validates and writes a chunk of disposal guideline rows
+     * (title, instructions, category_name).
+     *
+     * @param rows         CSV rows to import
+     * @param categoryIds  category IDs keyed by category name
+     * @param skipInvalid  true to count invalid rows as rejects, false to fail the chunk
+     * @param report       report receiving row counts and timings
+     * @return the number of rows written
+     * @throws IllegalArgumentException if a row is invalid and skipInvalid is false
+     */
+    public int importGuidelines(List<String[]> rows, Map<String, Long> categoryIds,
+                                boolean skipInvalid, ImportReport report) {
+        long start = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        for (String[] line : rows) {
+            String error = validateGuideline(line, categoryIds);
+            if (error != null) {
+                reject(error, skipInvalid, report);
+                continue;
+            }
+            batch.add(new Object[]{line[0].trim(), line[1].trim(),
+                    categoryIds.get(line[2].trim())});
+        }
+        return write(INSERT_GUIDELINE, DisposalGuideline.class, ADD_GUIDELINE_COUNT, batch,
+                rows.size(), start, report);
+    }
+
+    /**
+     * Validates and upserts a chunk of category rows (name, description),
+     * matching existing categories by name regardless of case. A category
+     * whose name or description differs is updated; an identical one is left alone.
+     *
+     * @param rows         CSV rows to import
+     * @param skipInvalid  true to count invalid rows as rejects, false to fail the chunk
+     * @param report       report receiving row counts and timings
+     * @return the number of rows inserted or updated
+     * @throws IllegalArgumentException if a row is invalid and skipInvalid is false
+     */
+    public int upsertCategories(List<String[]> rows, boolean skipInvalid, ImportReport report) {
+        long start = System.nanoTime();
+        // Later rows win when a name repeats within the chunk
+        Map<String, Object[]> byName = new LinkedHashMap<>();
+        for (String[] line : rows) {
+            String error = validateCategoryFormat(line);
+            if (error != null) {
+                reject(error, skipInvalid, report);
+                continue;
+            }
+            String name = line[0].trim();
+            byName.put(name.toLowerCase(Locale.ROOT), new Object[]{null, name, line[1].trim()});
+        }
+        Set<String> existing = byName.isEmpty() ? Set.of() : new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT LOWER(name) FROM waste_categories WHERE LOWER(name) IN ("
+                        + placeholders(byName.size(), "?") + ")",
+                String.class, byName.keySet().toArray()));
+        return merge(MERGE_CATEGORY, WasteCategory.class, null, byName, existing, rows.size(),
+                start, report);
+    }
+
+    /**
+     * Validates and upserts a chunk of recycling tip rows (title, content, category_name),
+     * matching existing tips by category and title and updating their content.
+     *
+     * @param rows         CSV rows to import
+     * @param categoryIds  category IDs keyed by category name
+     * @param skipInvalid  true to count invalid rows as rejects, false to fail the chunk
+     * @param report       report receiving row counts and timings
+     * @return the number of rows inserted or updated
+     * @throws IllegalArgumentException if a row is invalid and skipInvalid is false
+     */
+    public int upsertTips(List<String[]> rows, Map<String, Long> categoryIds,
+                          boolean skipInvalid, ImportReport report) {
+        long start = System.nanoTime();
+        Map<String, Object[]> byKey = new LinkedHashMap<>();
+        for (String[] line : rows) {
+            String error = validateTip(line, categoryIds);
+            if (error != null) {
+                reject(error, skipInvalid, report);
+                continue;
+            }
+            putEntry(byKey, line, categoryIds);
+        }
+        return mergeEntries("recycling_tips", "content", RecyclingTip.class, ADD_TIP_COUNT, byKey,
+                rows.size(), start, report);
+    }
+
+    /**
+     * Validates and upserts a chunk of disposal guideline rows
+     * (title, instructions, category_name), matching existing guidelines by
+     * category and title and updating their instructions.
+     *
+     * @param rows         CSV rows to import
+     * @param categoryIds  category IDs keyed by category name
+     * @param skipInvalid  true to count invalid rows as rejects, false to fail the chunk
+     * @param report       report receiving row counts and timings
+     * @return the number of rows inserted or updated
+     * @throws IllegalArgumentException if a row is invalid and skipInvalid is false
+     */
+    public int upsertGuidelines(List<String[]> rows, Map<String, Long> categoryIds,
+                                boolean skipInvalid, ImportReport report) {
+        long start = System.nanoTime();
+        Map<String, Object[]> byKey = new LinkedHashMap<>();
+        for (String[] line : rows) {
+            String error = validateGuideline(line, categoryIds);
+            if (error != null) {
+                reject(error, skipInvalid, report);
+                continue;
+            }
+            putEntry(byKey, line, categoryIds);
+        }
+        return mergeEntries("disposal_guidelines", "instructions", DisposalGuideline.class,
+                ADD_GUIDELINE_COUNT, byKey, rows.size(), start, report);
+    }
+
+    private String validateCategory(String[] line, Set<String> knownNames) {
+        String error = validateCategoryFormat(line);
+        if (error != null) {
+            return error;
+        }
+        String name = line[0].trim();
+        if (knownNames.contains(name.toLowerCase(Locale.ROOT))) {
+            return "Category name already exists: " + name;
+        }
+        return null;
+    }
+
+    private String validateCategoryFormat(String[] line) {
+        if (line.length < 2) {
+            return "Invalid category data format: requires name and description";
+        }
+        String name = line[0].trim();
+        if (!categoryService.isValidCategoryName(name)) {
+            return "Invalid category name format: " + name;
+        }
+        return null;
+    }
+
+    private String validateTip(String[] line, Map<String, Long> categoryIds) {
+        if (line.length < 3) {
+            return "Invalid tip data format: requires title, content, and category";
+        }
+        if (!categoryIds.containsKey(line[2].trim())) {
+            return "Category not found: " + line[2];
+        }
+        if (!tipService.isValidTipContent(line[1].trim())) {
+            return "Invalid tip content: " + line[0].trim();
+        }
+        return null;
+    }
+
+    private String validateGuideline(String[] line, Map<String, Long> categoryIds) {
+        if (line.length < 3) {
+            return "Invalid guideline data format: requires title, instructions, and category";
+        }
+        if (!categoryIds.containsKey(line[2].trim())) {
+            return "Category not found: " + line[2];
+        }
+        if (!guidelineService.isValidGuidelineInstructions(line[1].trim())) {
+            return "Invalid guideline instructions: " + line[0].trim();
+        }
+        return null;
+    }
+
+    private void reject(String error, boolean skipInvalid, ImportReport report) {
+        if (!skipInvalid) {
+            throw new IllegalArgumentException(error);
+        }
+        report.addRowsRejected(1);
+    }
+
+    /**
+     * Writes one validated chunk as a single JDBC batch inside a transaction,
+     * prefixing each row with a newly reserved identifier. When countSql is
+     * given, the category counters are increased in the same transaction.
+     */
+    private int write(String sql, Class<?> entityType, String countSql, List<Object[]> batch,
+                      int rowsRead, long validateStart, ImportReport report) {
+        long writeStart = System.nanoTime();
+        report.addRowsRead(rowsRead);
+        report.addValidateTime(writeStart - validateStart);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        long[] ids = idAllocator.allocate(entityType, batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Object[] row = batch.get(i);
+            Object[] withId = new Object[row.length + 1];
+            withId[0] = ids[i];
+            System.arraycopy(row, 0, withId, 1, row.length);
+            batch.set(i, withId);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(sql, batch);
+            if (countSql != null) {
+                Map<Long, Integer> added = new HashMap<>();
+                for (Object[] row : batch) {
+                    added.merge((Long) row[3], 1, Integer::sum);
+                }
+                addToCounts(countSql, added);
+            }
+        });
+        report.addWriteTime(System.nanoTime() - writeStart);
+        report.addBatch();
+        report.addRowsWritten(batch.size());
+        return batch.size();
+    }
+
+    /**
+     * Adds a validated tip or guideline row under its natural key, so a
+     * later row with the same category and title replaces an earlier one.
+     */
+    private static void putEntry(Map<String, Object[]> byKey, String[] line,
+                                 Map<String, Long> categoryIds) {
+        String title = line[0].trim();
+        Long categoryId = categoryIds.get(line[2].trim());
+        byKey.put(categoryId + "/" + title, new Object[]{null, title, line[1].trim(), categoryId});
+    }
+
+    /**
+     * Upserts tips or guidelines, finding the existing keys of the whole
+     * chunk with a single row-value IN query.
+     */
+    private int mergeEntries(String table, String textColumn, Class<?> entityType, String countSql,
+                             Map<String, Object[]> byKey, int rowsRead, long validateStart,
+                             ImportReport report) {
+        Set<String> existing = new HashSet<>();
+        if (!byKey.isEmpty()) {
+            List<Object> args = new ArrayList<>(byKey.size() * 2);
+            for (Object[] row : byKey.values()) {
+                args.add(row[3]);
+                args.add(row[1]);
+            }
+            jdbcTemplate.query("SELECT category_id, title FROM " + table
+                            + " WHERE (category_id, title) IN (" + placeholders(byKey.size(), "(?, ?)")
+                            + ")",
+                    rs -> {
+                        existing.add(rs.getLong("category_id") + "/" + rs.getString("title"));
+                    }, args.toArray());
+        }
+        return merge(String.format(MERGE_ENTRY, table, textColumn), entityType, countSql, byKey,
+                existing, rowsRead, validateStart, report);
+    }
+
+    /**
+     * Writes one chunk as a single MERGE batch inside a transaction. Identifiers
+     * are only reserved for rows whose key does not exist yet; the other rows
+     * are updated, or skipped by the MERGE when their content is unchanged.
+     * When countSql is given, the category counters are increased by the
+     * inserted rows in the same transaction.
+     */
+    private int merge(String sql, Class<?> entityType, String countSql, Map<String, Object[]> byKey,
+                      Set<String> existing, int rowsRead, long validateStart,
+                      ImportReport report) {
+        long writeStart = System.nanoTime();
+        report.addRowsRead(rowsRead);
+        report.addValidateTime(writeStart - validateStart);
+        if (byKey.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> batch = new ArrayList<>(byKey.size());
+        List<Boolean> updates = new ArrayList<>(byKey.size());
+        byKey.forEach((key, row) -> {
+            batch.add(row);
+            updates.add(existing.contains(key));
+        });
+        long[] ids = idAllocator.allocate(entityType, (int) updates.stream().filter(update -> !update).count());
+        int next = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (!updates.get(i)) {
+                batch.get(i)[0] = ids[next++];
+            }
+        }
+        int[] counts = transactionTemplate.execute(status -> {
+            int[] affected = jdbcTemplate.batchUpdate(sql, batch);
+            if (countSql != null) {
+                Map<Long, Integer> added = new HashMap<>();
+                for (int i = 0; i < affected.length; i++) {
+                    if (affected[i] > 0 && !updates.get(i)) {
+                        added.merge((Long) batch.get(i)[3], 1, Integer::sum);
+                    }
+                }
+                addToCounts(countSql, added);
+            }
+            return affected;
+        });
+        int written = 0;
+        int updated = 0;
+        for (int i = 0; counts != null && i < counts.length; i++) {
+            if (counts[i] > 0) {
+                written++;
+                if (updates.get(i)) {
+                    updated++;
+                }
+            }
+        }
+        report.addWriteTime(System.nanoTime() - writeStart);
+        report.addBatch();
+        report.addRowsWritten(written);
+        report.addRowsUpdated(updated);
+        return written;
+    }
+
+    /**
+     * Adds the number of rows written per category to its stored count,
+     * with one batched statement per chunk.
+     */
+    private void addToCounts(String countSql, Map<Long, Integer> added) {
+        if (added.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(added.size());
+        added.forEach((categoryId, count) -> args.add(new Object[]{count, categoryId}));
+        jdbcTemplate.batchUpdate(countSql, args);
+    }
+
+    private static String placeholders(int count, String placeholder) {
+        return String.join(", ", Collections.nCopies(count, placeholder));
+    }
+}
@@ -0,0 +1,72 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+/**
+ * A snapshot of the statistics of one entity cache.
+ */
+public class CacheStats {
+    private final String name;
+    private final boolean enabled;
+    private final int size;
+    private final int maxSize;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+
+    public CacheStats(String name, boolean enabled, int size, int maxSize,
+                      long hits, long misses, long evictions, long expirations) {
+        this.name = name;
+        this.enabled = enabled;
+        this.size = size;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    // Entries removed to make room for new ones
+    public long getEvictions() {
+        return evictions;
+    }
+
+    // Entries dropped because their TTL had passed
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: size=%d/%d hits=%d misses=%d evictions=%d expirations=%d",
+                name, size, maxSize, hits, misses, evictions, expirations);
+    }
+}
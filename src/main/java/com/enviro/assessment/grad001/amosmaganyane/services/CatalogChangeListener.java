@@ -0,0 +1,45 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+
+/**
+ * Told by the services about every category, tip and guideline they write,
+ * so in-memory indexes over the catalog can follow without reading the
+ * database again. Methods are called inside the writing transaction;
+ * implementations should copy what they need and apply it once the
+ * transaction commits.
+ * <p>
+ * Bulk imports and loads, which bypass the services, are not reported
+ * here. They empty the entity caches once finished instead, which
+ * implementations can follow with
+ * {@link EntityCacheManager#addInvalidateAllListener(Runnable)}. A reload of
+ * the data files reports each row it writes, as the services do.
+ */
+public interface CatalogChangeListener {
+
+    /**
+     * A category was created or its name or description changed.
+     */
+    void categorySaved(WasteCategory category);
+
+    /**
+     * A category was deleted, together with its tips and guidelines.
+     */
+    void categoryDeleted(Long id);
+
+    /**
+     * A tip was created or its title or content changed.
+     */
+    void tipSaved(RecyclingTip tip);
+
+    void tipDeleted(Long id);
+
+    /**
+     * A guideline was created or its title or instructions changed.
+     */
+    void guidelineSaved(DisposalGuideline guideline);
+
+    void guidelineDeleted(Long id);
+}
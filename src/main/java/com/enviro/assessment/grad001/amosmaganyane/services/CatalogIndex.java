@@ -0,0 +1,117 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Base for in-memory indexes over the catalog that follow the services'
+ * writes instead of querying the database. The index is built on first
+ * use, in one read-only transaction. Each write reported through
+ * {@link CatalogChangeListener} is applied once its transaction commits.
+ * Writes that bypass the services empty the entity caches, which drops the
+ * index; the next read rebuilds it, replaying any write that commits while
+ * it loads.
+ *
+ * @param <I> the index itself, only ever used while holding this object's lock
+ */
+abstract class CatalogIndex<I> implements CatalogChangeListener {
+
+    private final Supplier<I> emptyIndex;
+    private final TransactionTemplate readOnlyTransaction;
+    // Guarded by this, except that a rebuild loads without holding it
+    private I index;
+    private volatile boolean loaded;
+    // Writes committed while a rebuild loads, replayed onto the new index; null when not loading
+    private List<Consumer<I>> pending;
+    // Incremented each time the index is dropped, so a rebuild can tell it loaded outdated data
+    private long resets;
+    private final Object rebuildLock = new Object();
+
+    protected CatalogIndex(Supplier<I> emptyIndex, TransactionTemplate transactionTemplate,
+                           EntityCacheManager cacheManager) {
+        this.emptyIndex = emptyIndex;
+        this.index = emptyIndex.get();
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        cacheManager.addInvalidateAllListener(this::markStale);
+    }
+
+    /**
+     * Fills an empty index from the database; called inside a read-only transaction.
+     */
+    protected abstract void load(I index);
+
+    /**
+     * Called after writes are applied to the index, e.g. to compact it.
+     */
+    protected void afterChange(I index) {
+    }
+
+    /**
+     * Reads the index, loading it first if needed.
+     */
+    protected final <R> R read(Function<I, R> reader) {
+        ensureLoaded();
+        synchronized (this) {
+            return reader.apply(index);
+        }
+    }
+
+    /**
+     * Applies a write to the index once the current transaction commits,
+     * or at once outside a transaction. The change must not read entities,
+     * which may be detached by then.
+     */
+    protected final void apply(Consumer<I> change) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                if (pending != null) {
+                    pending.add(change);
+                } else if (loaded) {
+                    change.accept(index);
+                    afterChange(index);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops the index, for writes that bypass the services; the next read rebuilds it.
+     */
+    public synchronized void markStale() {
+        loaded = false;
+        index = emptyIndex.get();
+        resets++;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            while (!loaded) {
+                long resetsBefore;
+                synchronized (this) {
+                    pending = new ArrayList<>();
+                    resetsBefore = resets;
+                }
+                I fresh = emptyIndex.get();
+                readOnlyTransaction.executeWithoutResult(status -> load(fresh));
+                synchronized (this) {
+                    if (resets == resetsBefore) {
+                        pending.forEach(change -> change.accept(fresh));
+                        afterChange(fresh);
+                        index = fresh;
+                        loaded = true;
+                    }
+                    pending = null;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.CatalogProperties;
+import com.enviro.assessment.grad001.amosmaganyane.dto.DisposalGuidelineDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.RecyclingTipDTO;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.RecyclingTipRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Serves read endpoints from an immutable {@link CatalogSnapshot} instead of
+ * going through JPA. The snapshot is published through a volatile field, so
+ * readers never lock while it is current.
+ * <p>
+ * Writes are detected through the change version of the EntityCacheManager,
+ * which every write path bumps after its transaction commits. The first read
+ * after a change rebuilds the snapshot and swaps it in; concurrent readers
+ * wait for that one rebuild rather than each loading their own, and a burst
+ * of writes, such as a bulk import, costs a single rebuild.
+ */
+@Service
+public class CatalogReadModel {
+    private static final Logger log = LoggerFactory.getLogger(CatalogReadModel.class);
+
+    private final WasteCategoryRepository categoryRepository;
+    private final RecyclingTipRepository tipRepository;
+    private final DisposalGuidelineRepository guidelineRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final EntityCacheManager cacheManager;
+    private final CatalogProperties properties;
+
+    private volatile CatalogSnapshot snapshot;
+
+    public CatalogReadModel(WasteCategoryRepository categoryRepository,
+                            RecyclingTipRepository tipRepository,
+                            DisposalGuidelineRepository guidelineRepository,
+                            TransactionTemplate transactionTemplate,
+                            EntityCacheManager cacheManager,
+                            CatalogProperties properties) {
+        this.categoryRepository = categoryRepository;
+        this.tipRepository = tipRepository;
+        this.guidelineRepository = guidelineRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cacheManager = cacheManager;
+        this.properties = properties;
+    }
+
+    /**
+     * Tells whether an endpoint should be served from the snapshot.
+     *
+     * @param endpoint the read endpoint
+     * @return true if the snapshot is enabled for the endpoint
+     */
+    public boolean serves(CatalogProperties.Endpoint endpoint) {
+        return properties.isEnabled() && properties.getEndpoints().contains(endpoint);
+    }
+
+    /**
+     * Returns a snapshot that includes every write committed before this call,
+     * rebuilding it first if the data has changed.
+     *
+     * @return the current catalog snapshot
+     */
+    public CatalogSnapshot getSnapshot() {
+        CatalogSnapshot current = snapshot;
+        if (current != null && current.getVersion() == cacheManager.getVersion()) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            // Read the version before the data, so a write committed during
+            // the load leaves the new snapshot stale rather than hiding it
+            long version = cacheManager.getVersion();
+            if (current == null || current.getVersion() != version) {
+                current = load(version);
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private CatalogSnapshot load(long version) {
+        long start = System.nanoTime();
+        CatalogSnapshot loaded = readOnlyTransaction.execute(status -> {
+            List<RecyclingTipDTO> tips;
+            try (Stream<RecyclingTipDTO> stream = tipRepository.streamAllForExport()) {
+                tips = stream.toList();
+            }
+            List<DisposalGuidelineDTO> guidelines;
+            try (Stream<DisposalGuidelineDTO> stream = guidelineRepository.streamAllForExport()) {
+                guidelines = stream.toList();
+            }
+            return new CatalogSnapshot(version, categoryRepository.findAllSummaries(),
+                    tips, guidelines);
+        });
+        log.debug("Built catalog snapshot {} with {} categories in {}ms", version,
+                loaded.getCategories().size(), (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+}
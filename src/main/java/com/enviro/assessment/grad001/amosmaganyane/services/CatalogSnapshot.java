@@ -0,0 +1,162 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.dto.DisposalGuidelineDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.RecyclingTipDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+
+/**
+ * An immutable copy of every category, tip and guideline, laid out for
+ * reads. Categories are held in ID order; tips and guidelines are grouped
+ * by category, so the children of a category are one contiguous range.
+ * Lookups by ID binary-search sorted arrays of primitive IDs, so they take
+ * no locks and allocate no boxed keys.
+ * <p>
+ * The DTOs are shared by every reader and must not be modified.
+ */
+public final class CatalogSnapshot {
+
+    private final long version;
+    private final List<WasteCategoryDTO> categories;
+    private final long[] categoryIds;
+    private final Children<RecyclingTipDTO> tips;
+    private final Children<DisposalGuidelineDTO> guidelines;
+
+    /**
+     * Builds a snapshot from rows read at one point in time. Rows are sorted
+     * by ID here, which costs little when the queries already return them in order.
+     *
+     * @param version    the change version the rows were read at
+     * @param categories category summaries
+     * @param tips       tips
+     * @param guidelines guidelines
+     */
+    public CatalogSnapshot(long version, List<WasteCategoryDTO> categories,
+                           List<RecyclingTipDTO> tips, List<DisposalGuidelineDTO> guidelines) {
+        this.version = version;
+        WasteCategoryDTO[] sortedCategories = sortById(
+                categories.toArray(new WasteCategoryDTO[0]), WasteCategoryDTO::getId);
+        this.categories = Collections.unmodifiableList(Arrays.asList(sortedCategories));
+        this.categoryIds = Arrays.stream(sortedCategories).mapToLong(WasteCategoryDTO::getId).toArray();
+        this.tips = new Children<>(
+                sortById(tips.toArray(new RecyclingTipDTO[0]), RecyclingTipDTO::getId),
+                RecyclingTipDTO::getId, RecyclingTipDTO::getCategoryId, categoryIds);
+        this.guidelines = new Children<>(
+                sortById(guidelines.toArray(new DisposalGuidelineDTO[0]), DisposalGuidelineDTO::getId),
+                DisposalGuidelineDTO::getId, DisposalGuidelineDTO::getCategoryId, categoryIds);
+    }
+
+    private static <T> T[] sortById(T[] rows, ToLongFunction<T> id) {
+        Arrays.sort(rows, Comparator.comparingLong(id));
+        return rows;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return every category summary, ordered by ID
+     */
+    public List<WasteCategoryDTO> getCategories() {
+        return categories;
+    }
+
+    public Optional<WasteCategoryDTO> findCategory(long id) {
+        int index = Arrays.binarySearch(categoryIds, id);
+        return index < 0 ? Optional.empty() : Optional.of(categories.get(index));
+    }
+
+    public Optional<RecyclingTipDTO> findTip(long id) {
+        return tips.find(id);
+    }
+
+    public Optional<DisposalGuidelineDTO> findGuideline(long id) {
+        return guidelines.find(id);
+    }
+
+    /**
+     * Returns the tips of a category, ordered by ID.
+     *
+     * @param categoryId the category ID
+     * @return the tips, or empty if the category does not exist
+     */
+    public Optional<List<RecyclingTipDTO>> findTipsByCategory(long categoryId) {
+        return tips.ofCategory(Arrays.binarySearch(categoryIds, categoryId));
+    }
+
+    /**
+     * Returns the guidelines of a category, ordered by ID.
+     *
+     * @param categoryId the category ID
+     * @return the guidelines, or empty if the category does not exist
+     */
+    public Optional<List<DisposalGuidelineDTO>> findGuidelinesByCategory(long categoryId) {
+        return guidelines.ofCategory(Arrays.binarySearch(categoryIds, categoryId));
+    }
+
+    /**
+     * Child rows grouped by category with a counting sort. {@code offsets[i]}
+     * to {@code offsets[i + 1]} is the range of the category at index i, and
+     * {@code ids}/{@code positions} map sorted child IDs to their place in the range.
+     */
+    private static final class Children<T> {
+        private final List<T> items;
+        private final int[] offsets;
+        private final long[] ids;
+        private final int[] positions;
+
+        Children(T[] rows, ToLongFunction<T> id, ToLongFunction<T> categoryId, long[] categoryIds) {
+            int[] categoryIndexes = new int[rows.length];
+            int[] counts = new int[categoryIds.length + 1];
+            int kept = 0;
+            for (int i = 0; i < rows.length; i++) {
+                // A child whose category is missing cannot be reached and is left out
+                categoryIndexes[i] = Arrays.binarySearch(categoryIds, categoryId.applyAsLong(rows[i]));
+                if (categoryIndexes[i] >= 0) {
+                    counts[categoryIndexes[i] + 1]++;
+                    kept++;
+                }
+            }
+            offsets = new int[categoryIds.length + 1];
+            for (int i = 0; i < categoryIds.length; i++) {
+                offsets[i + 1] = offsets[i] + counts[i + 1];
+            }
+
+            @SuppressWarnings("unchecked")
+            T[] grouped = (T[]) new Object[kept];
+            int[] next = Arrays.copyOf(offsets, categoryIds.length);
+            ids = new long[kept];
+            positions = new int[kept];
+            int sorted = 0;
+            for (int i = 0; i < rows.length; i++) {
+                if (categoryIndexes[i] >= 0) {
+                    int position = next[categoryIndexes[i]]++;
+                    grouped[position] = rows[i];
+                    // Rows are sorted by ID, so the ID index is filled already sorted
+                    ids[sorted] = id.applyAsLong(rows[i]);
+                    positions[sorted++] = position;
+                }
+            }
+            items = Collections.unmodifiableList(Arrays.asList(grouped));
+        }
+
+        Optional<T> find(long id) {
+            int index = Arrays.binarySearch(ids, id);
+            return index < 0 ? Optional.empty() : Optional.of(items.get(positions[index]));
+        }
+
+        Optional<List<T>> ofCategory(int categoryIndex) {
+            if (categoryIndex < 0) {
+                return Optional.empty();
+            }
+            return Optional.of(items.subList(offsets[categoryIndex], offsets[categoryIndex + 1]));
+        }
+    }
+}
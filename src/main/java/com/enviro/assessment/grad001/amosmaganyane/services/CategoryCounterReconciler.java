@@ -0,0 +1,48 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Periodically recounts the guideline and tip counters stored on each
+ * category. Every write path keeps the counters up to date, so this only
+ * corrects drift from changes made outside them, such as children added
+ * through an already saved WasteCategory or edits in the H2 console.
+ */
+@Service
+public class CategoryCounterReconciler {
+    private static final Logger log = LoggerFactory.getLogger(CategoryCounterReconciler.class);
+
+    private final WasteCategoryRepository repository;
+    private final EntityCacheManager cacheManager;
+
+    public CategoryCounterReconciler(WasteCategoryRepository repository,
+                                     EntityCacheManager cacheManager) {
+        this.repository = repository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Recounts every category in a single statement, writing only the
+     * categories whose stored counts are wrong.
+     *
+     * @return the number of categories corrected
+     */
+    @Scheduled(initialDelayString = "${wastemanagement.counters.reconcile-interval:1h}",
+            fixedDelayString = "${wastemanagement.counters.reconcile-interval:1h}")
+    public int reconcile() {
+        long start = System.nanoTime();
+        int corrected = repository.recountStaleCounters();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        if (corrected > 0) {
+            log.warn("Corrected the stored counts of {} categories in {}ms", corrected, elapsedMillis);
+            cacheManager.getCache(EntityCacheManager.CATEGORIES).invalidateAll();
+        } else {
+            log.debug("Category counts are consistent, checked in {}ms", elapsedMillis);
+        }
+        return corrected;
+    }
+}
@@ -0,0 +1,355 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.dto.LeaderboardEntryDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Ranks categories by their number of guidelines and of tips without
+ * querying the database. Each ranking is a sorted set, so a write moves one
+ * category in O(log n) and the top N are read in O(N).
+ * <p>
+ * The services report each change once its transaction commits, and the
+ * category is read again with its children counted by the database, the same
+ * counts the initial load and the reconcile use. Reads run outside the lock,
+ * so readers never wait on the database once the rankings are loaded; each
+ * read takes a sequence number first, and a result older than the one
+ * already applied to its category is dropped.
+ * <p>
+ * Writes that bypass the services, such as bulk imports, empty the entity
+ * caches, which marks the rankings stale; the next read rebuilds them with
+ * one query. A scheduled reconcile compares the rankings with counts taken by
+ * the database and corrects any drift.
+ */
+@Service
+public class CategoryLeaderboard {
+    private static final Logger log = LoggerFactory.getLogger(CategoryLeaderboard.class);
+
+    /**
+     * The count a leaderboard is ordered by.
+     */
+    public enum Ranking {
+        GUIDELINES,
+        TIPS;
+
+        /**
+         * Looks up a ranking by name, ignoring case.
+         *
+         * @param name the ranking name, e.g. "guidelines"
+         * @return the matching ranking
+         * @throws IllegalArgumentException if the name does not match a ranking
+         */
+        public static Ranking fromName(String name) {
+            for (Ranking ranking : values()) {
+                if (ranking.name().equalsIgnoreCase(name)) {
+                    return ranking;
+                }
+            }
+            throw new IllegalArgumentException("Unknown ranking: " + name);
+        }
+    }
+
+    private record Entry(long id, String name, int guidelines, int tips) {
+
+        int count(Ranking ranking) {
+            return ranking == Ranking.GUIDELINES ? guidelines : tips;
+        }
+    }
+
+    // A category read from the database, with the sequence number taken before the read
+    private record Refresh(long sequence, Entry entry) {
+    }
+
+    private static final long NOT_LOADING = -1;
+
+    private final WasteCategoryRepository repository;
+    // Held by the one thread that reads the rankings from the database; never taken while holding this
+    private final Object loadLock = new Object();
+    // Guarded by this
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final NavigableSet<Entry> byGuidelines = new TreeSet<>(order(Ranking.GUIDELINES));
+    private final NavigableSet<Entry> byTips = new TreeSet<>(order(Ranking.TIPS));
+    // Sequence number of the read last applied to each category, removed ones included
+    private final Map<Long, Long> appliedAt = new HashMap<>();
+    // Categories read while the rankings are being loaded, applied once the load is in
+    private final Map<Long, Refresh> pending = new HashMap<>();
+    private boolean loaded;
+    private long sequence;
+    private long loadingSince = NOT_LOADING;
+    // Sequence number of the read the rankings were last loaded from
+    private long installedAt;
+    private long staleSince;
+    // Incremented by every change, so a reconcile can tell whether one happened while it counted
+    private long changes;
+
+    public CategoryLeaderboard(WasteCategoryRepository repository, EntityCacheManager cacheManager) {
+        this.repository = repository;
+        cacheManager.addInvalidateAllListener(this::markStale);
+    }
+
+    // Highest count first; equal counts in ID order, so every category has one place
+    private static Comparator<Entry> order(Ranking ranking) {
+        return Comparator.comparingInt((Entry entry) -> entry.count(ranking)).reversed()
+                .thenComparingLong(Entry::id);
+    }
+
+    private NavigableSet<Entry> ranked(Ranking ranking) {
+        return ranking == Ranking.GUIDELINES ? byGuidelines : byTips;
+    }
+
+    /**
+     * Returns the leading categories of a ranking. Categories with equal
+     * counts share a rank, and the next rank skips the tied places.
+     *
+     * @param ranking  the count to rank by
+     * @param limit    the number of categories to return
+     * @param withTies also return the categories tied with the last one
+     * @return the leading categories, highest count first
+     */
+    public List<LeaderboardEntryDTO> getTop(Ranking ranking, int limit, boolean withTies) {
+        ensureLoaded();
+        synchronized (this) {
+            List<LeaderboardEntryDTO> top = new ArrayList<>(Math.min(limit, entries.size()));
+            int rank = 0;
+            int previousCount = -1;
+            for (Entry entry : ranked(ranking)) {
+                int count = entry.count(ranking);
+                if (top.size() >= limit && !(withTies && count == previousCount)) {
+                    break;
+                }
+                if (count != previousCount) {
+                    rank = top.size() + 1;
+                    previousCount = count;
+                }
+                top.add(new LeaderboardEntryDTO(rank, entry.id(), entry.name(), entry.guidelines(), entry.tips()));
+            }
+            return top;
+        }
+    }
+
+    /**
+     * Returns the IDs of the leading categories of a ranking, without ties.
+     *
+     * @param ranking the count to rank by
+     * @param limit   the number of categories to return
+     * @return category IDs, highest count first
+     */
+    public List<Long> getTopIds(Ranking ranking, int limit) {
+        ensureLoaded();
+        synchronized (this) {
+            return ranked(ranking).stream().limit(limit).map(Entry::id).toList();
+        }
+    }
+
+    /**
+     * Reads a category's name and counts from the database again once the
+     * current transaction commits, after it was created or renamed or gained
+     * or lost tips or guidelines. A category that no longer exists is removed.
+     *
+     * @param id the category ID
+     */
+    public void categoryChanged(long id) {
+        TransactionCallbacks.afterCommit(() -> refresh(id));
+    }
+
+    /**
+     * Removes a category once the current transaction commits.
+     *
+     * @param id the category ID
+     */
+    public void categoryDeleted(long id) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                apply(id, ++sequence, null);
+            }
+        });
+    }
+
+    /**
+     * Drops the rankings, for writes that bypass the services; the next read rebuilds them.
+     */
+    public synchronized void markStale() {
+        staleSince = ++sequence;
+        loaded = false;
+        clear();
+    }
+
+    /**
+     * Compares the rankings with counts taken by the database and replaces
+     * them if any category differs. Skipped if the rankings have not been
+     * read yet, or if a write lands while the database is counting.
+     *
+     * @return the number of categories that were missing, extra or miscounted
+     */
+    @Scheduled(initialDelayString = "${wastemanagement.leaderboard.reconcile-interval:15m}",
+            fixedDelayString = "${wastemanagement.leaderboard.reconcile-interval:15m}")
+    public int reconcile() {
+        long changesBefore;
+        long readAt;
+        synchronized (this) {
+            if (!loaded) {
+                return 0;
+            }
+            changesBefore = changes;
+            readAt = ++sequence;
+        }
+        List<WasteCategoryDTO> counted = repository.findAllSummaries();
+        synchronized (this) {
+            if (!loaded || changes != changesBefore) {
+                log.debug("Leaderboard changed while reconciling, checking again next time");
+                return 0;
+            }
+            Map<Long, Entry> expected = new HashMap<>();
+            counted.forEach(category -> expected.put(category.getId(), toEntry(category)));
+            int differences = 0;
+            for (Entry entry : expected.values()) {
+                if (!entry.equals(entries.get(entry.id()))) {
+                    differences++;
+                }
+            }
+            for (Long id : entries.keySet()) {
+                if (!expected.containsKey(id)) {
+                    differences++;
+                }
+            }
+            if (differences > 0) {
+                log.warn("Corrected {} categories in the leaderboard", differences);
+                install(counted, readAt);
+            }
+            return differences;
+        }
+    }
+
+    /**
+     * Loads the rankings if they are not loaded. The database is read by one
+     * thread at a time without holding the lock, and the result is swapped in
+     * unless the rankings were marked stale after the read began.
+     */
+    private void ensureLoaded() {
+        while (true) {
+            synchronized (this) {
+                if (loaded) {
+                    return;
+                }
+            }
+            synchronized (loadLock) {
+                long readAt;
+                synchronized (this) {
+                    if (loaded) {
+                        return;
+                    }
+                    readAt = ++sequence;
+                    loadingSince = readAt;
+                    pending.clear();
+                }
+                List<WasteCategoryDTO> categories;
+                try {
+                    categories = repository.findAllSummaries();
+                } finally {
+                    synchronized (this) {
+                        loadingSince = NOT_LOADING;
+                    }
+                }
+                synchronized (this) {
+                    if (staleSince < readAt) {
+                        install(categories, readAt);
+                    }
+                    pending.clear();
+                }
+            }
+        }
+    }
+
+    // Reads outside the lock; only categories changed while the rankings are loaded or loading are read
+    private void refresh(long id) {
+        long readAt;
+        synchronized (this) {
+            if (!loaded && loadingSince == NOT_LOADING) {
+                return;
+            }
+            readAt = ++sequence;
+        }
+        Entry next = repository.findSummaryById(id).map(CategoryLeaderboard::toEntry).orElse(null);
+        synchronized (this) {
+            apply(id, readAt, next);
+        }
+    }
+
+    // Guarded by this; next is null for a removed category
+    private void apply(long id, long readAt, Entry next) {
+        if (readAt <= staleSince || readAt <= installedAt) {
+            // The rankings were dropped or loaded again since, from a read that includes this change
+            return;
+        }
+        if (!loaded) {
+            if (loadingSince != NOT_LOADING && readAt > loadingSince) {
+                pending.merge(id, new Refresh(readAt, next),
+                        (current, refresh) -> refresh.sequence() > current.sequence() ? refresh : current);
+            }
+            return;
+        }
+        if (appliedAt.getOrDefault(id, 0L) > readAt) {
+            return;
+        }
+        appliedAt.put(id, readAt);
+        replace(id, next);
+    }
+
+    // Guarded by this
+    private void install(List<WasteCategoryDTO> categories, long readAt) {
+        clear();
+        for (WasteCategoryDTO category : categories) {
+            Entry entry = toEntry(category);
+            entries.put(entry.id(), entry);
+            appliedAt.put(entry.id(), readAt);
+            byGuidelines.add(entry);
+            byTips.add(entry);
+        }
+        loaded = true;
+        installedAt = readAt;
+        changes++;
+        // Categories read after the load began are at least as recent as the load
+        Map<Long, Refresh> reads = new HashMap<>(pending);
+        pending.clear();
+        reads.forEach((id, refresh) -> apply(id, refresh.sequence(), refresh.entry()));
+    }
+
+    // Guarded by this
+    private void clear() {
+        entries.clear();
+        appliedAt.clear();
+        byGuidelines.clear();
+        byTips.clear();
+    }
+
+    private static Entry toEntry(WasteCategoryDTO category) {
+        return new Entry(category.getId(), category.getName(),
+                category.getGuidelinesCount(), category.getTipsCount());
+    }
+
+    // Guarded by this
+    private void replace(long id, Entry next) {
+        Entry current = next == null ? entries.remove(id) : entries.put(id, next);
+        if (current != null) {
+            byGuidelines.remove(current);
+            byTips.remove(current);
+        }
+        if (next != null) {
+            byGuidelines.add(next);
+            byTips.add(next);
+        }
+        changes++;
+    }
+}
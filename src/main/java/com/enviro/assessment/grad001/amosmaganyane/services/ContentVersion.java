@@ -0,0 +1,25 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+/**
+ * The version of a collection or of a single entity, for HTTP conditional
+ * requests. The entity tag changes whenever the content may have changed,
+ * including across restarts, so a matching tag means the client's copy is current.
+ *
+ * @param version      the change version of the last write, or 0 if none since startup
+ * @param eTag         a quoted strong entity tag for the version
+ * @param lastModified the time of the last write, or of startup, in epoch milliseconds
+ */
+public record ContentVersion(long version, String eTag, long lastModified) {
+
+    /**
+     * Returns the later of two versions, for content built from more than one
+     * collection. Versions come from one counter, so the result changes
+     * whenever either input does.
+     *
+     * @param other the version of the other content
+     * @return this version or the other, whichever is later
+     */
+    public ContentVersion orLater(ContentVersion other) {
+        return other.version > version ? other : this;
+    }
+}
@@ -0,0 +1,80 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams a CSV file in fixed-size chunks so that only one chunk of rows
+ * is held in memory at a time, regardless of file size.
+ */
+public final class CsvChunkReader {
+
+    /**
+     * Receives a chunk of parsed CSV lines.
+     */
+    @FunctionalInterface
+    public interface ChunkHandler {
+        void handle(List<String[]> chunk) throws CsvException;
+    }
+
+    /**
+     * Supplies parsed CSV lines, returning null at the end of the input.
+     */
+    @FunctionalInterface
+    public interface LineSource {
+        String[] readNext() throws IOException, CsvException;
+    }
+
+    private CsvChunkReader() {
+    }
+
+    /**
+     * Skips the header line and hands the remaining rows to the handler in chunks.
+     *
+     * @param csvReader reader positioned at the header line
+     * @param chunkSize maximum number of rows per chunk
+     * @param report    report receiving parse timings
+     * @param handler   callback for each chunk
+     * @throws IOException  if reading fails
+     * @throws CsvException if parsing fails or the handler rejects a chunk
+     */
+    public static void forEachChunk(CSVReader csvReader, int chunkSize, ImportReport report,
+                                    ChunkHandler handler) throws IOException, CsvException {
+        forEachChunk(csvReader::readNext, chunkSize, report, handler);
+    }
+
+    /**
+     * Skips the header line and hands the remaining rows to the handler in chunks.
+     *
+     * @param lines     source positioned at the header line
+     * @param chunkSize maximum number of rows per chunk
+     * @param report    report receiving parse timings
+     * @param handler   callback for each chunk
+     * @throws IOException  if reading fails
+     * @throws CsvException if parsing fails or the handler rejects a chunk
+     */
+    public static void forEachChunk(LineSource lines, int chunkSize, ImportReport report,
+                                    ChunkHandler handler) throws IOException, CsvException {
+        lines.readNext();
+        List<String[]> chunk = new ArrayList<>(chunkSize);
+        long parseStart = System.nanoTime();
+        String[] line;
+        while ((line = lines.readNext()) != null) {
+            chunk.add(line);
+            if (chunk.size() == chunkSize) {
+                report.addParseTime(System.nanoTime() - parseStart);
+                handler.handle(chunk);
+                chunk = new ArrayList<>(chunkSize);
+                parseStart = System.nanoTime();
+            }
+        }
+        report.addParseTime(System.nanoTime() - parseStart);
+        if (!chunk.isEmpty()) {
+            handler.handle(chunk);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.DataLoaderProperties;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs CSV imports submitted over the API as background jobs.
+ * Uploads are handed to a temporary file and then parsed as a stream,
+ * committing one chunk at a time, so memory use does not depend on file size.
+ * Category imports run one at a time, since each checks new names against
+ * the names present when it starts. They wait in a queue of their own, so a
+ * waiting category import never holds one of the import threads.
+ */
+@Service
+public class CsvImportService {
+    private static final Logger log = LoggerFactory.getLogger(CsvImportService.class);
+    private static final int MAX_RETAINED_JOBS = 100;
+    private static final int MAX_QUEUED_CATEGORY_IMPORTS = 50;
+
+    private final BulkImportService bulkImportService;
+    private final DataLoaderProperties properties;
+    private final Executor executor;
+    private final Map<String, ImportJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>());
+    // Category imports waiting for the running one, guarded by itself
+    private final Queue<QueuedImport> categoryImports = new ArrayDeque<>();
+    private boolean categoryImportRunning;
+
+    /**
+     * Writes an upload to the file an import job reads, on the request thread.
+     */
+    @FunctionalInterface
+    public interface Upload {
+        void transferTo(File target) throws IOException;
+    }
+
+    private record QueuedImport(ImportJob job, Path file) {
+    }
+
+    public CsvImportService(BulkImportService bulkImportService,
+                            DataLoaderProperties properties,
+                            @Qualifier("importExecutor") Executor executor) {
+        this.bulkImportService = bulkImportService;
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts an import of CSV data for the given entity type, spooling the
+     * stream to a temporary file first.
+     * Rows use the same layout as the files read by DataLoaderService.
+     *
+     * @param entity the entity path segment: categories, tips or guidelines
+     * @param csv    the CSV content, including a header line
+     * @return the queued job
+     * @throws IllegalArgumentException if the entity type is unknown
+     * @throws IOException if the upload cannot be spooled to disk
+     * @throws RejectedExecutionException if the import queue is full
+     */
+    public ImportJob submit(String entity, InputStream csv) throws IOException {
+        return submit(entity, target -> Files.copy(csv, target.toPath(),
+                StandardCopyOption.REPLACE_EXISTING));
+    }
+
+    /**
+     * Starts an import of CSV data for the given entity type. The upload
+     * writes itself to the job's temporary file, so an upload the container
+     * already stored on disk can be moved there instead of copied.
+     *
+     * @param entity the entity path segment: categories, tips or guidelines
+     * @param upload the CSV content, including a header line
+     * @return the queued job
+     * @throws IllegalArgumentException if the entity type is unknown
+     * @throws IOException if the upload cannot be written to disk
+     * @throws RejectedExecutionException if the import queue is full
+     */
+    public ImportJob submit(String entity, Upload upload) throws IOException {
+        ImportJob.Entity type = ImportJob.Entity.fromPath(entity);
+        Path file = Files.createTempFile("import-" + type.path() + "-", ".csv");
+        try {
+            upload.transferTo(file.toFile());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(type);
+        retain(job);
+        try {
+            if (type == ImportJob.Entity.CATEGORIES) {
+                submitCategoryImport(new QueuedImport(job, file));
+            } else {
+                executor.execute(() -> importFile(job, file));
+            }
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return job;
+    }
+
+    /**
+     * Looks up an import job by ID.
+     *
+     * @param jobId the job ID
+     * @return an Optional containing the job if it is still retained
+     */
+    public Optional<ImportJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * Adds a job and drops the oldest finished jobs beyond the retention limit.
+     * Jobs still queued or running are kept, however old.
+     */
+    private void retain(ImportJob job) {
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            Iterator<ImportJob> oldest = jobs.values().iterator();
+            while (jobs.size() > MAX_RETAINED_JOBS && oldest.hasNext()) {
+                if (oldest.next().isFinished()) {
+                    oldest.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues a category import behind the running one, or starts it when
+     * none is running.
+     *
+     * @throws RejectedExecutionException if the category or import queue is full
+     */
+    private void submitCategoryImport(QueuedImport queued) {
+        synchronized (categoryImports) {
+            if (categoryImportRunning) {
+                if (categoryImports.size() >= MAX_QUEUED_CATEGORY_IMPORTS) {
+                    throw new RejectedExecutionException("Category import queue is full");
+                }
+                categoryImports.add(queued);
+                return;
+            }
+            categoryImportRunning = true;
+        }
+        try {
+            executor.execute(() -> runCategoryImports(queued));
+        } catch (RejectedExecutionException e) {
+            synchronized (categoryImports) {
+                categoryImportRunning = false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a category import, then those queued behind it, on the same thread.
+     */
+    private void runCategoryImports(QueuedImport first) {
+        QueuedImport next = first;
+        while (next != null) {
+            importFile(next.job(), next.file());
+            synchronized (categoryImports) {
+                next = categoryImports.poll();
+                categoryImportRunning = next != null;
+            }
+        }
+    }
+
+    private void importFile(ImportJob job, Path file) {
+        job.markRunning();
+        ImportReport report = job.getReport();
+        try (CSVReader csvReader = new CSVReader(
+                Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            CsvChunkReader.forEachChunk(csvReader, properties.getChunkSize(), report,
+                    chunkWriter(job.getEntity(), report));
+            job.markCompleted();
+            log.info("Import job {} ({}) finished: {}", job.getId(), job.getEntity().path(), report);
+        } catch (IOException | CsvException | RuntimeException e) {
+            job.markFailed(e.getMessage());
+            log.warn("Import job {} ({}) failed after {}", job.getId(),
+                    job.getEntity().path(), report, e);
+        } finally {
+            // Chunks written before a failure are committed, so the caches are emptied either way
+            bulkImportService.invalidateCaches();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete spooled import file {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * Creates the chunk handler for an entity type. Invalid rows are counted
+     * as rejects rather than failing the job.
+     */
+    private CsvChunkReader.ChunkHandler chunkWriter(ImportJob.Entity entity, ImportReport report) {
+        switch (entity) {
+            case CATEGORIES: {
+                Set<String> knownNames = bulkImportService.findExistingCategoryNames();
+                return chunk -> bulkImportService.importCategories(chunk, knownNames, true, report);
+            }
+            case TIPS: {
+                Map<String, Long> categoryIds = bulkImportService.findCategoryIds();
+                return chunk -> bulkImportService.importTips(chunk, categoryIds, true, report);
+            }
+            default: {
+                Map<String, Long> categoryIds = bulkImportService.findCategoryIds();
+                return chunk -> bulkImportService.importGuidelines(chunk, categoryIds, true, report);
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.repositories.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.RecyclingTipRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.opencsv.CSVWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes full dumps of categories, tips or guidelines to an output stream.
+ * Rows are read from a streaming query inside a read-only transaction and
+ * written as they arrive, so memory use does not grow with the row count.
+ * <p>
+ * CSV dumps use the same layout as the files read by DataLoaderService, so
+ * they can be loaded again as they are. NDJSON dumps hold one JSON object
+ * per line, shaped like the DTOs returned by the REST API.
+ */
+@Service
+public class DataExportService {
+
+    /**
+     * Output formats for exports.
+     */
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        /**
+         * Resolves a format from its name, ignoring case.
+         *
+         * @param name the format name, such as "csv"
+         * @return the matching format
+         * @throws IllegalArgumentException if the name does not match a format
+         */
+        public static Format fromName(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unknown export format: " + name);
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    private static final String[] CATEGORY_HEADER = {"name", "description"};
+    private static final String[] TIP_HEADER = {"title", "content", "category_name"};
+    private static final String[] GUIDELINE_HEADER = {"title", "instructions", "category_name"};
+
+    private final WasteCategoryRepository categoryRepository;
+    private final RecyclingTipRepository tipRepository;
+    private final DisposalGuidelineRepository guidelineRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter jsonWriter;
+
+    public DataExportService(WasteCategoryRepository categoryRepository,
+                             RecyclingTipRepository tipRepository,
+                             DisposalGuidelineRepository guidelineRepository,
+                             TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper) {
+        this.categoryRepository = categoryRepository;
+        this.tipRepository = tipRepository;
+        this.guidelineRepository = guidelineRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.jsonWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Returns the file name for a dump, matching the startup data files for CSV.
+     *
+     * @param entity the exported entity type
+     * @param format the output format
+     * @return a file name such as "recycling_tips.csv"
+     */
+    public String fileName(ImportJob.Entity entity, Format format) {
+        String baseName = switch (entity) {
+            case CATEGORIES -> "categories";
+            case TIPS -> "recycling_tips";
+            case GUIDELINES -> "disposal_guidelines";
+        };
+        return baseName + "." + format.extension();
+    }
+
+    /**
+     * Writes all rows of an entity type to the output stream.
+     * The stream is flushed but not closed.
+     *
+     * @param entity the entity type to export
+     * @param format the output format
+     * @param out    the stream receiving the dump
+     * @return the number of rows written
+     * @throws IOException if writing to the stream fails
+     */
+    public long export(ImportJob.Entity entity, Format format, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            long rows = switch (entity) {
+                case CATEGORIES -> write(categoryRepository::streamAllForExport, CATEGORY_HEADER,
+                        category -> new String[]{category.getName(), category.getDescription()},
+                        format, writer);
+                case TIPS -> write(tipRepository::streamAllForExport, TIP_HEADER,
+                        tip -> new String[]{tip.getTitle(), tip.getContent(), tip.getCategoryName()},
+                        format, writer);
+                case GUIDELINES -> write(guidelineRepository::streamAllForExport, GUIDELINE_HEADER,
+                        guideline -> new String[]{guideline.getTitle(),
+                                guideline.getInstructions(), guideline.getCategoryName()},
+                        format, writer);
+            };
+            writer.flush();
+            return rows;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Runs the streaming query in a read-only transaction and writes each row
+     * as soon as it is read. A failed write, such as the client disconnecting,
+     * ends the query instead of reading the remaining rows.
+     */
+    private <T> long write(Supplier<Stream<T>> query, String[] header,
+                           Function<T, String[]> csvColumns, Format format, Writer writer) {
+        Long rows = readOnlyTransaction.execute(status -> {
+            try (Stream<T> stream = query.get()) {
+                CSVWriter csvWriter = new CSVWriter(writer);
+                if (format == Format.CSV) {
+                    writeCsv(csvWriter, header, false);
+                }
+                long count = 0;
+                for (T row : (Iterable<T>) stream::iterator) {
+                    if (format == Format.CSV) {
+                        writeCsv(csvWriter, csvColumns.apply(row), true);
+                    } else {
+                        jsonWriter.writeValue(writer, row);
+                        writer.write('\n');
+                    }
+                    count++;
+                }
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return rows == null ? 0 : rows;
+    }
+
+    /**
+     * Writes one CSV line, surfacing the write errors CSVWriter otherwise only records.
+     */
+    private static void writeCsv(CSVWriter csvWriter, String[] line, boolean quote)
+            throws IOException {
+        csvWriter.writeNext(line, quote);
+        if (csvWriter.getException() != null) {
+            throw csvWriter.getException();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the progress of the startup data load.
+ * Progress is measured in bytes read from the CSV files, since the number
+ * of rows is not known until the files have been parsed. It is read from
+ * request threads while the load runs in the background.
+ */
+public class DataLoadProgress {
+
+    public enum Status {
+        LOADING, READY, FAILED
+    }
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private volatile long totalBytes = -1;
+    private volatile long startNanos = System.nanoTime();
+    private volatile long finishNanos;
+    private volatile Status status = Status.LOADING;
+    private volatile String error;
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isReady() {
+        return status == Status.READY;
+    }
+
+    /**
+     * Estimates how much of the data has been loaded. Stays below 100
+     * until the load has finished, as the last bytes read still have to be written.
+     *
+     * @return percentage between 0 and 100
+     */
+    public int getPercentComplete() {
+        if (status == Status.READY) {
+            return 100;
+        }
+        long total = totalBytes;
+        if (total <= 0) {
+            return 0;
+        }
+        return (int) Math.min(99, bytesRead.get() * 100 / total);
+    }
+
+    public long getElapsedMillis() {
+        long end = finishNanos == 0 ? System.nanoTime() : finishNanos;
+        return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+    }
+
+    void start(long totalBytes) {
+        this.totalBytes = totalBytes;
+        bytesRead.set(0);
+        startNanos = System.nanoTime();
+        finishNanos = 0;
+        error = null;
+        status = Status.LOADING;
+    }
+
+    void addBytesRead(long count) {
+        bytesRead.addAndGet(count);
+    }
+
+    void markReady() {
+        finishNanos = System.nanoTime();
+        status = Status.READY;
+    }
+
+    void markFailed(String error) {
+        finishNanos = System.nanoTime();
+        this.error = error;
+        status = Status.FAILED;
+    }
+}
@@ -1,28 +1,62 @@
 package com.enviro.assessment.grad001.amosmaganyane.services;
 
+import com.enviro.assessment.grad001.amosmaganyane.config.DataLoaderProperties;
 import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
 import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
 import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
 import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvException;
 import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class DataLoaderService {
-    private static final String CATEGORIES_FILE = "/data/categories.csv";
-    private static final String TIPS_FILE = "/data/recycling_tips.csv";
-    private static final String GUIDELINES_FILE = "/data/disposal_guidelines.csv";
+    private static final Logger log = LoggerFactory.getLogger(DataLoaderService.class);
+    private static final String CATEGORIES_FILE = "categories.csv";
+    private static final String TIPS_FILE = "recycling_tips.csv";
+    private static final String GUIDELINES_FILE = "disposal_guidelines.csv";
 
     private final WasteCategoryService categoryService;
     private final RecyclingTipService tipService;
     private final DisposalGuidelineService guidelineService;
+    private final BulkImportService bulkImportService;
+    private final DataSnapshotService snapshotService;
+    private final DataLoaderProperties properties;
+    private final ResourceLoader resourceLoader;
+    private final Executor loaderExecutor;
+    private final DataLoadProgress progress = new DataLoadProgress();
     private final Map<String, WasteCategory> categoryMap = new HashMap<>();
+    // In-memory copy of the CSV files being loaded, kept when watching is enabled
+    private volatile Map<String, Resource> loadedFiles;
 
 
     /**
@@ -30,25 +64,144 @@ public class DataLoaderService {
      * @param categoryService service for managing waste categories
      * @param tipService service for managing recycling tips
      * @param guidelineService service for managing disposal guidelines
+     * @param bulkImportService service for batched writes in bulk mode
+     * @param snapshotService service saving and restoring binary snapshots of the data
+     * @param properties loader configuration
+     * @param resourceLoader loader resolving the configured data location
+     * @param loaderExecutor executor running the load when async loading is enabled
      */
     public DataLoaderService(WasteCategoryService categoryService,
                       RecyclingTipService tipService,
-                      DisposalGuidelineService guidelineService) {
+                      DisposalGuidelineService guidelineService,
+                      BulkImportService bulkImportService,
+                      DataSnapshotService snapshotService,
+                      DataLoaderProperties properties,
+                      ResourceLoader resourceLoader,
+                      @Qualifier("dataLoaderExecutor") Executor loaderExecutor) {
         this.categoryService = categoryService;
         this.tipService = tipService;
         this.guidelineService = guidelineService;
+        this.bulkImportService = bulkImportService;
+        this.snapshotService = snapshotService;
+        this.properties = properties;
+        this.resourceLoader = resourceLoader;
+        this.loaderExecutor = loaderExecutor;
+    }
+
+    /**
+     * Returns the progress of the data load, for readiness checks.
+     * @return the data load progress
+     */
+    public DataLoadProgress getProgress() {
+        return progress;
+    }
+
+    /**
+     * Hands over the CSV files exactly as they were loaded, so changes made
+     * to them during the load are still seen as changes. The files are only
+     * kept when watching is enabled, and the loader drops its copy here.
+     * @return the loaded files keyed by file name, or null if none are kept
+     */
+    public Map<String, Resource> takeLoadedFiles() {
+        Map<String, Resource> files = loadedFiles;
+        loadedFiles = null;
+        return files;
     }
 
     /**
      * Initializes the database with data from CSV files.
+     * When async loading is enabled this only records that a load is pending;
+     * the load itself starts once the application is ready, so startup is not
+     * held up.
      * @throws  RuntimeException if data loading fails.
      */
     @PostConstruct
     public void loadData() {
+        progress.start(totalBytes());
+        if (properties.isAsync()) {
+            return;
+        }
+        try {
+            load();
+            progress.markReady();
+        } catch (RuntimeException e) {
+            progress.markFailed(e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Hands the load to the loader executor when async loading is enabled.
+     * This waits for the application to be ready rather than running from
+     * {@link #loadData()}, so the load never writes through beans while the
+     * context is still being refreshed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBackgroundLoad() {
+        if (!properties.isAsync()) {
+            return;
+        }
+        log.info("Loading data in the background from {}", properties.getLocation());
+        loaderExecutor.execute(this::loadInBackground);
+    }
+
+    private void loadInBackground() {
         try {
-            loadCategories();
-            loadRecyclingTips();
-            loadDisposalGuidelines();
+            load();
+            progress.markReady();
+            log.info("Background data load finished in {}ms", progress.getElapsedMillis());
+        } catch (RuntimeException e) {
+            loadedFiles = null;
+            progress.markFailed(e.getMessage());
+            log.error("Background data load failed", e);
+        }
+    }
+
+    /**
+     * Loads all CSV files using the configured mode. When a snapshot path is
+     * configured, the data is restored from the snapshot instead while the CSV
+     * files are unchanged, and a new snapshot is written after loading from CSV.
+     * When watching is enabled the files are read into memory first and
+     * loaded from that copy.
+     * @throws RuntimeException if data loading fails.
+     */
+    private void load() {
+        try {
+            if (properties.isWatch()) {
+                loadedFiles = copyFiles();
+            }
+            long sourceChecksum = 0;
+            if (properties.isSnapshotEnabled()) {
+                sourceChecksum = DataSnapshotService.checksum(List.of(
+                        resolve(CATEGORIES_FILE), resolve(TIPS_FILE), resolve(GUIDELINES_FILE)));
+                if (restoreSnapshot(sourceChecksum)) {
+                    return;
+                }
+            }
+            switch (properties.getMode()) {
+                case BULK, UPSERT -> {
+                    try {
+                        loadInBulk();
+                    } finally {
+                        bulkImportService.invalidateCaches();
+                    }
+                }
+                case PARALLEL -> {
+                    try {
+                        loadInParallel();
+                    } finally {
+                        bulkImportService.invalidateCaches();
+                    }
+                }
+                default -> {
+                    loadCategories();
+                    loadRecyclingTips();
+                    loadDisposalGuidelines();
+                }
+            }
+            if (properties.isSnapshotEnabled()) {
+                writeSnapshot(sourceChecksum);
+            }
         } catch (IOException e) {
             throw new RuntimeException("Failed to read CSV files: " + e.getMessage(), e);
         } catch (CsvException e) {
@@ -57,17 +210,131 @@ public class DataLoaderService {
     }
 
     /**
-     * Creates a CSV reader for the given file.
-     * @param filePath path to the CSV file
+     * Restores the data from the snapshot. A snapshot that cannot be restored
+     * is deleted, leaving the tables empty for the CSV load, and is written
+     * again once that load completes.
+     * @param sourceChecksum checksum of the current CSV files
+     * @return true if the data was restored
+     */
+    private boolean restoreSnapshot(long sourceChecksum) {
+        Path snapshot = Path.of(properties.getSnapshotPath());
+        try {
+            return snapshotService.restore(snapshot, sourceChecksum);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to restore data snapshot {}, loading from CSV: {}",
+                    snapshot, e.getMessage());
+        }
+        try {
+            Files.deleteIfExists(snapshot);
+        } catch (IOException e) {
+            log.warn("Failed to delete data snapshot {}: {}", snapshot, e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Writes a snapshot of the loaded data. Failing to write it does not fail
+     * the load, as the data is already in place.
+     * @param sourceChecksum checksum of the CSV files the data was loaded from
+     */
+    private void writeSnapshot(long sourceChecksum) {
+        try {
+            snapshotService.write(Path.of(properties.getSnapshotPath()), sourceChecksum);
+        } catch (IOException e) {
+            log.warn("Failed to write data snapshot {}: {}",
+                    properties.getSnapshotPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Resolves a file in the configured data location.
+     * @param fileName name of the CSV file
+     * @return the file as a resource
+     * @throws IOException if the file does not exist
+     */
+    private Resource resolve(String fileName) throws IOException {
+        Map<String, Resource> files = loadedFiles;
+        if (files != null) {
+            return files.get(fileName);
+        }
+        Resource resource = resourceLoader.getResource(properties.getLocation() + fileName);
+        if (!resource.exists()) {
+            throw new IOException("File not found: " + resource.getDescription());
+        }
+        return resource;
+    }
+
+    /**
+     * Reads the CSV files into memory, so the rows loaded are exactly the ones
+     * later handed over by {@link #takeLoadedFiles()}.
+     * @return the files keyed by file name
+     * @throws IOException if a file does not exist or cannot be read
+     */
+    private Map<String, Resource> copyFiles() throws IOException {
+        Map<String, Resource> files = new HashMap<>();
+        for (String fileName : List.of(CATEGORIES_FILE, TIPS_FILE, GUIDELINES_FILE)) {
+            Resource resource = resolve(fileName);
+            files.put(fileName, new ByteArrayResource(resource.getContentAsByteArray(),
+                    resource.getDescription()));
+        }
+        return files;
+    }
+
+    /**
+     * Creates a CSV reader for the given file in the configured data location.
+     * @param fileName name of the CSV file
      * @return CSVReader instance for the file
      * @throws IOException if file cannot be read
      */
-    private CSVReader createReader(String filePath) throws IOException {
-        var inputStream = getClass().getResourceAsStream(filePath);
-        if (inputStream == null) {
-            throw new IOException("File not found: " + filePath);
+    private CSVReader createReader(String fileName) throws IOException {
+        return new CSVReader(new InputStreamReader(
+                new ProgressInputStream(resolve(fileName).getInputStream()),
+                StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Calculates the combined size of the CSV files, used to report progress.
+     * @return total size in bytes, or -1 if a size cannot be determined
+     */
+    private long totalBytes() {
+        long total = 0;
+        for (String fileName : List.of(CATEGORIES_FILE, TIPS_FILE, GUIDELINES_FILE)) {
+            try {
+                total += resourceLoader.getResource(properties.getLocation() + fileName)
+                        .contentLength();
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Adds every byte read from a CSV file to the load progress.
+     */
+    private class ProgressInputStream extends FilterInputStream {
+
+        ProgressInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                progress.addBytesRead(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                progress.addBytesRead(count);
+            }
+            return count;
         }
-        return new CSVReader(new InputStreamReader(inputStream));
     }
 
     /**
@@ -208,4 +475,221 @@ public class DataLoaderService {
             throw new CsvException("Invalid guideline data: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Loads all CSV files chunk by chunk, writing each chunk as one JDBC batch,
+     * and logs an import throughput report when done. In upsert mode each
+     * batch is a MERGE keyed on natural keys, so existing rows are updated.
+     * @throws IOException if file reading fails
+     * @throws CsvException if CSV parsing fails or a row is invalid
+     */
+    private void loadInBulk() throws IOException, CsvException {
+        ImportReport report = new ImportReport();
+
+        Map<String, Long> categoryIds = loadCategoriesInBulk(report);
+        readInChunks(TIPS_FILE, report, tipChunkHandler(categoryIds, report));
+        readInChunks(GUIDELINES_FILE, report, guidelineChunkHandler(categoryIds, report));
+
+        report.finish();
+        log.info("{} data load finished: {}", isUpsert() ? "Upsert" : "Bulk", report);
+    }
+
+    /**
+     * Loads categories in bulk, then tips and guidelines concurrently since they
+     * only depend on categories. Each file is read sequentially, and its chunks are
+     * validated and written in parallel on a fork-join pool.
+     * @throws IOException if file reading fails
+     * @throws CsvException if CSV parsing fails or a row is invalid
+     */
+    private void loadInParallel() throws IOException, CsvException {
+        ImportReport report = new ImportReport();
+
+        Map<String, Long> categoryIds = loadCategoriesInBulk(report);
+        ForkJoinPool writers = new ForkJoinPool(properties.getParallelism());
+        ExecutorService guidelineReader = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<Void> guidelines = CompletableFuture.runAsync(() -> {
+                try {
+                    readInParallel(GUIDELINES_FILE, report, writers,
+                            guidelineChunkHandler(categoryIds, report));
+                } catch (IOException | CsvException e) {
+                    throw new CompletionException(e);
+                }
+            }, guidelineReader);
+            try {
+                readInParallel(TIPS_FILE, report, writers, tipChunkHandler(categoryIds, report));
+            } finally {
+                await(List.of(guidelines));
+            }
+        } finally {
+            guidelineReader.shutdown();
+            writers.shutdown();
+        }
+
+        report.finish();
+        log.info("Parallel data load finished with parallelism {}: {}",
+                properties.getParallelism(), report);
+    }
+
+    /**
+     * Loads categories in bulk and fills categoryMap with the saved entities.
+     * @param report report receiving row counts and timings
+     * @return category IDs keyed by category name
+     * @throws IOException if file reading fails
+     * @throws CsvException if CSV parsing fails or a row is invalid
+     */
+    private Map<String, Long> loadCategoriesInBulk(ImportReport report)
+            throws IOException, CsvException {
+        if (isUpsert()) {
+            readInChunks(CATEGORIES_FILE, report, chunk -> importChunk("category", () ->
+                    bulkImportService.upsertCategories(chunk, false, report)));
+        } else {
+            Set<String> knownNames = bulkImportService.findExistingCategoryNames();
+            readInChunks(CATEGORIES_FILE, report, chunk -> importChunk("category", () ->
+                    bulkImportService.importCategories(chunk, knownNames, false, report)));
+        }
+        categoryService.getAllCategories()
+                .forEach(category -> categoryMap.put(category.getName(), category));
+
+        Map<String, Long> categoryIds = new HashMap<>();
+        categoryMap.forEach((name, category) -> categoryIds.put(name, category.getId()));
+        return categoryIds;
+    }
+
+    private CsvChunkReader.ChunkHandler tipChunkHandler(Map<String, Long> categoryIds,
+                                                        ImportReport report) {
+        if (isUpsert()) {
+            return chunk -> importChunk("tip", () ->
+                    bulkImportService.upsertTips(chunk, categoryIds, false, report));
+        }
+        return chunk -> importChunk("tip", () ->
+                bulkImportService.importTips(chunk, categoryIds, false, report));
+    }
+
+    private CsvChunkReader.ChunkHandler guidelineChunkHandler(Map<String, Long> categoryIds,
+                                                              ImportReport report) {
+        if (isUpsert()) {
+            return chunk -> importChunk("guideline", () ->
+                    bulkImportService.upsertGuidelines(chunk, categoryIds, false, report));
+        }
+        return chunk -> importChunk("guideline", () ->
+                bulkImportService.importGuidelines(chunk, categoryIds, false, report));
+    }
+
+    private boolean isUpsert() {
+        return properties.getMode() == DataLoaderProperties.Mode.UPSERT;
+    }
+
+    /**
+     * Reads a CSV file on the calling thread and hands each chunk to the writer pool.
+     * The number of chunks in flight is bounded so memory stays proportional to
+     * the parallelism rather than the file size. Reading stops at the first failure.
+     * @param filePath name of the CSV file
+     * @param report report receiving parse timings
+     * @param writers pool running the chunk handler
+     * @param handler callback for each chunk
+     * @throws IOException if file reading fails
+     * @throws CsvException if CSV parsing fails or a chunk is rejected
+     */
+    private void readInParallel(String filePath, ImportReport report, ForkJoinPool writers,
+                                CsvChunkReader.ChunkHandler handler)
+            throws IOException, CsvException {
+        Semaphore inFlight = new Semaphore(writers.getParallelism() * 2);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        try {
+            readInChunks(filePath, report, chunk -> {
+                if (failure.get() != null) {
+                    return;
+                }
+                inFlight.acquireUninterruptibly();
+                writes.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        handler.handle(chunk);
+                    } catch (CsvException e) {
+                        failure.compareAndSet(null, e);
+                        throw new CompletionException(e);
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                        throw e;
+                    } finally {
+                        inFlight.release();
+                    }
+                }, writers));
+            });
+        } finally {
+            await(writes);
+        }
+    }
+
+    /**
+     * Waits for all futures and rethrows the first failure with its original type.
+     * @param futures futures to wait for
+     * @throws IOException if a task failed reading a file
+     * @throws CsvException if a task failed parsing or validating data
+     */
+    private void await(List<CompletableFuture<Void>> futures) throws IOException, CsvException {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof CsvException csvException) {
+                throw csvException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a CSV file, skipping its header, and hands rows to the handler
+     * in chunks of the configured size. With the mapped parser, files on the
+     * file system are memory-mapped; other resources are read with OpenCSV.
+     * @param filePath name of the CSV file
+     * @param report report receiving parse timings
+     * @param handler callback for each chunk
+     * @throws IOException if file reading fails
+     * @throws CsvException if CSV parsing fails or the handler rejects a chunk
+     */
+    private void readInChunks(String filePath, ImportReport report,
+                              CsvChunkReader.ChunkHandler handler)
+            throws IOException, CsvException {
+        Resource resource = resolve(filePath);
+        if (properties.getParser() == DataLoaderProperties.Parser.MAPPED && resource.isFile()) {
+            int columns = CATEGORIES_FILE.equals(filePath) ? 2 : 3;
+            try (MappedCsvReader reader =
+                         new MappedCsvReader(resource.getFile().toPath(), columns)) {
+                long[] reported = {0};
+                CsvChunkReader.forEachChunk(reader::readNext, properties.getChunkSize(), report,
+                        chunk -> {
+                            progress.addBytesRead(reader.getPosition() - reported[0]);
+                            reported[0] = reader.getPosition();
+                            handler.handle(chunk);
+                        });
+            }
+            return;
+        }
+        try (CSVReader csvReader = createReader(filePath)) {
+            CsvChunkReader.forEachChunk(csvReader, properties.getChunkSize(), report, handler);
+        }
+    }
+
+    /**
+     * Runs a bulk import call, translating validation failures into CsvException.
+     * @param type entity type used in the error message
+     * @param importCall the bulk import call
+     * @throws CsvException if the chunk contains invalid data
+     */
+    private void importChunk(String type, Runnable importCall) throws CsvException {
+        try {
+            importCall.run();
+        } catch (IllegalArgumentException e) {
+            throw new CsvException("Invalid " + type + " data: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,872 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.DataLoaderProperties;
+import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Applies edits to the CSV files in an external data directory without
+ * reloading everything. The content of every row is hashed and remembered
+ * under the row's natural key: the name for categories, and the category
+ * name and title for tips and guidelines. When the files change, only rows
+ * whose key is new, whose hash differs or whose key has gone are written,
+ * all in one transaction.
+ * <p>
+ * The delta is taken between two versions of the files, so rows created
+ * through the API are left alone unless a removed category owned them.
+ * The first version is the one the initial load imported. Tips and
+ * guidelines are updated and removed by the ID of the row loaded for their
+ * key, so a row created through the API with the same title is not touched.
+ * A category added to the file whose name already exists, for example one
+ * created through the API, is matched by name and updated in place.
+ * If the new files are invalid nothing is written and the previous version
+ * stays the baseline for the next change.
+ * <p>
+ * The rows a delta writes are looked up again by natural key and reported
+ * as the services report their own writes: each one is invalidated in the
+ * entity, search and second-level caches and passed to the
+ * {@link CatalogChangeListener}s, so a reload touching a few rows does not
+ * empty every cache.
+ */
+@Service
+public class DataReloadService {
+    private static final Logger log = LoggerFactory.getLogger(DataReloadService.class);
+    private static final String CATEGORIES_FILE = "categories.csv";
+    private static final String TIPS_FILE = "recycling_tips.csv";
+    private static final String GUIDELINES_FILE = "disposal_guidelines.csv";
+    private static final Set<String> DATA_FILES = Set.of(CATEGORIES_FILE, TIPS_FILE, GUIDELINES_FILE);
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final String UPDATE_CATEGORY =
+            "UPDATE waste_categories SET name = ?, description = ? WHERE LOWER(name) = ?";
+    private static final String DELETE_CATEGORY =
+            "DELETE FROM waste_categories WHERE LOWER(name) = ?";
+    private static final String IN_CATEGORY =
+            "category_id IN (SELECT id FROM waste_categories WHERE LOWER(name) = ?)";
+    private static final String RECOUNT_CATEGORY =
+            WasteCategoryRepository.RECOUNT + "WHERE c.id = ?";
+    private static final String TIPS_ROLE = WasteCategory.class.getName() + ".recyclingTips";
+    private static final String GUIDELINES_ROLE = WasteCategory.class.getName() + ".guidelines";
+
+    private final DataLoaderService loaderService;
+    private final BulkImportService bulkImportService;
+    private final WasteCategoryService categoryService;
+    private final RecyclingTipService tipService;
+    private final DisposalGuidelineService guidelineService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityCache<Long, ?> categoryCache;
+    private final EntityCache<Long, ?> tipCache;
+    private final EntityCache<Long, ?> guidelineCache;
+    private final CategoryLeaderboard leaderboard;
+    private final SearchResultCache searchCache;
+    private final List<CatalogChangeListener> changeListeners;
+    private final Cache secondLevelCache;
+    private final DataLoaderProperties properties;
+    private final ResourceLoader resourceLoader;
+    private final Executor watcherExecutor;
+    private Baseline baseline;
+    private WatchService watchService;
+
+    /**
+     * A CSV row with its natural key and content hash.
+     */
+    private record Row(String key, String[] values, long hash) {
+    }
+
+    /**
+     * The rows of the three CSV files, keyed by natural key in file order.
+     */
+    private record DataFiles(Map<String, Row> categories, Map<String, Row> tips,
+                             Map<String, Row> guidelines) {
+    }
+
+    /**
+     * A tip or guideline as stored, with its text column and natural key.
+     */
+    private record Entry(long id, String title, String text, long categoryId, String key) {
+    }
+
+    /**
+     * The rows a delta wrote, found by natural key or ID, to report once it is
+     * applied, and the IDs of the tips and guidelines the new files own.
+     */
+    private static final class Changes {
+        final List<WasteCategory> savedCategories = new ArrayList<>();
+        final List<Long> deletedCategories = new ArrayList<>();
+        // Whether a category that already existed was rewritten, rather than only new ones added
+        boolean categoriesUpdated;
+        final List<RecyclingTip> savedTips = new ArrayList<>();
+        final List<Long> deletedTips = new ArrayList<>();
+        final List<DisposalGuideline> savedGuidelines = new ArrayList<>();
+        final List<Long> deletedGuidelines = new ArrayList<>();
+        // Categories that gained or lost tips or guidelines
+        final Set<Long> recounted = new LinkedHashSet<>();
+        final Map<String, Long> tipIds = new HashMap<>();
+        final Map<String, Long> guidelineIds = new HashMap<>();
+    }
+
+    /**
+     * Content hashes of the last applied version of the files, keyed by
+     * natural key, and the IDs of the tip and guideline rows loaded for them.
+     */
+    private record Baseline(Map<String, Long> categories, Map<String, Long> tips,
+                            Map<String, Long> guidelines, Map<String, Long> tipIds,
+                            Map<String, Long> guidelineIds) {
+
+        static Baseline of(DataFiles files, Map<String, Long> tipIds,
+                           Map<String, Long> guidelineIds) {
+            return new Baseline(hashes(files.categories()), hashes(files.tips()),
+                    hashes(files.guidelines()), tipIds, guidelineIds);
+        }
+
+        private static Map<String, Long> hashes(Map<String, Row> rows) {
+            Map<String, Long> hashes = new LinkedHashMap<>();
+            rows.forEach((key, row) -> hashes.put(key, row.hash()));
+            return hashes;
+        }
+    }
+
+    /**
+     * Creates a new DataReloadService.
+     * @param loaderService loader whose progress gates reloads until the initial load is done
+     * @param bulkImportService service writing new rows in JDBC batches
+     * @param categoryService service validating category names
+     * @param tipService service validating tip content
+     * @param guidelineService service validating guideline instructions
+     * @param jdbcTemplate template running updates and deletes
+     * @param transactionTemplate template applying each delta atomically
+     * @param cacheManager manager of the entity caches invalidated for each written row
+     * @param leaderboard rankings told about categories whose counts changed
+     * @param searchCache cache of search results invalidated for each written row
+     * @param changeListeners listeners told about each written row
+     * @param entityManagerFactory factory whose second-level cache entries are evicted
+     * @param properties loader configuration
+     * @param resourceLoader loader resolving the configured data location
+     * @param watcherExecutor executor running the watcher when watching is enabled
+     */
+    public DataReloadService(DataLoaderService loaderService,
+                             BulkImportService bulkImportService,
+                             WasteCategoryService categoryService,
+                             RecyclingTipService tipService,
+                             DisposalGuidelineService guidelineService,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             EntityCacheManager cacheManager,
+                             CategoryLeaderboard leaderboard,
+                             SearchResultCache searchCache,
+                             List<CatalogChangeListener> changeListeners,
+                             EntityManagerFactory entityManagerFactory,
+                             DataLoaderProperties properties,
+                             ResourceLoader resourceLoader,
+                             @Qualifier("dataWatcherExecutor") Executor watcherExecutor) {
+        this.loaderService = loaderService;
+        this.bulkImportService = bulkImportService;
+        this.categoryService = categoryService;
+        this.tipService = tipService;
+        this.guidelineService = guidelineService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.categoryCache = cacheManager.getCache(EntityCacheManager.CATEGORIES);
+        this.tipCache = cacheManager.getCache(EntityCacheManager.TIPS);
+        this.guidelineCache = cacheManager.getCache(EntityCacheManager.GUIDELINES);
+        this.leaderboard = leaderboard;
+        this.searchCache = searchCache;
+        this.changeListeners = changeListeners;
+        this.secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.properties = properties;
+        this.resourceLoader = resourceLoader;
+        this.watcherExecutor = watcherExecutor;
+    }
+
+    /**
+     * Starts watching the data location when watching is enabled. Only
+     * directories on the file system can be watched; for other locations,
+     * such as a directory inside the jar, a warning is logged instead.
+     * File events are collected from here on, but only applied once the
+     * initial load has finished and the files it imported are the baseline.
+     * @throws IOException if the watch cannot be registered
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.isWatch()) {
+            return;
+        }
+        Resource location = resourceLoader.getResource(properties.getLocation());
+        if (!location.isFile() || !location.getFile().isDirectory()) {
+            log.warn("Not watching {}: not a directory on the file system",
+                    properties.getLocation());
+            return;
+        }
+        Path directory = location.getFile().toPath();
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        watcherExecutor.execute(this::watch);
+        log.info("Watching {} for data changes", directory);
+    }
+
+    /**
+     * Stops watching the data location.
+     * @throws IOException if the watch service cannot be closed
+     */
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * Takes the files the initial load imported as the version later changes
+     * are compared with, and finds the tip and guideline rows loaded from them.
+     * @throws IOException if a file cannot be read
+     * @throws CsvException if a file cannot be parsed
+     * @throws IllegalArgumentException if a row is malformed or a natural key repeats
+     * @throws IllegalStateException if the loader did not keep the files it imported
+     */
+    synchronized void captureBaseline() throws IOException, CsvException {
+        Map<String, Resource> loaded = loaderService.takeLoadedFiles();
+        if (loaded == null) {
+            throw new IllegalStateException("The loaded CSV files were not kept");
+        }
+        DataFiles files = readFiles(loaded);
+        baseline = Baseline.of(files, findLoadedIds("recycling_tips", files.tips().keySet()),
+                findLoadedIds("disposal_guidelines", files.guidelines().keySet()));
+    }
+
+    /**
+     * Compares the files with the last applied version and writes the
+     * inserted, changed and removed rows in a single transaction.
+     * @return counts of the rows written
+     * @throws IOException if a file cannot be read
+     * @throws CsvException if a file cannot be parsed
+     * @throws IllegalArgumentException if the new data is invalid; nothing is written
+     * @throws IllegalStateException if no baseline has been captured
+     */
+    public synchronized DeltaReport reload() throws IOException, CsvException {
+        if (baseline == null) {
+            throw new IllegalStateException("No data baseline to compare with");
+        }
+        long start = System.nanoTime();
+        DataFiles files = readFiles(resolveFiles());
+        DeltaReport report = new DeltaReport();
+        Changes changes = new Changes();
+        transactionTemplate.executeWithoutResult(status -> {
+            apply(files, report, changes);
+            publish(changes);
+        });
+        baseline = Baseline.of(files, changes.tipIds, changes.guidelineIds);
+        report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        if (report.isEmpty()) {
+            log.debug("No data changes in {}", properties.getLocation());
+        } else {
+            log.info("Applied data changes from {}: {}", properties.getLocation(), report);
+        }
+        return report;
+    }
+
+    /**
+     * Writes the difference between the baseline and the new files. Dependent
+     * rows are removed before categories, and categories are written before
+     * the tips and guidelines that refer to them.
+     */
+    private void apply(DataFiles files, DeltaReport report, Changes changes) {
+        ImportReport importReport = new ImportReport();
+
+        List<Entry> removedTips = findEntries("recycling_tips", "content",
+                loadedIds(removedKeys(baseline.tips(), files.tips()), baseline.tipIds()));
+        removedTips.forEach(tip -> {
+            changes.deletedTips.add(tip.id());
+            changes.recounted.add(tip.categoryId());
+        });
+        removeRows("recycling_tips", removedTips, report.getTips());
+        List<Entry> removedGuidelines = findEntries("disposal_guidelines", "instructions",
+                loadedIds(removedKeys(baseline.guidelines(), files.guidelines()),
+                        baseline.guidelineIds()));
+        removedGuidelines.forEach(guideline -> {
+            changes.deletedGuidelines.add(guideline.id());
+            changes.recounted.add(guideline.categoryId());
+        });
+        removeRows("disposal_guidelines", removedGuidelines, report.getGuidelines());
+        List<String> removedCategories = removedKeys(baseline.categories(), files.categories());
+        findCategories(removedCategories).forEach(category ->
+                changes.deletedCategories.add(category.getId()));
+        removeCategories(removedCategories, report);
+
+        List<Object[]> changedCategories = new ArrayList<>();
+        for (Row row : changedRows(baseline.categories(), files.categories())) {
+            if (!categoryService.isValidCategoryName(row.values()[0])) {
+                throw new IllegalArgumentException(
+                        "Invalid category name format: " + row.values()[0]);
+            }
+            changedCategories.add(new Object[]{row.values()[0], row.values()[1], row.key()});
+        }
+        report.getCategories().addUpdated(update(UPDATE_CATEGORY, changedCategories));
+        // A new row may name a category already created through the API; it is matched and updated
+        List<Row> newCategories = newRows(baseline.categories(), files.categories());
+        inChunks(values(newCategories), chunk -> {
+            ImportReport chunkReport = new ImportReport();
+            bulkImportService.upsertCategories(chunk, false, chunkReport);
+            report.getCategories().addInserted(
+                    (int) (chunkReport.getRowsWritten() - chunkReport.getRowsUpdated()));
+            report.getCategories().addUpdated((int) chunkReport.getRowsUpdated());
+        });
+        changes.categoriesUpdated = report.getCategories().getUpdated() > 0;
+        changes.savedCategories.addAll(findCategories(
+                savedKeys(changedRows(baseline.categories(), files.categories()), newCategories)));
+
+        Map<String, Long> categoryIds = bulkImportService.findCategoryIds();
+        checkCategoriesExist(files.tips(), categoryIds);
+        checkCategoriesExist(files.guidelines(), categoryIds);
+
+        keepLoadedIds(baseline.tipIds(), files.tips(), changes.tipIds);
+        List<Object[]> tipUpdates = new ArrayList<>();
+        for (Row row : changedRows(baseline.tips(), files.tips())) {
+            if (!tipService.isValidTipContent(row.values()[1])) {
+                throw new IllegalArgumentException("Invalid tip content: " + row.values()[0]);
+            }
+            Long id = changes.tipIds.get(row.key());
+            if (id != null) {
+                tipUpdates.add(new Object[]{row.values()[1], id});
+            }
+        }
+        report.getTips().addUpdated(update("UPDATE recycling_tips SET content = ? WHERE id = ?",
+                tipUpdates));
+        List<Row> newTips = newRows(baseline.tips(), files.tips());
+        inChunks(values(newTips), chunk -> report.getTips()
+                .addInserted(bulkImportService.importTips(chunk, categoryIds, false, importReport)));
+        List<Entry> insertedTips = findInserted("recycling_tips", "content", newTips);
+        insertedTips.forEach(tip -> {
+            changes.tipIds.put(tip.key(), tip.id());
+            changes.recounted.add(tip.categoryId());
+        });
+        List<Entry> savedTips = new ArrayList<>(findEntries("recycling_tips", "content",
+                updatedIds(tipUpdates)));
+        savedTips.addAll(insertedTips);
+        for (Entry tip : savedTips) {
+            changes.savedTips.add(new RecyclingTip(tip.id(), tip.title(), tip.text(),
+                    new WasteCategory(tip.categoryId(), null, null)));
+        }
+
+        keepLoadedIds(baseline.guidelineIds(), files.guidelines(), changes.guidelineIds);
+        List<Object[]> guidelineUpdates = new ArrayList<>();
+        for (Row row : changedRows(baseline.guidelines(), files.guidelines())) {
+            if (!guidelineService.isValidGuidelineInstructions(row.values()[1])) {
+                throw new IllegalArgumentException(
+                        "Invalid guideline instructions: " + row.values()[0]);
+            }
+            Long id = changes.guidelineIds.get(row.key());
+            if (id != null) {
+                guidelineUpdates.add(new Object[]{row.values()[1], id});
+            }
+        }
+        report.getGuidelines().addUpdated(update(
+                "UPDATE disposal_guidelines SET instructions = ? WHERE id = ?", guidelineUpdates));
+        List<Row> newGuidelines = newRows(baseline.guidelines(), files.guidelines());
+        inChunks(values(newGuidelines), chunk ->
+                report.getGuidelines().addInserted(bulkImportService.importGuidelines(
+                        chunk, categoryIds, false, importReport)));
+        List<Entry> insertedGuidelines =
+                findInserted("disposal_guidelines", "instructions", newGuidelines);
+        insertedGuidelines.forEach(guideline -> {
+            changes.guidelineIds.put(guideline.key(), guideline.id());
+            changes.recounted.add(guideline.categoryId());
+        });
+        List<Entry> savedGuidelines = new ArrayList<>(findEntries("disposal_guidelines",
+                "instructions", updatedIds(guidelineUpdates)));
+        savedGuidelines.addAll(insertedGuidelines);
+        for (Entry guideline : savedGuidelines) {
+            changes.savedGuidelines.add(new DisposalGuideline(guideline.id(), guideline.title(),
+                    guideline.text(), new WasteCategory(guideline.categoryId(), null, null)));
+        }
+    }
+
+    /**
+     * Reports the rows a delta wrote as the services report their own
+     * writes: cache entries and search results are dropped now and again
+     * once the transaction completes, and the change listeners and the
+     * leaderboard apply each change once it commits. Hibernate did not see
+     * these writes, so its second-level cache is evicted after completion,
+     * when a concurrent read can no longer put back the old rows.
+     */
+    private void publish(Changes changes) {
+        for (WasteCategory category : changes.savedCategories) {
+            categoryCache.invalidate(category.getId());
+            searchCache.invalidate(EntityCacheManager.CATEGORIES, category.getId(), category.getName());
+            changeListeners.forEach(listener -> listener.categorySaved(category));
+            leaderboard.categoryChanged(category.getId());
+        }
+        for (Long id : changes.deletedCategories) {
+            categoryCache.invalidate(id);
+            searchCache.invalidate(EntityCacheManager.CATEGORIES, id);
+            changeListeners.forEach(listener -> listener.categoryDeleted(id));
+            leaderboard.categoryDeleted(id);
+        }
+        if (changes.categoriesUpdated || !changes.deletedCategories.isEmpty()) {
+            // Cached tips and guidelines carry their category, and a removed category takes its rows;
+            // a new category has no cached rows yet
+            tipCache.invalidateAll();
+            guidelineCache.invalidateAll();
+        }
+        if (!changes.deletedCategories.isEmpty()) {
+            searchCache.invalidateAll(EntityCacheManager.TIPS);
+            searchCache.invalidateAll(EntityCacheManager.GUIDELINES);
+        }
+        for (RecyclingTip tip : changes.savedTips) {
+            tipCache.invalidate(tip.getId());
+            searchCache.invalidate(EntityCacheManager.TIPS, tip.getId(), tip.getTitle());
+            changeListeners.forEach(listener -> listener.tipSaved(tip));
+        }
+        for (Long id : changes.deletedTips) {
+            tipCache.invalidate(id);
+            searchCache.invalidate(EntityCacheManager.TIPS, id);
+            changeListeners.forEach(listener -> listener.tipDeleted(id));
+        }
+        for (DisposalGuideline guideline : changes.savedGuidelines) {
+            guidelineCache.invalidate(guideline.getId());
+            searchCache.invalidate(EntityCacheManager.GUIDELINES, guideline.getId(), guideline.getTitle());
+            changeListeners.forEach(listener -> listener.guidelineSaved(guideline));
+        }
+        for (Long id : changes.deletedGuidelines) {
+            guidelineCache.invalidate(id);
+            searchCache.invalidate(EntityCacheManager.GUIDELINES, id);
+            changeListeners.forEach(listener -> listener.guidelineDeleted(id));
+        }
+        for (Long id : changes.recounted) {
+            categoryCache.invalidate(id);
+            leaderboard.categoryChanged(id);
+        }
+        TransactionCallbacks.afterTransaction(() -> evictSecondLevelCache(changes));
+    }
+
+    private void evictSecondLevelCache(Changes changes) {
+        changes.savedCategories.forEach(category ->
+                secondLevelCache.evictEntityData(WasteCategory.class, category.getId()));
+        changes.deletedCategories.forEach(id -> secondLevelCache.evictEntityData(WasteCategory.class, id));
+        if (!changes.deletedCategories.isEmpty()) {
+            // Their tips and guidelines went with them
+            secondLevelCache.evictEntityData(RecyclingTip.class);
+            secondLevelCache.evictEntityData(DisposalGuideline.class);
+        }
+        changes.savedTips.forEach(tip -> secondLevelCache.evictEntityData(RecyclingTip.class, tip.getId()));
+        changes.deletedTips.forEach(id -> secondLevelCache.evictEntityData(RecyclingTip.class, id));
+        changes.savedGuidelines.forEach(guideline ->
+                secondLevelCache.evictEntityData(DisposalGuideline.class, guideline.getId()));
+        changes.deletedGuidelines.forEach(id ->
+                secondLevelCache.evictEntityData(DisposalGuideline.class, id));
+        for (Long id : changes.recounted) {
+            secondLevelCache.evictEntityData(WasteCategory.class, id);
+            secondLevelCache.evictCollectionData(TIPS_ROLE, id);
+            secondLevelCache.evictCollectionData(GUIDELINES_ROLE, id);
+        }
+    }
+
+    /**
+     * Finds categories by lower-cased name, in chunks of the configured size.
+     */
+    private List<WasteCategory> findCategories(List<String> names) {
+        List<WasteCategory> categories = new ArrayList<>(names.size());
+        inChunks(names, chunk -> categories.addAll(jdbcTemplate.query(
+                "SELECT id, name, description FROM waste_categories WHERE LOWER(name) IN ("
+                        + placeholders(chunk.size(), "?") + ")",
+                (rs, rowNum) -> new WasteCategory(rs.getLong("id"), rs.getString("name"),
+                        rs.getString("description")),
+                chunk.toArray())));
+        return categories;
+    }
+
+    /**
+     * Finds tips or guidelines by ID, in chunks of the configured size.
+     * Rows removed through the API in the meantime are not returned.
+     */
+    private List<Entry> findEntries(String table, String textColumn, List<Long> ids) {
+        List<Entry> entries = new ArrayList<>(ids.size());
+        inChunks(ids, chunk -> entries.addAll(jdbcTemplate.query(
+                selectEntries(table, textColumn) + "e.id IN (" + placeholders(chunk.size(), "?") + ")",
+                DataReloadService::mapEntry, chunk.toArray())));
+        return entries;
+    }
+
+    /**
+     * Finds the tips or guidelines just inserted for new rows, in chunks of
+     * the configured size with a single query per chunk. Rows created through
+     * the API may share a key; the inserted row is the newest one.
+     */
+    private List<Entry> findInserted(String table, String textColumn, List<Row> rows) {
+        Map<String, Entry> inserted = new LinkedHashMap<>();
+        inChunks(rows, chunk -> {
+            List<Object> args = new ArrayList<>(chunk.size() * 2);
+            for (Row row : chunk) {
+                int separator = row.key().indexOf(KEY_SEPARATOR);
+                args.add(row.key().substring(0, separator));
+                args.add(row.key().substring(separator + 1));
+            }
+            // H2 rejects expressions inside a row-value IN, so each key gets its own condition
+            jdbcTemplate.query(selectEntries(table, textColumn)
+                            + String.join(" OR ", Collections.nCopies(chunk.size(),
+                                    "(LOWER(c.name) = ? AND e.title = ?)")),
+                    DataReloadService::mapEntry, args.toArray())
+                    .forEach(entry -> inserted.merge(entry.key(), entry,
+                            (a, b) -> a.id() > b.id() ? a : b));
+        });
+        return new ArrayList<>(inserted.values());
+    }
+
+    /**
+     * Finds the rows the initial load imported for the files' tips or
+     * guidelines. Rows created through the API may share a key; the loaded
+     * row is the oldest one.
+     */
+    private Map<String, Long> findLoadedIds(String table, Set<String> keys) {
+        Map<String, Long> ids = new HashMap<>(keys.size());
+        jdbcTemplate.query("SELECT e.id, LOWER(c.name), e.title FROM " + table + " e "
+                + "JOIN waste_categories c ON c.id = e.category_id ORDER BY e.id", rs -> {
+            String key = rs.getString(2) + KEY_SEPARATOR + rs.getString(3);
+            if (keys.contains(key)) {
+                ids.putIfAbsent(key, rs.getLong(1));
+            }
+        });
+        return ids;
+    }
+
+    private static String selectEntries(String table, String textColumn) {
+        return "SELECT e.id, e.title, e." + textColumn + ", e.category_id, LOWER(c.name) FROM "
+                + table + " e JOIN waste_categories c ON c.id = e.category_id WHERE ";
+    }
+
+    private static Entry mapEntry(ResultSet rs, int rowNum) throws SQLException {
+        return new Entry(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4),
+                rs.getString(5) + KEY_SEPARATOR + rs.getString(2));
+    }
+
+    private static List<Long> loadedIds(List<String> keys, Map<String, Long> ids) {
+        return keys.stream().map(ids::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Carries over the IDs of the rows whose key is still in the files.
+     */
+    private static void keepLoadedIds(Map<String, Long> previous, Map<String, Row> current,
+                                      Map<String, Long> ids) {
+        previous.forEach((key, id) -> {
+            if (current.containsKey(key)) {
+                ids.put(key, id);
+            }
+        });
+    }
+
+    private static List<Long> updatedIds(List<Object[]> updates) {
+        return updates.stream().map(update -> (Long) update[1]).toList();
+    }
+
+    private static List<String> savedKeys(List<Row> changed, List<Row> inserted) {
+        List<String> keys = new ArrayList<>(changed.size() + inserted.size());
+        changed.forEach(row -> keys.add(row.key()));
+        inserted.forEach(row -> keys.add(row.key()));
+        return keys;
+    }
+
+    private static String placeholders(int count, String placeholder) {
+        return String.join(", ", Collections.nCopies(count, placeholder));
+    }
+
+    /**
+     * Removes tips or guidelines by ID, then recounts the categories they
+     * were removed from. Inserted rows are counted by BulkImportService as
+     * they are written.
+     */
+    private void removeRows(String table, List<Entry> entries, DeltaReport.Counts counts) {
+        counts.addRemoved(update("DELETE FROM " + table + " WHERE id = ?",
+                entries.stream().map(entry -> new Object[]{entry.id()}).toList()));
+        update(RECOUNT_CATEGORY, entries.stream().map(Entry::categoryId).distinct()
+                .map(id -> new Object[]{id}).toList());
+    }
+
+    /**
+     * Removes categories by name, together with any tips and guidelines still
+     * in them, as deleting a category through the API does.
+     */
+    private void removeCategories(List<String> names, DeltaReport report) {
+        List<Object[]> args = names.stream().map(name -> new Object[]{name}).toList();
+        report.getTips().addRemoved(update("DELETE FROM recycling_tips WHERE " + IN_CATEGORY, args));
+        report.getGuidelines().addRemoved(
+                update("DELETE FROM disposal_guidelines WHERE " + IN_CATEGORY, args));
+        report.getCategories().addRemoved(update(DELETE_CATEGORY, args));
+    }
+
+    private void checkCategoriesExist(Map<String, Row> rows, Map<String, Long> categoryIds) {
+        for (Row row : rows.values()) {
+            if (!categoryIds.containsKey(row.values()[2])) {
+                throw new IllegalArgumentException("Category not found: " + row.values()[2]);
+            }
+        }
+    }
+
+    /**
+     * Runs a statement as JDBC batches of the configured chunk size.
+     * @return the total number of rows affected
+     */
+    private int update(String sql, List<Object[]> args) {
+        int[] affected = {0};
+        inChunks(args, chunk -> {
+            for (int count : jdbcTemplate.batchUpdate(sql, chunk)) {
+                affected[0] += Math.max(count, 0);
+            }
+        });
+        return affected[0];
+    }
+
+    private <T> void inChunks(List<T> items, Consumer<List<T>> handler) {
+        int chunkSize = properties.getChunkSize();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            handler.accept(items.subList(from, Math.min(items.size(), from + chunkSize)));
+        }
+    }
+
+    private static List<String> removedKeys(Map<String, Long> previous, Map<String, Row> current) {
+        return previous.keySet().stream().filter(key -> !current.containsKey(key)).toList();
+    }
+
+    private static List<Row> changedRows(Map<String, Long> previous, Map<String, Row> current) {
+        return current.values().stream()
+                .filter(row -> previous.containsKey(row.key())
+                        && previous.get(row.key()) != row.hash())
+                .toList();
+    }
+
+    private static List<Row> newRows(Map<String, Long> previous, Map<String, Row> current) {
+        return current.values().stream().filter(row -> !previous.containsKey(row.key())).toList();
+    }
+
+    private static List<String[]> values(List<Row> rows) {
+        return rows.stream().map(Row::values).toList();
+    }
+
+    /**
+     * Waits for the initial load and takes the files it imported as the
+     * baseline. Then waits for file events and reloads once the data files
+     * have been quiet for the debounce period, so a file written in several
+     * steps, or several files edited together, are applied as one delta.
+     * Files edited since the load read them are applied by a first reload.
+     */
+    private void watch() {
+        long debounceMillis = properties.getWatchDebounce().toMillis();
+        try {
+            if (!awaitInitialLoad(Math.max(debounceMillis, 100))) {
+                return;
+            }
+            try {
+                captureBaseline();
+            } catch (IOException | CsvException | RuntimeException e) {
+                log.warn("Not watching {}: {}", properties.getLocation(), e.getMessage());
+                return;
+            }
+            // Applies edits made before the watch was registered
+            reloadAndLog();
+            while (true) {
+                if (!isDataChange(watchService.take())) {
+                    continue;
+                }
+                WatchKey key;
+                while ((key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    isDataChange(key);
+                }
+                reloadAndLog();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Stopped watching {}", properties.getLocation());
+        } finally {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Failed to close the watch on {}: {}", properties.getLocation(),
+                        e.getMessage());
+            }
+        }
+    }
+
+    private boolean isDataChange(WatchKey key) {
+        boolean dataChange = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || event.context() instanceof Path path
+                    && DATA_FILES.contains(path.getFileName().toString())) {
+                dataChange = true;
+            }
+        }
+        key.reset();
+        return dataChange;
+    }
+
+    /**
+     * Waits for the startup load, since a delta only makes sense on top of the loaded data.
+     * @return true if the load succeeded
+     */
+    private boolean awaitInitialLoad(long pollMillis) throws InterruptedException {
+        DataLoadProgress progress = loaderService.getProgress();
+        while (progress.getStatus() == DataLoadProgress.Status.LOADING) {
+            Thread.sleep(pollMillis);
+        }
+        if (!progress.isReady()) {
+            log.warn("Not watching {}: the initial load failed", properties.getLocation());
+            return false;
+        }
+        return true;
+    }
+
+    private void reloadAndLog() {
+        try {
+            reload();
+        } catch (IOException | CsvException | RuntimeException e) {
+            log.warn("Data changes in {} not applied, keeping current data: {}",
+                    properties.getLocation(), e.getMessage());
+        }
+    }
+
+    /**
+     * Resolves the CSV files in the configured data location.
+     * @return the files keyed by file name
+     * @throws IOException if a file does not exist
+     */
+    private Map<String, Resource> resolveFiles() throws IOException {
+        Map<String, Resource> files = new HashMap<>();
+        for (String fileName : DATA_FILES) {
+            Resource resource = resourceLoader.getResource(properties.getLocation() + fileName);
+            if (!resource.exists()) {
+                throw new IOException("File not found: " + resource.getDescription());
+            }
+            files.put(fileName, resource);
+        }
+        return files;
+    }
+
+    private DataFiles readFiles(Map<String, Resource> files) throws IOException, CsvException {
+        return new DataFiles(
+                readRows(files.get(CATEGORIES_FILE), CATEGORIES_FILE, 2,
+                        "Invalid category data format: requires name and description",
+                        values -> values[0].toLowerCase(Locale.ROOT)),
+                readRows(files.get(TIPS_FILE), TIPS_FILE, 3,
+                        "Invalid tip data format: requires title, content, and category",
+                        DataReloadService::entryKey),
+                readRows(files.get(GUIDELINES_FILE), GUIDELINES_FILE, 3,
+                        "Invalid guideline data format: requires title, instructions, and category",
+                        DataReloadService::entryKey));
+    }
+
+    private static String entryKey(String[] values) {
+        return values[2].toLowerCase(Locale.ROOT) + KEY_SEPARATOR + values[0];
+    }
+
+    /**
+     * Reads a CSV file, skipping its header, into rows keyed by natural key.
+     * With the mapped parser, files on the file system are memory-mapped.
+     * @param resource the CSV file
+     * @param fileName name of the CSV file
+     * @param columns number of leading fields each row must have
+     * @param formatError message used when a row has too few fields
+     * @param keyFunction function deriving the natural key from the trimmed fields
+     * @return rows in file order
+     * @throws IllegalArgumentException if a row has too few fields or its key repeats
+     */
+    private Map<String, Row> readRows(Resource resource, String fileName, int columns,
+                                      String formatError, Function<String[], String> keyFunction)
+            throws IOException, CsvException {
+        if (properties.getParser() == DataLoaderProperties.Parser.MAPPED && resource.isFile()) {
+            try (MappedCsvReader reader =
+                         new MappedCsvReader(resource.getFile().toPath(), columns)) {
+                return readRows(reader::readNext, fileName, columns, formatError, keyFunction);
+            }
+        }
+        try (CSVReader reader = new CSVReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            return readRows(reader::readNext, fileName, columns, formatError, keyFunction);
+        }
+    }
+
+    private Map<String, Row> readRows(CsvChunkReader.LineSource source, String fileName,
+                                      int columns, String formatError,
+                                      Function<String[], String> keyFunction)
+            throws IOException, CsvException {
+        Map<String, Row> rows = new LinkedHashMap<>();
+        source.readNext();
+        String[] line;
+        while ((line = source.readNext()) != null) {
+            if (line.length < columns) {
+                throw new IllegalArgumentException(formatError);
+            }
+            String[] values = new String[columns];
+            for (int i = 0; i < columns; i++) {
+                values[i] = line[i].trim();
+            }
+            String key = keyFunction.apply(values);
+            if (rows.put(key, new Row(key, values, hash(values))) != null) {
+                throw new IllegalArgumentException("Duplicate entry in " + fileName + ": "
+                        + key.replace(KEY_SEPARATOR, '/'));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Hashes the fields of a row with 64-bit FNV-1a, separating fields so
+     * that text moving between them changes the hash.
+     */
+    private static long hash(String[] values) {
+        long hash = FNV_OFFSET_BASIS;
+        for (String value : values) {
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+            }
+            hash = (hash ^ KEY_SEPARATOR) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,371 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.DataLoaderProperties;
+import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Checksum;
+
+/**
+ * Saves the loaded data set to a compact binary snapshot and restores it on
+ * the next start, so the CSV files do not have to be parsed and validated again.
+ * <p>
+ * Layout: magic, format version, checksum of the source CSV files, then one
+ * section per table (each row preceded by a 1 byte and the section ended by a
+ * 0 byte, with category IDs already resolved), and finally a CRC32C of
+ * everything before it. Identifiers are written as variable-length integers
+ * (7 bits per byte), and strings as a UTF-8 byte array prefixed with its
+ * length plus one, so that 0 can stand for null.
+ */
+@Service
+public class DataSnapshotService {
+    private static final Logger log = LoggerFactory.getLogger(DataSnapshotService.class);
+    private static final int MAGIC = 0x574D534E;
+    private static final int FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final byte ROW = 1;
+    private static final byte END_OF_SECTION = 0;
+
+    private static final String INSERT_CATEGORY =
+            "INSERT INTO waste_categories (id, name, description) VALUES (?, ?, ?)";
+    private static final String INSERT_TIP =
+            "INSERT INTO recycling_tips (id, title, content, category_id) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_GUIDELINE =
+            "INSERT INTO disposal_guidelines (id, title, instructions, category_id) "
+                    + "VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final EntityCacheManager cacheManager;
+    private final EntityIdAllocator idAllocator;
+    private final int chunkSize;
+
+    public DataSnapshotService(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               EntityCacheManager cacheManager,
+                               EntityIdAllocator idAllocator,
+                               DataLoaderProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.snapshotTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.cacheManager = cacheManager;
+        this.idAllocator = idAllocator;
+        this.chunkSize = properties.getChunkSize();
+    }
+
+    /**
+     * Restores the data set from a snapshot if it was taken from the same CSV files.
+     * The whole file is verified before anything is written, so a stale or
+     * damaged snapshot leaves the database untouched. Rows are only restored
+     * into empty tables, and all of them are written in one transaction, so a
+     * restore that fails part way leaves the tables empty again. If the
+     * identifier sequences cannot be moved past the restored rows afterwards,
+     * those rows are deleted again before the failure is thrown.
+     *
+     * @param snapshot       path of the snapshot file
+     * @param sourceChecksum checksum of the current CSV files
+     * @return true if the data was restored, false if the snapshot cannot be used
+     * @throws IOException if the snapshot cannot be read after it was verified
+     */
+    public boolean restore(Path snapshot, long sourceChecksum) throws IOException {
+        if (!Files.isRegularFile(snapshot)) {
+            log.info("No data snapshot at {}, loading from CSV", snapshot);
+            return false;
+        }
+        String problem = verify(snapshot, sourceChecksum);
+        if (problem != null) {
+            log.info("Ignoring data snapshot {}: {}", snapshot, problem);
+            return false;
+        }
+        if (!isEmpty("waste_categories") || !isEmpty("recycling_tips")
+                || !isEmpty("disposal_guidelines")) {
+            log.info("Ignoring data snapshot {}: the tables already hold data", snapshot);
+            return false;
+        }
+
+        long start = System.nanoTime();
+        long rows;
+        try {
+            rows = transactionTemplate.execute(status -> {
+                try (DataInputStream in = open(snapshot)) {
+                    in.readInt();
+                    in.readInt();
+                    in.readLong();
+                    long count = restoreSection(in, INSERT_CATEGORY, false);
+                    count += restoreSection(in, INSERT_TIP, true);
+                    count += restoreSection(in, INSERT_GUIDELINE, true);
+                    // Counters are not stored in the snapshot; one statement recounts every category
+                    jdbcTemplate.update(WasteCategoryRepository.RECOUNT);
+                    return count;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        // Sequences are not transactional, so they are only moved once the rows are committed
+        try {
+            skipRestoredIds(WasteCategory.class, "waste_categories");
+            skipRestoredIds(RecyclingTip.class, "recycling_tips");
+            skipRestoredIds(DisposalGuideline.class, "disposal_guidelines");
+        } catch (RuntimeException e) {
+            // New rows could reuse restored IDs, so the tables are emptied for the CSV load
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM disposal_guidelines");
+                jdbcTemplate.update("DELETE FROM recycling_tips");
+                jdbcTemplate.update("DELETE FROM waste_categories");
+            });
+            throw e;
+        } finally {
+            cacheManager.invalidateAll();
+        }
+        log.info("Restored {} rows from data snapshot {} in {}ms", rows, snapshot,
+                (System.nanoTime() - start) / 1_000_000);
+        return true;
+    }
+
+    /**
+     * Writes the current contents of the database to a snapshot. All three
+     * tables are read in one repeatable-read transaction, so rows committed
+     * meanwhile cannot leave a tip or guideline without its category. The file
+     * is written next to the target and moved into place, so a crash never
+     * leaves a half-written snapshot behind.
+     *
+     * @param snapshot       path of the snapshot file
+     * @param sourceChecksum checksum of the CSV files the data was loaded from
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void write(Path snapshot, long sourceChecksum) throws IOException {
+        long start = System.nanoTime();
+        Path directory = snapshot.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+        try {
+            CheckedOutputStream checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE), new CRC32C());
+            try (DataOutputStream out = new DataOutputStream(checked)) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(sourceChecksum);
+                writeSections(out);
+                out.writeLong(checked.getChecksum().getValue());
+            }
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        log.info("Wrote data snapshot {} ({} bytes) in {}ms", snapshot, Files.size(snapshot),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Calculates a checksum over the given sources, used to detect when the
+     * CSV files have changed since a snapshot was taken.
+     *
+     * @param sources the CSV files, in a fixed order
+     * @return the combined checksum
+     * @throws IOException if a source cannot be read
+     */
+    public static long checksum(List<Resource> sources) throws IOException {
+        Checksum checksum = new CRC32C();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (Resource resource : sources) {
+            try (InputStream source = resource.getInputStream()) {
+                int count;
+                while ((count = source.read(buffer)) != -1) {
+                    checksum.update(buffer, 0, count);
+                }
+            }
+            // Separates the files, so moving rows from one file to the next changes the checksum
+            checksum.update(0);
+        }
+        return checksum.getValue();
+    }
+
+    /**
+     * Checks the header and the trailing checksum of a snapshot.
+     *
+     * @return a description of the problem, or null if the snapshot can be restored
+     */
+    private String verify(Path snapshot, long sourceChecksum) throws IOException {
+        long payloadSize = Files.size(snapshot) - Long.BYTES;
+        if (payloadSize < 2 * Integer.BYTES + Long.BYTES) {
+            return "file is truncated";
+        }
+        CRC32C crc = new CRC32C();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshot), BUFFER_SIZE), crc))) {
+            if (in.readInt() != MAGIC) {
+                return "not a data snapshot";
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                return "unsupported format version " + version;
+            }
+            if (in.readLong() != sourceChecksum) {
+                return "CSV files have changed since it was written";
+            }
+            in.skipNBytes(payloadSize - 2 * Integer.BYTES - Long.BYTES);
+            long expected = crc.getValue();
+            if (in.readLong() != expected) {
+                return "checksum mismatch";
+            }
+        }
+        return null;
+    }
+
+    private DataInputStream open(Path snapshot) throws IOException {
+        return new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshot), BUFFER_SIZE));
+    }
+
+    private void writeSections(DataOutputStream out) throws IOException {
+        try {
+            snapshotTransaction.executeWithoutResult(status -> {
+                // H2 fixes each table's snapshot when the transaction first reads it, so
+                // the first statement reads all three to fix them at the same point
+                jdbcTemplate.queryForList("SELECT EXISTS (SELECT 1 FROM waste_categories), "
+                        + "EXISTS (SELECT 1 FROM recycling_tips), "
+                        + "EXISTS (SELECT 1 FROM disposal_guidelines)");
+                writeSection(out, "waste_categories", "id, name, description", false);
+                writeSection(out, "recycling_tips", "id, title, content, category_id", true);
+                writeSection(out, "disposal_guidelines", "id, title, instructions, category_id",
+                        true);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeSection(DataOutputStream out, String table, String columns,
+                              boolean hasCategory) {
+        try {
+            jdbcTemplate.query("SELECT " + columns + " FROM " + table + " ORDER BY id", rs -> {
+                try {
+                    out.writeByte(ROW);
+                    writeVarLong(out, rs.getLong(1));
+                    writeString(out, rs.getString(2));
+                    writeString(out, rs.getString(3));
+                    if (hasCategory) {
+                        writeVarLong(out, rs.getLong(4));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.writeByte(END_OF_SECTION);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long restoreSection(DataInputStream in, String sql, boolean hasCategory)
+            throws IOException {
+        long count = 0;
+        List<Object[]> batch = new ArrayList<>(chunkSize);
+        while (in.readByte() == ROW) {
+            count++;
+            Object[] row = hasCategory
+                    ? new Object[]{readVarLong(in), readString(in), readString(in), readVarLong(in)}
+                    : new Object[]{readVarLong(in), readString(in), readString(in)};
+            batch.add(row);
+            if (batch.size() == chunkSize) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        return count;
+    }
+
+    private boolean isEmpty(String table) {
+        return !jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + table + ")", Boolean.class);
+    }
+
+    /**
+     * Moves an entity's identifiers past the restored ones, so new rows
+     * never reuse an ID taken from the snapshot.
+     */
+    private void skipRestoredIds(Class<?> entityType, String table) {
+        long maxId = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        idAllocator.skipPast(entityType, maxId);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        long length = readVarLong(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[Math.toIntExact(length)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a non-negative number using 7 bits per byte, with the high bit set
+     * on every byte but the last, so small identifiers take one or two bytes.
+     */
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length number in data snapshot");
+    }
+}
@@ -0,0 +1,85 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+/**
+ * Summarises the rows inserted, updated and removed when a changed set of
+ * CSV files is applied as a delta.
+ */
+public class DeltaReport {
+
+    /**
+     * Row changes for one entity type.
+     */
+    public static class Counts {
+        private int inserted;
+        private int updated;
+        private int removed;
+
+        public int getInserted() {
+            return inserted;
+        }
+
+        public int getUpdated() {
+            return updated;
+        }
+
+        public int getRemoved() {
+            return removed;
+        }
+
+        void addInserted(int count) {
+            inserted += count;
+        }
+
+        void addUpdated(int count) {
+            updated += count;
+        }
+
+        void addRemoved(int count) {
+            removed += count;
+        }
+
+        public boolean isEmpty() {
+            return inserted == 0 && updated == 0 && removed == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "+" + inserted + " ~" + updated + " -" + removed;
+        }
+    }
+
+    private final Counts categories = new Counts();
+    private final Counts tips = new Counts();
+    private final Counts guidelines = new Counts();
+    private long elapsedMillis;
+
+    public Counts getCategories() {
+        return categories;
+    }
+
+    public Counts getTips() {
+        return tips;
+    }
+
+    public Counts getGuidelines() {
+        return guidelines;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public boolean isEmpty() {
+        return categories.isEmpty() && tips.isEmpty() && guidelines.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "categories " + categories + ", tips " + tips + ", guidelines " + guidelines
+                + " in " + elapsedMillis + "ms";
+    }
+}
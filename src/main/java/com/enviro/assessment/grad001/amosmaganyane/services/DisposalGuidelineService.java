@@ -68,14 +68,23 @@ public interface DisposalGuidelineService {
     List<DisposalGuideline> getGuidelinesByCategory(Long categoryId);
 
     /**
-     * Searches for disposal guidelines whose titles or descriptions contain the given keyword (case-insensitive).
+     * Searches for disposal guidelines whose titles contain the given keyword (case-insensitive).
      * If the keyword is null or empty, retrieves all disposal guidelines.
      *
-     * @param keyword the keyword to search for in guideline titles or descriptions
+     * @param keyword the keyword to search for in guideline titles
      * @return a list of disposal guidelines matching the keyword, or all guidelines if the keyword is empty
      */
     List<DisposalGuideline> searchGuidelines(String keyword);
 
+    /**
+     * Searches for disposal guidelines whose titles contain every word of the keyword,
+     * allowing for typos. If the keyword is null or empty, retrieves all disposal guidelines.
+     *
+     * @param keyword the words to search for in guideline titles
+     * @return the matching disposal guidelines, fewest typos first, or all guidelines if the keyword is empty
+     */
+    List<DisposalGuideline> fuzzySearchGuidelines(String keyword);
+
     /**
      * Counts the number of disposal guidelines associated with a specific waste category.
      *
@@ -5,6 +5,7 @@ import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
 import com.enviro.assessment.grad001.amosmaganyane.repositories.DisposalGuidelineRepository;
 import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,24 +13,47 @@ import java.util.Optional;
  * Implementation of the DisposalGuidelineService interface.
  * Handles business logic for DisposalGuideline entities, including validation
  * and category association.
+ * Guidelines read by ID are cached until they are updated or deleted.
  */
 @Service
 public class DisposalGuidelineServiceImpl implements DisposalGuidelineService {
 
     private final DisposalGuidelineRepository guidelineRepository;
     private final WasteCategoryRepository categoryRepository;
+    private final EntityCache<Long, DisposalGuideline> guidelineCache;
+    private final EntityCache<Long, ?> categoryCache;
+    private final CategoryLeaderboard leaderboard;
+    private final SearchResultCache searchCache;
+    private final TrigramIndex trigramIndex;
+    private final FuzzyIndex fuzzyIndex;
+    private final List<CatalogChangeListener> changeListeners;
 
     public DisposalGuidelineServiceImpl(DisposalGuidelineRepository guidelineRepository,
-                                        WasteCategoryRepository categoryRepository) {
+                                        WasteCategoryRepository categoryRepository,
+                                        EntityCacheManager cacheManager,
+                                        CategoryLeaderboard leaderboard,
+                                        SearchResultCache searchCache,
+                                        TrigramIndex trigramIndex,
+                                        FuzzyIndex fuzzyIndex,
+                                        List<CatalogChangeListener> changeListeners) {
         this.guidelineRepository = guidelineRepository;
         this.categoryRepository = categoryRepository;
+        this.guidelineCache = cacheManager.getCache(EntityCacheManager.GUIDELINES);
+        this.categoryCache = cacheManager.getCache(EntityCacheManager.CATEGORIES);
+        this.leaderboard = leaderboard;
+        this.searchCache = searchCache;
+        this.trigramIndex = trigramIndex;
+        this.fuzzyIndex = fuzzyIndex;
+        this.changeListeners = changeListeners;
     }
 
     /**
      * {@inheritDoc}
      * Associates the guideline with a WasteCategory and validates instructions before saving.
+     * The category's stored guideline count is incremented in the same transaction.
      */
     @Override
+    @Transactional
     public DisposalGuideline createGuideline(Long categoryId, DisposalGuideline guideline) {
         WasteCategory category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new IllegalArgumentException("Category not found"));
@@ -38,7 +62,15 @@ public class DisposalGuidelineServiceImpl implements DisposalGuidelineService {
             throw new IllegalArgumentException("Invalid guideline instructions");
         }
         guideline.setCategory(category);
-        return guidelineRepository.save(guideline);
+        DisposalGuideline saved = guidelineRepository.save(guideline);
+        categoryRepository.adjustGuidelineCount(categoryId, 1);
+        leaderboard.categoryChanged(categoryId);
+        categoryCache.invalidate(categoryId);
+        // Nothing is cached for a new ID, but this moves the collection version
+        guidelineCache.invalidate(saved.getId());
+        searchCache.invalidate(EntityCacheManager.GUIDELINES, saved.getId(), saved.getTitle());
+        changeListeners.forEach(listener -> listener.guidelineSaved(saved));
+        return saved;
     }
 
 
@@ -48,7 +80,7 @@ public class DisposalGuidelineServiceImpl implements DisposalGuidelineService {
      */
     @Override
     public Optional<DisposalGuideline> getGuidelineById(Long id) {
-        return guidelineRepository.findById(id);
+        return guidelineCache.get(id, guidelineRepository::findById);
     }
 
     /**
@@ -66,7 +98,7 @@ public class DisposalGuidelineServiceImpl implements DisposalGuidelineService {
      */
     @Override
     public DisposalGuideline updateGuideline(Long id, DisposalGuideline guideline) {
-        return guidelineRepository.findById(id)
+        DisposalGuideline updated = guidelineRepository.findById(id)
                 .map(existingGuideline -> {
 
                     existingGuideline.setTitle(guideline.getTitle());
@@ -75,18 +107,29 @@ public class DisposalGuidelineServiceImpl implements DisposalGuidelineService {
                     return guidelineRepository.save(existingGuideline);
                 })
                 .orElseThrow(() -> new IllegalStateException("Guideline not found"));
+        guidelineCache.invalidate(id);
+        searchCache.invalidate(EntityCacheManager.GUIDELINES, id, updated.getTitle());
+        changeListeners.forEach(listener -> listener.guidelineSaved(updated));
+        return updated;
     }
 
     /**
      * {@inheritDoc}
-     * Deletes a guideline by its ID using the repository's deleteById method.
+     * Deletes a guideline by its ID and decrements the category's stored
+     * guideline count in the same transaction.
      */
     @Override
+    @Transactional
     public void deleteGuideline(Long id) {
-        if (!guidelineRepository.existsById(id)) {
-            throw new IllegalStateException("Disposal guideline not found");
-        }
-        guidelineRepository.deleteById(id);
+        DisposalGuideline guideline = guidelineRepository.findById(id)
+                .orElseThrow(() -> new IllegalStateException("Disposal guideline not found"));
+        guidelineRepository.delete(guideline);
+        categoryRepository.adjustGuidelineCount(guideline.getCategory().getId(), -1);
+        leaderboard.categoryChanged(guideline.getCategory().getId());
+        guidelineCache.invalidate(id);
+        searchCache.invalidate(EntityCacheManager.GUIDELINES, id);
+        changeListeners.forEach(listener -> listener.guidelineDeleted(id));
+        categoryCache.invalidate(guideline.getCategory().getId());
     }
 
     /**
@@ -115,24 +158,51 @@ public class DisposalGuidelineServiceImpl implements DisposalGuidelineService {
 
     /**
      * {@inheritDoc}
-     * Searches for disposal guidelines whose titles or descriptions contain
-     * the given keyword (case-insensitive).
+     * Searches for disposal guidelines whose titles contain the given
+     * keyword (case-insensitive); {@link FullTextIndex} also searches the instructions.
      * If the keyword is null or empty, retrieves all disposal guidelines.
+     * Matching IDs come from the trigram index rather than a LIKE scan, and
+     * are cached by normalised keyword; guidelines are read through the guideline cache.
      */
     @Override
     public List<DisposalGuideline> searchGuidelines(String keyword) {
         if (keyword == null || keyword.trim().isEmpty()) {
             return getAllGuidelines();
         }
-        return guidelineRepository.findByTitleContainingIgnoreCase(keyword);
+        return searchCache.search(EntityCacheManager.GUIDELINES, SearchResultCache.normalize(keyword),
+                this::findGuidelinesByTitle, DisposalGuideline::getId, this::getGuidelineById);
+    }
+
+    private List<DisposalGuideline> findGuidelinesByTitle(String keyword) {
+        return trigramIndex.search(EntityCacheManager.GUIDELINES, keyword).stream()
+                .map(this::getGuidelineById)
+                .flatMap(Optional::stream)
+                .toList();
     }
 
     /**
      * {@inheritDoc}
-     * Counts the number of disposal guidelines associated with a specific waste category.
+     * Matching IDs come from the fuzzy index, ranked, and guidelines are read
+     * through the guideline cache; results are not kept in the search cache.
+     */
+    @Override
+    public List<DisposalGuideline> fuzzySearchGuidelines(String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return getAllGuidelines();
+        }
+        return fuzzyIndex.search(EntityCacheManager.GUIDELINES, keyword).stream()
+                .map(this::getGuidelineById)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Reads the category's stored guideline counter by primary key.
      */
     @Override
     public int countGuidelinesInCategory(Long categoryId) {
-        return getGuidelinesByCategory(categoryId).size();
+        return categoryRepository.findGuidelineCountById(categoryId)
+                .orElseThrow(() -> new IllegalArgumentException("Category not found"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * A JSON response body that has already been encoded, possibly gzip-compressed.
+ * The bytes may be shared with other responses and must not be modified.
+ */
+public final class EncodedBody {
+    private final byte[] bytes;
+    private final boolean gzip;
+
+    EncodedBody(byte[] bytes, boolean gzip) {
+        this.bytes = bytes;
+        this.gzip = gzip;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    /**
+     * Returns the headers describing the body: the JSON content type, the
+     * content encoding if compressed, and a Vary header, since the encoding
+     * depends on the Accept-Encoding of the request.
+     *
+     * @return the response headers
+     */
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(bytes.length);
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return headers;
+    }
+}
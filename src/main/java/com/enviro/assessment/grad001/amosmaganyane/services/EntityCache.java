@@ -0,0 +1,53 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * An in-process read-through cache for lookups by key.
+ * Implementations are created by EntityCacheManager, which picks a bounded
+ * cache or a pass-through one depending on the configuration.
+ *
+ * @param <K> the key type, usually an entity ID
+ * @param <V> the cached value type
+ */
+public interface EntityCache<K, V> {
+
+    /**
+     * Returns the name of the cache, as shown in its statistics.
+     *
+     * @return the cache name
+     */
+    String getName();
+
+    /**
+     * Returns the cached value for the key, or loads and caches it on a miss.
+     * Empty results are not cached, so a key created later is found straight away.
+     *
+     * @param key    the key to look up
+     * @param loader loads the value on a miss
+     * @return the value, or empty if the loader found nothing
+     */
+    Optional<V> get(K key, Function<K, Optional<V>> loader);
+
+    /**
+     * Removes the value for a key. Inside a transaction the key is removed
+     * again once the transaction completes, so a read of the old value made
+     * before the commit is not kept.
+     *
+     * @param key the key to remove
+     */
+    void invalidate(K key);
+
+    /**
+     * Removes every value, again after the transaction completes if one is active.
+     */
+    void invalidateAll();
+
+    /**
+     * Returns the hit, miss and eviction counts of the cache.
+     *
+     * @return a snapshot of the cache statistics
+     */
+    CacheStats getStats();
+}
@@ -0,0 +1,256 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Creates and keeps the named entity caches used by the services.
+ * When caching is disabled every cache loads from the database on each
+ * lookup, but still counts the lookups, so the statistics stay comparable.
+ * <p>
+ * Every write invalidates at least one cache, so the manager also keeps a
+ * change version, incremented on each invalidation and again once the
+ * writing transaction completes. Readers holding data derived from the
+ * database, such as the catalog snapshot, compare it to detect changes.
+ * The version of the last write is also recorded per cache and per
+ * invalidated key, which gives each collection and entity its own
+ * {@link ContentVersion} for HTTP conditional requests.
+ */
+public class EntityCacheManager {
+
+    // Category summaries by category ID
+    public static final String CATEGORIES = "categories";
+    // Recycling tips by tip ID
+    public static final String TIPS = "tips";
+    // Disposal guidelines by guideline ID
+    public static final String GUIDELINES = "guidelines";
+
+    private final CacheProperties properties;
+    private final Map<String, EntityCache<?, ?>> caches = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final List<Runnable> invalidateAllListeners = new CopyOnWriteArrayList<>();
+    private final long startedAt = System.currentTimeMillis();
+    // Distinguishes entity tags issued before a restart, when versions start again from 0
+    private final String epoch = Long.toString(startedAt, 36);
+
+    public EntityCacheManager(CacheProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the cache with the given name, creating it on first use.
+     *
+     * @param name the cache name
+     * @return the cache
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> EntityCache<K, V> getCache(String name) {
+        return (EntityCache<K, V>) caches.computeIfAbsent(name, this::createCache);
+    }
+
+    /**
+     * Returns the statistics of every cache created so far, ordered by name.
+     *
+     * @return the cache statistics
+     */
+    public List<CacheStats> getStats() {
+        List<CacheStats> stats = new ArrayList<>();
+        caches.values().forEach(cache -> stats.add(cache.getStats()));
+        stats.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return stats;
+    }
+
+    /**
+     * Empties every cache, for writes that bypass the services such as bulk imports.
+     */
+    public void invalidateAll() {
+        caches.values().forEach(EntityCache::invalidateAll);
+        invalidateAllListeners.forEach(Runnable::run);
+        TransactionCallbacks.afterTransaction(() -> invalidateAllListeners.forEach(Runnable::run));
+    }
+
+    /**
+     * Registers a cache held outside this manager, such as the Hibernate
+     * second-level cache, to be emptied by {@link #invalidateAll()}. Like the
+     * entity caches, it is emptied again once the current transaction completes.
+     *
+     * @param listener empties the other cache
+     */
+    public void addInvalidateAllListener(Runnable listener) {
+        invalidateAllListeners.add(listener);
+    }
+
+    /**
+     * Returns the change version, which differs from an earlier value if any
+     * cache was invalidated since, even when caching is disabled.
+     *
+     * @return the current change version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Returns the version of a collection, which changes on every write to
+     * any of its entities.
+     *
+     * @param name the cache name of the collection
+     * @return the collection version
+     */
+    public ContentVersion getContentVersion(String name) {
+        return toContentVersion(name, versioned(name).lastChange);
+    }
+
+    /**
+     * Returns the version of one entity of a collection, which changes when
+     * its key or the whole collection is invalidated.
+     *
+     * @param name the cache name of the collection
+     * @param key  the entity key
+     * @return the entity version
+     */
+    public ContentVersion getContentVersion(String name, Object key) {
+        return toContentVersion(name + "-" + key, versioned(name).lastChange(key));
+    }
+
+    private ContentVersion toContentVersion(String tag, Change change) {
+        return new ContentVersion(change.version(),
+                "\"" + tag + "-" + epoch + "-" + change.version() + "\"", change.timestamp());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    private VersionedCache<?, ?> versioned(String name) {
+        return (VersionedCache<?, ?>) getCache(name);
+    }
+
+    private EntityCache<?, ?> createCache(String name) {
+        EntityCache<?, ?> cache = properties.isEnabled()
+                ? new BoundedEntityCache<>(name, properties.getMaxSize(), properties.getTtl())
+                : new PassThroughCache<>(name);
+        // A cache created after earlier writes cannot know what they touched,
+        // so it starts from the current version rather than from 0
+        return new VersionedCache<>(cache,
+                new Change(version.get(), version.get() == 0 ? startedAt : System.currentTimeMillis()));
+    }
+
+    private record Change(long version, long timestamp) {
+    }
+
+    /**
+     * Records the version of every invalidation before passing it on, and
+     * again once the writing transaction completes, like the caches do.
+     */
+    private class VersionedCache<K, V> implements EntityCache<K, V> {
+        private final EntityCache<K, V> delegate;
+        private final Map<Object, Change> keyChanges = new ConcurrentHashMap<>();
+        // Written under the lock of this cache, read without it
+        private volatile Change lastChange;
+        private volatile Change lastClear;
+
+        VersionedCache(EntityCache<K, V> delegate, Change initial) {
+            this.delegate = delegate;
+            this.lastChange = initial;
+            this.lastClear = initial;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+            return delegate.get(key, loader);
+        }
+
+        @Override
+        public void invalidate(K key) {
+            delegate.invalidate(key);
+            record(key);
+            TransactionCallbacks.afterTransaction(() -> record(key));
+        }
+
+        @Override
+        public void invalidateAll() {
+            delegate.invalidateAll();
+            recordAll();
+            TransactionCallbacks.afterTransaction(this::recordAll);
+        }
+
+        @Override
+        public CacheStats getStats() {
+            return delegate.getStats();
+        }
+
+        Change lastChange(Object key) {
+            Change keyChange = keyChanges.get(key);
+            // Read after the key, since a clear sets it before dropping the keys
+            Change clear = lastClear;
+            return keyChange != null && keyChange.version() > clear.version() ? keyChange : clear;
+        }
+
+        private synchronized void record(Object key) {
+            Change change = new Change(version.incrementAndGet(), System.currentTimeMillis());
+            keyChanges.put(key, change);
+            lastChange = change;
+        }
+
+        private synchronized void recordAll() {
+            Change change = new Change(version.incrementAndGet(), System.currentTimeMillis());
+            lastClear = change;
+            lastChange = change;
+            // Every key is now covered by the clear, which keeps the map to recent writes
+            keyChanges.clear();
+        }
+    }
+
+    /**
+     * A cache that never stores anything, used when caching is disabled.
+     */
+    private static class PassThroughCache<K, V> implements EntityCache<K, V> {
+        private final String name;
+        private final LongAdder misses = new LongAdder();
+
+        PassThroughCache(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+            misses.increment();
+            return loader.apply(key);
+        }
+
+        @Override
+        public void invalidate(K key) {
+            // Nothing is stored
+        }
+
+        @Override
+        public void invalidateAll() {
+            // Nothing is stored
+        }
+
+        @Override
+        public CacheStats getStats() {
+            return new CacheStats(name, false, 0, 0, 0, misses.sum(), 0, 0);
+        }
+    }
+}
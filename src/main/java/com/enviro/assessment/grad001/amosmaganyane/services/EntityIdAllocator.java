@@ -0,0 +1,85 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reserves identifiers for rows written with plain JDBC.
+ * IDs come from the same generator, and so the same pooled optimizer, that
+ * Hibernate uses for the entity, so JDBC and JPA inserts draw from one
+ * in-memory block and never hand out the same ID, however their sequence
+ * calls interleave.
+ */
+@Service
+public class EntityIdAllocator {
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public EntityIdAllocator(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reserves identifiers for new rows of an entity.
+     * The sequence is only read when the current block runs out.
+     *
+     * @param entityType the mapped entity class
+     * @param count      the number of identifiers needed
+     * @return the identifiers, in the order they were handed out
+     */
+    public long[] allocate(Class<?> entityType, int count) {
+        long[] ids = new long[count];
+        if (count == 0) {
+            return ids;
+        }
+        SequenceStyleGenerator generator = generator(entityType);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            for (int i = 0; i < count; i++) {
+                ids[i] = next(generator, session);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Moves the identifiers of an entity past rows inserted with IDs of their
+     * own, such as rows restored from a snapshot. The sequence only ever moves
+     * forward, since blocks already handed out lie below its current value,
+     * and the rest of the block held in memory is used up, so every
+     * identifier handed out afterwards is above maxId.
+     *
+     * @param entityType the mapped entity class
+     * @param maxId      the highest identifier in use
+     */
+    public void skipPast(Class<?> entityType, long maxId) {
+        SequenceStyleGenerator generator = generator(entityType);
+        String sequence = generator.getDatabaseStructure().getPhysicalName().render();
+        Long current = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class);
+        // Each sequence value is the upper bound of a block, so the next block starts above both
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH "
+                + (Math.max(current, maxId) + generator.getOptimizer().getIncrementSize()));
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            long id = next(generator, session);
+            while (id <= maxId) {
+                id = next(generator, session);
+            }
+        }
+    }
+
+    private SequenceStyleGenerator generator(Class<?> entityType) {
+        return (SequenceStyleGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(entityType)
+                .getGenerator();
+    }
+
+    private static long next(SequenceStyleGenerator generator, StatelessSession session) {
+        return ((Number) generator.generate((SharedSessionContractImplementor) session, null)).longValue();
+    }
+}
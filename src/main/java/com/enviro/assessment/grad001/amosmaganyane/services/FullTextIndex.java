@@ -0,0 +1,545 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.dto.DisposalGuidelineDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.RecyclingTipDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SearchHitDTO;
+import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.RecyclingTipRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Ranks categories, tips and guidelines by relevance to a free-text query
+ * with an in-memory inverted index. Names and titles, descriptions, tip
+ * content and guideline instructions are split into lower-case words, and
+ * each word maps to the documents containing it, in document order. A query
+ * merges the lists of its words in one pass and scores each document with
+ * BM25, so its cost depends on how many documents contain the query words
+ * rather than on the size of the catalog. Words in a name or title count
+ * twice.
+ * <p>
+ * The index follows the services' writes as described in
+ * {@link CatalogIndex}. A changed or deleted document is only marked
+ * deleted, and the lists are compacted once deleted documents outnumber
+ * live ones.
+ */
+@Service
+public class FullTextIndex extends CatalogIndex<FullTextIndex.Index> {
+    private static final Logger log = LoggerFactory.getLogger(FullTextIndex.class);
+
+    // Shorter words, such as "a" or single digits, are not indexed
+    static final int MIN_TOKEN_LENGTH = 2;
+    private static final int TITLE_WEIGHT = 2;
+    // BM25 term frequency saturation and document length normalisation
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int BLOCK_SHIFT = 6;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final double BOUND_LENGTH_HEADROOM = 1.1;
+
+    /**
+     * The kind of document a search result is.
+     */
+    public enum DocumentType {
+        CATEGORY,
+        TIP,
+        GUIDELINE;
+
+        /**
+         * Looks up a document type by name, ignoring case.
+         *
+         * @param name the type name, e.g. "tip"
+         * @return the matching type
+         * @throws IllegalArgumentException if the name does not match a type
+         */
+        public static DocumentType fromName(String name) {
+            for (DocumentType type : values()) {
+                if (type.name().equalsIgnoreCase(name)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown document type: " + name);
+        }
+    }
+
+    private final WasteCategoryRepository categoryRepository;
+    private final RecyclingTipRepository tipRepository;
+    private final DisposalGuidelineRepository guidelineRepository;
+
+    public FullTextIndex(WasteCategoryRepository categoryRepository,
+                         RecyclingTipRepository tipRepository,
+                         DisposalGuidelineRepository guidelineRepository,
+                         TransactionTemplate transactionTemplate,
+                         EntityCacheManager cacheManager) {
+        super(Index::new, transactionTemplate, cacheManager);
+        this.categoryRepository = categoryRepository;
+        this.tipRepository = tipRepository;
+        this.guidelineRepository = guidelineRepository;
+    }
+
+    /**
+     * Splits text into lower-case words of letters and digits, dropping
+     * words shorter than {@value #MIN_TOKEN_LENGTH} characters.
+     *
+     * @param text the text, may be null
+     * @return the words in order, with repeats
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean inWord = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                if (i - start >= MIN_TOKEN_LENGTH) {
+                    tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the documents most relevant to a query. A document matches if
+     * it contains any word of the query; documents containing more of them,
+     * or rarer ones, rank higher.
+     *
+     * @param query the query text
+     * @param types the kinds of document to return; empty for all
+     * @param limit the number of results to return
+     * @return the results, most relevant first
+     */
+    public List<SearchHitDTO> search(String query, Set<DocumentType> types, int limit) {
+        List<String> terms = List.copyOf(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        Set<DocumentType> wanted = types.isEmpty() ? Set.of(DocumentType.values()) : types;
+        return read(index -> index.search(terms, wanted, limit));
+    }
+
+    /**
+     * Returns the number of documents in the index, loading it first if needed.
+     */
+    public int size() {
+        return read(index -> index.live);
+    }
+
+    @Override
+    public void categorySaved(WasteCategory category) {
+        long id = category.getId();
+        String name = category.getName();
+        String description = category.getDescription();
+        apply(index -> index.put(DocumentType.CATEGORY, id, id, name, description));
+    }
+
+    @Override
+    public void categoryDeleted(Long id) {
+        apply(index -> index.removeCategory(id));
+    }
+
+    @Override
+    public void tipSaved(RecyclingTip tip) {
+        long id = tip.getId();
+        long categoryId = tip.getCategory().getId();
+        String title = tip.getTitle();
+        String content = tip.getContent();
+        apply(index -> index.put(DocumentType.TIP, id, categoryId, title, content));
+    }
+
+    @Override
+    public void tipDeleted(Long id) {
+        apply(index -> index.remove(DocumentType.TIP, id));
+    }
+
+    @Override
+    public void guidelineSaved(DisposalGuideline guideline) {
+        long id = guideline.getId();
+        long categoryId = guideline.getCategory().getId();
+        String title = guideline.getTitle();
+        String instructions = guideline.getInstructions();
+        apply(index -> index.put(DocumentType.GUIDELINE, id, categoryId, title, instructions));
+    }
+
+    @Override
+    public void guidelineDeleted(Long id) {
+        apply(index -> index.remove(DocumentType.GUIDELINE, id));
+    }
+
+    @Override
+    protected void afterChange(Index index) {
+        index.compactIfSparse();
+    }
+
+    @Override
+    protected void load(Index index) {
+        long started = System.nanoTime();
+        categoryRepository.findAllSummaries().forEach(category -> index.put(DocumentType.CATEGORY,
+                category.getId(), category.getId(), category.getName(), category.getDescription()));
+        try (Stream<RecyclingTipDTO> tips = tipRepository.streamAllForExport()) {
+            tips.forEach(tip -> index.put(DocumentType.TIP, tip.getId(), tip.getCategoryId(),
+                    tip.getTitle(), tip.getContent()));
+        }
+        try (Stream<DisposalGuidelineDTO> guidelines = guidelineRepository.streamAllForExport()) {
+            guidelines.forEach(guideline -> index.put(DocumentType.GUIDELINE, guideline.getId(),
+                    guideline.getCategoryId(), guideline.getTitle(), guideline.getInstructions()));
+        }
+        log.info("Indexed {} documents and {} words in {} ms", index.live, index.postings.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * The documents containing one word, in increasing document order, with
+     * the weighted number of times the word occurs in each. Every block of
+     * {@value #BLOCK_SIZE} entries also keeps the highest term score in it,
+     * computed for an average document length at least the real one, which
+     * bounds the score of any document in the block.
+     */
+    private static final class Postings {
+        int[] documents = new int[2];
+        int[] frequencies = new int[2];
+        double[] blockMaxScores = new double[1];
+        int size;
+
+        void add(int document, int frequency, int length, double boundLength) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            int block = size >>> BLOCK_SHIFT;
+            if (block == blockMaxScores.length) {
+                blockMaxScores = Arrays.copyOf(blockMaxScores, block * 2);
+            }
+            double score = termScore(frequency, length, boundLength);
+            if ((size & (BLOCK_SIZE - 1)) == 0 || score > blockMaxScores[block]) {
+                blockMaxScores[block] = score;
+            }
+            documents[size] = document;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void rescore(int[] lengths, double boundLength) {
+            for (int i = 0; i < size; i++) {
+                double score = termScore(frequencies[i], lengths[documents[i]], boundLength);
+                int block = i >>> BLOCK_SHIFT;
+                if ((i & (BLOCK_SIZE - 1)) == 0 || score > blockMaxScores[block]) {
+                    blockMaxScores[block] = score;
+                }
+            }
+        }
+
+        // The last document of the block holding the given entry
+        int blockEnd(int entry) {
+            return documents[Math.min(size, ((entry >>> BLOCK_SHIFT) + 1) << BLOCK_SHIFT) - 1];
+        }
+
+        // Moves past every entry up to the given document, skipping whole blocks where possible
+        int skipPast(int entry, int document) {
+            while (entry < size && blockEnd(entry) <= document) {
+                entry = ((entry >>> BLOCK_SHIFT) + 1) << BLOCK_SHIFT;
+            }
+            while (entry < size && documents[entry] <= document) {
+                entry++;
+            }
+            return entry;
+        }
+    }
+
+    private record Hit(int document, double score) {
+    }
+
+    // BM25 without the IDF; it never falls as the average length grows
+    private static double termScore(int frequency, int length, double averageLength) {
+        double norm = K1 * (1 - B + B * length / averageLength);
+        return frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    /**
+     * The index itself, not thread-safe. Documents are numbered in the order
+     * they are added, so appending keeps every postings list sorted.
+     */
+    static final class Index {
+        final Map<String, Postings> postings = new HashMap<>();
+        final Map<DocumentType, Map<Long, Integer>> documentsById = new EnumMap<>(DocumentType.class);
+        final BitSet deleted = new BitSet();
+        DocumentType[] types = new DocumentType[16];
+        long[] ids = new long[16];
+        long[] categoryIds = new long[16];
+        String[] titles = new String[16];
+        int[] lengths = new int[16];
+        // Documents numbered so far, including deleted ones
+        int count;
+        int live;
+        long totalLength;
+        // The average length the block scores were computed for
+        double boundLength = 1;
+
+        Index() {
+            for (DocumentType type : DocumentType.values()) {
+                documentsById.put(type, new HashMap<>());
+            }
+        }
+
+        void put(DocumentType type, long id, long categoryId, String title, String body) {
+            remove(type, id);
+            Map<String, Integer> frequencies = new HashMap<>();
+            tokenize(title).forEach(token -> frequencies.merge(token, TITLE_WEIGHT, Integer::sum));
+            tokenize(body).forEach(token -> frequencies.merge(token, 1, Integer::sum));
+            int document = append(type, id, categoryId, title);
+            int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+            frequencies.forEach((token, frequency) ->
+                    postings.computeIfAbsent(token, key -> new Postings()).add(document, frequency, length, boundLength));
+            lengths[document] = length;
+            totalLength += length;
+        }
+
+        private int append(DocumentType type, long id, long categoryId, String title) {
+            if (count == ids.length) {
+                int capacity = count * 2;
+                types = Arrays.copyOf(types, capacity);
+                ids = Arrays.copyOf(ids, capacity);
+                categoryIds = Arrays.copyOf(categoryIds, capacity);
+                titles = Arrays.copyOf(titles, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+            int document = count++;
+            types[document] = type;
+            ids[document] = id;
+            categoryIds[document] = categoryId;
+            titles[document] = title;
+            documentsById.get(type).put(id, document);
+            live++;
+            return document;
+        }
+
+        void remove(DocumentType type, long id) {
+            Integer document = documentsById.get(type).remove(id);
+            if (document != null) {
+                deleted.set(document);
+                live--;
+                totalLength -= lengths[document];
+            }
+        }
+
+        // A category's tips and guidelines are deleted with it
+        void removeCategory(long categoryId) {
+            remove(DocumentType.CATEGORY, categoryId);
+            for (int document = deleted.nextClearBit(0); document < count;
+                 document = deleted.nextClearBit(document + 1)) {
+                if (categoryIds[document] == categoryId) {
+                    remove(types[document], ids[document]);
+                }
+            }
+        }
+
+        /**
+         * Rewrites the postings without deleted documents once they
+         * outnumber the live ones, renumbering the rest in order.
+         */
+        void compactIfSparse() {
+            int deletedCount = count - live;
+            if (deletedCount < 1024 || deletedCount < live) {
+                return;
+            }
+            int[] renumbered = new int[count];
+            int next = 0;
+            for (int document = 0; document < count; document++) {
+                if (deleted.get(document)) {
+                    renumbered[document] = -1;
+                    continue;
+                }
+                renumbered[document] = next;
+                types[next] = types[document];
+                ids[next] = ids[document];
+                categoryIds[next] = categoryIds[document];
+                titles[next] = titles[document];
+                lengths[next] = lengths[document];
+                documentsById.get(types[next]).put(ids[next], next);
+                next++;
+            }
+            Arrays.fill(titles, next, count, null);
+            deleted.clear();
+            count = next;
+            postings.replaceAll((token, list) -> {
+                Postings compacted = new Postings();
+                for (int i = 0; i < list.size; i++) {
+                    int document = renumbered[list.documents[i]];
+                    if (document >= 0) {
+                        compacted.add(document, list.frequencies[i], lengths[document], boundLength);
+                    }
+                }
+                return compacted;
+            });
+            postings.values().removeIf(list -> list.size == 0);
+        }
+
+        /**
+         * Merges the postings of the query words in document order. Lists
+         * are ordered by the highest score they can add; once the results
+         * are full, the lowest lists that together cannot beat the weakest
+         * result only add to documents found in the others, and windows
+         * whose block scores cannot beat it are skipped.
+         */
+        List<SearchHitDTO> search(List<String> terms, Set<DocumentType> wanted, int limit) {
+            List<Postings> found = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list != null) {
+                    found.add(list);
+                }
+            }
+            if (found.isEmpty() || live == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / live;
+            if (averageLength > boundLength) {
+                // Leave headroom so the block scores are not recomputed on every write
+                boundLength = averageLength * BOUND_LENGTH_HEADROOM;
+                postings.values().forEach(list -> list.rescore(lengths, boundLength));
+            }
+            int n = found.size();
+            Postings[] lists = new Postings[n];
+            double[] idf = new double[n];
+            double[] maxScores = new double[n];
+            for (int i = 0; i < n; i++) {
+                Postings list = found.get(i);
+                // Document frequencies include deleted documents until the next compaction
+                double listIdf = Math.log(1 + (live - list.size + 0.5) / (list.size + 0.5));
+                double maxScore = 0;
+                for (int block = 0; block <= (list.size - 1) >>> BLOCK_SHIFT; block++) {
+                    maxScore = Math.max(maxScore, listIdf * list.blockMaxScores[block]);
+                }
+                int j = i;
+                for (; j > 0 && maxScores[j - 1] > maxScore; j--) {
+                    lists[j] = lists[j - 1];
+                    idf[j] = idf[j - 1];
+                    maxScores[j] = maxScores[j - 1];
+                }
+                lists[j] = list;
+                idf[j] = listIdf;
+                maxScores[j] = maxScore;
+            }
+            // The highest score the lists up to each one can add together
+            double[] upTo = new double[n];
+            for (int i = 0; i < n; i++) {
+                upTo[i] = (i > 0 ? upTo[i - 1] : 0) + maxScores[i];
+            }
+            Comparator<Hit> order = Comparator.comparingDouble(Hit::score)
+                    .thenComparing(Comparator.comparingInt(Hit::document).reversed());
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, order);
+            int[] cursors = new int[n];
+            double[] termScores = new double[n];
+            // Lists before this one cannot make a result on their own
+            int essential = 0;
+            while (true) {
+                // The window runs from the next document to the end of the first block to end
+                int document = Integer.MAX_VALUE;
+                int windowEnd = Integer.MAX_VALUE;
+                double bound = essential > 0 ? upTo[essential - 1] : 0;
+                for (int i = essential; i < n; i++) {
+                    Postings list = lists[i];
+                    if (cursors[i] < list.size) {
+                        document = Math.min(document, list.documents[cursors[i]]);
+                        windowEnd = Math.min(windowEnd, list.blockEnd(cursors[i]));
+                        bound += idf[i] * list.blockMaxScores[cursors[i] >>> BLOCK_SHIFT];
+                    }
+                }
+                if (document == Integer.MAX_VALUE) {
+                    break;
+                }
+                // No document in the window can displace the current results
+                if (top.size() == limit && bound <= top.peek().score()) {
+                    for (int i = essential; i < n; i++) {
+                        cursors[i] = lists[i].skipPast(cursors[i], windowEnd);
+                    }
+                    continue;
+                }
+                while (document <= windowEnd) {
+                    int next = Integer.MAX_VALUE;
+                    double partial = 0;
+                    Arrays.fill(termScores, 0);
+                    for (int i = essential; i < n; i++) {
+                        Postings list = lists[i];
+                        if (cursors[i] < list.size && list.documents[cursors[i]] == document) {
+                            termScores[i] = idf[i] * termScore(list.frequencies[cursors[i]], lengths[document],
+                                    averageLength);
+                            partial += termScores[i];
+                            cursors[i]++;
+                        }
+                        if (cursors[i] < list.size) {
+                            next = Math.min(next, list.documents[cursors[i]]);
+                        }
+                    }
+                    boolean candidate = true;
+                    for (int i = essential - 1; i >= 0 && candidate; i--) {
+                        if (top.size() == limit && partial + upTo[i] <= top.peek().score()) {
+                            candidate = false;
+                            break;
+                        }
+                        Postings list = lists[i];
+                        cursors[i] = list.skipPast(cursors[i], document - 1);
+                        if (cursors[i] < list.size && list.documents[cursors[i]] == document) {
+                            termScores[i] = idf[i] * termScore(list.frequencies[cursors[i]], lengths[document],
+                                    averageLength);
+                            partial += termScores[i];
+                        }
+                    }
+                    if (candidate && !deleted.get(document) && wanted.contains(types[document])) {
+                        // Summed in a fixed order, so a score does not depend on how it was reached
+                        double score = 0;
+                        for (double termScore : termScores) {
+                            score += termScore;
+                        }
+                        // Documents are visited in increasing order, so a tie never displaces an earlier one
+                        if (top.size() < limit) {
+                            top.offer(new Hit(document, score));
+                        } else if (score > top.peek().score()) {
+                            top.poll();
+                            top.offer(new Hit(document, score));
+                        }
+                        while (top.size() == limit && essential < n && upTo[essential] <= top.peek().score()) {
+                            essential++;
+                        }
+                    }
+                    document = next;
+                }
+            }
+            List<SearchHitDTO> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Hit hit = top.poll();
+                int document = hit.document();
+                hits.add(new SearchHitDTO(types[document].name().toLowerCase(Locale.ROOT), ids[document],
+                        categoryIds[document], titles[document], hit.score()));
+            }
+            Collections.reverse(hits);
+            return hits;
+        }
+    }
+}
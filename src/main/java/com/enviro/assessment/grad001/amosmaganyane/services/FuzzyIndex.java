@@ -0,0 +1,459 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.FuzzySearchProperties;
+import com.enviro.assessment.grad001.amosmaganyane.dto.DisposalGuidelineDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.RecyclingTipDTO;
+import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.RecyclingTipRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Finds categories whose names, and tips and guidelines whose titles,
+ * contain every word of a keyword allowing for typos, so "aluminum" finds
+ * "Aluminium Cans" and "polystyrine" finds "Polystyrene Trays". A typo is
+ * one character inserted, deleted or replaced. Words of up to two
+ * characters must match exactly, words of three to five may have one typo,
+ * and longer words up to {@link FuzzySearchProperties#getMaxEdits()}.
+ * Results with fewer typos in total rank first, then shorter texts.
+ * <p>
+ * The distinct words of each collection are held in a trie. A keyword word
+ * is looked up by walking the trie with one row of its edit distance table
+ * per node, which is how a Levenshtein automaton runs over a dictionary: a
+ * branch is left as soon as every entry of its row exceeds the typos
+ * allowed, so only words close to the keyword are visited, never every
+ * word or row. Each word maps to the IDs of the texts containing it.
+ * <p>
+ * The index follows the services' writes as described in {@link CatalogIndex}.
+ */
+@Service
+public class FuzzyIndex extends CatalogIndex<FuzzyIndex.Index> {
+    private static final Logger log = LoggerFactory.getLogger(FuzzyIndex.class);
+
+    // Words this long or shorter must match exactly; up to ONE_EDIT_MAX_LENGTH may have one typo
+    static final int EXACT_MAX_LENGTH = 2;
+    static final int ONE_EDIT_MAX_LENGTH = 5;
+    // A word's typos, at most two, fit below an ID when sorting matches
+    private static final int DISTANCE_BITS = 2;
+    private static final long DISTANCE_MASK = (1 << DISTANCE_BITS) - 1;
+    // Texts at least this long rank as equally long
+    private static final int MAX_RANKED_LENGTH = 0xFFFF;
+
+    private final WasteCategoryRepository categoryRepository;
+    private final RecyclingTipRepository tipRepository;
+    private final DisposalGuidelineRepository guidelineRepository;
+    private final int maxEdits;
+
+    public FuzzyIndex(WasteCategoryRepository categoryRepository,
+                      RecyclingTipRepository tipRepository,
+                      DisposalGuidelineRepository guidelineRepository,
+                      TransactionTemplate transactionTemplate,
+                      EntityCacheManager cacheManager,
+                      FuzzySearchProperties properties) {
+        super(Index::new, transactionTemplate, cacheManager);
+        this.categoryRepository = categoryRepository;
+        this.tipRepository = tipRepository;
+        this.guidelineRepository = guidelineRepository;
+        this.maxEdits = properties.getMaxEdits();
+    }
+
+    /**
+     * Returns the typos allowed in a keyword word of the given length.
+     */
+    int editsAllowed(int length) {
+        if (length <= EXACT_MAX_LENGTH) {
+            return 0;
+        }
+        return length <= ONE_EDIT_MAX_LENGTH ? Math.min(1, maxEdits) : maxEdits;
+    }
+
+    /**
+     * Returns the IDs of the rows whose indexed text contains every word of
+     * the keyword, allowing for typos, best match first.
+     *
+     * @param collection {@link EntityCacheManager#CATEGORIES} for category names,
+     *                   or {@link EntityCacheManager#TIPS} or
+     *                   {@link EntityCacheManager#GUIDELINES} for titles
+     * @param keyword    the words to look for; words are split as in {@link FullTextIndex#tokenize}
+     * @return the matching IDs, fewest typos first, then shortest text, then lowest ID
+     * @throws IllegalArgumentException if the collection is not indexed
+     */
+    public List<Long> search(String collection, String keyword) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(FullTextIndex.tokenize(keyword)));
+        int[] allowed = words.stream().mapToInt(word -> editsAllowed(word.length())).toArray();
+        return read(index -> index.texts(collection).search(words, allowed));
+    }
+
+    /**
+     * Returns the number of distinct words indexed in a collection, loading the index first if needed.
+     */
+    public int vocabularySize(String collection) {
+        return read(index -> index.texts(collection).vocabulary);
+    }
+
+    @Override
+    public void categorySaved(WasteCategory category) {
+        long id = category.getId();
+        String name = category.getName();
+        apply(index -> index.categories.put(id, id, name));
+    }
+
+    @Override
+    public void categoryDeleted(Long id) {
+        apply(index -> {
+            index.categories.remove(id);
+            index.tips.removeCategory(id);
+            index.guidelines.removeCategory(id);
+        });
+    }
+
+    @Override
+    public void tipSaved(RecyclingTip tip) {
+        long id = tip.getId();
+        long categoryId = tip.getCategory().getId();
+        String title = tip.getTitle();
+        apply(index -> index.tips.put(id, categoryId, title));
+    }
+
+    @Override
+    public void tipDeleted(Long id) {
+        apply(index -> index.tips.remove(id));
+    }
+
+    @Override
+    public void guidelineSaved(DisposalGuideline guideline) {
+        long id = guideline.getId();
+        long categoryId = guideline.getCategory().getId();
+        String title = guideline.getTitle();
+        apply(index -> index.guidelines.put(id, categoryId, title));
+    }
+
+    @Override
+    public void guidelineDeleted(Long id) {
+        apply(index -> index.guidelines.remove(id));
+    }
+
+    @Override
+    protected void load(Index index) {
+        long started = System.nanoTime();
+        categoryRepository.findAllSummaries().forEach(category ->
+                index.categories.put(category.getId(), category.getId(), category.getName()));
+        try (Stream<RecyclingTipDTO> tips = tipRepository.streamAllForExport()) {
+            tips.forEach(tip -> index.tips.put(tip.getId(), tip.getCategoryId(), tip.getTitle()));
+        }
+        try (Stream<DisposalGuidelineDTO> guidelines = guidelineRepository.streamAllForExport()) {
+            guidelines.forEach(guideline ->
+                    index.guidelines.put(guideline.getId(), guideline.getCategoryId(), guideline.getTitle()));
+        }
+        log.info("Indexed {} category name words, {} tip title words and {} guideline title words in {} ms",
+                index.categories.vocabulary, index.tips.vocabulary, index.guidelines.vocabulary,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * A trie node; a node ending a word holds the sorted IDs of the texts containing it.
+     */
+    private static final class Node {
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        // Sorted, parallel to children
+        char[] labels = NO_LABELS;
+        Node[] children = NO_CHILDREN;
+        // Null unless a word ends here
+        long[] ids;
+        int size;
+
+        Node child(char label) {
+            int at = Arrays.binarySearch(labels, label);
+            return at >= 0 ? children[at] : null;
+        }
+
+        Node addChild(char label) {
+            int at = Arrays.binarySearch(labels, label);
+            if (at >= 0) {
+                return children[at];
+            }
+            int insertion = -at - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertion);
+            System.arraycopy(children, 0, newChildren, 0, insertion);
+            newLabels[insertion] = label;
+            newChildren[insertion] = new Node();
+            System.arraycopy(labels, insertion, newLabels, insertion + 1, labels.length - insertion);
+            System.arraycopy(children, insertion, newChildren, insertion + 1, children.length - insertion);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[insertion];
+        }
+
+        void removeChild(char label) {
+            int at = Arrays.binarySearch(labels, label);
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            System.arraycopy(labels, at + 1, newLabels, at, newLabels.length - at);
+            System.arraycopy(children, at + 1, newChildren, at, newChildren.length - at);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        // IDs mostly arrive in increasing order, so this nearly always appends
+        void addId(long id) {
+            if (ids == null) {
+                ids = new long[2];
+            }
+            int at = size > 0 && ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0 && at < size) {
+                return;
+            }
+            int insertion = at < 0 ? -at - 1 : at;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+            ids[insertion] = id;
+            size++;
+        }
+
+        void removeId(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+                size--;
+            }
+            if (size == 0) {
+                ids = null;
+            }
+        }
+    }
+
+    /**
+     * IDs in increasing order, each with the typos it took to match.
+     */
+    private record Matches(long[] ids, int[] distances) {
+    }
+
+    /**
+     * The words of one collection's texts, in a trie, and the words of each text.
+     */
+    private static final class Texts {
+        final Node root = new Node();
+        final Map<Long, String[]> words = new HashMap<>();
+        final Map<Long, Integer> lengths = new HashMap<>();
+        final Map<Long, Long> categoryIds = new HashMap<>();
+        int vocabulary;
+
+        void put(long id, long categoryId, String text) {
+            remove(id);
+            if (text == null) {
+                return;
+            }
+            String[] distinct = new LinkedHashSet<>(FullTextIndex.tokenize(text)).toArray(new String[0]);
+            words.put(id, distinct);
+            lengths.put(id, text.length());
+            categoryIds.put(id, categoryId);
+            for (String word : distinct) {
+                Node node = root;
+                for (int i = 0; i < word.length(); i++) {
+                    node = node.addChild(word.charAt(i));
+                }
+                if (node.ids == null) {
+                    vocabulary++;
+                }
+                node.addId(id);
+            }
+        }
+
+        void remove(long id) {
+            String[] removed = words.remove(id);
+            lengths.remove(id);
+            categoryIds.remove(id);
+            if (removed == null) {
+                return;
+            }
+            for (String word : removed) {
+                Node[] path = new Node[word.length() + 1];
+                path[0] = root;
+                for (int i = 0; i < word.length(); i++) {
+                    path[i + 1] = path[i].child(word.charAt(i));
+                }
+                Node node = path[word.length()];
+                node.removeId(id);
+                if (node.ids != null) {
+                    continue;
+                }
+                vocabulary--;
+                // Drop the nodes left leading to no word
+                for (int i = word.length(); i > 0 && path[i].ids == null && path[i].labels.length == 0; i--) {
+                    path[i - 1].removeChild(word.charAt(i - 1));
+                }
+            }
+        }
+
+        void removeCategory(long categoryId) {
+            List<Long> ids = new ArrayList<>();
+            categoryIds.forEach((id, category) -> {
+                if (category == categoryId) {
+                    ids.add(id);
+                }
+            });
+            ids.forEach(this::remove);
+        }
+
+        // Adds every word within the allowed typos of the keyword word, with its distance
+        private static void collect(Node node, String keyword, int[] previousRow, int allowed,
+                                    List<Node> nodes, List<Integer> distances) {
+            for (int c = 0; c < node.labels.length; c++) {
+                char label = node.labels[c];
+                int[] row = new int[previousRow.length];
+                row[0] = previousRow[0] + 1;
+                int best = row[0];
+                for (int j = 1; j < row.length; j++) {
+                    int substitution = previousRow[j - 1] + (keyword.charAt(j - 1) == label ? 0 : 1);
+                    row[j] = Math.min(substitution, Math.min(row[j - 1], previousRow[j]) + 1);
+                    best = Math.min(best, row[j]);
+                }
+                Node child = node.children[c];
+                if (child.ids != null && row[row.length - 1] <= allowed) {
+                    nodes.add(child);
+                    distances.add(row[row.length - 1]);
+                }
+                // No longer word through this child can come back within the allowed typos
+                if (best <= allowed) {
+                    collect(child, keyword, row, allowed, nodes, distances);
+                }
+            }
+        }
+
+        // The texts with a word close to the keyword word, each with its fewest typos
+        private Matches match(String keyword, int allowed) {
+            List<Node> nodes = new ArrayList<>();
+            List<Integer> distances = new ArrayList<>();
+            if (allowed == 0) {
+                Node node = root;
+                for (int i = 0; i < keyword.length() && node != null; i++) {
+                    node = node.child(keyword.charAt(i));
+                }
+                if (node != null && node.ids != null) {
+                    nodes.add(node);
+                    distances.add(0);
+                }
+            } else {
+                int[] firstRow = new int[keyword.length() + 1];
+                Arrays.setAll(firstRow, j -> j);
+                collect(root, keyword, firstRow, allowed, nodes, distances);
+            }
+            if (nodes.size() == 1) {
+                Node node = nodes.get(0);
+                int[] same = new int[node.size];
+                Arrays.fill(same, distances.get(0));
+                return new Matches(Arrays.copyOf(node.ids, node.size), same);
+            }
+            // Sort the IDs of every word with their distance in the low bits, so
+            // the first of each ID carries its fewest typos
+            int total = 0;
+            for (Node node : nodes) {
+                total += node.size;
+            }
+            long[] tagged = new long[total];
+            int at = 0;
+            for (int n = 0; n < nodes.size(); n++) {
+                Node node = nodes.get(n);
+                for (int i = 0; i < node.size; i++) {
+                    tagged[at++] = node.ids[i] << DISTANCE_BITS | distances.get(n);
+                }
+            }
+            Arrays.sort(tagged);
+            long[] ids = new long[total];
+            int[] fewest = new int[total];
+            int count = 0;
+            for (long entry : tagged) {
+                long id = entry >>> DISTANCE_BITS;
+                if (count == 0 || ids[count - 1] != id) {
+                    ids[count] = id;
+                    fewest[count++] = (int) (entry & DISTANCE_MASK);
+                }
+            }
+            return new Matches(Arrays.copyOf(ids, count), Arrays.copyOf(fewest, count));
+        }
+
+        List<Long> search(List<String> keywords, int[] allowed) {
+            if (keywords.isEmpty()) {
+                return List.of();
+            }
+            List<Matches> perWord = new ArrayList<>();
+            for (int i = 0; i < keywords.size(); i++) {
+                Matches matches = match(keywords.get(i), allowed[i]);
+                if (matches.ids().length == 0) {
+                    return List.of();
+                }
+                perWord.add(matches);
+            }
+            // Keep the IDs matching every word, starting from the fewest, adding up their typos
+            perWord.sort(Comparator.comparingInt(matches -> matches.ids().length));
+            long[] ids = perWord.get(0).ids().clone();
+            int[] totals = perWord.get(0).distances().clone();
+            int count = ids.length;
+            for (int w = 1; w < perWord.size() && count > 0; w++) {
+                Matches other = perWord.get(w);
+                int kept = 0;
+                for (int i = 0; i < count; i++) {
+                    int at = Arrays.binarySearch(other.ids(), ids[i]);
+                    if (at >= 0) {
+                        ids[kept] = ids[i];
+                        totals[kept++] = totals[i] + other.distances()[at];
+                    }
+                }
+                count = kept;
+            }
+            // Rank by typos, then text length, then position, which is ID order
+            long[] keys = new long[count];
+            for (int i = 0; i < count; i++) {
+                long length = Math.min(lengths.get(ids[i]), MAX_RANKED_LENGTH);
+                keys[i] = (long) totals[i] << 48 | length << 32 | i;
+            }
+            Arrays.sort(keys);
+            List<Long> ranked = new ArrayList<>(count);
+            for (long key : keys) {
+                ranked.add(ids[(int) key]);
+            }
+            return ranked;
+        }
+    }
+
+    /**
+     * The words of every indexed collection; not thread-safe.
+     */
+    static final class Index {
+        final Texts categories = new Texts();
+        final Texts tips = new Texts();
+        final Texts guidelines = new Texts();
+
+        Texts texts(String collection) {
+            return switch (collection) {
+                case EntityCacheManager.CATEGORIES -> categories;
+                case EntityCacheManager.TIPS -> tips;
+                case EntityCacheManager.GUIDELINES -> guidelines;
+                default -> throw new IllegalArgumentException("Collection not indexed: " + collection);
+            };
+        }
+    }
+}
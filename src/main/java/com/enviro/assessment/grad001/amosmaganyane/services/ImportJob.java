@@ -0,0 +1,92 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Tracks one asynchronous CSV import and its progress.
+ * Progress is read from other threads while the import runs,
+ * so state changes are published through volatile fields.
+ */
+public class ImportJob {
+
+    /**
+     * Entity types that can be imported, named after their REST path segment.
+     */
+    public enum Entity {
+        CATEGORIES, TIPS, GUIDELINES;
+
+        /**
+         * Resolves an entity type from a path segment such as "tips".
+         *
+         * @param path the path segment
+         * @return the matching entity type
+         * @throws IllegalArgumentException if the path does not name an entity
+         */
+        public static Entity fromPath(String path) {
+            for (Entity entity : values()) {
+                if (entity.name().equalsIgnoreCase(path)) {
+                    return entity;
+                }
+            }
+            throw new IllegalArgumentException("Unknown import entity: " + path);
+        }
+
+        public String path() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Entity entity;
+    private final ImportReport report = new ImportReport();
+    private volatile Status status = Status.QUEUED;
+    private volatile String error;
+
+    public ImportJob(Entity entity) {
+        this.entity = entity;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    public ImportReport getReport() {
+        return report;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    void markRunning() {
+        status = Status.RUNNING;
+    }
+
+    void markCompleted() {
+        report.finish();
+        status = Status.COMPLETED;
+    }
+
+    void markFailed(String error) {
+        report.finish();
+        this.error = error;
+        status = Status.FAILED;
+    }
+}
@@ -0,0 +1,126 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects throughput figures for a bulk import: row counts, number of
+ * JDBC batches and the time spent parsing, validating and writing.
+ * Counters are atomic so a report can be shared by concurrent writers.
+ */
+public class ImportReport {
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong rowsUpdated = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong parseNanos = new AtomicLong();
+    private final AtomicLong validateNanos = new AtomicLong();
+    private final AtomicLong writeNanos = new AtomicLong();
+    private volatile long finishNanos;
+
+    public void addRowsRead(long count) {
+        rowsRead.addAndGet(count);
+    }
+
+    public void addRowsWritten(long count) {
+        rowsWritten.addAndGet(count);
+    }
+
+    /**
+     * Counts written rows that updated an existing row rather than inserting one.
+     */
+    public void addRowsUpdated(long count) {
+        rowsUpdated.addAndGet(count);
+    }
+
+    public void addRowsRejected(long count) {
+        rowsRejected.addAndGet(count);
+    }
+
+    public void addBatch() {
+        batches.incrementAndGet();
+    }
+
+    public void addParseTime(long nanos) {
+        parseNanos.addAndGet(nanos);
+    }
+
+    public void addValidateTime(long nanos) {
+        validateNanos.addAndGet(nanos);
+    }
+
+    public void addWriteTime(long nanos) {
+        writeNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Stops the clock, so elapsed time and throughput stay fixed once the import ends.
+     */
+    public void finish() {
+        if (finishNanos == 0) {
+            finishNanos = System.nanoTime();
+        }
+    }
+
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    public long getRowsUpdated() {
+        return rowsUpdated.get();
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected.get();
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+
+    public long getParseMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(parseNanos.get());
+    }
+
+    public long getValidateMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(validateNanos.get());
+    }
+
+    public long getWriteMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(writeNanos.get());
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos());
+    }
+
+    /**
+     * Calculates the write throughput between creating and finishing the report.
+     *
+     * @return rows written per second of wall-clock time
+     */
+    public double getRowsPerSecond() {
+        return rowsWritten.get() * 1_000_000_000.0 / Math.max(1, elapsedNanos());
+    }
+
+    private long elapsedNanos() {
+        long end = finishNanos == 0 ? System.nanoTime() : finishNanos;
+        return end - startNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("rows read=%d, written=%d (updated=%d), rejected=%d, batches=%d, "
+                        + "%.0f rows/sec, total=%dms (parse=%dms, validate=%dms, write=%dms)",
+                getRowsRead(), getRowsWritten(), getRowsUpdated(), getRowsRejected(), getBatches(),
+                getRowsPerSecond(), getElapsedMillis(),
+                getParseMillis(), getValidateMillis(), getWriteMillis());
+    }
+}
@@ -0,0 +1,258 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.opencsv.exceptions.CsvMalformedLineException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a CSV file by memory-mapping it and scanning the mapped bytes for
+ * separators, quotes and line breaks directly, instead of decoding the whole
+ * file into characters first. Strings are only created for the first
+ * {@code keptColumns} fields of each line; later fields are skipped.
+ * <p>
+ * Quoting follows RFC 4180: fields may be enclosed in double quotes, contain
+ * separators and line breaks when quoted, and escape a quote by doubling it.
+ * Whitespace before an opening quote is ignored, as in OpenCSV. A UTF-8 byte
+ * order mark at the start of the file is skipped.
+ * <p>
+ * Large files are mapped in windows, so files bigger than 2 GB can be read.
+ * A line crossing the end of a window is parsed again from a window starting
+ * at that line.
+ */
+public class MappedCsvReader implements Closeable {
+
+    static final int DEFAULT_WINDOW_SIZE = 256 * 1024 * 1024;
+
+    private static final byte QUOTE = '"';
+    private static final byte SEPARATOR = ',';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int keptColumns;
+    private int windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int position;
+    private long lineNumber;
+    private byte[] scratch = new byte[256];
+
+    /**
+     * Opens a file for reading.
+     *
+     * @param file        the CSV file
+     * @param keptColumns number of leading fields to return for each line
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public MappedCsvReader(Path file, int keptColumns) throws IOException {
+        this(file, keptColumns, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedCsvReader(Path file, int keptColumns, int windowSize) throws IOException {
+        if (keptColumns < 1) {
+            throw new IllegalArgumentException("At least one column must be kept");
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.keptColumns = keptColumns;
+        this.windowSize = windowSize;
+        map(0);
+        if (fileSize >= 3 && window.get(0) == (byte) 0xEF && window.get(1) == (byte) 0xBB
+                && window.get(2) == (byte) 0xBF) {
+            position = 3;
+        }
+    }
+
+    /**
+     * Reads the next line.
+     *
+     * @return the kept fields of the line, or null at the end of the file
+     * @throws IOException if reading fails or a quoted field is not terminated
+     */
+    public String[] readNext() throws IOException {
+        if (windowStart + position >= fileSize) {
+            return null;
+        }
+        while (true) {
+            String[] line = parseLine();
+            if (line != null) {
+                lineNumber++;
+                return line;
+            }
+            long lineStart = windowStart + position;
+            if (lineStart == windowStart && windowStart + window.limit() < fileSize) {
+                // A single line is larger than the window
+                windowSize = (int) Math.min(Integer.MAX_VALUE - 8, windowSize * 2L);
+            }
+            map(lineStart);
+        }
+    }
+
+    /**
+     * Returns how far into the file the reader has got.
+     *
+     * @return the number of bytes consumed so far
+     */
+    public long getPosition() {
+        return windowStart + position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private void map(long start) throws IOException {
+        long size = Math.min(windowSize, fileSize - start);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        windowStart = start;
+        position = 0;
+    }
+
+    private boolean isLastWindow() {
+        return windowStart + window.limit() >= fileSize;
+    }
+
+    /**
+     * Parses the line starting at the current position.
+     *
+     * @return the kept fields, or null if the line runs past the end of the
+     * window and has to be parsed again from a new window
+     */
+    private String[] parseLine() throws IOException {
+        MappedByteBuffer buffer = window;
+        int limit = buffer.limit();
+        boolean lastWindow = isLastWindow();
+        String[] fields = new String[keptColumns];
+        int fieldCount = 0;
+        int i = position;
+
+        while (true) {
+            // Leading whitespace only matters if it is followed by an opening quote
+            int fieldStart = i;
+            while (i < limit && buffer.get(i) == ' ') {
+                i++;
+            }
+            boolean quoted = i < limit && buffer.get(i) == QUOTE;
+            if (!quoted) {
+                i = fieldStart;
+            }
+
+            String value = null;
+            if (quoted) {
+                int contentStart = ++i;
+                boolean escaped = false;
+                while (true) {
+                    if (i >= limit) {
+                        if (lastWindow) {
+                            throw new CsvMalformedLineException(
+                                    "Unterminated quoted field at end of CSV file",
+                                    lineNumber + 1, null);
+                        }
+                        return null;
+                    }
+                    if (buffer.get(i) == QUOTE) {
+                        if (i + 1 < limit && buffer.get(i + 1) == QUOTE) {
+                            escaped = true;
+                            i += 2;
+                            continue;
+                        }
+                        if (i + 1 >= limit && !lastWindow) {
+                            return null;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                int contentEnd = i++;
+                // Text between the closing quote and the separator is kept, as in OpenCSV
+                int trailingStart = i;
+                while (i < limit && !isDelimiter(buffer.get(i))) {
+                    i++;
+                }
+                if (fieldCount < keptColumns) {
+                    value = decode(buffer, contentStart, contentEnd, escaped)
+                            + (i > trailingStart ? decode(buffer, trailingStart, i, false) : "");
+                }
+            } else {
+                while (i < limit && !isDelimiter(buffer.get(i))) {
+                    i++;
+                }
+                if (fieldCount < keptColumns) {
+                    value = decode(buffer, fieldStart, i, false);
+                }
+            }
+
+            if (i >= limit && !lastWindow) {
+                return null;
+            }
+            if (fieldCount < keptColumns) {
+                fields[fieldCount] = value;
+            }
+            fieldCount++;
+
+            if (i < limit && buffer.get(i) == SEPARATOR) {
+                i++;
+                continue;
+            }
+            // End of line: a line break or the end of the file
+            if (i < limit && buffer.get(i) == CR) {
+                if (i + 1 >= limit && !lastWindow) {
+                    return null;
+                }
+                i++;
+                if (i < limit && buffer.get(i) == LF) {
+                    i++;
+                }
+            } else if (i < limit) {
+                i++;
+            }
+            position = i;
+            if (fieldCount >= keptColumns) {
+                return fields;
+            }
+            String[] line = new String[fieldCount];
+            System.arraycopy(fields, 0, line, 0, fieldCount);
+            return line;
+        }
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == SEPARATOR || b == LF || b == CR;
+    }
+
+    /**
+     * Creates a string from a range of the window, collapsing doubled quotes
+     * if the field contained any.
+     */
+    private String decode(MappedByteBuffer buffer, int start, int end, boolean escaped) {
+        int length = end - start;
+        if (length == 0) {
+            return "";
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        if (!escaped) {
+            buffer.get(start, scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            scratch[count++] = b;
+            if (b == QUOTE) {
+                i++;
+            }
+        }
+        return new String(scratch, 0, count, StandardCharsets.UTF_8);
+    }
+}
@@ -77,6 +77,15 @@ public interface RecyclingTipService {
      */
     List<RecyclingTip> searchTips(String keyword);
 
+    /**
+     * Searches for recycling tips whose titles contain every word of the keyword,
+     * allowing for typos. If the keyword is null or empty, retrieves all recycling tips.
+     *
+     * @param keyword the words to search for in tip titles
+     * @return the matching recycling tips, fewest typos first, or all tips if the keyword is empty
+     */
+    List<RecyclingTip> fuzzySearchTips(String keyword);
+
     /**
      * Counts the number of recycling tips associated with a specific waste category.
      *
@@ -5,30 +5,54 @@ import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
 import com.enviro.assessment.grad001.amosmaganyane.repositories.RecyclingTipRepository;
 import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Implementation of the RecyclingTipService interface.
  * Handles business logic for RecyclingTip entities, including validation and category association.
+ * Tips read by ID are cached until they are updated or deleted.
  */
 @Service
 public class RecyclingTipServiceImpl implements RecyclingTipService {
 
     private final RecyclingTipRepository tipRepository;
     private final WasteCategoryRepository categoryRepository;
+    private final EntityCache<Long, RecyclingTip> tipCache;
+    private final EntityCache<Long, ?> categoryCache;
+    private final CategoryLeaderboard leaderboard;
+    private final SearchResultCache searchCache;
+    private final TrigramIndex trigramIndex;
+    private final FuzzyIndex fuzzyIndex;
+    private final List<CatalogChangeListener> changeListeners;
 
     public RecyclingTipServiceImpl(RecyclingTipRepository tipRepository,
-                                   WasteCategoryRepository categoryRepository) {
+                                   WasteCategoryRepository categoryRepository,
+                                   EntityCacheManager cacheManager,
+                                   CategoryLeaderboard leaderboard,
+                                   SearchResultCache searchCache,
+                                   TrigramIndex trigramIndex,
+                                   FuzzyIndex fuzzyIndex,
+                                   List<CatalogChangeListener> changeListeners) {
         this.tipRepository = tipRepository;
         this.categoryRepository = categoryRepository;
+        this.tipCache = cacheManager.getCache(EntityCacheManager.TIPS);
+        this.categoryCache = cacheManager.getCache(EntityCacheManager.CATEGORIES);
+        this.leaderboard = leaderboard;
+        this.searchCache = searchCache;
+        this.trigramIndex = trigramIndex;
+        this.fuzzyIndex = fuzzyIndex;
+        this.changeListeners = changeListeners;
     }
 
     /**
      * {@inheritDoc}
      * Associates the tip with a WasteCategory and validates content before saving.
+     * The category's stored tip count is incremented in the same transaction.
      */
     @Override
+    @Transactional
     public RecyclingTip createTip(Long categoryId, RecyclingTip tip) {
         WasteCategory category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new IllegalArgumentException("Category not found"));
@@ -37,7 +61,15 @@ public class RecyclingTipServiceImpl implements RecyclingTipService {
             throw new IllegalArgumentException("Invalid tip content");
         }
         tip.setCategory(category);
-        return tipRepository.save(tip);
+        RecyclingTip saved = tipRepository.save(tip);
+        categoryRepository.adjustTipCount(categoryId, 1);
+        leaderboard.categoryChanged(categoryId);
+        categoryCache.invalidate(categoryId);
+        // Nothing is cached for a new ID, but this moves the collection version
+        tipCache.invalidate(saved.getId());
+        searchCache.invalidate(EntityCacheManager.TIPS, saved.getId(), saved.getTitle());
+        changeListeners.forEach(listener -> listener.tipSaved(saved));
+        return saved;
     }
 
     /**
@@ -46,7 +78,7 @@ public class RecyclingTipServiceImpl implements RecyclingTipService {
      */
     @Override
     public Optional<RecyclingTip> getTipById(Long id) {
-        return tipRepository.findById(id);
+        return tipCache.get(id, tipRepository::findById);
     }
 
     /**
@@ -64,7 +96,7 @@ public class RecyclingTipServiceImpl implements RecyclingTipService {
      */
     @Override
     public RecyclingTip updateTip(Long id, RecyclingTip tip) {
-        return tipRepository.findById(id)
+        RecyclingTip updated = tipRepository.findById(id)
                 .map(existingTip -> {
                     existingTip.setTitle(tip.getTitle());
                     existingTip.setContent(tip.getContent());
@@ -72,19 +104,30 @@ public class RecyclingTipServiceImpl implements RecyclingTipService {
                     return tipRepository.save(existingTip);
                 })
                 .orElseThrow(() -> new IllegalStateException("Tip not found"));
+        tipCache.invalidate(id);
+        searchCache.invalidate(EntityCacheManager.TIPS, id, updated.getTitle());
+        changeListeners.forEach(listener -> listener.tipSaved(updated));
+        return updated;
     }
 
 
     /**
      * {@inheritDoc}
-     * Deletes a tip by its ID using the repository's deleteById method.
+     * Deletes a tip by its ID and decrements the category's stored
+     * tip count in the same transaction.
      */
     @Override
+    @Transactional
     public void deleteTip(Long id) {
-        if (!tipRepository.existsById(id)) {
-            throw new IllegalStateException("Recycling tip not found");
-        }
-        tipRepository.deleteById(id);
+        RecyclingTip tip = tipRepository.findById(id)
+                .orElseThrow(() -> new IllegalStateException("Recycling tip not found"));
+        tipRepository.delete(tip);
+        categoryRepository.adjustTipCount(tip.getCategory().getId(), -1);
+        leaderboard.categoryChanged(tip.getCategory().getId());
+        tipCache.invalidate(id);
+        searchCache.invalidate(EntityCacheManager.TIPS, id);
+        changeListeners.forEach(listener -> listener.tipDeleted(id));
+        categoryCache.invalidate(tip.getCategory().getId());
     }
 
     /**
@@ -114,21 +157,48 @@ public class RecyclingTipServiceImpl implements RecyclingTipService {
      * {@inheritDoc}
      * Searches for recycling tips whose titles contain the given keyword (case-insensitive).
      * If the keyword is null or empty, retrieves all recycling tips.
+     * Matching IDs come from the trigram index rather than a LIKE scan, and
+     * are cached by normalised keyword; tips are read through the tip cache.
      */
     @Override
     public List<RecyclingTip> searchTips(String keyword) {
         if (keyword == null || keyword.trim().isEmpty()) {
             return getAllTips();
         }
-        return tipRepository.findByTitleContainingIgnoreCase(keyword);
+        return searchCache.search(EntityCacheManager.TIPS, SearchResultCache.normalize(keyword),
+                this::findTipsByTitle, RecyclingTip::getId, this::getTipById);
+    }
+
+    private List<RecyclingTip> findTipsByTitle(String keyword) {
+        return trigramIndex.search(EntityCacheManager.TIPS, keyword).stream()
+                .map(this::getTipById)
+                .flatMap(Optional::stream)
+                .toList();
     }
 
     /**
      * {@inheritDoc}
-     * Counts the number of recycling tips in a specific waste category.
+     * Matching IDs come from the fuzzy index, ranked, and tips are read
+     * through the tip cache; results are not kept in the search cache.
+     */
+    @Override
+    public List<RecyclingTip> fuzzySearchTips(String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return getAllTips();
+        }
+        return fuzzyIndex.search(EntityCacheManager.TIPS, keyword).stream()
+                .map(this::getTipById)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Reads the category's stored tip counter by primary key.
      */
     @Override
     public int countTipsInCategory(Long categoryId) {
-        return getTipsByCategory(categoryId).size();
+        return categoryRepository.findTipCountById(categoryId)
+                .orElseThrow(() -> new IllegalArgumentException("Category not found"));
     }
 }
\ No newline at end of file
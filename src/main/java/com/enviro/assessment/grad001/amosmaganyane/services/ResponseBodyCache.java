@@ -0,0 +1,156 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.ResponseCacheProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the encoded JSON of the list endpoints, so a repeated request is
+ * answered by writing stored bytes instead of loading, mapping and
+ * serialising the whole collection again.
+ * <p>
+ * Each entry is tagged with the {@link ContentVersion} of its collection,
+ * which every service write path moves, and is rebuilt by the first request
+ * that finds the version changed. The version must be read before the data
+ * is loaded, so a write committed during the load leaves the entry stale
+ * rather than hiding it. The gzip form of a body is compressed once, on the
+ * first request that accepts it.
+ */
+@Service
+public class ResponseBodyCache {
+
+    private final ObjectMapper objectMapper;
+    private final ResponseCacheProperties properties;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ResponseBodyCache(ObjectMapper objectMapper, ResponseCacheProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the encoded body of a collection, loading and encoding it if
+     * there is no body for its current version.
+     *
+     * @param name           the collection name, one body is kept per name
+     * @param version        the collection version, read before loading
+     * @param acceptEncoding the Accept-Encoding header of the request, or null
+     * @param loader         loads the value to serialise
+     * @return the body, gzip-compressed if the client accepts it and it is large enough
+     */
+    public EncodedBody get(String name, ContentVersion version, String acceptEncoding,
+                           Supplier<?> loader) {
+        boolean gzip = properties.isGzip() && acceptsGzip(acceptEncoding);
+        if (!properties.isEnabled()) {
+            misses.increment();
+            return new Entry(version.version(), encode(loader.get())).body(gzip);
+        }
+        Entry entry = entries.get(name);
+        if (entry != null && entry.version == version.version()) {
+            hits.increment();
+            return entry.body(gzip);
+        }
+        synchronized (this) {
+            // Concurrent requests after a write wait for one rebuild
+            entry = entries.get(name);
+            if (entry == null || entry.version != version.version()) {
+                misses.increment();
+                entry = new Entry(version.version(), encode(loader.get()));
+                entries.put(name, entry);
+            } else {
+                hits.increment();
+            }
+        }
+        return entry.body(gzip);
+    }
+
+    /**
+     * Returns the hit and miss counts. The cache holds one body per collection,
+     * so it has no size limit and never evicts.
+     *
+     * @return a snapshot of the cache statistics
+     */
+    public CacheStats getStats() {
+        return new CacheStats("responses", properties.isEnabled(), entries.size(), entries.size(),
+                hits.sum(), misses.sum(), 0, 0);
+    }
+
+    /**
+     * Tells whether an Accept-Encoding header allows gzip, either by name or
+     * through {@code *}, without a zero quality value.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String token = parts[0].trim();
+            if (token.equalsIgnoreCase("gzip") || token.equals("*")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.startsWith("q=") && parameter.substring(2).matches("0(\\.0{0,3})?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode response", e);
+        }
+    }
+
+    private final class Entry {
+        private final long version;
+        private final byte[] json;
+        // Compressed on first use; a race only compresses twice
+        private volatile byte[] gzipped;
+
+        Entry(long version, byte[] json) {
+            this.version = version;
+            this.json = json;
+        }
+
+        EncodedBody body(boolean gzip) {
+            if (!gzip || json.length < properties.getGzipMinSize()) {
+                return new EncodedBody(json, false);
+            }
+            byte[] compressed = gzipped;
+            if (compressed == null) {
+                compressed = compress(json);
+                gzipped = compressed;
+            }
+            return new EncodedBody(compressed, true);
+        }
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            // Only the in-memory stream is written to
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
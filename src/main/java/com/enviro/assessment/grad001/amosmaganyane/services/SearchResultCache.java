@@ -0,0 +1,239 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.SearchCacheProperties;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SearchKeywordDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the IDs matched by recent keyword searches, so a repeated search is
+ * answered by primary-key lookups in the entity caches instead of another
+ * {@code LIKE '%keyword%'} scan. Keywords are trimmed, have their inner
+ * whitespace collapsed and are folded to lower case, so spellings that the
+ * database would match the same way share one entry.
+ * <p>
+ * Entries are bounded by size and age like the entity caches. A write drops
+ * only the entries it can affect: those that matched the written row before,
+ * and those whose keyword the new title or name contains. Writes that
+ * bypass the services empty the cache through
+ * {@link EntityCacheManager#invalidateAll()}. As in the entity caches, a
+ * result loaded while an invalidation ran is not stored.
+ */
+@Service
+public class SearchResultCache {
+
+    private record Key(String collection, String keyword) {
+    }
+
+    private static final class Entry {
+        final List<Long> ids;
+        final long expiresAt;
+        // Guarded by the cache
+        long hits;
+
+        Entry(List<Long> ids, long expiresAt) {
+            this.ids = ids;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final SearchCacheProperties properties;
+    private final LongSupplier ticker;
+    private final long ttlNanos;
+    private final Map<Key, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    // Incremented by every invalidation; guarded by this
+    private long generation;
+
+    @Autowired
+    public SearchResultCache(SearchCacheProperties properties, EntityCacheManager cacheManager) {
+        this(properties, cacheManager, System::nanoTime);
+    }
+
+    // Reads the time from the given ticker, so tests can expire entries
+    SearchResultCache(SearchCacheProperties properties, EntityCacheManager cacheManager,
+                      LongSupplier ticker) {
+        this.properties = properties;
+        this.ticker = ticker;
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > SearchResultCache.this.properties.getMaxEntries()) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        cacheManager.addInvalidateAllListener(this::clear);
+    }
+
+    /**
+     * Trims a keyword, collapses runs of whitespace to one space and folds it
+     * to lower case.
+     *
+     * @param keyword the keyword as requested
+     * @return the normalised keyword
+     */
+    public static String normalize(String keyword) {
+        return keyword.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the rows matching a keyword. On a hit the stored IDs are
+     * resolved with the lookup, in their original order; if any of them no
+     * longer resolves the search runs again.
+     *
+     * @param collection the cache name of the searched collection
+     * @param keyword    the normalised keyword, see {@link #normalize(String)}
+     * @param query      runs the search against the database
+     * @param idOf       returns the ID of a row
+     * @param lookup     reads a row by ID, normally through its entity cache
+     * @return the matching rows
+     */
+    public <T> List<T> search(String collection, String keyword, Function<String, List<T>> query,
+                              Function<T, Long> idOf, Function<Long, Optional<T>> lookup) {
+        if (!properties.isEnabled()) {
+            misses.increment();
+            return query.apply(keyword);
+        }
+        Key key = new Key(collection, keyword);
+        List<Long> ids = cachedIds(key);
+        if (ids != null) {
+            List<T> rows = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                Optional<T> row = lookup.apply(id);
+                if (row.isEmpty()) {
+                    // Removed by a write the services did not see; search again
+                    remove(key);
+                    return search(collection, keyword, query, idOf, lookup);
+                }
+                rows.add(row.get());
+            }
+            return rows;
+        }
+        long loadGeneration;
+        synchronized (this) {
+            loadGeneration = generation;
+        }
+        misses.increment();
+        List<T> rows = query.apply(keyword);
+        List<Long> loadedIds = rows.stream().map(idOf).toList();
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                entries.put(key, new Entry(loadedIds, ticker.getAsLong() + ttlNanos));
+            }
+        }
+        return rows;
+    }
+
+    private synchronized List<Long> cachedIds(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (ticker.getAsLong() - entry.expiresAt >= 0) {
+            entries.remove(key);
+            expirations.increment();
+            return null;
+        }
+        entry.hits++;
+        hits.increment();
+        return entry.ids;
+    }
+
+    /**
+     * Drops the results of a collection that a written row may change: those
+     * that contained the row, and those whose keyword occurs in one of the
+     * row's new searchable texts. Runs again once the current transaction
+     * completes.
+     *
+     * @param collection the cache name of the collection
+     * @param id         the ID of the written row
+     * @param texts      the searched fields of the row after the write; none for a delete
+     */
+    public void invalidate(String collection, Long id, String... texts) {
+        List<String> folded = new ArrayList<>(texts.length);
+        for (String text : texts) {
+            if (text != null) {
+                folded.add(normalize(text));
+            }
+        }
+        Predicate<Map.Entry<Key, Entry>> affected = entry -> entry.getKey().collection().equals(collection)
+                && (entry.getValue().ids.contains(id)
+                || folded.stream().anyMatch(text -> text.contains(entry.getKey().keyword())));
+        removeIf(affected);
+        TransactionCallbacks.afterTransaction(() -> removeIf(affected));
+    }
+
+    /**
+     * Drops every result of a collection, for writes whose rows are not
+     * known, such as the cascade of a category delete. Runs again once the
+     * current transaction completes.
+     *
+     * @param collection the cache name of the collection
+     */
+    public void invalidateAll(String collection) {
+        Predicate<Map.Entry<Key, Entry>> affected = entry -> entry.getKey().collection().equals(collection);
+        removeIf(affected);
+        TransactionCallbacks.afterTransaction(() -> removeIf(affected));
+    }
+
+    /**
+     * Returns the hit and miss counts of all searches with a keyword.
+     *
+     * @return the cache statistics
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats("search", properties.isEnabled(), entries.size(), properties.getMaxEntries(),
+                hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+
+    /**
+     * Returns the cached keywords with the most hits.
+     *
+     * @param limit the number of keywords to return
+     * @return the keywords, most hits first
+     */
+    public synchronized List<SearchKeywordDTO> getTopKeywords(int limit) {
+        return entries.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Key, Entry> entry) -> entry.getValue().hits)
+                        .reversed()
+                        .thenComparing(entry -> entry.getKey().keyword()))
+                .limit(limit)
+                .map(entry -> new SearchKeywordDTO(entry.getKey().collection(), entry.getKey().keyword(),
+                        entry.getValue().hits, entry.getValue().ids.size()))
+                .toList();
+    }
+
+    private synchronized void remove(Key key) {
+        entries.remove(key);
+        generation++;
+    }
+
+    private synchronized void removeIf(Predicate<Map.Entry<Key, Entry>> affected) {
+        entries.entrySet().removeIf(affected);
+        generation++;
+    }
+
+    private synchronized void clear() {
+        entries.clear();
+        generation++;
+    }
+}
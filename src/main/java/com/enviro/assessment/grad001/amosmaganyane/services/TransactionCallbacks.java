@@ -0,0 +1,46 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers work until the current Spring-managed transaction ends, for caches,
+ * indexes and rankings that must follow committed data only.
+ */
+final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Runs a change once the current transaction commits, or immediately if
+     * there is none, for readers that must not see uncommitted writes.
+     */
+    static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    /**
+     * Runs an invalidation again once the current transaction completes, if
+     * there is one, so values read before the commit are dropped as well.
+     */
+    static void afterTransaction(Runnable invalidation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.dto.DisposalGuidelineDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.RecyclingTipDTO;
+import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.RecyclingTipRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Finds categories whose names, and tips and guidelines whose titles,
+ * contain a keyword, ignoring case, without scanning the tables. Each text
+ * is split into every run of three characters, and each run maps to the
+ * sorted IDs of the texts containing it. A keyword of three or more
+ * characters intersects the lists of its runs, and the texts left are
+ * checked for the whole keyword, so results are exactly those of the
+ * repositories' {@code ContainingIgnoreCase} queries: case is folded the
+ * same way, and wildcards match literally. Shorter keywords, which have no
+ * runs to look up, are checked against every text in memory.
+ * <p>
+ * The index follows the services' writes as described in {@link CatalogIndex}.
+ */
+@Service
+public class TrigramIndex extends CatalogIndex<TrigramIndex.Index> {
+    private static final Logger log = LoggerFactory.getLogger(TrigramIndex.class);
+
+    static final int GRAM_LENGTH = 3;
+
+    private final WasteCategoryRepository categoryRepository;
+    private final RecyclingTipRepository tipRepository;
+    private final DisposalGuidelineRepository guidelineRepository;
+
+    public TrigramIndex(WasteCategoryRepository categoryRepository,
+                        RecyclingTipRepository tipRepository,
+                        DisposalGuidelineRepository guidelineRepository,
+                        TransactionTemplate transactionTemplate,
+                        EntityCacheManager cacheManager) {
+        super(Index::new, transactionTemplate, cacheManager);
+        this.categoryRepository = categoryRepository;
+        this.tipRepository = tipRepository;
+        this.guidelineRepository = guidelineRepository;
+    }
+
+    /**
+     * Folds case the way the database's UPPER function does, so containment
+     * checked here matches {@code UPPER(title) LIKE UPPER('%keyword%')}.
+     *
+     * @param text the text, may be null
+     * @return the folded text, or null for null
+     */
+    static String fold(String text) {
+        return text == null ? null : text.toUpperCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Returns the IDs of the rows whose indexed text contains the keyword,
+     * ignoring case.
+     *
+     * @param collection {@link EntityCacheManager#CATEGORIES} for category names,
+     *                   or {@link EntityCacheManager#TIPS} or
+     *                   {@link EntityCacheManager#GUIDELINES} for titles
+     * @param keyword    the text to look for
+     * @return the matching IDs in increasing order
+     * @throws IllegalArgumentException if the collection is not indexed
+     */
+    public List<Long> search(String collection, String keyword) {
+        String folded = fold(keyword);
+        return read(index -> index.texts(collection).search(folded));
+    }
+
+    /**
+     * Returns the number of rows indexed in a collection, loading the index first if needed.
+     */
+    public int size(String collection) {
+        return read(index -> index.texts(collection).folded.size());
+    }
+
+    @Override
+    public void categorySaved(WasteCategory category) {
+        long id = category.getId();
+        String name = category.getName();
+        apply(index -> index.categories.put(id, id, name));
+    }
+
+    @Override
+    public void categoryDeleted(Long id) {
+        apply(index -> {
+            index.categories.remove(id);
+            index.tips.removeCategory(id);
+            index.guidelines.removeCategory(id);
+        });
+    }
+
+    @Override
+    public void tipSaved(RecyclingTip tip) {
+        long id = tip.getId();
+        long categoryId = tip.getCategory().getId();
+        String title = tip.getTitle();
+        apply(index -> index.tips.put(id, categoryId, title));
+    }
+
+    @Override
+    public void tipDeleted(Long id) {
+        apply(index -> index.tips.remove(id));
+    }
+
+    @Override
+    public void guidelineSaved(DisposalGuideline guideline) {
+        long id = guideline.getId();
+        long categoryId = guideline.getCategory().getId();
+        String title = guideline.getTitle();
+        apply(index -> index.guidelines.put(id, categoryId, title));
+    }
+
+    @Override
+    public void guidelineDeleted(Long id) {
+        apply(index -> index.guidelines.remove(id));
+    }
+
+    @Override
+    protected void load(Index index) {
+        long started = System.nanoTime();
+        categoryRepository.findAllSummaries().forEach(category ->
+                index.categories.put(category.getId(), category.getId(), category.getName()));
+        try (Stream<RecyclingTipDTO> tips = tipRepository.streamAllForExport()) {
+            tips.forEach(tip -> index.tips.put(tip.getId(), tip.getCategoryId(), tip.getTitle()));
+        }
+        try (Stream<DisposalGuidelineDTO> guidelines = guidelineRepository.streamAllForExport()) {
+            guidelines.forEach(guideline ->
+                    index.guidelines.put(guideline.getId(), guideline.getCategoryId(), guideline.getTitle()));
+        }
+        log.info("Indexed {} category names, {} tip titles and {} guideline titles in {} ms",
+                index.categories.folded.size(), index.tips.folded.size(), index.guidelines.folded.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * The IDs of the texts containing one run of characters, in increasing order.
+     */
+    private static final class Postings {
+        long[] ids = new long[2];
+        int size;
+
+        // IDs mostly arrive in increasing order, so this nearly always appends
+        void add(long id) {
+            int at = size > 0 && ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0 && at < size) {
+                return;
+            }
+            int insertion = at < 0 ? -at - 1 : at;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+            ids[insertion] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+                size--;
+            }
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+
+    /**
+     * The folded texts of one collection and the postings of their runs.
+     */
+    private static final class Texts {
+        final Map<Long, String> folded = new HashMap<>();
+        final Map<Long, Long> categoryIds = new HashMap<>();
+        final Map<Long, Postings> postings = new HashMap<>();
+
+        // Packs three characters into one key
+        private static long gram(String text, int start) {
+            return (long) text.charAt(start) << 32 | (long) text.charAt(start + 1) << 16 | text.charAt(start + 2);
+        }
+
+        void put(long id, long categoryId, String text) {
+            remove(id);
+            String foldedText = fold(text);
+            if (foldedText == null) {
+                return;
+            }
+            folded.put(id, foldedText);
+            categoryIds.put(id, categoryId);
+            for (int i = 0; i + GRAM_LENGTH <= foldedText.length(); i++) {
+                postings.computeIfAbsent(gram(foldedText, i), key -> new Postings()).add(id);
+            }
+        }
+
+        void remove(long id) {
+            String foldedText = folded.remove(id);
+            categoryIds.remove(id);
+            if (foldedText == null) {
+                return;
+            }
+            for (int i = 0; i + GRAM_LENGTH <= foldedText.length(); i++) {
+                long gram = gram(foldedText, i);
+                Postings list = postings.get(gram);
+                if (list != null) {
+                    list.remove(id);
+                    if (list.size == 0) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+        void removeCategory(long categoryId) {
+            List<Long> ids = new ArrayList<>();
+            categoryIds.forEach((id, category) -> {
+                if (category == categoryId) {
+                    ids.add(id);
+                }
+            });
+            ids.forEach(this::remove);
+        }
+
+        List<Long> search(String keyword) {
+            List<Long> matches = new ArrayList<>();
+            if (keyword.length() < GRAM_LENGTH) {
+                folded.forEach((id, text) -> {
+                    if (text.contains(keyword)) {
+                        matches.add(id);
+                    }
+                });
+                matches.sort(null);
+                return matches;
+            }
+            List<Postings> lists = new ArrayList<>();
+            for (int i = 0; i + GRAM_LENGTH <= keyword.length(); i++) {
+                Postings list = postings.get(gram(keyword, i));
+                if (list == null) {
+                    return matches;
+                }
+                if (!lists.contains(list)) {
+                    lists.add(list);
+                }
+            }
+            // Walk the shortest list, looking each ID up in the others
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            Postings shortest = lists.get(0);
+            candidates:
+            for (int i = 0; i < shortest.size; i++) {
+                long id = shortest.ids[i];
+                for (int j = 1; j < lists.size(); j++) {
+                    if (!lists.get(j).contains(id)) {
+                        continue candidates;
+                    }
+                }
+                // Every run is present, but not necessarily next to each other
+                if (folded.get(id).contains(keyword)) {
+                    matches.add(id);
+                }
+            }
+            return matches;
+        }
+    }
+
+    /**
+     * The texts of every indexed collection; not thread-safe.
+     */
+    static final class Index {
+        final Texts categories = new Texts();
+        final Texts tips = new Texts();
+        final Texts guidelines = new Texts();
+
+        Texts texts(String collection) {
+            return switch (collection) {
+                case EntityCacheManager.CATEGORIES -> categories;
+                case EntityCacheManager.TIPS -> tips;
+                case EntityCacheManager.GUIDELINES -> guidelines;
+                default -> throw new IllegalArgumentException("Collection not indexed: " + collection);
+            };
+        }
+    }
+}
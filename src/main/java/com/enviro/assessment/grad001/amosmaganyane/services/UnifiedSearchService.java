@@ -0,0 +1,212 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.UnifiedSearchProperties;
+import com.enviro.assessment.grad001.amosmaganyane.dto.CategoryFacetDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SearchGroupDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SearchHitDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SearchResultsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Searches categories, tips and guidelines in one call. The three keyword
+ * searches run concurrently on the search executor and share one deadline,
+ * so a slow or failing source is reported as unavailable instead of holding
+ * up the others. Matches are scored on a single scale, grouped by kind and
+ * counted per waste category.
+ */
+@Service
+public class UnifiedSearchService {
+    private static final Logger log = LoggerFactory.getLogger(UnifiedSearchService.class);
+
+    public static final String CATEGORY = "category";
+    public static final String TIP = "tip";
+    public static final String GUIDELINE = "guideline";
+
+    private static final Comparator<Match> BY_SCORE = Comparator
+            .comparingDouble((Match match) -> match.hit().getScore()).reversed()
+            .thenComparing(match -> match.hit().getTitle(), String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(match -> match.hit().getId());
+
+    private final WasteCategoryService categoryService;
+    private final RecyclingTipService tipService;
+    private final DisposalGuidelineService guidelineService;
+    private final Executor executor;
+    private final UnifiedSearchProperties properties;
+
+    public UnifiedSearchService(WasteCategoryService categoryService,
+                                RecyclingTipService tipService,
+                                DisposalGuidelineService guidelineService,
+                                @Qualifier("searchExecutor") Executor executor,
+                                UnifiedSearchProperties properties) {
+        this.categoryService = categoryService;
+        this.tipService = tipService;
+        this.guidelineService = guidelineService;
+        this.executor = executor;
+        this.properties = properties;
+    }
+
+    /**
+     * Searches category names and tip and guideline titles for the query.
+     * Each source is given the configured timeout, counted from the start
+     * of the call, so the whole search takes no longer than that.
+     *
+     * @param query the text to search for
+     * @param limit the most hits to return overall and in each group
+     * @return the merged and grouped hits, with facet counts per category
+     * @throws IllegalArgumentException if the query is blank or the limit is below 1
+     */
+    public SearchResultsDTO search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Query must not be blank");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        String keyword = query.strip();
+        String needle = SearchResultCache.normalize(keyword);
+        long deadline = System.nanoTime() + properties.getSourceTimeout().toNanos();
+
+        Map<String, CompletableFuture<List<Match>>> sources = new LinkedHashMap<>();
+        sources.put(CATEGORY, submit(() -> categoryService.searchCategorySummaries(keyword).stream()
+                .map(category -> match(CATEGORY, category.getId(), category.getId(),
+                        category.getName(), category.getName(), needle))
+                .toList()));
+        sources.put(TIP, submit(() -> tipService.searchTips(keyword).stream()
+                .map(tip -> match(TIP, tip.getId(), tip.getCategory().getId(),
+                        tip.getCategory().getName(), tip.getTitle(), needle))
+                .toList()));
+        sources.put(GUIDELINE, submit(() -> guidelineService.searchGuidelines(keyword).stream()
+                .map(guideline -> match(GUIDELINE, guideline.getId(), guideline.getCategory().getId(),
+                        guideline.getCategory().getName(), guideline.getTitle(), needle))
+                .toList()));
+
+        List<Match> all = new ArrayList<>();
+        Map<String, List<Match>> groups = new LinkedHashMap<>();
+        List<String> unavailable = new ArrayList<>();
+        for (Map.Entry<String, CompletableFuture<List<Match>>> source : sources.entrySet()) {
+            List<Match> matches = await(source.getKey(), source.getValue(), deadline);
+            if (matches == null) {
+                unavailable.add(source.getKey());
+                continue;
+            }
+            matches = matches.stream().sorted(BY_SCORE).toList();
+            all.addAll(matches);
+            groups.put(source.getKey(), matches);
+        }
+
+        // Groups whose best match scores highest come first; empty groups keep their place at the end
+        List<SearchGroupDTO> groupDTOs = groups.entrySet().stream()
+                .sorted(Comparator.comparingDouble(
+                        (Map.Entry<String, List<Match>> group) -> bestScore(group.getValue())).reversed())
+                .map(group -> new SearchGroupDTO(group.getKey(), group.getValue().size(),
+                        hits(group.getValue(), limit)))
+                .toList();
+        all.sort(BY_SCORE);
+        return new SearchResultsDTO(keyword, hits(all, limit), groupDTOs, facets(all), unavailable);
+    }
+
+    private CompletableFuture<List<Match>> submit(Supplier<List<Match>> search) {
+        try {
+            return CompletableFuture.supplyAsync(search, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Waits for a source until the deadline. A source that times out is
+     * cancelled, which also stops it from starting if it is still queued.
+     *
+     * @return the source's matches, or null if they are not available
+     */
+    private List<Match> await(String type, CompletableFuture<List<Match>> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            log.warn("Unified search left out {} results after {}", type, properties.getSourceTimeout());
+        } catch (ExecutionException e) {
+            log.warn("Unified search left out {} results: {}", type, e.getCause().toString());
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private static Match match(String type, Long id, Long categoryId, String categoryName,
+                               String title, String needle) {
+        return new Match(new SearchHitDTO(type, id, categoryId, title, score(needle, title)), categoryName);
+    }
+
+    /**
+     * Scores a title against the normalised query, so that results of every
+     * kind are comparable. The whole part ranks where the query occurs: 3 for
+     * the whole title, 2 at its start, 1 at the start of a later word and 0
+     * elsewhere; the fraction is the share of the title the query covers.
+     *
+     * @param needle the normalised query
+     * @param title  the category name or the tip or guideline title
+     * @return the score, from 0 up to 4
+     */
+    static double score(String needle, String title) {
+        String text = SearchResultCache.normalize(title);
+        if (text.isEmpty()) {
+            return 0;
+        }
+        double coverage = Math.min(1.0, (double) needle.length() / text.length());
+        if (text.equals(needle)) {
+            return 3 + coverage;
+        }
+        if (text.startsWith(needle)) {
+            return 2 + coverage;
+        }
+        for (int at = text.indexOf(needle); at > 0; at = text.indexOf(needle, at + 1)) {
+            if (!Character.isLetterOrDigit(text.charAt(at - 1))) {
+                return 1 + coverage;
+            }
+        }
+        return text.contains(needle) ? coverage : 0;
+    }
+
+    private static double bestScore(List<Match> matches) {
+        return matches.isEmpty() ? -1 : matches.get(0).hit().getScore();
+    }
+
+    private static List<SearchHitDTO> hits(List<Match> matches, int limit) {
+        return matches.stream().limit(limit).map(Match::hit).toList();
+    }
+
+    private static List<CategoryFacetDTO> facets(List<Match> matches) {
+        Map<Long, CategoryFacetDTO> facets = new LinkedHashMap<>();
+        for (Match match : matches) {
+            CategoryFacetDTO facet = facets.computeIfAbsent(match.hit().getCategoryId(),
+                    id -> new CategoryFacetDTO(id, match.categoryName(), 0));
+            facet.setCount(facet.getCount() + 1);
+        }
+        return facets.values().stream()
+                .sorted(Comparator.comparingInt(CategoryFacetDTO::getCount).reversed()
+                        .thenComparing(CategoryFacetDTO::getCategoryName,
+                                Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                        .thenComparing(CategoryFacetDTO::getCategoryId))
+                .toList();
+    }
+
+    private record Match(SearchHitDTO hit, String categoryName) {}
+}
@@ -1,5 +1,6 @@
 package com.enviro.assessment.grad001.amosmaganyane.services;
 
+import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
 import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
 import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
 import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
@@ -37,6 +38,23 @@ public interface WasteCategoryService {
      */
     List<WasteCategory> getAllCategories();
 
+    /**
+     * Retrieves a waste category with its guideline and tip counts,
+     * without loading the guidelines or tips.
+     *
+     * @param id the ID of the category to fetch
+     * @return an Optional containing the category summary if found or empty if not
+     */
+    Optional<WasteCategoryDTO> getCategorySummaryById(Long id);
+
+    /**
+     * Retrieves all waste categories with their guideline and tip counts
+     * using a single query.
+     *
+     * @return a list of all category summaries
+     */
+    List<WasteCategoryDTO> getAllCategorySummaries();
+
     /**
      * Updates an existing waste category.
      *
@@ -53,6 +71,16 @@ public interface WasteCategoryService {
      */
     void deleteCategory(Long id);
 
+    /**
+     * Deletes a waste category only if it has no disposal guidelines or
+     * recycling tips, checking and deleting atomically.
+     *
+     * @param id the ID of the category to delete
+     * @return true if the category was deleted, false if it has guidelines or tips
+     * @throws IllegalStateException if the category does not exist
+     */
+    boolean deleteCategoryIfEmpty(Long id);
+
     // Business operations
     // Manage categories
 
@@ -72,7 +100,32 @@ public interface WasteCategoryService {
      */
     List<WasteCategory> searchCategories(String keyword);
 
+    /**
+     * Searches for categories matching the given keyword, returning them with
+     * their guideline and tip counts using a single query.
+     *
+     * @param keyword the search keyword
+     * @return a list of matching category summaries, or all of them if the keyword is empty
+     */
+    List<WasteCategoryDTO> searchCategorySummaries(String keyword);
+
+    /**
+     * Searches for categories whose names contain every word of the keyword,
+     * allowing for typos, returning them with their guideline and tip counts.
+     *
+     * @param keyword the search keyword
+     * @return the matching category summaries, fewest typos first, or all of them if the keyword is empty
+     */
+    List<WasteCategoryDTO> fuzzySearchCategorySummaries(String keyword);
+
     // Validation
+
+    /**
+     * Checks whether a category has no disposal guidelines or recycling tips.
+     *
+     * @param categoryId the ID of the category
+     * @return true if the category has no children or does not exist
+     */
     boolean canDeleteCategory(Long categoryId);
 
     /**
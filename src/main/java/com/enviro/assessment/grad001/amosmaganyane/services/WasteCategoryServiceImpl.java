@@ -1,24 +1,52 @@
 package com.enviro.assessment.grad001.amosmaganyane.services;
 
+import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
 import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
 import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
 import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
 import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Implementation of the WasteCategoryService interface.
  * Handles business logic for WasteCategory entities.
+ * Category summaries read by ID are cached; updating or deleting a category
+ * also empties the tip and guideline caches, whose entries carry its name.
  */
 @Service
 public class WasteCategoryServiceImpl implements WasteCategoryService {
     public final WasteCategoryRepository repository;
+    private final EntityCache<Long, WasteCategoryDTO> summaryCache;
+    private final EntityCache<Long, ?> tipCache;
+    private final EntityCache<Long, ?> guidelineCache;
+    private final CategoryLeaderboard leaderboard;
+    private final SearchResultCache searchCache;
+    private final TrigramIndex trigramIndex;
+    private final FuzzyIndex fuzzyIndex;
+    private final List<CatalogChangeListener> changeListeners;
 
-    public WasteCategoryServiceImpl(WasteCategoryRepository repository){
+    public WasteCategoryServiceImpl(WasteCategoryRepository repository,
+                                    EntityCacheManager cacheManager,
+                                    CategoryLeaderboard leaderboard,
+                                    SearchResultCache searchCache,
+                                    TrigramIndex trigramIndex,
+                                    FuzzyIndex fuzzyIndex,
+                                    List<CatalogChangeListener> changeListeners){
         this.repository = repository;
+        this.leaderboard = leaderboard;
+        this.searchCache = searchCache;
+        this.trigramIndex = trigramIndex;
+        this.fuzzyIndex = fuzzyIndex;
+        this.changeListeners = changeListeners;
+        this.summaryCache = cacheManager.getCache(EntityCacheManager.CATEGORIES);
+        this.tipCache = cacheManager.getCache(EntityCacheManager.TIPS);
+        this.guidelineCache = cacheManager.getCache(EntityCacheManager.GUIDELINES);
     }
 
     /**
@@ -36,7 +64,13 @@ public class WasteCategoryServiceImpl implements WasteCategoryService {
             throw new IllegalArgumentException("Category name already exists");
         }
 
-        return repository.save(category);
+        WasteCategory created = repository.save(category);
+        // Nothing is cached for a new ID, but this marks readers of the whole catalog stale
+        summaryCache.invalidate(created.getId());
+        searchCache.invalidate(EntityCacheManager.CATEGORIES, created.getId(), created.getName());
+        changeListeners.forEach(listener -> listener.categorySaved(created));
+        leaderboard.categoryChanged(created.getId());
+        return created;
     }
     /**
      * {@inheritDoc}
@@ -56,19 +90,43 @@ public class WasteCategoryServiceImpl implements WasteCategoryService {
         return repository.findAll();
     }
 
+    /**
+     * {@inheritDoc}
+     * Counts are computed by the database in the same query, and the
+     * summary is cached until the category or its tips or guidelines change.
+     */
+    @Override
+    public Optional<WasteCategoryDTO> getCategorySummaryById(Long id) {
+        return summaryCache.get(id, repository::findSummaryById);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Counts are computed by the database in the same query.
+     */
+    @Override
+    public List<WasteCategoryDTO> getAllCategorySummaries() {
+        return repository.findAllSummaries();
+    }
+
     /**
      * {@inheritDoc}
      * Updates an existing waste category by ID with new details.
      */
     @Override
     public WasteCategory updateCategory(Long id, WasteCategory category) {
-        return repository.findById(id)
+        WasteCategory updated = repository.findById(id)
                 .map(existingCategory -> {
                     existingCategory.setName(category.getName());
                     existingCategory.setDescription(category.getDescription());
                     return repository.save(existingCategory);
                 })
                 .orElseThrow(() -> new IllegalStateException("Category not found"));
+        invalidate(id);
+        searchCache.invalidate(EntityCacheManager.CATEGORIES, id, updated.getName());
+        changeListeners.forEach(listener -> listener.categorySaved(updated));
+        leaderboard.categoryChanged(id);
+        return updated;
     }
 
     /**
@@ -78,6 +136,42 @@ public class WasteCategoryServiceImpl implements WasteCategoryService {
     @Override
     public void deleteCategory(Long id) {
         repository.deleteById(id);
+        invalidate(id);
+        // Its tips and guidelines are deleted with it
+        searchCache.invalidate(EntityCacheManager.CATEGORIES, id);
+        searchCache.invalidateAll(EntityCacheManager.TIPS);
+        searchCache.invalidateAll(EntityCacheManager.GUIDELINES);
+        changeListeners.forEach(listener -> listener.categoryDeleted(id));
+        leaderboard.categoryDeleted(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The category is deleted by a single conditional statement; a second
+     * query runs only when nothing was deleted, to tell a missing category
+     * from one with children.
+     */
+    @Override
+    @Transactional
+    public boolean deleteCategoryIfEmpty(Long id) {
+        if (repository.deleteByIdIfEmpty(id) == 0) {
+            if (!repository.existsById(id)) {
+                throw new IllegalStateException("Category not found");
+            }
+            return false;
+        }
+        // No tips or guidelines went with it
+        summaryCache.invalidate(id);
+        searchCache.invalidate(EntityCacheManager.CATEGORIES, id);
+        changeListeners.forEach(listener -> listener.categoryDeleted(id));
+        leaderboard.categoryDeleted(id);
+        return true;
+    }
+
+    private void invalidate(Long id) {
+        summaryCache.invalidate(id);
+        tipCache.invalidateAll();
+        guidelineCache.invalidateAll();
     }
 
     /**
@@ -96,6 +190,7 @@ public class WasteCategoryServiceImpl implements WasteCategoryService {
      * {@inheritDoc}
      * Searches for categories whose names contain the given keyword (case-insensitive).
      * If the keyword is null or empty, retrieves all categories.
+     * Matching IDs come from the trigram index rather than a LIKE scan.
      *
      * @param keyword the keyword to search for
      * @return a list of categories matching the keyword or all categories if the keyword is empty
@@ -105,17 +200,60 @@ public class WasteCategoryServiceImpl implements WasteCategoryService {
         if (keyword == null || keyword.trim().isEmpty()){
             return getAllCategories();
         }
-        return repository.findByNameContainingIgnoreCase(keyword);
+        List<WasteCategory> categories = new ArrayList<>(
+                repository.findAllById(trigramIndex.search(EntityCacheManager.CATEGORIES, keyword)));
+        categories.sort(Comparator.comparing(WasteCategory::getId));
+        return categories;
+    }
+
+    /**
+     * {@inheritDoc}
+     * If the keyword is null or empty, retrieves all category summaries.
+     * Matching IDs come from the trigram index and are cached by normalised
+     * keyword; they are resolved through the summary cache, so the counts
+     * are always current.
+     */
+    @Override
+    public List<WasteCategoryDTO> searchCategorySummaries(String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return getAllCategorySummaries();
+        }
+        return searchCache.search(EntityCacheManager.CATEGORIES, SearchResultCache.normalize(keyword),
+                this::findSummariesByName, WasteCategoryDTO::getId, this::getCategorySummaryById);
+    }
+
+    private List<WasteCategoryDTO> findSummariesByName(String keyword) {
+        return trigramIndex.search(EntityCacheManager.CATEGORIES, keyword).stream()
+                .map(this::getCategorySummaryById)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     * If the keyword is null or empty, retrieves all category summaries.
+     * Matching IDs come from the fuzzy index, ranked, and are resolved
+     * through the summary cache; they are not kept in the search cache.
+     */
+    @Override
+    public List<WasteCategoryDTO> fuzzySearchCategorySummaries(String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return getAllCategorySummaries();
+        }
+        return fuzzyIndex.search(EntityCacheManager.CATEGORIES, keyword).stream()
+                .map(this::getCategorySummaryById)
+                .flatMap(Optional::stream)
+                .toList();
     }
 
     /**
      * {@inheritDoc}
-     * Deletes a category by ID using the repository's deleteById method.
+     * Checks the child tables rather than the stored counters, in a single
+     * query that stops at the first guideline or tip found.
      */
     @Override
     public boolean canDeleteCategory(Long categoryId) {
-        return countGuidelinesInCategory(categoryId) == 0
-                && countRecyclingTipsInCategory(categoryId) == 0;
+        return !repository.hasChildrenById(categoryId).orElse(false);
     }
 
     /**
@@ -160,29 +298,33 @@ public class WasteCategoryServiceImpl implements WasteCategoryService {
 
     /**
      * {@inheritDoc}
-     * Counts the number of disposal guidelines associated with a specific category ID.
+     * Reads the stored guideline counter by primary key instead of loading the guidelines.
      */
     @Override
     public int countGuidelinesInCategory(Long categoryId) {
-        return getGuidelinesForCategory(categoryId).size();
+        return repository.findGuidelineCountById(categoryId).orElse(0);
     }
 
     /**
      * {@inheritDoc}
-     * Counts the number of recycling tips associated with a specific category ID.
+     * Reads the stored tip counter by primary key instead of loading the tips.
      */
     @Override
     public int countRecyclingTipsInCategory(Long categoryId) {
-        return getRecyclingTipsForCategory(categoryId).size();
+        return repository.findTipCountById(categoryId).orElse(0);
     }
 
     /**
      * {@inheritDoc}
-     * Retrieves a limited list of categories with the most associated guidelines.
+     * Ranks the categories with the in-memory leaderboard instead of counting
+     * every guideline, then loads each one by ID from the second-level cache.
      */
     @Override
     public List<WasteCategory> getCategoriesWithMostGuidelines(int limit) {
-        return repository.findTopCategoriesByGuidelineCount(limit);
+        return leaderboard.getTopIds(CategoryLeaderboard.Ranking.GUIDELINES, limit).stream()
+                .map(repository::findById)
+                .flatMap(Optional::stream)
+                .toList();
     }
 
 }
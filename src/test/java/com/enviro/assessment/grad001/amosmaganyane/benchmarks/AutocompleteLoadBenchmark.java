@@ -0,0 +1,157 @@
+package com.enviro.assessment.grad001.amosmaganyane.benchmarks;
+
+import com.enviro.assessment.grad001.amosmaganyane.WasteManagementApplication;
+import com.enviro.assessment.grad001.amosmaganyane.services.AutocompleteIndex;
+import com.enviro.assessment.grad001.amosmaganyane.services.EntityCacheManager;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load test of the autocomplete endpoint at a fixed request rate. Each of
+ * a fixed number of connections sends its share of a schedule, and each
+ * latency is measured from when its request was due rather than when it was
+ * sent, so a stall counts against every request queued behind it instead
+ * of hiding them. Prefixes of one
+ * to four letters are taken from the generated titles. After a warm-up at
+ * the same rate, the latency percentiles and the rate achieved are printed.
+ * <p>
+ * Arguments, all optional: requests per second (5000), seconds to measure
+ * (10) and number of tip titles (100000). The client and the server share
+ * the machine, so on few cores the client's own cost shows up in the results.
+ */
+public class AutocompleteLoadBenchmark {
+
+    private static final String[] WORDS = {
+            "Rinse", "Bottles", "Glass", "Paper", "Cardboard", "Compost", "Metal", "Cans", "Jars", "Lids",
+            "Flatten", "Boxes", "Remove", "Caps", "Sort", "Clean", "Dry", "Bags", "Foil", "Cartons",
+            "Batteries", "Paint", "Styrofoam", "Lithium", "Textiles", "Electronics", "Oil", "Tyres"};
+    private static final int BATCH_SIZE = 10_000;
+    private static final int WARMUP_SECONDS = 5;
+    // Requests in flight at most, each connection sending its share of the schedule in turn
+    private static final int CONNECTIONS = 32;
+
+    public static void main(String[] args) throws InterruptedException {
+        int rate = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int titles = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(WasteManagementApplication.class)
+                .properties("logging.level.root=WARN")
+                .run("--server.port=0", "--spring.jpa.show-sql=false");
+        try {
+            insertTitles(context.getBean(JdbcTemplate.class), titles);
+            context.getBean(EntityCacheManager.class).invalidateAll();
+            System.out.printf("Indexed %d texts%n", context.getBean(AutocompleteIndex.class).size());
+
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/wastemanagementapi/autocomplete?limit=10&prefix=";
+            Random random = new Random(42);
+            List<HttpRequest> requests = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                requests.add(HttpRequest.newBuilder(
+                        URI.create(base + word.substring(0, 1 + random.nextInt(Math.min(4, word.length()))))).build());
+            }
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            run(client, requests, rate, WARMUP_SECONDS);
+            Result result = run(client, requests, rate, seconds);
+            System.out.printf("%d requests at %d/s over %d s: achieved %.0f/s, %d errors%n",
+                    result.latencies.length, rate, seconds, result.achievedRate, result.errors);
+            System.out.printf("latency ms: p50 %.3f  p90 %.3f  p99 %.3f  p99.9 %.3f  max %.3f%n",
+                    percentile(result.latencies, 50), percentile(result.latencies, 90),
+                    percentile(result.latencies, 99), percentile(result.latencies, 99.9),
+                    result.latencies[result.latencies.length - 1] / 1e6);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void insertTitles(JdbcTemplate jdbcTemplate, int titles) {
+        jdbcTemplate.update("DELETE FROM disposal_guidelines");
+        jdbcTemplate.update("DELETE FROM recycling_tips");
+        jdbcTemplate.update("DELETE FROM waste_categories");
+        jdbcTemplate.update("INSERT INTO waste_categories "
+                + "(id, name, description, guideline_count, tip_count) VALUES (1, 'Recyclable Plastic', "
+                + "'Plastic', 0, ?)", titles);
+        Random random = new Random(7);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= titles; i++) {
+            StringBuilder title = new StringBuilder();
+            for (int word = 2 + random.nextInt(3); word > 0; word--) {
+                title.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            title.append(i);
+            rows.add(new Object[]{(long) i, title.toString(), "Rinse before recycling", 1L});
+            if (rows.size() == BATCH_SIZE || i == titles) {
+                jdbcTemplate.batchUpdate("INSERT INTO recycling_tips (id, title, content, category_id) "
+                        + "VALUES (?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    private record Result(long[] latencies, int errors, double achievedRate) {
+    }
+
+    // Sends requests on a fixed schedule, spread over the connections, and
+    // records each latency from its due time
+    private static Result run(HttpClient client, List<HttpRequest> requests, int rate, int seconds)
+            throws InterruptedException {
+        int count = rate * seconds;
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long[] latencies = new long[count];
+        AtomicInteger errors = new AtomicInteger();
+        long start = System.nanoTime();
+        List<Thread> connections = new ArrayList<>();
+        for (int connection = 0; connection < CONNECTIONS; connection++) {
+            int first = connection;
+            Thread thread = new Thread(() -> {
+                for (int i = first; i < count; i += CONNECTIONS) {
+                    long due = start + i * interval;
+                    long wait = due - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    try {
+                        HttpResponse<byte[]> response = client.send(requests.get(i % requests.size()),
+                                HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException | InterruptedException e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - due;
+                }
+            });
+            thread.start();
+            connections.add(thread);
+        }
+        for (Thread connection : connections) {
+            connection.join();
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        Arrays.sort(latencies);
+        return new Result(latencies, errors.get(), count / elapsed);
+    }
+
+    private static double percentile(long[] sorted, double percent) {
+        int at = (int) Math.ceil(percent / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, at)] / 1e6;
+    }
+}
@@ -0,0 +1,165 @@
+package com.enviro.assessment.grad001.amosmaganyane.benchmarks;
+
+import com.enviro.assessment.grad001.amosmaganyane.WasteManagementApplication;
+import com.enviro.assessment.grad001.amosmaganyane.controllers.RecyclingTipController;
+import com.enviro.assessment.grad001.amosmaganyane.controllers.WasteCategoryController;
+import com.enviro.assessment.grad001.amosmaganyane.dto.RecyclingTipDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares the read endpoints served from the catalog snapshot with the
+ * JPA path, with 64 threads calling the controllers concurrently. Sample mode
+ * reports the mean and percentiles of individual calls.
+ * Run with {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+public class CatalogSnapshotBenchmark {
+
+    private static final String CONTENT = "Rinse containers before recycling them";
+
+    @Param({"true", "false"})
+    private boolean catalog;
+
+    @Param({"50"})
+    private int categories;
+
+    @Param({"5000"})
+    private int tips;
+
+    private ConfigurableApplicationContext context;
+    private WasteCategoryController categoryController;
+    private RecyclingTipController tipController;
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Starts the application without a web server and replaces the sample
+     * data with a synthetic data set using known IDs. Settings from
+     * application.yml are overridden as command-line arguments. The response
+     * cache is turned off, since it would answer the category list itself.
+     */
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(WasteManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run("--spring.jpa.show-sql=false",
+                        "--wastemanagement.catalog.enabled=" + catalog,
+                        "--wastemanagement.response-cache.enabled=false");
+        categoryController = context.getBean(WasteCategoryController.class);
+        tipController = context.getBean(RecyclingTipController.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM disposal_guidelines");
+        jdbcTemplate.update("DELETE FROM recycling_tips");
+        jdbcTemplate.update("DELETE FROM waste_categories");
+        List<Object[]> categoryRows = new ArrayList<>();
+        for (int i = 1; i <= categories; i++) {
+            categoryRows.add(new Object[]{(long) i, "Category " + i, "Description " + i,
+                    tips / categories});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO waste_categories "
+                + "(id, name, description, guideline_count, tip_count) VALUES (?, ?, ?, 0, ?)",
+                categoryRows);
+        List<Object[]> tipRows = new ArrayList<>();
+        for (int i = 1; i <= tips; i++) {
+            tipRows.add(new Object[]{(long) i, "Tip " + i, CONTENT, (long) (i % categories) + 1});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO recycling_tips (id, title, content, category_id) "
+                + "VALUES (?, ?, ?, ?)", tipRows);
+    }
+
+    /**
+     * Runs a call with an entity manager bound to the thread, as the
+     * open-in-view interceptor does for each web request, so lazy
+     * collections can be read on the JPA path. The request carries no
+     * conditional headers, so every call returns a body.
+     */
+    private <T> T inRequest(Function<WebRequest, T> call) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory,
+                new EntityManagerHolder(entityManager));
+        try {
+            return call.apply(new ServletWebRequest(new MockHttpServletRequest("GET", "/"),
+                    new MockHttpServletResponse()));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> getAllCategories() {
+        return inRequest(categoryController::getAllCategories);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<RecyclingTipDTO>> getTipsByCategory() {
+        long categoryId = ThreadLocalRandom.current().nextLong(1, categories + 1);
+        return inRequest(request -> tipController.getTipsByCategory(categoryId, request));
+    }
+
+    @Benchmark
+    public ResponseEntity<RecyclingTipDTO> getTipById() {
+        long id = ThreadLocalRandom.current().nextLong(1, tips + 1);
+        return inRequest(request -> tipController.getTipById(id, request));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Runs the benchmark in the current JVM, so it works from the Maven test classpath.
+     * Accepts the usual JMH options, e.g. {@code -p catalog=true -t 16}.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(CatalogSnapshotBenchmark.class.getSimpleName())
+                .forks(0)
+                .build()).run();
+    }
+}
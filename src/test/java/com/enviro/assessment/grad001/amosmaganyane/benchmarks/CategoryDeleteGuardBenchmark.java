@@ -0,0 +1,132 @@
+package com.enviro.assessment.grad001.amosmaganyane.benchmarks;
+
+import com.enviro.assessment.grad001.amosmaganyane.WasteManagementApplication;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.RecyclingTipRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import com.enviro.assessment.grad001.amosmaganyane.services.WasteCategoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the delete guard of a category with many tips: the combined
+ * EXISTS query behind canDeleteCategory, one EXISTS query per child table,
+ * loading both child collections as the guard used to, and a rejected safe
+ * delete. Run with {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CategoryDeleteGuardBenchmark {
+
+    private static final long CATEGORY_ID = 1L;
+    private static final String CONTENT = "Rinse containers before recycling them";
+
+    @Param({"100000"})
+    private int tips;
+
+    private ConfigurableApplicationContext context;
+    private WasteCategoryService categoryService;
+    private WasteCategoryRepository categoryRepository;
+    private RecyclingTipRepository tipRepository;
+    private DisposalGuidelineRepository guidelineRepository;
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Starts the application without a web server and replaces the sample
+     * data with one category holding all the tips and no guidelines, the
+     * worst case for a guard that stops at the first child of each type.
+     */
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(WasteManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run("--spring.jpa.show-sql=false");
+        categoryService = context.getBean(WasteCategoryService.class);
+        categoryRepository = context.getBean(WasteCategoryRepository.class);
+        tipRepository = context.getBean(RecyclingTipRepository.class);
+        guidelineRepository = context.getBean(DisposalGuidelineRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM disposal_guidelines");
+        jdbcTemplate.update("DELETE FROM recycling_tips");
+        jdbcTemplate.update("DELETE FROM waste_categories");
+        jdbcTemplate.update("INSERT INTO waste_categories "
+                + "(id, name, description, guideline_count, tip_count) VALUES (?, ?, ?, 0, ?)",
+                CATEGORY_ID, "Recyclable Plastic", "Plastic", tips);
+        List<Object[]> tipRows = new ArrayList<>();
+        for (int i = 1; i <= tips; i++) {
+            tipRows.add(new Object[]{(long) i, "Tip " + i, CONTENT, CATEGORY_ID});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO recycling_tips (id, title, content, category_id) "
+                + "VALUES (?, ?, ?, ?)", tipRows);
+    }
+
+    @Benchmark
+    public boolean combinedExists() {
+        return categoryService.canDeleteCategory(CATEGORY_ID);
+    }
+
+    @Benchmark
+    public boolean separateExists() {
+        return !guidelineRepository.existsByCategoryId(CATEGORY_ID)
+                && !tipRepository.existsByCategoryId(CATEGORY_ID);
+    }
+
+    @Benchmark
+    public Boolean loadCollections() {
+        return transactionTemplate.execute(status -> categoryRepository.findById(CATEGORY_ID)
+                .map(category -> category.getGuidelines().isEmpty() && category.getRecyclingTips().isEmpty())
+                .orElse(true));
+    }
+
+    @Benchmark
+    public boolean safeDeleteRejected() {
+        return categoryService.deleteCategoryIfEmpty(CATEGORY_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Runs the benchmark in the current JVM, so it works from the Maven test classpath.
+     * Accepts the usual JMH options, e.g. {@code -p tips=10000}.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(CategoryDeleteGuardBenchmark.class.getSimpleName())
+                .forks(0)
+                .build()).run();
+    }
+}
@@ -0,0 +1,187 @@
+package com.enviro.assessment.grad001.amosmaganyane.benchmarks;
+
+import com.enviro.assessment.grad001.amosmaganyane.WasteManagementApplication;
+import com.enviro.assessment.grad001.amosmaganyane.services.EntityCacheManager;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load test of clients polling a collection over HTTP, with and without
+ * sending back the ETag of their last response. The data does not change
+ * during the run, as between two polls of a mobile client, so conditional
+ * requests are answered with 304. Unconditional requests are answered from
+ * the encoded response cache, unless {@code responseCache} is false, and
+ * ask for a gzip body when {@code gzip} is true.
+ * <p>
+ * Response body bytes per request are reported as the {@code responseBytes}
+ * counter divided by the throughput; the CPU time of the whole process,
+ * client and server, per request is printed after each iteration.
+ * Run with {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(16)
+public class ConditionalGetBenchmark {
+
+    private static final String CONTENT = "Rinse containers before recycling them";
+
+    @Param({"true", "false"})
+    private boolean conditional;
+
+    @Param({"categories", "tips"})
+    private String collection;
+
+    @Param({"true"})
+    private boolean responseCache;
+
+    @Param({"false"})
+    private boolean gzip;
+
+    @Param({"50"})
+    private int categories;
+
+    @Param({"5000"})
+    private int tips;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+    private final LongAdder requests = new LongAdder();
+    private long iterationCpuNanos;
+
+    /**
+     * Per-thread counter of response body bytes.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Traffic {
+        public long responseBytes;
+    }
+
+    /**
+     * Starts the application on a random port, replaces the sample data with
+     * a synthetic data set and takes the ETag of the collection.
+     */
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(WasteManagementApplication.class)
+                .properties("logging.level.root=WARN")
+                .run("--server.port=0", "--spring.jpa.show-sql=false",
+                        "--wastemanagement.response-cache.enabled=" + responseCache);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM disposal_guidelines");
+        jdbcTemplate.update("DELETE FROM recycling_tips");
+        jdbcTemplate.update("DELETE FROM waste_categories");
+        List<Object[]> categoryRows = new ArrayList<>();
+        for (int i = 1; i <= categories; i++) {
+            categoryRows.add(new Object[]{(long) i, "Category " + i, "Description " + i,
+                    tips / categories});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO waste_categories "
+                + "(id, name, description, guideline_count, tip_count) VALUES (?, ?, ?, 0, ?)",
+                categoryRows);
+        List<Object[]> tipRows = new ArrayList<>();
+        for (int i = 1; i <= tips; i++) {
+            tipRows.add(new Object[]{(long) i, "Tip " + i, CONTENT, (long) (i % categories) + 1});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO recycling_tips (id, title, content, category_id) "
+                + "VALUES (?, ?, ?, ?)", tipRows);
+        context.getBean(EntityCacheManager.class).invalidateAll();
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        URI uri = URI.create("http://localhost:"
+                + context.getEnvironment().getProperty("local.server.port")
+                + "/wastemanagementapi/" + collection);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri);
+        if (gzip) {
+            builder.header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        }
+        if (conditional) {
+            String eTag = client.send(HttpRequest.newBuilder(uri).build(),
+                    HttpResponse.BodyHandlers.discarding()).headers().firstValue(HttpHeaders.ETAG)
+                    .orElseThrow();
+            builder.header(HttpHeaders.IF_NONE_MATCH, eTag);
+        }
+        request = builder.build();
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        requests.reset();
+        iterationCpuNanos = processCpuNanos();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportIteration() {
+        long cpuNanos = processCpuNanos() - iterationCpuNanos;
+        System.out.printf("  process CPU: %.1f us/request%n",
+                cpuNanos / 1000.0 / Math.max(1, requests.sum()));
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                .getProcessCpuTime();
+    }
+
+    @Benchmark
+    public int poll(Traffic traffic) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        traffic.responseBytes += response.body().length;
+        requests.increment();
+        return response.statusCode();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Runs the benchmark in the current JVM, so it works from the Maven test classpath.
+     * Accepts the usual JMH options, e.g.
+     * {@code -p collection=tips -p conditional=false -p responseCache=true,false}.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(ConditionalGetBenchmark.class.getSimpleName())
+                .forks(0)
+                .build()).run();
+    }
+}
@@ -0,0 +1,132 @@
+package com.enviro.assessment.grad001.amosmaganyane.benchmarks;
+
+import com.enviro.assessment.grad001.amosmaganyane.services.MappedCsvReader;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing a large tips CSV file with OpenCSV, as the loader does by
+ * default, against the memory-mapped parser. The file mixes quoted fields,
+ * quoted separators and escaped quotes like the bundled data. Both readers
+ * hand every kept field to a blackhole, so no work is optimised away.
+ * Run with {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class CsvParserBenchmark {
+
+    @Param({"1024"})
+    private int megabytes;
+
+    private Path file;
+
+    /**
+     * Writes a synthetic file of roughly the requested size.
+     */
+    @Setup(Level.Trial)
+    public void writeFile() throws IOException {
+        file = Files.createTempFile("tips", ".csv");
+        long target = megabytes * 1024L * 1024L;
+        long written = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("title,content,category_name\n");
+            for (int i = 0; written < target; i++) {
+                String line = "\"Tip " + i + "\",\"Rinse containers, then check the \"\"grade\"\" "
+                        + "printed on the base. Remove caps and labels where possible.\", "
+                        + "\"Category " + (i % 20) + "\"\n";
+                writer.write(line);
+                written += line.length();
+            }
+        }
+    }
+
+    @Benchmark
+    public long openCsv(Blackhole blackhole) throws IOException, CsvValidationException {
+        long rows = 0;
+        try (CSVReader reader = new CSVReader(new InputStreamReader(
+                Files.newInputStream(file), StandardCharsets.UTF_8))) {
+            String[] line;
+            while ((line = reader.readNext()) != null) {
+                blackhole.consume(line);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public long mapped(Blackhole blackhole) throws IOException {
+        long rows = 0;
+        try (MappedCsvReader reader = new MappedCsvReader(file, 3)) {
+            String[] line;
+            while ((line = reader.readNext()) != null) {
+                blackhole.consume(line);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Keeps only the first column, showing the saving from not creating
+     * strings for fields that are not needed.
+     */
+    @Benchmark
+    public long mappedFirstColumn(Blackhole blackhole) throws IOException {
+        long rows = 0;
+        try (MappedCsvReader reader = new MappedCsvReader(file, 1)) {
+            String[] line;
+            while ((line = reader.readNext()) != null) {
+                blackhole.consume(line);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Runs the benchmark in the current JVM, so it works from the Maven test classpath.
+     * Accepts the usual JMH options, e.g. {@code -p megabytes=256}.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(CsvParserBenchmark.class.getSimpleName())
+                .forks(0)
+                .build()).run();
+    }
+}
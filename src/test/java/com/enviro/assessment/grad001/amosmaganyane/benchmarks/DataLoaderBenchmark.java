@@ -0,0 +1,153 @@
+package com.enviro.assessment.grad001.amosmaganyane.benchmarks;
+
+import com.enviro.assessment.grad001.amosmaganyane.WasteManagementApplication;
+import com.enviro.assessment.grad001.amosmaganyane.config.DataLoaderProperties;
+import com.enviro.assessment.grad001.amosmaganyane.services.BulkImportService;
+import com.enviro.assessment.grad001.amosmaganyane.services.DataLoaderService;
+import com.enviro.assessment.grad001.amosmaganyane.services.DataSnapshotService;
+import com.enviro.assessment.grad001.amosmaganyane.services.DisposalGuidelineService;
+import com.enviro.assessment.grad001.amosmaganyane.services.RecyclingTipService;
+import com.enviro.assessment.grad001.amosmaganyane.services.WasteCategoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the startup loading modes on a synthetic data set.
+ * Each invocation loads the same files into empty tables, so the score is the
+ * wall-clock time of one full load. With {@code snapshot=true} the first warmup
+ * invocation writes a binary snapshot and later invocations restore from it.
+ * Run with {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DataLoaderBenchmark {
+
+    private static final String CONTENT = "Rinse containers before recycling them";
+    private static final String INSTRUCTIONS = "Take to the designated collection point";
+
+    @Param({"STANDARD", "BULK", "PARALLEL"})
+    private DataLoaderProperties.Mode mode;
+
+    @Param({"50000"})
+    private int rows;
+
+    @Param({"false"})
+    private boolean snapshot;
+
+    private Path dataDir;
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private DataLoaderService loader;
+
+    /**
+     * Writes the CSV files and starts the application without a web server.
+     */
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        dataDir = Files.createTempDirectory("waste-data");
+        writeData();
+        context = new SpringApplicationBuilder(WasteManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        DataLoaderProperties properties = new DataLoaderProperties();
+        properties.setMode(mode);
+        properties.setLocation(dataDir.toUri().toString());
+        if (snapshot) {
+            properties.setSnapshotPath(dataDir.resolve("data.snapshot").toString());
+        }
+        loader = new DataLoaderService(context.getBean(WasteCategoryService.class),
+                context.getBean(RecyclingTipService.class),
+                context.getBean(DisposalGuidelineService.class),
+                context.getBean(BulkImportService.class),
+                context.getBean(DataSnapshotService.class),
+                properties, new DefaultResourceLoader(), Runnable::run);
+    }
+
+    private void writeData() throws IOException {
+        String[] categories = new String[20];
+        try (BufferedWriter writer = Files.newBufferedWriter(dataDir.resolve("categories.csv"))) {
+            writer.write("name,description\n");
+            for (int i = 0; i < categories.length; i++) {
+                categories[i] = "Category " + i;
+                writer.write(categories[i] + ",Description " + i + "\n");
+            }
+        }
+        try (BufferedWriter tips = Files.newBufferedWriter(dataDir.resolve("recycling_tips.csv"));
+             BufferedWriter guidelines =
+                     Files.newBufferedWriter(dataDir.resolve("disposal_guidelines.csv"))) {
+            tips.write("title,content,category_name\n");
+            guidelines.write("title,instructions,category_name\n");
+            for (int i = 0; i < rows; i++) {
+                String category = categories[i % categories.length];
+                tips.write("Tip " + i + "," + CONTENT + "," + category + "\n");
+                guidelines.write("Guideline " + i + "," + INSTRUCTIONS + "," + category + "\n");
+            }
+        }
+    }
+
+    /**
+     * Empties the tables so every invocation starts from the same state.
+     */
+    @Setup(Level.Invocation)
+    public void clearTables() {
+        jdbcTemplate.update("DELETE FROM disposal_guidelines");
+        jdbcTemplate.update("DELETE FROM recycling_tips");
+        jdbcTemplate.update("DELETE FROM waste_categories");
+    }
+
+    @Benchmark
+    public void loadData() {
+        loader.loadData();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(dataDir);
+    }
+
+    /**
+     * Runs the benchmark in the current JVM, so it works from the Maven test classpath.
+     * Accepts the usual JMH options, e.g. {@code -p rows=100000 -p mode=BULK,PARALLEL}.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(DataLoaderBenchmark.class.getSimpleName())
+                .forks(0)
+                .build()).run();
+    }
+}
@@ -0,0 +1,125 @@
+package com.enviro.assessment.grad001.amosmaganyane.benchmarks;
+
+import com.enviro.assessment.grad001.amosmaganyane.WasteManagementApplication;
+import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.services.RecyclingTipService;
+import com.enviro.assessment.grad001.amosmaganyane.services.WasteCategoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures by-ID reads of tips and category summaries with the entity
+ * cache enabled and disabled. Sample mode records the latency of individual
+ * calls, so JMH reports the p99 alongside the mean. Run with {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EntityCacheBenchmark {
+
+    private static final String CONTENT = "Rinse containers before recycling them";
+
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+
+    @Param({"100"})
+    private int categories;
+
+    @Param({"10000"})
+    private int tips;
+
+    private ConfigurableApplicationContext context;
+    private WasteCategoryService categoryService;
+    private RecyclingTipService tipService;
+
+    /**
+     * Starts the application without a web server and replaces the sample
+     * data with a synthetic data set using known IDs. Settings from
+     * application.yml are overridden as command-line arguments.
+     */
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(WasteManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run("--spring.jpa.show-sql=false",
+                        "--wastemanagement.cache.enabled=" + cacheEnabled);
+        categoryService = context.getBean(WasteCategoryService.class);
+        tipService = context.getBean(RecyclingTipService.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM disposal_guidelines");
+        jdbcTemplate.update("DELETE FROM recycling_tips");
+        jdbcTemplate.update("DELETE FROM waste_categories");
+        List<Object[]> categoryRows = new ArrayList<>();
+        for (int i = 1; i <= categories; i++) {
+            categoryRows.add(new Object[]{(long) i, "Category " + i, "Description " + i,
+                    tips / categories});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO waste_categories "
+                + "(id, name, description, guideline_count, tip_count) VALUES (?, ?, ?, 0, ?)",
+                categoryRows);
+        List<Object[]> tipRows = new ArrayList<>();
+        for (int i = 1; i <= tips; i++) {
+            tipRows.add(new Object[]{(long) i, "Tip " + i, CONTENT, (long) (i % categories) + 1});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO recycling_tips (id, title, content, category_id) "
+                + "VALUES (?, ?, ?, ?)", tipRows);
+    }
+
+    @Benchmark
+    public Optional<RecyclingTip> getTipById() {
+        return tipService.getTipById(ThreadLocalRandom.current().nextLong(1, tips + 1));
+    }
+
+    @Benchmark
+    public Optional<WasteCategoryDTO> getCategorySummaryById() {
+        return categoryService.getCategorySummaryById(
+                ThreadLocalRandom.current().nextLong(1, categories + 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Runs the benchmark in the current JVM, so it works from the Maven test classpath.
+     * Accepts the usual JMH options, e.g. {@code -p cacheEnabled=true -p tips=50000}.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(EntityCacheBenchmark.class.getSimpleName())
+                .forks(0)
+                .build()).run();
+    }
+}
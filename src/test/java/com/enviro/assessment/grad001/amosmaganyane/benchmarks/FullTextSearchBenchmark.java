@@ -0,0 +1,168 @@
+package com.enviro.assessment.grad001.amosmaganyane.benchmarks;
+
+import com.enviro.assessment.grad001.amosmaganyane.WasteManagementApplication;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SearchHitDTO;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.services.FullTextIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ranked full-text search over a large catalog: a query for a rare
+ * word, for the most common word, for two common words, for guidelines
+ * only, and applying an edited tip to the index. Run with
+ * {@link #main(String[])}; a million documents need a heap of about 2 GB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FullTextSearchBenchmark {
+
+    private static final int CATEGORIES = 1_000;
+    private static final int VOCABULARY = 20_000;
+    private static final String[] COMMON_WORDS = {
+            "plastic", "bottles", "glass", "paper", "rinse", "recycle", "compost", "metal", "cans", "waste"};
+    private static final int BATCH_SIZE = 10_000;
+
+    // Tips and guidelines together; one in ten is a guideline
+    @Param({"1000000"})
+    private int documents;
+
+    private ConfigurableApplicationContext context;
+    private FullTextIndex fullTextIndex;
+    private WasteCategory category;
+    private long editedTip;
+
+    /**
+     * Starts the application without a web server, replaces the sample data
+     * with generated categories, tips and guidelines, and builds the index.
+     * Words are drawn so that a few are very common and most are rare, as
+     * in natural text.
+     */
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(WasteManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run("--spring.jpa.show-sql=false");
+        fullTextIndex = context.getBean(FullTextIndex.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM disposal_guidelines");
+        jdbcTemplate.update("DELETE FROM recycling_tips");
+        jdbcTemplate.update("DELETE FROM waste_categories");
+        Random random = new Random(42);
+        List<Object[]> categoryRows = new ArrayList<>();
+        for (int i = 1; i <= CATEGORIES; i++) {
+            categoryRows.add(new Object[]{(long) i, "Category " + i, text(random, 6)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO waste_categories "
+                + "(id, name, description, guideline_count, tip_count) VALUES (?, ?, ?, 0, 0)", categoryRows);
+        List<Object[]> tipRows = new ArrayList<>();
+        List<Object[]> guidelineRows = new ArrayList<>();
+        for (int i = 1; i <= documents; i++) {
+            Object[] row = {(long) i, text(random, 3), text(random, 12), (long) (i % CATEGORIES + 1)};
+            (i % 10 == 0 ? guidelineRows : tipRows).add(row);
+            if (tipRows.size() == BATCH_SIZE || i == documents) {
+                jdbcTemplate.batchUpdate("INSERT INTO recycling_tips (id, title, content, category_id) "
+                        + "VALUES (?, ?, ?, ?)", tipRows);
+                tipRows.clear();
+            }
+            if (guidelineRows.size() == BATCH_SIZE || i == documents) {
+                jdbcTemplate.batchUpdate("INSERT INTO disposal_guidelines (id, title, instructions, category_id) "
+                        + "VALUES (?, ?, ?, ?)", guidelineRows);
+                guidelineRows.clear();
+            }
+        }
+        fullTextIndex.markStale();
+        fullTextIndex.size();
+        category = new WasteCategory(1L, "Category 1", null);
+    }
+
+    // Common words come first; the cube makes low word numbers much more likely
+    private static String text(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            int word = (int) (VOCABULARY * Math.pow(random.nextDouble(), 3));
+            text.append(word < COMMON_WORDS.length ? COMMON_WORDS[word] : "word" + word).append(' ');
+        }
+        return text.toString();
+    }
+
+    @Benchmark
+    public List<SearchHitDTO> rareWord() {
+        return fullTextIndex.search("word15000", Set.of(), 10);
+    }
+
+    @Benchmark
+    public List<SearchHitDTO> commonWord() {
+        return fullTextIndex.search("plastic", Set.of(), 10);
+    }
+
+    @Benchmark
+    public List<SearchHitDTO> twoCommonWords() {
+        return fullTextIndex.search("rinse glass", Set.of(), 10);
+    }
+
+    @Benchmark
+    public List<SearchHitDTO> typicalQuery() {
+        return fullTextIndex.search("word120 word700", Set.of(), 10);
+    }
+
+    @Benchmark
+    public List<SearchHitDTO> guidelinesOnly() {
+        return fullTextIndex.search("word120", Set.of(FullTextIndex.DocumentType.GUIDELINE), 10);
+    }
+
+    // Outside a transaction the edit is applied at once
+    @Benchmark
+    public void editTip() {
+        long id = ++editedTip % documents + 1;
+        fullTextIndex.tipSaved(new RecyclingTip(id, "Rinse jars", "Rinse glass jars " + id, category));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Runs the benchmark in the current JVM, so it works from the Maven test classpath.
+     * Accepts the usual JMH options, e.g. {@code -p documents=100000}.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(FullTextSearchBenchmark.class.getSimpleName())
+                .forks(0)
+                .build()).run();
+    }
+}
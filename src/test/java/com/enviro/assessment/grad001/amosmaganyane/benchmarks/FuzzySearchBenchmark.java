@@ -0,0 +1,135 @@
+package com.enviro.assessment.grad001.amosmaganyane.benchmarks;
+
+import com.enviro.assessment.grad001.amosmaganyane.WasteManagementApplication;
+import com.enviro.assessment.grad001.amosmaganyane.services.EntityCacheManager;
+import com.enviro.assessment.grad001.amosmaganyane.services.FuzzyIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures typo-tolerant searches of tip titles as the number of titles,
+ * and so of distinct words, grows. Each title ends with its own number, so
+ * the vocabulary grows with the titles. The keywords are a long word with
+ * one typo and with two, a word of one in a thousand titles with a typo,
+ * and two misspelt words together. Run with {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FuzzySearchBenchmark {
+
+    private static final long CATEGORY_ID = 1L;
+    private static final String[] WORDS = {
+            "Rinse", "Bottles", "Glass", "Paper", "Cardboard", "Compost", "Metal", "Cans", "Jars", "Lids",
+            "Flatten", "Boxes", "Remove", "Caps", "Sort", "Clean", "Dry", "Bags", "Foil", "Cartons",
+            "Aluminium", "Polystyrene", "Batteries", "Electronics"};
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int titles;
+
+    private ConfigurableApplicationContext context;
+    private FuzzyIndex fuzzyIndex;
+
+    /**
+     * Starts the application without a web server, replaces the sample data
+     * with generated tips of three or four words and a number, and builds the
+     * index. Every thousandth title mentions styrofoam.
+     */
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(WasteManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run("--spring.jpa.show-sql=false");
+        fuzzyIndex = context.getBean(FuzzyIndex.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM disposal_guidelines");
+        jdbcTemplate.update("DELETE FROM recycling_tips");
+        jdbcTemplate.update("DELETE FROM waste_categories");
+        jdbcTemplate.update("INSERT INTO waste_categories "
+                + "(id, name, description, guideline_count, tip_count) VALUES (?, ?, ?, 0, ?)",
+                CATEGORY_ID, "Recyclable Plastic", "Plastic", titles);
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= titles; i++) {
+            StringBuilder title = new StringBuilder();
+            for (int word = 3 + random.nextInt(2); word > 0; word--) {
+                title.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            title.append(i % 1_000 == 0 ? "Styrofoam " : "").append(i);
+            rows.add(new Object[]{(long) i, title.toString(), "Rinse before recycling", CATEGORY_ID});
+            if (rows.size() == BATCH_SIZE || i == titles) {
+                jdbcTemplate.batchUpdate("INSERT INTO recycling_tips (id, title, content, category_id) "
+                        + "VALUES (?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        fuzzyIndex.markStale();
+        fuzzyIndex.vocabularySize(EntityCacheManager.TIPS);
+    }
+
+    @Benchmark
+    public List<Long> oneTypo() {
+        return fuzzyIndex.search(EntityCacheManager.TIPS, "polystyrine");
+    }
+
+    @Benchmark
+    public List<Long> twoTypos() {
+        return fuzzyIndex.search(EntityCacheManager.TIPS, "aluminun");
+    }
+
+    @Benchmark
+    public List<Long> rareWord() {
+        return fuzzyIndex.search(EntityCacheManager.TIPS, "styrofom");
+    }
+
+    @Benchmark
+    public List<Long> twoWords() {
+        return fuzzyIndex.search(EntityCacheManager.TIPS, "styrofom bottels");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Runs the benchmark in the current JVM, so it works from the Maven test classpath.
+     * Accepts the usual JMH options, e.g. {@code -p titles=100000}.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(FuzzySearchBenchmark.class.getSimpleName())
+                .forks(0)
+                .build()).run();
+    }
+}
@@ -0,0 +1,69 @@
+package com.enviro.assessment.grad001.amosmaganyane.controllers;
+
+import com.enviro.assessment.grad001.amosmaganyane.dto.SuggestionDTO;
+import com.enviro.assessment.grad001.amosmaganyane.services.AutocompleteIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AutocompleteController.class)
+@DisplayName("Autocomplete API Tests")
+class AutocompleteControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AutocompleteIndex autocompleteIndex;
+
+    @Test
+    @DisplayName("GET /autocomplete - Should return suggestions of every kind")
+    void testAutocomplete() throws Exception {
+        when(autocompleteIndex.suggest("pla", 10)).thenReturn(List.of(
+                new SuggestionDTO("category", 1L, 1L, "Recyclable Plastic"),
+                new SuggestionDTO("tip", 3L, 1L, "Plastic Bags")));
+
+        mockMvc.perform(get("/wastemanagementapi/autocomplete").param("prefix", "pla"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].type").value("category"))
+                .andExpect(jsonPath("$[0].text").value("Recyclable Plastic"))
+                .andExpect(jsonPath("$[1].id").value(3))
+                .andExpect(jsonPath("$[1].categoryId").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /autocomplete - Should pass the limit on")
+    void testAutocompleteWithLimit() throws Exception {
+        when(autocompleteIndex.suggest("bat", 3)).thenReturn(List.of(
+                new SuggestionDTO("guideline", 2L, 4L, "Batteries")));
+
+        mockMvc.perform(get("/wastemanagementapi/autocomplete").param("prefix", "bat").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("guideline"));
+    }
+
+    @Test
+    @DisplayName("GET /autocomplete - Should reject a limit outside 1 to 10")
+    void testAutocompleteBadRequest() throws Exception {
+        mockMvc.perform(get("/wastemanagementapi/autocomplete").param("prefix", "bat").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/wastemanagementapi/autocomplete").param("prefix", "bat").param("limit", "11"))
+                .andExpect(status().isBadRequest());
+
+        verify(autocompleteIndex, never()).suggest(anyString(), anyInt());
+    }
+}
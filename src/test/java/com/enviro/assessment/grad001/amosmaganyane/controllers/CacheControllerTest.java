@@ -0,0 +1,114 @@
+package com.enviro.assessment.grad001.amosmaganyane.controllers;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.BoundedRegionFactory;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SearchKeywordDTO;
+import com.enviro.assessment.grad001.amosmaganyane.services.CacheStats;
+import com.enviro.assessment.grad001.amosmaganyane.services.EntityCacheManager;
+import com.enviro.assessment.grad001.amosmaganyane.services.ResponseBodyCache;
+import com.enviro.assessment.grad001.amosmaganyane.services.SearchResultCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CacheController.class)
+@DisplayName("Cache API Tests")
+class CacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EntityCacheManager cacheManager;
+
+    @MockitoBean
+    private ResponseBodyCache responseCache;
+
+    @MockitoBean
+    private BoundedRegionFactory regionFactory;
+
+    @MockitoBean
+    private SearchResultCache searchCache;
+
+    @Test
+    @DisplayName("GET /caches - Should return the statistics of each cache")
+    void testGetCacheStats() throws Exception {
+        when(cacheManager.getStats()).thenReturn(List.of(
+                new CacheStats("tips", true, 3, 100, 9, 3, 1, 0)));
+        when(responseCache.getStats()).thenReturn(new CacheStats("responses", true, 1, 1, 4, 1, 0, 0));
+        when(searchCache.getStats()).thenReturn(new CacheStats("search", true, 2, 1_000, 1, 3, 0, 0));
+
+        mockMvc.perform(get("/wastemanagementapi/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("tips"))
+                .andExpect(jsonPath("$[0].size").value(3))
+                .andExpect(jsonPath("$[0].hits").value(9))
+                .andExpect(jsonPath("$[0].misses").value(3))
+                .andExpect(jsonPath("$[0].evictions").value(1))
+                .andExpect(jsonPath("$[0].hitRate").value(0.75))
+                .andExpect(jsonPath("$[1].name").value("responses"))
+                .andExpect(jsonPath("$[1].hits").value(4))
+                .andExpect(jsonPath("$[2].name").value("search"))
+                .andExpect(jsonPath("$[2].hitRate").value(0.25));
+    }
+
+    @Test
+    @DisplayName("GET /caches/search/keywords - Should return the most searched keywords")
+    void testGetTopSearchKeywords() throws Exception {
+        when(searchCache.getTopKeywords(2)).thenReturn(List.of(
+                new SearchKeywordDTO("tips", "plastic", 12, 3),
+                new SearchKeywordDTO("categories", "waste", 5, 4)));
+
+        mockMvc.perform(get("/wastemanagementapi/caches/search/keywords").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].collection").value("tips"))
+                .andExpect(jsonPath("$[0].keyword").value("plastic"))
+                .andExpect(jsonPath("$[0].hits").value(12))
+                .andExpect(jsonPath("$[1].results").value(4));
+    }
+
+    @Test
+    @DisplayName("GET /caches/search/keywords - Should return 400 for a limit below 1")
+    void testGetTopSearchKeywordsInvalidLimit() throws Exception {
+        mockMvc.perform(get("/wastemanagementapi/caches/search/keywords").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(searchCache, never()).getTopKeywords(0);
+    }
+
+    @Test
+    @DisplayName("GET /caches/second-level - Should return the statistics of each region")
+    void testGetSecondLevelCacheStats() throws Exception {
+        when(regionFactory.getStats()).thenReturn(List.of(
+                new CacheStats("categories", true, 2, 10_000, 6, 2, 0, 0),
+                new CacheStats("default-query-results-region", true, 1, 1_000, 1, 1, 0, 0)));
+
+        mockMvc.perform(get("/wastemanagementapi/caches/second-level"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("categories"))
+                .andExpect(jsonPath("$[0].hitRate").value(0.75))
+                .andExpect(jsonPath("$[1].name").value("default-query-results-region"))
+                .andExpect(jsonPath("$[1].maxSize").value(1000));
+    }
+
+    @Test
+    @DisplayName("DELETE /caches - Should clear every cache")
+    void testClearCaches() throws Exception {
+        mockMvc.perform(delete("/wastemanagementapi/caches"))
+                .andExpect(status().isNoContent());
+
+        verify(cacheManager).invalidateAll();
+    }
+}
@@ -1,15 +1,24 @@
 package com.enviro.assessment.grad001.amosmaganyane.controllers;
 
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheConfig;
+import com.enviro.assessment.grad001.amosmaganyane.config.CatalogProperties;
 import com.enviro.assessment.grad001.amosmaganyane.dto.DisposalGuidelineDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
 import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
 import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.services.CatalogReadModel;
+import com.enviro.assessment.grad001.amosmaganyane.services.CatalogSnapshot;
 import com.enviro.assessment.grad001.amosmaganyane.services.DisposalGuidelineService;
+import com.enviro.assessment.grad001.amosmaganyane.services.EntityCacheManager;
+import com.enviro.assessment.grad001.amosmaganyane.services.ResponseBodyCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -18,12 +27,17 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(DisposalGuidelineController.class)
+@Import({CacheConfig.class, ResponseBodyCache.class})
 @DisplayName("Disposal Guidelines API Tests")
 class DisposalGuidelineControllerTest {
 
@@ -33,9 +47,15 @@ class DisposalGuidelineControllerTest {
     @MockitoBean
     private DisposalGuidelineService guidelineService;
 
+    @MockitoBean
+    private CatalogReadModel catalog;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityCacheManager cacheManager;
+
     private WasteCategory testCategory;
     private DisposalGuideline testGuideline;
 
@@ -44,6 +64,8 @@ class DisposalGuidelineControllerTest {
         testCategory = new WasteCategory(1L, "Hazardous", "Description");
         testGuideline = new DisposalGuideline(1L, "Battery Disposal",
                 "Proper steps for battery disposal", testCategory);
+        // The mocked service returns different data in each test, as if it had been written
+        cacheManager.invalidateAll();
     }
 
     @Test
@@ -195,6 +217,22 @@ class DisposalGuidelineControllerTest {
                 .andExpect(jsonPath("$[1].title").value("Car Battery Guidelines"));
     }
 
+    @Test
+    @DisplayName("GET /guidelines/search?fuzzy=true - Should return guidelines matching the keyword despite typos")
+    void testFuzzySearchGuidelines() throws Exception {
+        when(guidelineService.fuzzySearchGuidelines("baterry")).thenReturn(List.of(
+                new DisposalGuideline(1L, "Battery Disposal", "Instructions for batteries", testCategory)));
+
+        mockMvc.perform(get("/wastemanagementapi/guidelines/search")
+                        .param("keyword", "baterry")
+                        .param("fuzzy", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Battery Disposal"));
+
+        verify(guidelineService, never()).searchGuidelines(anyString());
+    }
+
     @Test
     @DisplayName("GET /guidelines/search - Should return all guidelines when keyword is empty")
     void testSearchGuidelinesWithEmptyKeyword() throws Exception {
@@ -223,4 +261,60 @@ class DisposalGuidelineControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(0));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /guidelines/{id} - Should serve a guideline from the catalog snapshot when enabled")
+    void testGetGuidelineByIdFromCatalog() throws Exception {
+        when(catalog.serves(CatalogProperties.Endpoint.GUIDELINE_BY_ID)).thenReturn(true);
+        when(catalog.getSnapshot()).thenReturn(new CatalogSnapshot(1,
+                List.of(WasteCategoryDTO.fromEntity(testCategory)),
+                List.of(),
+                List.of(new DisposalGuidelineDTO(7L, "Batteries", "Take batteries to a drop-off point",
+                        1L, "Hazardous"))));
+
+        mockMvc.perform(get("/wastemanagementapi/guidelines/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Batteries"));
+        mockMvc.perform(get("/wastemanagementapi/guidelines/8"))
+                .andExpect(status().isNotFound());
+        verify(guidelineService, never()).getGuidelineById(any());
+    }
+
+    @Test
+    @DisplayName("GET /guidelines - Should return 304 for a current ETag without loading guidelines")
+    void testGetAllGuidelinesNotModified() throws Exception {
+        when(guidelineService.getAllGuidelines()).thenReturn(List.of(testGuideline));
+        String eTag = mockMvc.perform(get("/wastemanagementapi/guidelines"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/wastemanagementapi/guidelines").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(guidelineService, times(1)).getAllGuidelines();
+
+        cacheManager.getCache(EntityCacheManager.GUIDELINES).invalidate(7L);
+        mockMvc.perform(get("/wastemanagementapi/guidelines").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /categories/{categoryId}/guidelines - Should change the ETag when the category changes")
+    void testGetGuidelinesByCategoryNotModified() throws Exception {
+        when(guidelineService.getGuidelinesByCategory(1L)).thenReturn(List.of(testGuideline));
+        String eTag = mockMvc.perform(get("/wastemanagementapi/categories/1/guidelines"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        cacheManager.getCache(EntityCacheManager.CATEGORIES).invalidate(2L);
+        mockMvc.perform(get("/wastemanagementapi/categories/1/guidelines")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        cacheManager.getCache(EntityCacheManager.CATEGORIES).invalidate(1L);
+        mockMvc.perform(get("/wastemanagementapi/categories/1/guidelines")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Battery Disposal"));
+    }
+}
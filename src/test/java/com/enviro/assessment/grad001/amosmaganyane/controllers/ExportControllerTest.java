@@ -0,0 +1,86 @@
+package com.enviro.assessment.grad001.amosmaganyane.controllers;
+
+import com.enviro.assessment.grad001.amosmaganyane.services.DataExportService;
+import com.enviro.assessment.grad001.amosmaganyane.services.ImportJob;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExportController.class)
+@DisplayName("Data Export API Tests")
+class ExportControllerTest {
+
+    private static final String CSV = "title,content,category_name\n" +
+            "\"Paper\",\"Keep paper clean and dry\",\"Recyclable Paper\"\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private DataExportService exportService;
+
+    @Test
+    @DisplayName("GET /export/{entity} - Should stream a CSV dump as an attachment")
+    void testExportCsv() throws Exception {
+        when(exportService.fileName(ImportJob.Entity.TIPS, DataExportService.Format.CSV))
+                .thenReturn("recycling_tips.csv");
+        when(exportService.export(eq(ImportJob.Entity.TIPS), eq(DataExportService.Format.CSV),
+                any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.getArgument(2, OutputStream.class).write(CSV.getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/wastemanagementapi/export/tips"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"recycling_tips.csv\""))
+                .andExpect(content().string(CSV));
+    }
+
+    @Test
+    @DisplayName("GET /export/{entity}?format=ndjson - Should stream NDJSON")
+    void testExportNdjson() throws Exception {
+        when(exportService.fileName(ImportJob.Entity.CATEGORIES, DataExportService.Format.NDJSON))
+                .thenReturn("categories.ndjson");
+
+        MvcResult result = mockMvc.perform(get("/wastemanagementapi/export/categories")
+                        .param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"));
+        verify(exportService).export(eq(ImportJob.Entity.CATEGORIES),
+                eq(DataExportService.Format.NDJSON), any(OutputStream.class));
+    }
+
+    @Test
+    @DisplayName("GET /export/{entity} - Should return 400 for an unknown entity or format")
+    void testExportRejectsUnknownEntityOrFormat() throws Exception {
+        mockMvc.perform(get("/wastemanagementapi/export/users"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/wastemanagementapi/export/tips").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verify(exportService, never()).export(any(), any(), any());
+    }
+}
@@ -0,0 +1,129 @@
+package com.enviro.assessment.grad001.amosmaganyane.controllers;
+
+import com.enviro.assessment.grad001.amosmaganyane.services.CsvImportService;
+import com.enviro.assessment.grad001.amosmaganyane.services.ImportJob;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ImportController.class)
+@DisplayName("Data Import API Tests")
+class ImportControllerTest {
+
+    private static final String CSV = "title,content,category_name\n" +
+            "\"Paper\",\"Keep paper clean and dry\",\"Recyclable Paper\"\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CsvImportService importService;
+
+    @Test
+    @DisplayName("POST /import/{entity} - Should start an import from a text/csv body")
+    void testImportRawCsv() throws Exception {
+        ImportJob job = new ImportJob(ImportJob.Entity.TIPS);
+        when(importService.submit(eq("tips"), any(InputStream.class))).thenReturn(job);
+
+        mockMvc.perform(post("/wastemanagementapi/import/tips")
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value(job.getId()))
+                .andExpect(jsonPath("$.entity").value("tips"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    @DisplayName("POST /import/{entity} - Should start an import from a multipart upload")
+    void testImportMultipartFile() throws Exception {
+        ImportJob job = new ImportJob(ImportJob.Entity.GUIDELINES);
+        List<String> transferred = new ArrayList<>();
+        when(importService.submit(eq("guidelines"), any(CsvImportService.Upload.class)))
+                .thenAnswer(invocation -> {
+                    Path target = Files.createTempFile("upload-", ".csv");
+                    try {
+                        invocation.<CsvImportService.Upload>getArgument(1).transferTo(target.toFile());
+                        transferred.add(Files.readString(target));
+                    } finally {
+                        Files.deleteIfExists(target);
+                    }
+                    return job;
+                });
+
+        mockMvc.perform(multipart("/wastemanagementapi/import/guidelines")
+                        .file(new MockMultipartFile("file", "guidelines.csv",
+                                "text/csv", CSV.getBytes())))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.entity").value("guidelines"));
+        assertEquals(List.of(CSV), transferred);
+    }
+
+    @Test
+    @DisplayName("POST /import/{entity} - Should return 400 for an unknown entity")
+    void testImportUnknownEntity() throws Exception {
+        when(importService.submit(eq("bins"), any(InputStream.class)))
+                .thenThrow(new IllegalArgumentException("Unknown import entity: bins"));
+
+        mockMvc.perform(post("/wastemanagementapi/import/bins")
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /import/{entity} - Should return 503 when the import queue is full")
+    void testImportQueueFull() throws Exception {
+        when(importService.submit(eq("tips"), any(InputStream.class)))
+                .thenThrow(new TaskRejectedException("Import queue is full"));
+
+        mockMvc.perform(post("/wastemanagementapi/import/tips")
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @DisplayName("GET /import/jobs/{jobId} - Should return job progress")
+    void testGetJob() throws Exception {
+        ImportJob job = new ImportJob(ImportJob.Entity.CATEGORIES);
+        job.getReport().addRowsRead(10);
+        job.getReport().addRowsWritten(8);
+        job.getReport().addRowsRejected(2);
+        when(importService.getJob(job.getId())).thenReturn(Optional.of(job));
+
+        mockMvc.perform(get("/wastemanagementapi/import/jobs/" + job.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(10))
+                .andExpect(jsonPath("$.rowsCommitted").value(8))
+                .andExpect(jsonPath("$.rowsRejected").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /import/jobs/{jobId} - Should return 404 for an unknown job")
+    void testGetUnknownJob() throws Exception {
+        when(importService.getJob("missing")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/wastemanagementapi/import/jobs/missing"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,68 @@
+package com.enviro.assessment.grad001.amosmaganyane.controllers;
+
+import com.enviro.assessment.grad001.amosmaganyane.services.DataLoadProgress;
+import com.enviro.assessment.grad001.amosmaganyane.services.DataLoaderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReadinessController.class)
+@DisplayName("Readiness API Tests")
+class ReadinessControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private DataLoaderService dataLoaderService;
+
+    private void givenProgress(DataLoadProgress.Status status, int percent, String error) {
+        DataLoadProgress progress = mock(DataLoadProgress.class);
+        when(progress.getStatus()).thenReturn(status);
+        when(progress.isReady()).thenReturn(status == DataLoadProgress.Status.READY);
+        when(progress.getPercentComplete()).thenReturn(percent);
+        when(progress.getError()).thenReturn(error);
+        when(dataLoaderService.getProgress()).thenReturn(progress);
+    }
+
+    @Test
+    @DisplayName("GET /readiness - Should return 200 once data is loaded")
+    void testReadinessWhenReady() throws Exception {
+        givenProgress(DataLoadProgress.Status.READY, 100, null);
+
+        mockMvc.perform(get("/wastemanagementapi/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("READY"))
+                .andExpect(jsonPath("$.percentComplete").value(100));
+    }
+
+    @Test
+    @DisplayName("GET /readiness - Should return 503 with progress while loading")
+    void testReadinessWhileLoading() throws Exception {
+        givenProgress(DataLoadProgress.Status.LOADING, 42, null);
+
+        mockMvc.perform(get("/wastemanagementapi/readiness"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value("LOADING"))
+                .andExpect(jsonPath("$.percentComplete").value(42));
+    }
+
+    @Test
+    @DisplayName("GET /readiness - Should return 503 with the error when loading failed")
+    void testReadinessWhenFailed() throws Exception {
+        givenProgress(DataLoadProgress.Status.FAILED, 10, "Failed to parse CSV data");
+
+        mockMvc.perform(get("/wastemanagementapi/readiness"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value("FAILED"))
+                .andExpect(jsonPath("$.error").value("Failed to parse CSV data"));
+    }
+}
@@ -1,8 +1,15 @@
 package com.enviro.assessment.grad001.amosmaganyane.controllers;
 
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheConfig;
+import com.enviro.assessment.grad001.amosmaganyane.config.CatalogProperties;
 import com.enviro.assessment.grad001.amosmaganyane.dto.RecyclingTipDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
 import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
 import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.services.CatalogReadModel;
+import com.enviro.assessment.grad001.amosmaganyane.services.CatalogSnapshot;
+import com.enviro.assessment.grad001.amosmaganyane.services.EntityCacheManager;
+import com.enviro.assessment.grad001.amosmaganyane.services.ResponseBodyCache;
 import com.enviro.assessment.grad001.amosmaganyane.services.RecyclingTipService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,20 +17,32 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(RecyclingTipController.class)
+@Import({CacheConfig.class, ResponseBodyCache.class})
 @DisplayName("Recycling Tips API Tests")
 class RecyclingTipControllerTest {
 
@@ -33,9 +52,15 @@ class RecyclingTipControllerTest {
     @MockitoBean
     private RecyclingTipService tipService;
 
+    @MockitoBean
+    private CatalogReadModel catalog;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityCacheManager cacheManager;
+
     private WasteCategory testCategory;
     private RecyclingTip testTip;
 
@@ -44,6 +69,8 @@ class RecyclingTipControllerTest {
         testCategory = new WasteCategory(1L, "Recyclable", "Description");
         testTip = new RecyclingTip(1L, "Paper Recycling",
                 "How to recycle paper properly", testCategory);
+        // The mocked service returns different data in each test, as if it had been written
+        cacheManager.invalidateAll();
     }
 
     @Test
@@ -217,4 +244,117 @@ class RecyclingTipControllerTest {
                 .andExpect(jsonPath("$.length()").value(0));
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("GET /tips/search?fuzzy=true - Should return tips matching the keyword despite typos")
+    void testFuzzySearchTips() throws Exception {
+        when(tipService.fuzzySearchTips("polystyrine")).thenReturn(List.of(
+                new RecyclingTip(2L, "Polystyrene", "Check the code", testCategory),
+                new RecyclingTip(1L, "Rinse Polystyrene Trays", "Rinse first", testCategory)));
+
+        mockMvc.perform(get("/wastemanagementapi/tips/search")
+                        .param("keyword", "polystyrine")
+                        .param("fuzzy", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Polystyrene"));
+
+        verify(tipService, never()).searchTips(anyString());
+    }
+
+    @Test
+    @DisplayName("GET /categories/{categoryId}/tips - Should serve tips from the catalog snapshot when enabled")
+    void testGetTipsByCategoryFromCatalog() throws Exception {
+        when(catalog.serves(CatalogProperties.Endpoint.CATEGORY_TIPS)).thenReturn(true);
+        when(catalog.getSnapshot()).thenReturn(new CatalogSnapshot(1,
+                List.of(WasteCategoryDTO.fromEntity(testCategory)),
+                List.of(new RecyclingTipDTO(5L, "Paper Recycling", "Keep paper clean and dry",
+                        1L, "Recyclable")),
+                List.of()));
+
+        mockMvc.perform(get("/wastemanagementapi/categories/1/tips"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(5));
+        mockMvc.perform(get("/wastemanagementapi/categories/2/tips"))
+                .andExpect(status().isNotFound());
+        verify(tipService, never()).getTipsByCategory(any());
+    }
+
+    @Test
+    @DisplayName("GET /tips - Should return 304 for a current ETag without loading tips")
+    void testGetAllTipsNotModified() throws Exception {
+        when(tipService.getAllTips()).thenReturn(List.of(testTip));
+        String eTag = mockMvc.perform(get("/wastemanagementapi/tips"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/wastemanagementapi/tips").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        verify(tipService, times(1)).getAllTips();
+
+        cacheManager.getCache(EntityCacheManager.TIPS).invalidate(2L);
+        mockMvc.perform(get("/wastemanagementapi/tips").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /tips/{id} - Should keep the ETag of a tip while other tips change")
+    void testGetTipByIdNotModified() throws Exception {
+        when(tipService.getTipById(1L)).thenReturn(Optional.of(testTip));
+        String eTag = mockMvc.perform(get("/wastemanagementapi/tips/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        cacheManager.getCache(EntityCacheManager.TIPS).invalidate(2L);
+        mockMvc.perform(get("/wastemanagementapi/tips/1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        cacheManager.getCache(EntityCacheManager.TIPS).invalidate(1L);
+        mockMvc.perform(get("/wastemanagementapi/tips/1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Paper Recycling"));
+        verify(tipService, times(2)).getTipById(1L);
+    }
+
+    @Test
+    @DisplayName("GET /tips - Should serve repeated requests from the encoded response")
+    void testGetAllTipsFromResponseCache() throws Exception {
+        when(tipService.getAllTips()).thenReturn(List.of(testTip));
+
+        mockMvc.perform(get("/wastemanagementapi/tips"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+        mockMvc.perform(get("/wastemanagementapi/tips"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Paper Recycling"));
+        verify(tipService, times(1)).getAllTips();
+    }
+
+    @Test
+    @DisplayName("GET /tips - Should send a gzip body to clients that accept it")
+    void testGetAllTipsCompressed() throws Exception {
+        List<RecyclingTip> tips = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            tips.add(new RecyclingTip(i, "Paper Recycling " + i, "How to recycle paper properly",
+                    testCategory));
+        }
+        when(tipService.getAllTips()).thenReturn(tips);
+
+        byte[] body = mockMvc.perform(get("/wastemanagementapi/tips")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            RecyclingTipDTO[] decoded = objectMapper.readValue(in, RecyclingTipDTO[].class);
+            assertEquals(50, decoded.length);
+            assertEquals("Paper Recycling 50", decoded[49].getTitle());
+        }
+    }
+}
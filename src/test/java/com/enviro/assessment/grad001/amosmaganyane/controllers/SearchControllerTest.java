@@ -0,0 +1,118 @@
+package com.enviro.assessment.grad001.amosmaganyane.controllers;
+
+import com.enviro.assessment.grad001.amosmaganyane.dto.CategoryFacetDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SearchGroupDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SearchHitDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SearchResultsDTO;
+import com.enviro.assessment.grad001.amosmaganyane.services.FullTextIndex;
+import com.enviro.assessment.grad001.amosmaganyane.services.UnifiedSearchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SearchController.class)
+@DisplayName("Search API Tests")
+class SearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private FullTextIndex fullTextIndex;
+
+    @MockitoBean
+    private UnifiedSearchService unifiedSearchService;
+
+    @Test
+    @DisplayName("GET /search - Should return merged and grouped results with category facets")
+    void testSearch() throws Exception {
+        SearchHitDTO tip = new SearchHitDTO("tip", 3L, 1L, "Plastic", 4.0);
+        SearchHitDTO category = new SearchHitDTO("category", 1L, 1L, "Plastics", 2.875);
+        when(unifiedSearchService.search("plastic", 10)).thenReturn(new SearchResultsDTO("plastic",
+                List.of(tip, category),
+                List.of(new SearchGroupDTO("tip", 1, List.of(tip)),
+                        new SearchGroupDTO("category", 1, List.of(category))),
+                List.of(new CategoryFacetDTO(1L, "Plastics", 2)),
+                List.of("guideline")));
+
+        mockMvc.perform(get("/wastemanagementapi/search").param("q", "plastic"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.query").value("plastic"))
+                .andExpect(jsonPath("$.hits[0].type").value("tip"))
+                .andExpect(jsonPath("$.groups[1].type").value("category"))
+                .andExpect(jsonPath("$.groups[1].total").value(1))
+                .andExpect(jsonPath("$.groups[1].hits[0].title").value("Plastics"))
+                .andExpect(jsonPath("$.facets[0].categoryName").value("Plastics"))
+                .andExpect(jsonPath("$.facets[0].count").value(2))
+                .andExpect(jsonPath("$.unavailable[0]").value("guideline"));
+    }
+
+    @Test
+    @DisplayName("GET /search - Should reject a blank query or a limit below 1")
+    void testSearchBadRequest() throws Exception {
+        when(unifiedSearchService.search(" ", 10)).thenThrow(new IllegalArgumentException("blank"));
+
+        mockMvc.perform(get("/wastemanagementapi/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/wastemanagementapi/search"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /search/ranked - Should return ranked results of every kind")
+    void testSearchRanked() throws Exception {
+        when(fullTextIndex.search("plastic bottles", Set.of(), 10)).thenReturn(List.of(
+                new SearchHitDTO("tip", 3L, 1L, "Rinse Bottles", 2.5),
+                new SearchHitDTO("category", 1L, 1L, "Recyclable Plastic", 1.25)));
+
+        mockMvc.perform(get("/wastemanagementapi/search/ranked").param("q", "plastic bottles"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].type").value("tip"))
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(jsonPath("$[0].categoryId").value(1))
+                .andExpect(jsonPath("$[0].score").value(2.5))
+                .andExpect(jsonPath("$[1].title").value("Recyclable Plastic"));
+    }
+
+    @Test
+    @DisplayName("GET /search/ranked - Should filter by kind and limit the results")
+    void testSearchRankedWithTypesAndLimit() throws Exception {
+        when(fullTextIndex.search("paint",
+                Set.of(FullTextIndex.DocumentType.TIP, FullTextIndex.DocumentType.GUIDELINE), 5))
+                .thenReturn(List.of(new SearchHitDTO("guideline", 2L, 4L, "Paint", 1.0)));
+
+        mockMvc.perform(get("/wastemanagementapi/search/ranked")
+                        .param("q", "paint")
+                        .param("type", "tip", "GUIDELINE")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("guideline"));
+    }
+
+    @Test
+    @DisplayName("GET /search/ranked - Should reject an unknown kind or a limit below 1")
+    void testSearchRankedBadRequest() throws Exception {
+        mockMvc.perform(get("/wastemanagementapi/search/ranked").param("q", "paint").param("type", "article"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/wastemanagementapi/search/ranked").param("q", "paint").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(fullTextIndex, never()).search(anyString(), anySet(), anyInt());
+    }
+}
@@ -1,7 +1,15 @@
 package com.enviro.assessment.grad001.amosmaganyane.controllers;
 
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheConfig;
+import com.enviro.assessment.grad001.amosmaganyane.config.CatalogProperties;
+import com.enviro.assessment.grad001.amosmaganyane.dto.LeaderboardEntryDTO;
 import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
 import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.services.CatalogReadModel;
+import com.enviro.assessment.grad001.amosmaganyane.services.CatalogSnapshot;
+import com.enviro.assessment.grad001.amosmaganyane.services.CategoryLeaderboard;
+import com.enviro.assessment.grad001.amosmaganyane.services.EntityCacheManager;
+import com.enviro.assessment.grad001.amosmaganyane.services.ResponseBodyCache;
 import com.enviro.assessment.grad001.amosmaganyane.services.WasteCategoryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +17,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -17,12 +27,19 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(WasteCategoryController.class)
+@Import({CacheConfig.class, ResponseBodyCache.class})
 @DisplayName("Waste Category API Tests")
 class WasteCategoryControllerTest {
 
@@ -32,14 +49,25 @@ class WasteCategoryControllerTest {
     @MockitoBean
     private WasteCategoryService categoryService;
 
+    @MockitoBean
+    private CatalogReadModel catalog;
+
+    @MockitoBean
+    private CategoryLeaderboard leaderboard;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityCacheManager cacheManager;
+
     private WasteCategory testCategory;
 
     @BeforeEach
     void initializeCategory() {
         testCategory = new WasteCategory(1L, "Recyclable", "Items that can be recycled");
+        // The mocked service returns different data in each test, as if it had been written
+        cacheManager.invalidateAll();
     }
 
     @Test
@@ -58,18 +86,21 @@ class WasteCategoryControllerTest {
     @Test
     @DisplayName("GET /categories/{id} - Should return a category when it exists")
     void testGetCategoryById() throws Exception {
-        when(categoryService.getCategoryById(1L)).thenReturn(Optional.of(testCategory));
+        when(categoryService.getCategorySummaryById(1L)).thenReturn(Optional.of(
+                new WasteCategoryDTO(1L, "Recyclable", "Items that can be recycled", 2L, 3L)));
 
         mockMvc.perform(get("/wastemanagementapi/categories/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
-                .andExpect(jsonPath("$.name").value("Recyclable"));
+                .andExpect(jsonPath("$.name").value("Recyclable"))
+                .andExpect(jsonPath("$.guidelinesCount").value(2))
+                .andExpect(jsonPath("$.tipsCount").value(3));
     }
 
     @Test
     @DisplayName("GET /categories/{id} - Should return 404 when category not found")
     void testReturn404WhenCategoryNotFound() throws Exception {
-        when(categoryService.getCategoryById(999L)).thenReturn(Optional.empty());
+        when(categoryService.getCategorySummaryById(999L)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/wastemanagementapi/categories/999"))
                 .andExpect(status().isNotFound());
@@ -78,11 +109,11 @@ class WasteCategoryControllerTest {
     @Test
     @DisplayName("GET /categories - Should return all categories")
     void testGetAllCategories() throws Exception {
-        List<WasteCategory> categories = List.of(
-                testCategory,
-                new WasteCategory(2L, "Organic", "Biodegradable waste")
+        List<WasteCategoryDTO> categories = List.of(
+                WasteCategoryDTO.fromEntity(testCategory),
+                new WasteCategoryDTO(2L, "Organic", "Biodegradable waste", 0L, 0L)
         );
-        when(categoryService.getAllCategories()).thenReturn(categories);
+        when(categoryService.getAllCategorySummaries()).thenReturn(categories);
 
         mockMvc.perform(get("/wastemanagementapi/categories"))
                 .andExpect(status().isOk())
@@ -139,14 +170,44 @@ class WasteCategoryControllerTest {
     void testDeleteCategory() throws Exception {
         mockMvc.perform(delete("/wastemanagementapi/categories/1"))
                 .andExpect(status().isNoContent());
+
+        verify(categoryService).deleteCategory(1L);
+        verify(categoryService, never()).deleteCategoryIfEmpty(any());
+    }
+
+    @Test
+    @DisplayName("DELETE /categories/{id}?mode=safe - Should delete a category without children")
+    void testSafeDeleteCategory() throws Exception {
+        when(categoryService.deleteCategoryIfEmpty(1L)).thenReturn(true);
+        when(categoryService.deleteCategoryIfEmpty(2L)).thenReturn(false);
+        when(categoryService.deleteCategoryIfEmpty(3L)).thenThrow(new IllegalStateException("Category not found"));
+
+        mockMvc.perform(delete("/wastemanagementapi/categories/1").param("mode", "safe"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/wastemanagementapi/categories/2").param("mode", "SAFE"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(delete("/wastemanagementapi/categories/3").param("mode", "safe"))
+                .andExpect(status().isNotFound());
+
+        verify(categoryService, never()).deleteCategory(any());
+    }
+
+    @Test
+    @DisplayName("DELETE /categories/{id}?mode=... - Should return 400 for an unknown mode")
+    void testDeleteCategoryUnknownMode() throws Exception {
+        mockMvc.perform(delete("/wastemanagementapi/categories/1").param("mode", "force"))
+                .andExpect(status().isBadRequest());
+
+        verify(categoryService, never()).deleteCategory(any());
+        verify(categoryService, never()).deleteCategoryIfEmpty(any());
     }
 
     @Test
     @DisplayName("GET /categories/search - Should return categories matching search criteria")
     void testSearchCategories() throws Exception {
         String keyword = "Recyclable";
-        List<WasteCategory> searchResults = List.of(testCategory);
-        when(categoryService.searchCategories(keyword)).thenReturn(searchResults);
+        List<WasteCategoryDTO> searchResults = List.of(WasteCategoryDTO.fromEntity(testCategory));
+        when(categoryService.searchCategorySummaries(keyword)).thenReturn(searchResults);
 
         mockMvc.perform(get("/wastemanagementapi/categories/search")
                         .param("keyword", keyword))
@@ -155,4 +216,111 @@ class WasteCategoryControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Recyclable"));
     }
 
+    @Test
+    @DisplayName("GET /categories/search?fuzzy=true - Should return categories matching the keyword despite typos")
+    void testFuzzySearchCategories() throws Exception {
+        when(categoryService.fuzzySearchCategorySummaries("recylable"))
+                .thenReturn(List.of(WasteCategoryDTO.fromEntity(testCategory)));
+
+        mockMvc.perform(get("/wastemanagementapi/categories/search")
+                        .param("keyword", "recylable")
+                        .param("fuzzy", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Recyclable"));
+
+        verify(categoryService, never()).searchCategorySummaries(anyString());
+    }
+
+    @Test
+    @DisplayName("GET /categories - Should serve categories from the catalog snapshot when enabled")
+    void testGetAllCategoriesFromCatalog() throws Exception {
+        when(catalog.serves(CatalogProperties.Endpoint.CATEGORIES)).thenReturn(true);
+        when(catalog.getSnapshot()).thenReturn(new CatalogSnapshot(1, List.of(
+                new WasteCategoryDTO(1L, "Recyclable", "Items that can be recycled", 0L, 0L)),
+                List.of(), List.of()));
+
+        mockMvc.perform(get("/wastemanagementapi/categories"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Recyclable"));
+        verify(categoryService, never()).getAllCategorySummaries();
+    }
+
+    @Test
+    @DisplayName("GET /categories - Should return 304 for a current ETag without loading categories")
+    void testGetAllCategoriesNotModified() throws Exception {
+        when(categoryService.getAllCategorySummaries()).thenReturn(List.of(
+                new WasteCategoryDTO(1L, "Recyclable", "Items that can be recycled", 2L, 3L)));
+        String eTag = mockMvc.perform(get("/wastemanagementapi/categories"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/wastemanagementapi/categories").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(categoryService, times(1)).getAllCategorySummaries();
+
+        cacheManager.getCache(EntityCacheManager.CATEGORIES).invalidateAll();
+        mockMvc.perform(get("/wastemanagementapi/categories").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Recyclable"));
+    }
+
+    @Test
+    @DisplayName("GET /categories/{id} - Should return 304 until the category changes")
+    void testGetCategoryByIdNotModified() throws Exception {
+        when(categoryService.getCategorySummaryById(1L)).thenReturn(Optional.of(
+                new WasteCategoryDTO(1L, "Recyclable", "Items that can be recycled", 2L, 3L)));
+        String eTag = mockMvc.perform(get("/wastemanagementapi/categories/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/wastemanagementapi/categories/1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        cacheManager.getCache(EntityCacheManager.CATEGORIES).invalidate(1L);
+        mockMvc.perform(get("/wastemanagementapi/categories/1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+        verify(categoryService, times(2)).getCategorySummaryById(1L);
+    }
+
+    @Test
+    @DisplayName("GET /categories/leaderboard - Should return ranked categories with ties")
+    void testGetLeaderboard() throws Exception {
+        when(leaderboard.getTop(CategoryLeaderboard.Ranking.TIPS, 2, true)).thenReturn(List.of(
+                new LeaderboardEntryDTO(1, 4L, "E-Waste", 3, 9),
+                new LeaderboardEntryDTO(2, 1L, "Recyclable", 1, 7),
+                new LeaderboardEntryDTO(2, 3L, "Hazardous", 3, 7)));
+
+        mockMvc.perform(get("/wastemanagementapi/categories/leaderboard")
+                        .param("by", "tips")
+                        .param("limit", "2")
+                        .param("withTies", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].name").value("E-Waste"))
+                .andExpect(jsonPath("$[0].tipsCount").value(9))
+                .andExpect(jsonPath("$[2].rank").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /categories/leaderboard - Should rank by guidelines by default")
+    void testGetLeaderboardDefaults() throws Exception {
+        when(leaderboard.getTop(CategoryLeaderboard.Ranking.GUIDELINES, 10, false)).thenReturn(List.of(
+                new LeaderboardEntryDTO(1, 2L, "Organic", 5, 0)));
+
+        mockMvc.perform(get("/wastemanagementapi/categories/leaderboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].guidelinesCount").value(5));
+    }
+
+    @Test
+    @DisplayName("GET /categories/leaderboard - Should return 400 for an unknown ranking or limit")
+    void testGetLeaderboardInvalid() throws Exception {
+        mockMvc.perform(get("/wastemanagementapi/categories/leaderboard").param("by", "views"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/wastemanagementapi/categories/leaderboard").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        verify(leaderboard, never()).getTop(any(), anyInt(), anyBoolean());
+    }
 }
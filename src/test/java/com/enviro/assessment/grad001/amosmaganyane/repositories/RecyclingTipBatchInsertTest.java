@@ -0,0 +1,89 @@
+package com.enviro.assessment.grad001.amosmaganyane.repositories;
+
+import com.enviro.assessment.grad001.amosmaganyane.models.PooledSequenceGenerator;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import jakarta.persistence.EntityManager;
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that sequence-based identifiers let Hibernate batch inserts
+ * instead of executing one statement per row.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session.events.auto="
+                + "com.enviro.assessment.grad001.amosmaganyane.repositories.RecyclingTipBatchInsertTest$BatchCounter"})
+class RecyclingTipBatchInsertTest {
+
+    private static final int ROW_COUNT = 10_000;
+
+    /**
+     * Counts the JDBC batches executed by every session.
+     */
+    public static class BatchCounter extends BaseSessionEventListener {
+        static final AtomicInteger BATCHES = new AtomicInteger();
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            BATCHES.incrementAndGet();
+        }
+    }
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Autowired
+    private RecyclingTipRepository repository;
+
+    @Autowired
+    private WasteCategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    /**
+     * Saves 10k tips and checks that they are written in exactly as many JDBC
+     * batches as the configured batch size implies, and that the only other
+     * statements are one sequence call per pooled block of IDs.
+     */
+    @Test
+    void shouldBatchInsertsOfTenThousandTips() {
+        WasteCategory category = categoryRepository.save(
+                new WasteCategory(null, "Recyclable", "Description"));
+        entityManager.flush();
+
+        Statistics statistics = entityManager.unwrap(Session.class)
+                .getSessionFactory().getStatistics();
+        statistics.clear();
+        BatchCounter.BATCHES.set(0);
+
+        List<RecyclingTip> tips = new ArrayList<>(ROW_COUNT);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            tips.add(new RecyclingTip(null, "Tip " + i, "Content for tip " + i, category));
+        }
+        repository.saveAll(tips);
+        entityManager.flush();
+
+        assertEquals(ROW_COUNT, statistics.getEntityInsertCount());
+        assertEquals((ROW_COUNT + batchSize - 1) / batchSize, BatchCounter.BATCHES.get());
+        // One INSERT reused by every batch, and one sequence call per block plus
+        // the first call, which the pooled optimizer makes to find where it starts
+        int sequenceCalls = ROW_COUNT / PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE + 1;
+        assertEquals(1 + sequenceCalls, statistics.getPrepareStatementCount());
+        assertEquals(ROW_COUNT, repository.count());
+    }
+}
@@ -0,0 +1,160 @@
+package com.enviro.assessment.grad001.amosmaganyane.repositories;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.BoundedRegionFactory;
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheConfig;
+import com.enviro.assessment.grad001.amosmaganyane.config.SecondLevelCacheConfig;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.services.CacheStats;
+import com.enviro.assessment.grad001.amosmaganyane.services.CategoryLeaderboard;
+import com.enviro.assessment.grad001.amosmaganyane.services.EntityCacheManager;
+import com.enviro.assessment.grad001.amosmaganyane.services.FuzzyIndex;
+import com.enviro.assessment.grad001.amosmaganyane.services.RecyclingTipService;
+import com.enviro.assessment.grad001.amosmaganyane.services.RecyclingTipServiceImpl;
+import com.enviro.assessment.grad001.amosmaganyane.services.SearchResultCache;
+import com.enviro.assessment.grad001.amosmaganyane.services.TrigramIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the Hibernate second-level cache.
+ * Each read runs in its own transaction, so a read served without a
+ * statement came from the second-level cache and not the persistence context.
+ */
+@DataJpaTest
+@AutoConfigureJdbc
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({CacheConfig.class, SecondLevelCacheConfig.class, RecyclingTipServiceImpl.class,
+        CategoryLeaderboard.class, SearchResultCache.class, TrigramIndex.class, FuzzyIndex.class})
+class SecondLevelCacheTest {
+
+    private static final String TIP_CONTENT = "Rinse containers before recycling them";
+
+    @Autowired
+    private WasteCategoryRepository categoryRepository;
+
+    @Autowired
+    private RecyclingTipService tipService;
+
+    @Autowired
+    private EntityCacheManager cacheManager;
+
+    @Autowired
+    private BoundedRegionFactory regionFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long plasticId;
+
+    /**
+     * Empties the tables and the caches, since each test commits its own
+     * data, and creates a category with one tip.
+     */
+    @BeforeEach
+    void createCategory() {
+        jdbcTemplate.update("DELETE FROM disposal_guidelines");
+        jdbcTemplate.update("DELETE FROM recycling_tips");
+        jdbcTemplate.update("DELETE FROM waste_categories");
+        cacheManager.invalidateAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        plasticId = categoryRepository.save(new WasteCategory(null, "Recyclable Plastic", "Plastic")).getId();
+        tipService.createTip(plasticId, new RecyclingTip(null, "Rinse bottles", TIP_CONTENT, null));
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    private long countStatements(Runnable work) {
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> work.run());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private CacheStats region(String name) {
+        return regionFactory.getStats().stream()
+                .filter(stats -> stats.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    /**
+     * Verifies that a category and its tips, once loaded, are read again
+     * without a statement.
+     */
+    @Test
+    void testEntityAndCollectionAreReadFromCache() {
+        inTransaction(() -> categoryRepository.findById(plasticId).orElseThrow().getRecyclingTips().size());
+
+        long statements = countStatements(() -> {
+            WasteCategory category = categoryRepository.findById(plasticId).orElseThrow();
+            assertEquals(List.of("Rinse bottles"), category.getRecyclingTips().stream()
+                    .map(RecyclingTip::getTitle).toList());
+        });
+
+        assertEquals(0, statements);
+        assertTrue(region("categories").getHits() > 0);
+        assertTrue(region("categories.recyclingTips").getHits() > 0);
+    }
+
+    /**
+     * Verifies that adding a tip evicts the cached collection of its category,
+     * and that the native count update evicts the cached category.
+     */
+    @Test
+    void testAddingTipEvictsCollectionAndCount() {
+        inTransaction(() -> categoryRepository.findById(plasticId).orElseThrow().getRecyclingTips().size());
+
+        tipService.createTip(plasticId, new RecyclingTip(null, "Remove caps", TIP_CONTENT, null));
+
+        WasteCategory category = inTransaction(() -> {
+            WasteCategory loaded = categoryRepository.findById(plasticId).orElseThrow();
+            loaded.getRecyclingTips().size();
+            return loaded;
+        });
+        assertEquals(2, category.getRecyclingTips().size());
+        assertEquals(2, category.getTipCount());
+    }
+
+    /**
+     * Verifies that clearing the entity caches after a JDBC write, as the
+     * bulk loaders do, also evicts the second-level cache.
+     */
+    @Test
+    void testJdbcWriteIsSeenAfterInvalidateAll() {
+        inTransaction(() -> categoryRepository.findById(plasticId).orElseThrow());
+
+        jdbcTemplate.update("UPDATE waste_categories SET name = ? WHERE id = ?", "Plastic Bottles", plasticId);
+        cacheManager.invalidateAll();
+
+        assertEquals("Plastic Bottles",
+                inTransaction(() -> categoryRepository.findById(plasticId).orElseThrow().getName()));
+        assertEquals(1, region("categories").getSize());
+    }
+}
@@ -1,9 +1,12 @@
 package com.enviro.assessment.grad001.amosmaganyane.repositories;
 
+import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
 import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
@@ -17,6 +20,15 @@ class WasteCategoryRepositoryTest {
     @Autowired
     private WasteCategoryRepository repository;
 
+    @Autowired
+    private RecyclingTipRepository tipRepository;
+
+    @Autowired
+    private DisposalGuidelineRepository guidelineRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     /**
      * Tests saving and retrieving a waste category with basic attributes.
      */
@@ -94,4 +106,49 @@ class WasteCategoryRepositoryTest {
         assertTrue(repository.existsByNameIgnoreCase("RECYCLABLE"));
         assertFalse(repository.existsByNameIgnoreCase("NonExistent"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests the existence checks for the children of a category, one child
+     * type at a time and both in one query.
+     */
+    @Test
+    void testHasChildrenById() {
+        WasteCategory empty = repository.save(new WasteCategory(null, "Empty", "No children"));
+        WasteCategory withTip = repository.save(new WasteCategory(null, "With Tip", "One tip"));
+        WasteCategory withGuideline = repository.save(new WasteCategory(null, "With Guideline",
+                "One guideline"));
+        tipRepository.save(new RecyclingTip(null, "Rinse", "Rinse containers before recycling", withTip));
+        guidelineRepository.save(new DisposalGuideline(null, "Bottles",
+                "Take bottles to the designated collection point", withGuideline));
+        entityManager.flush();
+
+        assertEquals(false, repository.hasChildrenById(empty.getId()).orElseThrow());
+        assertEquals(true, repository.hasChildrenById(withTip.getId()).orElseThrow());
+        assertEquals(true, repository.hasChildrenById(withGuideline.getId()).orElseThrow());
+        assertTrue(repository.hasChildrenById(-1L).isEmpty());
+
+        assertTrue(tipRepository.existsByCategoryId(withTip.getId()));
+        assertFalse(tipRepository.existsByCategoryId(withGuideline.getId()));
+        assertTrue(guidelineRepository.existsByCategoryId(withGuideline.getId()));
+        assertFalse(guidelineRepository.existsByCategoryId(empty.getId()));
+    }
+
+    /**
+     * Tests that the conditional delete removes only a category without
+     * children, including children not yet flushed.
+     */
+    @Test
+    void testDeleteByIdIfEmpty() {
+        WasteCategory empty = repository.save(new WasteCategory(null, "Empty", "No children"));
+        WasteCategory withTip = repository.save(new WasteCategory(null, "With Tip", "One tip"));
+        tipRepository.save(new RecyclingTip(null, "Rinse", "Rinse containers before recycling", withTip));
+
+        assertEquals(0, repository.deleteByIdIfEmpty(withTip.getId()));
+        assertEquals(1, repository.deleteByIdIfEmpty(empty.getId()));
+        assertEquals(0, repository.deleteByIdIfEmpty(empty.getId()));
+        entityManager.clear();
+
+        assertFalse(repository.existsById(empty.getId()));
+        assertTrue(repository.existsById(withTip.getId()));
+    }
+}
@@ -0,0 +1,110 @@
+package com.enviro.assessment.grad001.amosmaganyane.repositories;
+
+import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
+import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that category summaries are read with a single statement,
+ * whatever the number of categories, tips and guidelines.
+ */
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class WasteCategorySummaryQueryTest {
+
+    @Autowired
+    private WasteCategoryRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void initializeStatistics() {
+        statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+    }
+
+    /**
+     * Saves categories where the i-th one has i % 3 guidelines and i % 5 tips,
+     * then clears the persistence context so nothing is served from memory.
+     */
+    private void saveCategories(int from, int to) {
+        for (int i = from; i < to; i++) {
+            WasteCategory category = new WasteCategory(null, "Category " + i, "Description " + i);
+            for (int g = 0; g < i % 3; g++) {
+                category.addGuideline(new DisposalGuideline(null, "Guideline " + g,
+                        "Instructions for guideline " + g, category));
+            }
+            for (int t = 0; t < i % 5; t++) {
+                category.addRecyclingTip(new RecyclingTip(null, "Tip " + t, "Content for tip " + t, category));
+            }
+            repository.save(category);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long countStatements(Runnable query) {
+        statistics.clear();
+        query.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Checks that listing 10 and then 200 categories prepares the same single
+     * statement, where loading entities and their collections would prepare
+     * two more per category.
+     */
+    @Test
+    void shouldListSummariesWithConstantQueryCount() {
+        saveCategories(0, 10);
+        long small = countStatements(() -> assertEquals(10, repository.findAllSummaries().size()));
+
+        saveCategories(10, 200);
+        long large = countStatements(() -> {
+            List<WasteCategoryDTO> summaries = repository.findAllSummaries();
+            assertEquals(200, summaries.size());
+            for (int i = 0; i < summaries.size(); i++) {
+                assertEquals("Category " + i, summaries.get(i).getName());
+                assertEquals(i % 3, summaries.get(i).getGuidelinesCount());
+                assertEquals(i % 5, summaries.get(i).getTipsCount());
+            }
+        });
+
+        assertEquals(1, small);
+        assertEquals(small, large);
+    }
+
+    /**
+     * Checks that the by-id summary is a single statement with correct counts.
+     */
+    @Test
+    void shouldFindSummaryByIdInOneQuery() {
+        saveCategories(0, 30);
+        Long id = repository.findAllSummaries().get(14).getId();
+
+        long byId = countStatements(() -> {
+            WasteCategoryDTO summary = repository.findSummaryById(id).orElseThrow();
+            assertEquals("Category 14", summary.getName());
+            assertEquals(2, summary.getGuidelinesCount());
+            assertEquals(4, summary.getTipsCount());
+        });
+
+        assertEquals(1, byId);
+        assertTrue(repository.findSummaryById(-1L).isEmpty());
+    }
+}
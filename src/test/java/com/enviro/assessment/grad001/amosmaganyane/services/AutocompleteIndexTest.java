@@ -0,0 +1,251 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheProperties;
+import com.enviro.assessment.grad001.amosmaganyane.dto.DisposalGuidelineDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.RecyclingTipDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SuggestionDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
+import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.RecyclingTipRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for AutocompleteIndex.
+ * The repositories are mocked, so every rebuild from the database is counted.
+ */
+@ExtendWith(MockitoExtension.class)
+class AutocompleteIndexTest {
+
+    @Mock
+    private WasteCategoryRepository categoryRepository;
+
+    @Mock
+    private RecyclingTipRepository tipRepository;
+
+    @Mock
+    private DisposalGuidelineRepository guidelineRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AutocompleteIndex index;
+    private WasteCategory plastic;
+
+    /**
+     * Creates an index over two categories, three tips and one guideline.
+     */
+    @BeforeEach
+    void initializeIndex() {
+        index = new AutocompleteIndex(categoryRepository, tipRepository, guidelineRepository,
+                new TransactionTemplate(transactionManager), new EntityCacheManager(new CacheProperties()));
+        plastic = new WasteCategory(1L, "Recyclable Plastic", "Bottles and containers");
+        when(categoryRepository.findAllSummaries()).thenReturn(List.of(
+                new WasteCategoryDTO(1L, "Recyclable Plastic", "Bottles and containers", 1, 2),
+                new WasteCategoryDTO(2L, "Hazardous", "Batteries and paint", 0, 1)));
+        when(tipRepository.streamAllForExport()).thenAnswer(invocation -> Stream.of(
+                new RecyclingTipDTO(1L, "Rinse Bottles", "Rinse plastic bottles before recycling", 1L, null),
+                new RecyclingTipDTO(2L, "Plastic Caps", "Keep the caps on plastic bottles", 1L, null),
+                new RecyclingTipDTO(3L, "Battery Drop-off", "Take batteries to a collection point", 2L, null)));
+        when(guidelineRepository.streamAllForExport()).thenAnswer(invocation -> Stream.of(
+                new DisposalGuidelineDTO(1L, "Paint", "Never pour paint down the drain", 2L, null)));
+    }
+
+    private List<String> texts(String prefix) {
+        return index.suggest(prefix, AutocompleteIndex.MAX_SUGGESTIONS).stream().map(SuggestionDTO::getText).toList();
+    }
+
+    /**
+     * Verifies that a prefix matches the start of any word, ignoring case and
+     * extra whitespace, and that shorter texts are suggested first.
+     */
+    @Test
+    void testPrefixMatchesWordStarts() {
+        assertEquals(List.of("Plastic Caps", "Recyclable Plastic"), texts("pla"));
+        assertEquals(List.of("Rinse Bottles", "Battery Drop-off"), texts("B"));
+        assertEquals(List.of("Battery Drop-off"), texts("off"));
+        assertEquals(List.of("Rinse Bottles"), texts("  RINSE   bo"));
+        assertEquals(List.of(), texts("astic"));
+        assertEquals(List.of(), texts(" "));
+
+        SuggestionDTO paint = index.suggest("p", 1).get(0);
+        assertEquals("guideline", paint.getType());
+        assertEquals(1L, paint.getId());
+        assertEquals(2L, paint.getCategoryId());
+        assertThrows(IllegalArgumentException.class, () -> index.suggest("p", 11));
+    }
+
+    /**
+     * Verifies that writes reported by the services change the suggestions
+     * without reading from the database again.
+     */
+    @Test
+    void testWritesUpdateIndexWithoutQuery() {
+        assertEquals(6, index.size());
+
+        index.tipSaved(new RecyclingTip(4L, "Glass Jars", "Remove the lids", plastic));
+        index.tipSaved(new RecyclingTip(2L, "Bottle Caps", "Keep the caps on", plastic));
+        index.guidelineDeleted(1L);
+        index.categorySaved(new WasteCategory(2L, "Hazardous Waste", "Batteries and paint"));
+
+        assertEquals(List.of("Glass Jars"), texts("gl"));
+        assertEquals(List.of("Recyclable Plastic"), texts("pla"));
+        assertEquals(List.of("Bottle Caps", "Rinse Bottles", "Battery Drop-off"), texts("b"));
+        assertEquals(List.of(), texts("paint"));
+        assertEquals(List.of("Hazardous Waste"), texts("waste"));
+        assertEquals(6, index.size());
+        verify(categoryRepository, times(1)).findAllSummaries();
+    }
+
+    /**
+     * Verifies that deleting a category removes its tips and guidelines as well.
+     */
+    @Test
+    void testCategoryDeleteRemovesChildren() {
+        index.size();
+        index.categoryDeleted(2L);
+
+        assertEquals(List.of(), texts("hazardous"));
+        assertEquals(List.of("Rinse Bottles"), texts("b"));
+        assertEquals(List.of(), texts("paint"));
+        assertEquals(3, index.size());
+    }
+
+    /**
+     * Verifies that only the best texts are kept per prefix, and that the next
+     * best takes a removed text's place.
+     */
+    @Test
+    void testRemovedSuggestionIsReplaced() {
+        index.size();
+        for (long id = 10; id < 30; id++) {
+            index.tipSaved(new RecyclingTip(id, "Compost " + id, "Add to the compost heap", plastic));
+        }
+
+        assertEquals(List.of("Compost 10", "Compost 11"), index.suggest("comp", 2).stream()
+                .map(SuggestionDTO::getText).toList());
+        index.tipDeleted(10L);
+        index.tipDeleted(11L);
+        assertEquals(10, texts("compost").size());
+        assertEquals("Compost 12", texts("compost").get(0));
+        assertEquals("Compost 21", texts("compost").get(9));
+    }
+
+    /**
+     * Verifies that suggestions stay the same once removed texts are compacted away.
+     */
+    @Test
+    void testCompactionKeepsResults() {
+        index.size();
+        for (long id = 10; id < 3_010; id++) {
+            index.tipSaved(new RecyclingTip(id, "Tip " + id, "Flatten cardboard boxes", plastic));
+        }
+        for (long id = 10; id < 3_000; id++) {
+            index.tipDeleted(id);
+        }
+
+        assertEquals(List.of("Tip 3000", "Tip 3001", "Tip 3002"), index.suggest("tip", 3).stream()
+                .map(SuggestionDTO::getText).toList());
+        assertEquals(List.of("Plastic Caps", "Recyclable Plastic"), texts("pla"));
+        assertEquals(16, index.size());
+    }
+
+    /**
+     * Verifies over random writes that the suggestions equal those of ranking
+     * every matching text, so the lists kept per node are never stale.
+     */
+    @Test
+    void testMatchesFullRankingAfterRandomWrites() {
+        index.size();
+        Random random = new Random(23);
+        // Key "tip:id" or "guideline:id", holding the category ID and the title
+        Map<String, Object[]> expected = new HashMap<>();
+        expected.put("tip:1", new Object[]{1L, "Rinse Bottles"});
+        expected.put("tip:2", new Object[]{1L, "Plastic Caps"});
+        expected.put("tip:3", new Object[]{2L, "Battery Drop-off"});
+        expected.put("guideline:1", new Object[]{2L, "Paint"});
+        for (int i = 0; i < 3_000; i++) {
+            long id = 1 + random.nextInt(60);
+            long categoryId = 1 + random.nextInt(2);
+            WasteCategory category = new WasteCategory(categoryId, "Category", "Description");
+            String title = words(random);
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    index.tipSaved(new RecyclingTip(id, title, "Content", category));
+                    expected.put("tip:" + id, new Object[]{categoryId, title});
+                }
+                case 1 -> {
+                    index.guidelineSaved(new DisposalGuideline(id, title, "Instructions", category));
+                    expected.put("guideline:" + id, new Object[]{categoryId, title});
+                }
+                case 2 -> {
+                    index.tipDeleted(id);
+                    expected.remove("tip:" + id);
+                }
+                default -> {
+                    index.guidelineDeleted(id);
+                    expected.remove("guideline:" + id);
+                }
+            }
+            if (i % 10 == 0) {
+                String prefix = words(random).substring(0, 1 + random.nextInt(4));
+                assertEquals(rankAll(expected, prefix), texts(prefix), prefix);
+            }
+        }
+    }
+
+    private static String words(Random random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 1 + random.nextInt(3); i > 0; i--) {
+            text.append("ab ").append((char) ('a' + random.nextInt(3))).append((char) ('a' + random.nextInt(3)));
+            text.append(random.nextBoolean() ? "-" : "  ");
+        }
+        return text.toString().strip();
+    }
+
+    // Ranks every text with a word starting with the prefix, as the index should
+    private static List<String> rankAll(Map<String, Object[]> texts, String prefix) {
+        String key = AutocompleteIndex.normalize(prefix).stripLeading();
+        List<String[]> matches = new ArrayList<>();
+        texts.forEach((name, value) -> {
+            String text = (String) value[1];
+            String normalized = AutocompleteIndex.normalize(text);
+            for (int i = 0; i < normalized.length(); i++) {
+                boolean wordStart = Character.isLetterOrDigit(normalized.charAt(i))
+                        && (i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1)));
+                if (wordStart && normalized.startsWith(key, i)) {
+                    String[] parts = name.split(":");
+                    matches.add(new String[]{normalized, parts[0], parts[1], text});
+                    break;
+                }
+            }
+        });
+        matches.sort(Comparator.<String[]>comparingInt(match -> match[0].length())
+                .thenComparing(match -> match[0])
+                .thenComparing(match -> match[1].equals("tip") ? 0 : 1)
+                .thenComparingLong(match -> Long.parseLong(match[2])));
+        return matches.stream().limit(AutocompleteIndex.MAX_SUGGESTIONS).map(match -> match[3]).toList();
+    }
+}
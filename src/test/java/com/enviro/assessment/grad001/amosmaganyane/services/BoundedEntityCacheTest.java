@@ -0,0 +1,274 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BoundedEntityCache and EntityCacheManager.
+ * Uses a fake clock so TTL expiry can be tested without waiting.
+ */
+class BoundedEntityCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private BoundedEntityCache<Long, String> createCache(int maxSize) {
+        return new BoundedEntityCache<>("test", maxSize, Duration.ofMinutes(10), clock::get);
+    }
+
+    private Optional<String> load(Long id) {
+        loads.incrementAndGet();
+        return Optional.of("value-" + id);
+    }
+
+    /**
+     * Verifies that the second lookup of a key is a hit and does not call the loader.
+     */
+    @Test
+    void testSecondLookupIsHit() {
+        BoundedEntityCache<Long, String> cache = createCache(10);
+
+        assertEquals(Optional.of("value-1"), cache.get(1L, this::load));
+        assertEquals(Optional.of("value-1"), cache.get(1L, this::load));
+
+        CacheStats stats = cache.getStats();
+        assertEquals(1, loads.get());
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    /**
+     * Verifies that missing entities are not cached, so a later insert is seen.
+     */
+    @Test
+    void testEmptyResultIsNotCached() {
+        BoundedEntityCache<Long, String> cache = createCache(10);
+
+        cache.get(1L, id -> Optional.empty());
+
+        assertEquals(Optional.of("value-1"), cache.get(1L, this::load));
+        assertEquals(0, cache.getStats().getHits());
+    }
+
+    /**
+     * Verifies that the least recently used entry is evicted once the cache is full.
+     */
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        BoundedEntityCache<Long, String> cache = createCache(2);
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(1L, this::load);
+
+        cache.get(3L, this::load);
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        CacheStats stats = cache.getStats();
+        assertEquals(2, stats.getSize());
+        assertEquals(2, stats.getEvictions());
+        assertEquals(4, loads.get());
+    }
+
+    /**
+     * Verifies that an entry older than the TTL is loaded again.
+     */
+    @Test
+    void testExpiredEntryIsReloaded() {
+        BoundedEntityCache<Long, String> cache = createCache(10);
+        cache.get(1L, this::load);
+
+        clock.addAndGet(Duration.ofMinutes(9).toNanos());
+        cache.get(1L, this::load);
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+        cache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getStats().getExpirations());
+    }
+
+    /**
+     * Verifies that invalidate drops one key and invalidateAll drops every key.
+     */
+    @Test
+    void testInvalidation() {
+        BoundedEntityCache<Long, String> cache = createCache(10);
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        cache.invalidate(1L);
+        assertEquals(1, cache.getStats().getSize());
+        cache.invalidateAll();
+        assertEquals(0, cache.getStats().getSize());
+    }
+
+    /**
+     * Verifies that a value loaded while the cache was invalidated is returned
+     * but not stored, since it may be older than the write that invalidated it.
+     */
+    @Test
+    void testValueLoadedDuringInvalidationIsNotStored() {
+        BoundedEntityCache<Long, String> cache = createCache(10);
+
+        Optional<String> stale = cache.get(1L, id -> {
+            cache.invalidate(id);
+            return Optional.of("stale");
+        });
+
+        assertEquals(Optional.of("stale"), stale);
+        assertEquals(0, cache.getStats().getSize());
+    }
+
+    /**
+     * Verifies that invalidating inside a transaction evicts the key again once
+     * the transaction completes, dropping values read before the commit.
+     */
+    @Test
+    void testInvalidationIsRepeatedAfterTransaction() {
+        BoundedEntityCache<Long, String> cache = createCache(10);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(1L);
+            cache.get(1L, id -> Optional.of("uncommitted"));
+            assertEquals(1, cache.getStats().getSize());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, cache.getStats().getSize());
+    }
+
+    /**
+     * Verifies that a disabled manager loads on every lookup but still counts misses.
+     */
+    @Test
+    void testDisabledManagerAlwaysLoads() {
+        CacheProperties properties = new CacheProperties();
+        properties.setEnabled(false);
+        EntityCacheManager manager = new EntityCacheManager(properties);
+        EntityCache<Long, String> cache = manager.getCache(EntityCacheManager.TIPS);
+
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+        CacheStats stats = manager.getStats().get(0);
+        assertFalse(stats.isEnabled());
+        assertEquals(2, stats.getMisses());
+        assertEquals(0, stats.getHits());
+    }
+
+    /**
+     * Verifies that the manager returns the same cache for a name and lists caches by name.
+     */
+    @Test
+    void testManagerReusesCachesByName() {
+        EntityCacheManager manager = new EntityCacheManager(new CacheProperties());
+
+        EntityCache<Long, String> tips = manager.getCache(EntityCacheManager.TIPS);
+        manager.getCache(EntityCacheManager.CATEGORIES);
+
+        assertSame(tips, manager.getCache(EntityCacheManager.TIPS));
+        assertEquals("categories", manager.getStats().get(0).getName());
+        assertEquals("tips", manager.getStats().get(1).getName());
+    }
+
+    /**
+     * Verifies that the change version moves on every invalidation, whether
+     * or not caching is enabled.
+     */
+    @Test
+    void testManagerVersionChangesOnInvalidation() {
+        CacheProperties disabled = new CacheProperties();
+        disabled.setEnabled(false);
+        for (EntityCacheManager manager : List.of(new EntityCacheManager(new CacheProperties()),
+                new EntityCacheManager(disabled))) {
+            EntityCache<Long, String> tips = manager.getCache(EntityCacheManager.TIPS);
+            long before = manager.getVersion();
+
+            tips.get(1L, this::load);
+            assertEquals(before, manager.getVersion());
+            tips.invalidate(1L);
+
+            assertNotEquals(before, manager.getVersion());
+        }
+    }
+
+    /**
+     * Verifies that an entity version changes only when its key or the whole
+     * collection is invalidated, while the collection version changes on both.
+     */
+    @Test
+    void testContentVersionsFollowInvalidatedKeys() {
+        EntityCacheManager manager = new EntityCacheManager(new CacheProperties());
+        EntityCache<Long, String> tips = manager.getCache(EntityCacheManager.TIPS);
+        ContentVersion collection = manager.getContentVersion(EntityCacheManager.TIPS);
+        ContentVersion first = manager.getContentVersion(EntityCacheManager.TIPS, 1L);
+
+        tips.invalidate(2L);
+        assertEquals(first, manager.getContentVersion(EntityCacheManager.TIPS, 1L));
+        assertNotEquals(collection.eTag(), manager.getContentVersion(EntityCacheManager.TIPS).eTag());
+
+        tips.invalidate(1L);
+        ContentVersion changed = manager.getContentVersion(EntityCacheManager.TIPS, 1L);
+        assertNotEquals(first.eTag(), changed.eTag());
+        assertEquals(changed.version(), manager.getContentVersion(EntityCacheManager.TIPS).version());
+
+        tips.invalidateAll();
+        assertTrue(manager.getContentVersion(EntityCacheManager.TIPS, 1L).version() > changed.version());
+        assertTrue(manager.getContentVersion(EntityCacheManager.TIPS, 3L).version() > changed.version());
+    }
+
+    /**
+     * Verifies that versions are recorded again once the writing transaction
+     * completes, so a tag handed out before the commit does not match after it.
+     */
+    @Test
+    void testContentVersionChangesAgainAfterTransaction() {
+        EntityCacheManager manager = new EntityCacheManager(new CacheProperties());
+        EntityCache<Long, String> tips = manager.getCache(EntityCacheManager.TIPS);
+        TransactionSynchronizationManager.initSynchronization();
+        ContentVersion beforeCommit;
+        try {
+            tips.invalidate(1L);
+            beforeCommit = manager.getContentVersion(EntityCacheManager.TIPS, 1L);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNotEquals(beforeCommit.eTag(), manager.getContentVersion(EntityCacheManager.TIPS, 1L).eTag());
+    }
+
+    /**
+     * Verifies that entity tags include the start time of the manager, so tags
+     * issued before a restart never match once versions start again from 0.
+     */
+    @Test
+    void testETagsDifferAcrossRestarts() throws InterruptedException {
+        EntityCacheManager before = new EntityCacheManager(new CacheProperties());
+        String eTag = before.getContentVersion(EntityCacheManager.TIPS).eTag();
+        Thread.sleep(2);
+
+        EntityCacheManager after = new EntityCacheManager(new CacheProperties());
+
+        assertTrue(eTag.startsWith("\"tips-") && eTag.endsWith("-0\""));
+        assertNotEquals(eTag, after.getContentVersion(EntityCacheManager.TIPS).eTag());
+    }
+}
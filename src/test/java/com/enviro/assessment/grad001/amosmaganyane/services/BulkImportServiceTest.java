@@ -0,0 +1,290 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheProperties;
+import com.enviro.assessment.grad001.amosmaganyane.config.SearchCacheProperties;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.RecyclingTipRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BulkImportService.
+ * Verifies chunk validation and batching using a mocked JdbcTemplate.
+ */
+@ExtendWith(MockitoExtension.class)
+class BulkImportServiceTest {
+
+    private static final String VALID_CONTENT = "Rinse containers before recycling them";
+    private static final String VALID_INSTRUCTIONS = "Take to the designated collection point";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private WasteCategoryRepository categoryRepository;
+
+    @Mock
+    private RecyclingTipRepository tipRepository;
+
+    @Mock
+    private DisposalGuidelineRepository guidelineRepository;
+
+    @Mock
+    private TrigramIndex trigramIndex;
+
+    @Mock
+    private FuzzyIndex fuzzyIndex;
+
+    @Mock
+    private EntityIdAllocator idAllocator;
+
+    private EntityCacheManager cacheManager;
+    private BulkImportService service;
+    private Map<String, Long> categoryIds;
+
+    /**
+     * Creates the service with real validation rules and mocked persistence.
+     */
+    @BeforeEach
+    void initializeService() {
+        cacheManager = new EntityCacheManager(new CacheProperties());
+        CategoryLeaderboard leaderboard = new CategoryLeaderboard(categoryRepository, cacheManager);
+        SearchResultCache searchCache = new SearchResultCache(new SearchCacheProperties(), cacheManager);
+        service = new BulkImportService(jdbcTemplate, transactionTemplate,
+                new WasteCategoryServiceImpl(categoryRepository, cacheManager, leaderboard, searchCache,
+                        trigramIndex, fuzzyIndex, List.of()),
+                new RecyclingTipServiceImpl(tipRepository, categoryRepository, cacheManager, leaderboard,
+                        searchCache, trigramIndex, fuzzyIndex, List.of()),
+                new DisposalGuidelineServiceImpl(guidelineRepository, categoryRepository, cacheManager,
+                        leaderboard, searchCache, trigramIndex, fuzzyIndex, List.of()),
+                cacheManager, idAllocator);
+        categoryIds = Map.of("Recyclable Plastic", 1L);
+    }
+
+    private void stubIds(long first) {
+        when(idAllocator.allocate(any(), anyInt())).thenAnswer(invocation ->
+                LongStream.range(first, first + (int) invocation.getArgument(1)).toArray());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    /**
+     * Verifies that writing chunks leaves the caches alone until the caller
+     * reports the import as finished, which empties them once.
+     */
+    @Test
+    void testCachesEmptiedOnlyWhenImportIsFinished() {
+        runTransactionsInline();
+        stubIds(1L);
+        long before = cacheManager.getVersion();
+
+        service.importTips(List.<String[]>of(new String[]{"Bottles", VALID_CONTENT, "Recyclable Plastic"}),
+                categoryIds, false, new ImportReport());
+        service.importTips(List.<String[]>of(new String[]{"Caps", VALID_CONTENT, "Recyclable Plastic"}),
+                categoryIds, false, new ImportReport());
+
+        assertEquals(before, cacheManager.getVersion());
+
+        service.invalidateCaches();
+
+        assertTrue(cacheManager.getVersion() > before);
+    }
+
+    /**
+     * Verifies that a whole chunk of tips is written as one JDBC batch.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportTipsWritesSingleBatch() {
+        runTransactionsInline();
+        stubIds(1L);
+        List<String[]> rows = List.of(
+                new String[]{"Bottles", VALID_CONTENT, "Recyclable Plastic"},
+                new String[]{" Caps ", VALID_CONTENT, " Recyclable Plastic"});
+        ImportReport report = new ImportReport();
+
+        int written = service.importTips(rows, categoryIds, false, report);
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT INTO recycling_tips"),
+                batch.capture());
+        assertEquals(2, written);
+        assertEquals(2, batch.getValue().size());
+        assertArrayEquals(new Object[]{2L, "Caps", VALID_CONTENT, 1L}, batch.getValue().get(1));
+        ArgumentCaptor<List<Object[]>> counts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE waste_categories SET tip_count"),
+                counts.capture());
+        assertArrayEquals(new Object[]{2, 1L}, counts.getValue().get(0));
+        assertEquals(1, report.getBatches());
+        assertEquals(2, report.getRowsWritten());
+        verifyNoInteractions(tipRepository, categoryRepository);
+    }
+
+    /**
+     * Verifies that an invalid row fails the chunk before anything is written.
+     */
+    @Test
+    void testImportTipsFailsChunkOnInvalidRow() {
+        List<String[]> rows = List.of(
+                new String[]{"Bottles", VALID_CONTENT, "Recyclable Plastic"},
+                new String[]{"Caps", "Too short", "Recyclable Plastic"});
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.importTips(rows, categoryIds, false, new ImportReport()));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    /**
+     * Verifies that invalid rows are counted as rejects when skipping is enabled.
+     */
+    @Test
+    void testImportGuidelinesSkipsInvalidRows() {
+        runTransactionsInline();
+        stubIds(1L);
+        List<String[]> rows = List.of(
+                new String[]{"Battery Disposal", VALID_INSTRUCTIONS, "Recyclable Plastic"},
+                new String[]{"Unknown", VALID_INSTRUCTIONS, "Missing Category"},
+                new String[]{"Too short"});
+        ImportReport report = new ImportReport();
+
+        int written = service.importGuidelines(rows, categoryIds, true, report);
+
+        assertEquals(1, written);
+        assertEquals(3, report.getRowsRead());
+        assertEquals(2, report.getRowsRejected());
+    }
+
+    /**
+     * Verifies that category uniqueness is checked in memory, including within the chunk.
+     */
+    @Test
+    void testImportCategoriesRejectsDuplicateNames() {
+        Set<String> knownNames = new HashSet<>(Set.of("hazardous waste"));
+        List<String[]> rows = List.of(
+                new String[]{"Recyclable Glass", "Glass"},
+                new String[]{"RECYCLABLE GLASS", "Duplicate in chunk"},
+                new String[]{"Hazardous Waste", "Duplicate in database"});
+        runTransactionsInline();
+        stubIds(1L);
+        ImportReport report = new ImportReport();
+
+        int written = service.importCategories(rows, knownNames, true, report);
+
+        assertEquals(1, written);
+        assertEquals(2, report.getRowsRejected());
+        assertTrue(knownNames.contains("recyclable glass"));
+        verify(categoryRepository, never()).existsByNameIgnoreCase(any());
+        verify(jdbcTemplate).batchUpdate(eq(
+                "INSERT INTO waste_categories (id, name, description) VALUES (?, ?, ?)"), anyList());
+    }
+
+    /**
+     * Verifies that identifiers for a whole chunk are reserved with one call
+     * to the allocator for the entity and used in the order handed out.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportTipsReservesIdsForTheWholeChunk() {
+        runTransactionsInline();
+        stubIds(51L);
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            rows.add(new String[]{"Tip " + i, VALID_CONTENT, "Recyclable Plastic"});
+        }
+
+        service.importTips(rows, categoryIds, false, new ImportReport());
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO recycling_tips"), batch.capture());
+        verify(idAllocator, times(1)).allocate(RecyclingTip.class, 60);
+        assertEquals(51L, batch.getValue().get(0)[0]);
+        assertEquals(100L, batch.getValue().get(49)[0]);
+        assertEquals(101L, batch.getValue().get(50)[0]);
+        assertEquals(110L, batch.getValue().get(59)[0]);
+    }
+
+    /**
+     * Verifies that an upsert finds existing keys for the whole chunk with one
+     * query, writes one MERGE batch, and reserves identifiers only for new rows.
+     * Only the inserted row is added to the category's stored tip count.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpsertTipsUsesOneLookupAndOneBatchPerChunk() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<int[]>) invocation.getArgument(0)).doInTransaction(null));
+        stubIds(1L);
+        doAnswer(invocation -> {
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.getLong("category_id")).thenReturn(1L);
+            when(resultSet.getString("title")).thenReturn("Bottles");
+            ((RowCallbackHandler) invocation.getArgument(1)).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT category_id, title FROM recycling_tips"),
+                any(RowCallbackHandler.class), any(Object[].class));
+        when(jdbcTemplate.batchUpdate(startsWith("MERGE INTO recycling_tips"), anyList()))
+                .thenReturn(new int[]{1, 1});
+        List<String[]> rows = List.of(
+                new String[]{"Bottles", "Outdated content for bottles", "Recyclable Plastic"},
+                new String[]{"Bottles", VALID_CONTENT, "Recyclable Plastic"},
+                new String[]{"Caps", VALID_CONTENT, "Recyclable Plastic"});
+        ImportReport report = new ImportReport();
+
+        int written = service.upsertTips(rows, categoryIds, false, report);
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("MERGE INTO"), batch.capture());
+        ArgumentCaptor<List<Object[]>> counts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE waste_categories SET tip_count"),
+                counts.capture());
+        assertEquals(1, counts.getValue().size());
+        assertArrayEquals(new Object[]{1, 1L}, counts.getValue().get(0));
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class),
+                any(Object[].class));
+        assertEquals(2, batch.getValue().size());
+        assertArrayEquals(new Object[]{null, "Bottles", VALID_CONTENT, 1L}, batch.getValue().get(0));
+        assertArrayEquals(new Object[]{1L, "Caps", VALID_CONTENT, 1L}, batch.getValue().get(1));
+        assertEquals(2, written);
+        assertEquals(3, report.getRowsRead());
+        assertEquals(1, report.getRowsUpdated());
+        verifyNoInteractions(tipRepository);
+    }
+}
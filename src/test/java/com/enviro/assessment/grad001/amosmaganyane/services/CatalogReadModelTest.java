@@ -0,0 +1,155 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheConfig;
+import com.enviro.assessment.grad001.amosmaganyane.dto.DisposalGuidelineDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.RecyclingTipDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
+import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for CatalogReadModel.
+ * Writes through the services and the bulk importer, and checks that the
+ * next snapshot reflects each committed write.
+ */
+@DataJpaTest
+@AutoConfigureJdbc
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CacheConfig.class, WasteCategoryServiceImpl.class, RecyclingTipServiceImpl.class,
+        DisposalGuidelineServiceImpl.class, BulkImportService.class, CatalogReadModel.class,
+        CategoryLeaderboard.class, SearchResultCache.class, TrigramIndex.class, FuzzyIndex.class,
+        EntityIdAllocator.class})
+class CatalogReadModelTest {
+
+    private static final String TIP_CONTENT = "Rinse containers before recycling them";
+    private static final String INSTRUCTIONS = "Take to the designated collection point";
+
+    @Autowired
+    private WasteCategoryService categoryService;
+
+    @Autowired
+    private RecyclingTipService tipService;
+
+    @Autowired
+    private DisposalGuidelineService guidelineService;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private CatalogReadModel catalog;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long plasticId;
+    private Long hazardousId;
+
+    /**
+     * Empties the tables, since each test commits its own data, and creates two categories.
+     */
+    @BeforeEach
+    void createCategories() {
+        jdbcTemplate.update("DELETE FROM disposal_guidelines");
+        jdbcTemplate.update("DELETE FROM recycling_tips");
+        jdbcTemplate.update("DELETE FROM waste_categories");
+        plasticId = categoryService.createCategory(
+                new WasteCategory(null, "Recyclable Plastic", "Plastic")).getId();
+        hazardousId = categoryService.createCategory(
+                new WasteCategory(null, "Hazardous Waste", "Hazardous")).getId();
+    }
+
+    /**
+     * Verifies that children are grouped under their category, in ID order,
+     * and that unknown IDs are reported as missing.
+     */
+    @Test
+    void testSnapshotGroupsChildrenByCategory() {
+        RecyclingTip rinse = tipService.createTip(plasticId,
+                new RecyclingTip(null, "Rinse", TIP_CONTENT, null));
+        RecyclingTip batteries = tipService.createTip(hazardousId,
+                new RecyclingTip(null, "Batteries", TIP_CONTENT, null));
+        RecyclingTip caps = tipService.createTip(plasticId,
+                new RecyclingTip(null, "Caps", TIP_CONTENT, null));
+        DisposalGuideline paint = guidelineService.createGuideline(hazardousId,
+                new DisposalGuideline(null, "Paint", INSTRUCTIONS, null));
+
+        CatalogSnapshot snapshot = catalog.getSnapshot();
+
+        assertEquals(List.of(rinse.getId(), caps.getId()), snapshot.findTipsByCategory(plasticId)
+                .orElseThrow().stream().map(RecyclingTipDTO::getId).toList());
+        assertEquals(List.of(batteries.getId()), snapshot.findTipsByCategory(hazardousId)
+                .orElseThrow().stream().map(RecyclingTipDTO::getId).toList());
+        assertTrue(snapshot.findGuidelinesByCategory(plasticId).orElseThrow().isEmpty());
+        assertEquals("Paint", snapshot.findGuideline(paint.getId()).map(DisposalGuidelineDTO::getTitle)
+                .orElseThrow());
+        assertEquals("Hazardous Waste", snapshot.findTip(batteries.getId())
+                .map(RecyclingTipDTO::getCategoryName).orElseThrow());
+        WasteCategoryDTO plastic = snapshot.findCategory(plasticId).orElseThrow();
+        assertEquals(2, plastic.getTipsCount());
+        assertTrue(snapshot.findCategory(-1).isEmpty());
+        assertTrue(snapshot.findTipsByCategory(-1).isEmpty());
+        assertTrue(snapshot.findTip(-1).isEmpty());
+    }
+
+    /**
+     * Verifies that the same snapshot is returned while nothing changes, and
+     * that each service write is visible to the next read.
+     */
+    @Test
+    void testSnapshotIsReplacedAfterEachWrite() {
+        CatalogSnapshot first = catalog.getSnapshot();
+        assertSame(first, catalog.getSnapshot());
+
+        RecyclingTip tip = tipService.createTip(plasticId,
+                new RecyclingTip(null, "Rinse", TIP_CONTENT, null));
+        CatalogSnapshot afterCreate = catalog.getSnapshot();
+        assertNotSame(first, afterCreate);
+        assertTrue(afterCreate.findTip(tip.getId()).isPresent());
+
+        tipService.updateTip(tip.getId(), new RecyclingTip(null, "Rinse well", TIP_CONTENT, null));
+        assertEquals("Rinse well", catalog.getSnapshot().findTip(tip.getId())
+                .map(RecyclingTipDTO::getTitle).orElseThrow());
+
+        tipService.deleteTip(tip.getId());
+        assertTrue(catalog.getSnapshot().findTip(tip.getId()).isEmpty());
+
+        categoryService.deleteCategory(hazardousId);
+        assertEquals(List.of("Recyclable Plastic"), catalog.getSnapshot().getCategories().stream()
+                .map(WasteCategoryDTO::getName).toList());
+    }
+
+    /**
+     * Verifies that rows written by the bulk importer, which bypasses the
+     * services, are picked up by the next snapshot once the import is finished.
+     */
+    @Test
+    void testSnapshotSeesBulkImports() {
+        catalog.getSnapshot();
+        List<String[]> tips = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            tips.add(new String[]{"Tip " + i, TIP_CONTENT, "Recyclable Plastic"});
+        }
+
+        bulkImportService.importTips(tips, bulkImportService.findCategoryIds(), false,
+                new ImportReport());
+        bulkImportService.invalidateCaches();
+
+        assertEquals(120, catalog.getSnapshot().findTipsByCategory(plasticId).orElseThrow().size());
+    }
+}
@@ -0,0 +1,210 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheConfig;
+import com.enviro.assessment.grad001.amosmaganyane.dto.LeaderboardEntryDTO;
+import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the guideline and tip counters stored on each category.
+ * Writes rows through every path that maintains the counters and checks the
+ * stored values against the child tables.
+ */
+@DataJpaTest
+@AutoConfigureJdbc
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CacheConfig.class, WasteCategoryServiceImpl.class, RecyclingTipServiceImpl.class,
+        DisposalGuidelineServiceImpl.class, BulkImportService.class, CategoryCounterReconciler.class,
+        CategoryLeaderboard.class, SearchResultCache.class, TrigramIndex.class, FuzzyIndex.class,
+        EntityIdAllocator.class})
+class CategoryCounterTest {
+
+    private static final String TIP_CONTENT = "Rinse containers before recycling them";
+    private static final String INSTRUCTIONS = "Take to the designated collection point";
+
+    @Autowired
+    private WasteCategoryRepository categoryRepository;
+
+    @Autowired
+    private WasteCategoryService categoryService;
+
+    @Autowired
+    private RecyclingTipService tipService;
+
+    @Autowired
+    private DisposalGuidelineService guidelineService;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private CategoryCounterReconciler reconciler;
+
+    @Autowired
+    private CategoryLeaderboard leaderboard;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long categoryId;
+
+    /**
+     * Empties the tables, since each test commits its own data, and creates a category.
+     */
+    @BeforeEach
+    void createCategory() {
+        jdbcTemplate.update("DELETE FROM disposal_guidelines");
+        jdbcTemplate.update("DELETE FROM recycling_tips");
+        jdbcTemplate.update("DELETE FROM waste_categories");
+        // The rows were deleted behind the services' back
+        leaderboard.markStale();
+        categoryId = categoryService.createCategory(
+                new WasteCategory(null, "Recyclable Plastic", "Plastic")).getId();
+    }
+
+    private void assertStoredCounts(int guidelines, int tips) {
+        assertEquals(guidelines, categoryService.countGuidelinesInCategory(categoryId));
+        assertEquals(tips, categoryService.countRecyclingTipsInCategory(categoryId));
+        assertEquals(0, reconciler.reconcile(), "stored counts drifted from the child tables");
+    }
+
+    /**
+     * Verifies that creating and deleting through the services keeps the counters exact.
+     */
+    @Test
+    void testServiceWritesMaintainCounters() {
+        RecyclingTip tip = tipService.createTip(categoryId,
+                new RecyclingTip(null, "Rinse", TIP_CONTENT, null));
+        tipService.createTip(categoryId, new RecyclingTip(null, "Caps", TIP_CONTENT, null));
+        DisposalGuideline guideline = guidelineService.createGuideline(categoryId,
+                new DisposalGuideline(null, "Bottles", INSTRUCTIONS, null));
+        assertStoredCounts(1, 2);
+        assertFalse(categoryService.canDeleteCategory(categoryId));
+
+        tipService.deleteTip(tip.getId());
+        guidelineService.deleteGuideline(guideline.getId());
+
+        assertStoredCounts(0, 1);
+        assertEquals(1, tipService.countTipsInCategory(categoryId));
+    }
+
+    /**
+     * Verifies that the leaderboard follows service writes without being
+     * reconciled, and agrees with the counts taken by the database.
+     */
+    @Test
+    void testLeaderboardFollowsServiceWrites() {
+        Long hazardousId = categoryService.createCategory(
+                new WasteCategory(null, "Hazardous Waste", "Hazardous")).getId();
+        assertEquals(List.of(categoryId, hazardousId),
+                leaderboard.getTopIds(CategoryLeaderboard.Ranking.GUIDELINES, 2));
+
+        guidelineService.createGuideline(hazardousId,
+                new DisposalGuideline(null, "Batteries", INSTRUCTIONS, null));
+        DisposalGuideline paint = guidelineService.createGuideline(hazardousId,
+                new DisposalGuideline(null, "Paint", INSTRUCTIONS, null));
+        guidelineService.createGuideline(categoryId,
+                new DisposalGuideline(null, "Bottles", INSTRUCTIONS, null));
+        assertEquals(List.of(hazardousId, categoryId),
+                leaderboard.getTopIds(CategoryLeaderboard.Ranking.GUIDELINES, 2));
+
+        guidelineService.deleteGuideline(paint.getId());
+        tipService.createTip(categoryId, new RecyclingTip(null, "Rinse", TIP_CONTENT, null));
+        List<LeaderboardEntryDTO> top = leaderboard.getTop(CategoryLeaderboard.Ranking.GUIDELINES, 1, true);
+        assertEquals(2, top.size());
+        assertEquals(List.of(1, 1), top.stream().map(LeaderboardEntryDTO::getRank).toList());
+        assertEquals(List.of(categoryId), leaderboard.getTopIds(CategoryLeaderboard.Ranking.TIPS, 1));
+        assertEquals(0, leaderboard.reconcile(), "leaderboard drifted from the child tables");
+
+        categoryService.deleteCategory(hazardousId);
+        assertEquals(List.of(categoryId), leaderboard.getTopIds(CategoryLeaderboard.Ranking.GUIDELINES, 5));
+        assertEquals(0, leaderboard.reconcile(), "leaderboard drifted from the child tables");
+    }
+
+    /**
+     * Verifies that a failed write leaves the counters unchanged.
+     */
+    @Test
+    void testRejectedWriteLeavesCountersUnchanged() {
+        assertThrows(IllegalArgumentException.class, () -> tipService.createTip(categoryId,
+                new RecyclingTip(null, "Rinse", "Too short", null)));
+        assertThrows(IllegalStateException.class, () -> tipService.deleteTip(-1L));
+
+        assertStoredCounts(0, 0);
+    }
+
+    /**
+     * Verifies that bulk imports add each chunk's rows to the counters, and
+     * that upserting the same rows again only counts the new ones.
+     */
+    @Test
+    void testBulkAndUpsertWritesMaintainCounters() {
+        Map<String, Long> categoryIds = bulkImportService.findCategoryIds();
+        List<String[]> tips = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            tips.add(new String[]{"Tip " + i, TIP_CONTENT, "Recyclable Plastic"});
+        }
+        bulkImportService.importTips(tips, categoryIds, false, new ImportReport());
+        bulkImportService.importGuidelines(List.<String[]>of(
+                new String[]{"Bottles", INSTRUCTIONS, "Recyclable Plastic"}),
+                categoryIds, false, new ImportReport());
+        assertStoredCounts(1, 120);
+
+        tips.add(new String[]{"Tip 120", TIP_CONTENT, "Recyclable Plastic"});
+        bulkImportService.upsertTips(tips, categoryIds, false, new ImportReport());
+        bulkImportService.upsertGuidelines(List.<String[]>of(
+                new String[]{"Bottles", INSTRUCTIONS + " now", "Recyclable Plastic"}),
+                categoryIds, false, new ImportReport());
+
+        assertStoredCounts(1, 121);
+    }
+
+    /**
+     * Verifies that children saved together with a new category are counted on insert.
+     */
+    @Test
+    void testCascadedChildrenAreCountedOnInsert() {
+        WasteCategory category = new WasteCategory(null, "Hazardous Waste", "Hazardous");
+        category.addGuideline(new DisposalGuideline(null, "Paint", INSTRUCTIONS, category));
+        category.addRecyclingTip(new RecyclingTip(null, "Batteries", TIP_CONTENT, category));
+        category.addRecyclingTip(new RecyclingTip(null, "Bulbs", TIP_CONTENT, category));
+
+        Long id = categoryRepository.save(category).getId();
+
+        assertEquals(1, categoryService.countGuidelinesInCategory(id));
+        assertEquals(2, categoryService.countRecyclingTipsInCategory(id));
+        assertEquals(0, reconciler.reconcile());
+    }
+
+    /**
+     * Verifies that the reconciler corrects counters changed outside the
+     * services and reports how many categories it fixed.
+     */
+    @Test
+    void testReconcilerCorrectsDrift() {
+        tipService.createTip(categoryId, new RecyclingTip(null, "Rinse", TIP_CONTENT, null));
+        jdbcTemplate.update("INSERT INTO disposal_guidelines (id, title, instructions, category_id) "
+                + "VALUES (-1, 'Bottles', ?, ?)", INSTRUCTIONS, categoryId);
+        jdbcTemplate.update("UPDATE waste_categories SET tip_count = 7 WHERE id = ?", categoryId);
+
+        assertEquals(1, reconciler.reconcile());
+        assertStoredCounts(1, 1);
+    }
+}
@@ -0,0 +1,285 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheProperties;
+import com.enviro.assessment.grad001.amosmaganyane.dto.LeaderboardEntryDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CategoryLeaderboard.
+ * The repository is mocked, so every rebuild from the database is counted.
+ */
+@ExtendWith(MockitoExtension.class)
+class CategoryLeaderboardTest {
+
+    @Mock
+    private WasteCategoryRepository repository;
+
+    private EntityCacheManager cacheManager;
+    private CategoryLeaderboard leaderboard;
+
+    /**
+     * Creates a leaderboard over four categories, two of them tied on guidelines.
+     */
+    @BeforeEach
+    void initializeLeaderboard() {
+        cacheManager = new EntityCacheManager(new CacheProperties());
+        leaderboard = new CategoryLeaderboard(repository, cacheManager);
+        // Lenient, since the ranking name test never reads the rankings
+        lenient().when(repository.findAllSummaries()).thenReturn(List.of(
+                summary(1L, "Recyclable", 1, 7),
+                summary(2L, "Organic", 5, 0),
+                summary(3L, "Hazardous", 3, 2),
+                summary(4L, "E-Waste", 3, 9)));
+    }
+
+    private static WasteCategoryDTO summary(Long id, String name, int guidelines, int tips) {
+        return new WasteCategoryDTO(id, name, "Description", guidelines, tips);
+    }
+
+    private List<Long> ids(List<LeaderboardEntryDTO> entries) {
+        return entries.stream().map(LeaderboardEntryDTO::getId).toList();
+    }
+
+    private List<Integer> ranks(List<LeaderboardEntryDTO> entries) {
+        return entries.stream().map(LeaderboardEntryDTO::getRank).toList();
+    }
+
+    /**
+     * Verifies that tied categories share a rank, in ID order, and that the
+     * rank after a tie skips the shared places.
+     */
+    @Test
+    void testTiedCategoriesShareRank() {
+        List<LeaderboardEntryDTO> top = leaderboard.getTop(CategoryLeaderboard.Ranking.GUIDELINES, 4, false);
+
+        assertEquals(List.of(2L, 3L, 4L, 1L), ids(top));
+        assertEquals(List.of(1, 2, 2, 4), ranks(top));
+        assertEquals("Hazardous", top.get(1).getName());
+        assertEquals(2, top.get(1).getTipsCount());
+    }
+
+    /**
+     * Verifies that a limit cutting through a tie returns the tied categories
+     * only when asked to.
+     */
+    @Test
+    void testLimitWithTies() {
+        assertEquals(List.of(2L, 3L),
+                ids(leaderboard.getTop(CategoryLeaderboard.Ranking.GUIDELINES, 2, false)));
+        assertEquals(List.of(2L, 3L, 4L),
+                ids(leaderboard.getTop(CategoryLeaderboard.Ranking.GUIDELINES, 2, true)));
+        assertEquals(List.of(2L),
+                ids(leaderboard.getTop(CategoryLeaderboard.Ranking.GUIDELINES, 1, true)));
+    }
+
+    /**
+     * Verifies the ranking by tip count.
+     */
+    @Test
+    void testRankingByTips() {
+        assertEquals(List.of(4L, 1L, 3L), ids(leaderboard.getTop(CategoryLeaderboard.Ranking.TIPS, 3, false)));
+        assertEquals(List.of(4L, 1L), leaderboard.getTopIds(CategoryLeaderboard.Ranking.TIPS, 2));
+    }
+
+    /**
+     * Verifies that writes reported by the services move categories without
+     * rebuilding the rankings, reading only the categories that changed.
+     */
+    @Test
+    void testChangesMoveCategoriesWithoutRebuild() {
+        leaderboard.getTop(CategoryLeaderboard.Ranking.GUIDELINES, 4, false);
+        when(repository.findSummaryById(1L)).thenReturn(Optional.of(summary(1L, "Recyclable", 6, 7)));
+        when(repository.findSummaryById(2L)).thenReturn(Optional.of(summary(2L, "Organic", 4, 0)));
+        when(repository.findSummaryById(4L)).thenReturn(Optional.of(summary(4L, "Electronics", 3, 9)));
+        when(repository.findSummaryById(5L)).thenReturn(Optional.of(summary(5L, "Textiles", 0, 20)));
+
+        leaderboard.categoryChanged(1L);
+        leaderboard.categoryChanged(2L);
+        leaderboard.categoryChanged(5L);
+        leaderboard.categoryDeleted(3L);
+        leaderboard.categoryChanged(4L);
+
+        List<LeaderboardEntryDTO> top = leaderboard.getTop(CategoryLeaderboard.Ranking.GUIDELINES, 10, false);
+        assertEquals(List.of(1L, 2L, 4L, 5L), ids(top));
+        assertEquals(6, top.get(0).getGuidelinesCount());
+        assertEquals("Electronics", top.get(2).getName());
+        assertEquals(List.of(5L, 4L, 1L, 2L),
+                ids(leaderboard.getTop(CategoryLeaderboard.Ranking.TIPS, 10, false)));
+        verify(repository, times(1)).findAllSummaries();
+    }
+
+    /**
+     * Verifies that a change made in a transaction is applied only once it commits.
+     */
+    @Test
+    void testChangesWaitForCommit() {
+        leaderboard.getTop(CategoryLeaderboard.Ranking.GUIDELINES, 1, false);
+        when(repository.findSummaryById(1L)).thenReturn(Optional.of(summary(1L, "Recyclable", 11, 7)));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            leaderboard.categoryChanged(1L);
+            assertEquals(List.of(2L), leaderboard.getTopIds(CategoryLeaderboard.Ranking.GUIDELINES, 1));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+            assertEquals(List.of(1L), leaderboard.getTopIds(CategoryLeaderboard.Ranking.GUIDELINES, 1));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Verifies that a change is not counted twice when the rankings are
+     * rebuilt, already including it, between the commit and the callback.
+     */
+    @Test
+    void testChangeAfterRebuildIsNotCountedTwice() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            leaderboard.categoryChanged(3L);
+            // The tip is committed and the rankings are first read before the callback runs
+            when(repository.findAllSummaries()).thenReturn(List.of(summary(3L, "Hazardous", 3, 3)));
+            when(repository.findSummaryById(3L)).thenReturn(Optional.of(summary(3L, "Hazardous", 3, 3)));
+            leaderboard.getTop(CategoryLeaderboard.Ranking.TIPS, 1, false);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+            assertEquals(3, leaderboard.getTop(CategoryLeaderboard.Ranking.TIPS, 1, false)
+                    .get(0).getTipsCount());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Verifies that readers are answered while a change is still reading its
+     * category from the database, and that of two reads of one category the
+     * later one wins even when the earlier one finishes last.
+     */
+    @Test
+    void testReadersDoNotWaitForChangesAndOlderReadsAreDropped() throws Exception {
+        leaderboard.getTop(CategoryLeaderboard.Ranking.GUIDELINES, 1, false);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findSummaryById(1L))
+                .thenAnswer(invocation -> {
+                    reading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return Optional.of(summary(1L, "Recyclable", 20, 7));
+                })
+                .thenReturn(Optional.of(summary(1L, "Recyclable", 30, 7)));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slowRead = executor.submit(() -> leaderboard.categoryChanged(1L));
+            assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+            assertEquals(List.of(2L), leaderboard.getTopIds(CategoryLeaderboard.Ranking.GUIDELINES, 1));
+            leaderboard.categoryChanged(1L);
+            release.countDown();
+            slowRead.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(30, leaderboard.getTop(CategoryLeaderboard.Ranking.GUIDELINES, 1, false)
+                .get(0).getGuidelinesCount());
+    }
+
+    /**
+     * Verifies that a change read while the rankings are being loaded is
+     * applied once the load is in, since the load may have read before it.
+     */
+    @Test
+    void testChangeDuringLoadIsKept() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findAllSummaries()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(summary(1L, "Recyclable", 1, 7), summary(2L, "Organic", 5, 0));
+        });
+        when(repository.findSummaryById(1L)).thenReturn(Optional.of(summary(1L, "Recyclable", 9, 7)));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<Long>> load = executor.submit(() ->
+                    leaderboard.getTopIds(CategoryLeaderboard.Ranking.GUIDELINES, 1));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            leaderboard.categoryChanged(1L);
+            release.countDown();
+
+            assertEquals(List.of(1L), load.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Verifies that emptying the entity caches, as bulk imports do, makes the
+     * next read rebuild the rankings from the database.
+     */
+    @Test
+    void testInvalidateAllRebuildsRankings() {
+        leaderboard.getTop(CategoryLeaderboard.Ranking.GUIDELINES, 1, false);
+        when(repository.findAllSummaries()).thenReturn(List.of(summary(1L, "Recyclable", 40, 7)));
+
+        cacheManager.invalidateAll();
+
+        assertEquals(List.of(1L), ids(leaderboard.getTop(CategoryLeaderboard.Ranking.GUIDELINES, 10, false)));
+        verify(repository, times(2)).findAllSummaries();
+    }
+
+    /**
+     * Verifies that a reconcile replaces rankings that drifted from the
+     * database, and reports nothing once they agree.
+     */
+    @Test
+    void testReconcileCorrectsDrift() {
+        assertEquals(0, leaderboard.reconcile());
+        leaderboard.getTop(CategoryLeaderboard.Ranking.GUIDELINES, 1, false);
+        assertEquals(0, leaderboard.reconcile());
+
+        when(repository.findAllSummaries()).thenReturn(List.of(
+                summary(1L, "Recyclable", 9, 7),
+                summary(2L, "Organic", 5, 0),
+                summary(3L, "Hazardous", 3, 2)));
+
+        assertEquals(2, leaderboard.reconcile());
+        assertEquals(List.of(1L, 2L, 3L),
+                ids(leaderboard.getTop(CategoryLeaderboard.Ranking.GUIDELINES, 10, false)));
+        assertEquals(0, leaderboard.reconcile());
+    }
+
+    /**
+     * Verifies the parsing of ranking names.
+     */
+    @Test
+    void testRankingFromName() {
+        assertEquals(CategoryLeaderboard.Ranking.TIPS, CategoryLeaderboard.Ranking.fromName("tips"));
+        assertEquals(CategoryLeaderboard.Ranking.GUIDELINES, CategoryLeaderboard.Ranking.fromName("Guidelines"));
+        assertThrows(IllegalArgumentException.class, () -> CategoryLeaderboard.Ranking.fromName("views"));
+    }
+}
@@ -0,0 +1,251 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.DataLoaderProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CsvImportService.
+ * Jobs run on the calling thread so their outcome can be checked directly.
+ */
+@ExtendWith(MockitoExtension.class)
+class CsvImportServiceTest {
+
+    @Mock
+    private BulkImportService bulkImportService;
+
+    private CsvImportService service;
+
+    @BeforeEach
+    void initializeService() {
+        DataLoaderProperties properties = new DataLoaderProperties();
+        properties.setChunkSize(2);
+        service = new CsvImportService(bulkImportService, properties, Runnable::run);
+    }
+
+    private InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long countSpooledFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("import-tips-")).count();
+        }
+    }
+
+    /**
+     * Verifies that rows are handed to the bulk importer in chunks with invalid
+     * rows skipped, and that the caches are emptied once, after the last chunk.
+     */
+    @Test
+    void testSubmitImportsTipsInChunks() throws Exception {
+        Map<String, Long> categoryIds = Map.of("Recyclable Paper", 1L);
+        when(bulkImportService.findCategoryIds()).thenReturn(categoryIds);
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(bulkImportService.importTips(anyList(), eq(categoryIds), eq(true), any()))
+                .thenAnswer(invocation -> {
+                    List<String[]> chunk = invocation.getArgument(0);
+                    chunkSizes.add(chunk.size());
+                    return chunk.size();
+                });
+
+        ImportJob job = service.submit("tips", csv("title,content,category_name\n"
+                + "a,\"Keep paper, clean and dry\",Recyclable Paper\n"
+                + "b,Keep paper clean and dry,Recyclable Paper\n"
+                + "c,Keep paper clean and dry,Recyclable Paper\n"));
+
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(List.of(2, 1), chunkSizes);
+        assertTrue(service.getJob(job.getId()).isPresent());
+        verify(bulkImportService, times(1)).invalidateCaches();
+    }
+
+    /**
+     * Verifies that a failing write marks the job as failed with the error message.
+     */
+    @Test
+    void testSubmitMarksJobFailedOnError() throws Exception {
+        when(bulkImportService.findExistingCategoryNames()).thenReturn(new HashSet<>());
+        when(bulkImportService.importCategories(anyList(), any(), eq(true), any()))
+                .thenThrow(new IllegalStateException("Database unavailable"));
+
+        ImportJob job = service.submit("categories", csv("name,description\nGlass,Jars\n"));
+
+        assertEquals(ImportJob.Status.FAILED, job.getStatus());
+        assertEquals("Database unavailable", job.getError());
+        verify(bulkImportService).invalidateCaches();
+    }
+
+    /**
+     * Verifies that an unknown entity type is rejected before any work is queued.
+     */
+    @Test
+    void testSubmitRejectsUnknownEntity() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.submit("bins", csv("name\n")));
+        verifyNoInteractions(bulkImportService);
+    }
+
+    /**
+     * Verifies that a submission refused by a full executor is not kept as a
+     * queued job and leaves no spooled file behind.
+     */
+    @Test
+    void testSubmitRejectedWhenQueueIsFull() throws Exception {
+        CsvImportService rejecting = new CsvImportService(bulkImportService, new DataLoaderProperties(),
+                task -> {
+                    throw new RejectedExecutionException("Import queue is full");
+                });
+        long spooledBefore = countSpooledFiles();
+
+        assertThrows(RejectedExecutionException.class,
+                () -> rejecting.submit("tips", csv("title,content,category_name\n")));
+
+        assertEquals(spooledBefore, countSpooledFiles());
+        verifyNoInteractions(bulkImportService);
+    }
+
+    /**
+     * Verifies that finished jobs beyond the retention limit are dropped even
+     * while an older job is still queued, and that the queued job is kept.
+     */
+    @Test
+    void testRetentionSkipsJobsStillQueued() throws Exception {
+        List<Runnable> held = new ArrayList<>();
+        CsvImportService holdingFirst = new CsvImportService(bulkImportService, new DataLoaderProperties(),
+                task -> {
+                    if (held.isEmpty()) {
+                        held.add(task);
+                    } else {
+                        task.run();
+                    }
+                });
+        when(bulkImportService.findCategoryIds()).thenReturn(Map.of());
+
+        ImportJob queued = holdingFirst.submit("tips", csv("title,content,category_name\n"));
+        List<ImportJob> finished = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            finished.add(holdingFirst.submit("tips", csv("title,content,category_name\n")));
+        }
+
+        assertEquals(ImportJob.Status.QUEUED, queued.getStatus());
+        assertTrue(holdingFirst.getJob(queued.getId()).isPresent());
+        assertTrue(holdingFirst.getJob(finished.get(0).getId()).isEmpty());
+        assertTrue(holdingFirst.getJob(finished.get(50).getId()).isEmpty());
+        assertTrue(holdingFirst.getJob(finished.get(51).getId()).isPresent());
+        assertTrue(holdingFirst.getJob(finished.get(149).getId()).isPresent());
+        held.get(0).run();
+    }
+
+    /**
+     * Verifies that a second category import only reads the existing names
+     * once the first has finished, so both cannot insert the same name.
+     */
+    @Test
+    void testCategoryImportsRunOneAtATime() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CsvImportService concurrent = new CsvImportService(bulkImportService,
+                    new DataLoaderProperties(), executor);
+            CountDownLatch firstWriting = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            when(bulkImportService.findExistingCategoryNames()).thenAnswer(invocation -> new HashSet<>());
+            when(bulkImportService.importCategories(anyList(), any(), eq(true), any()))
+                    .thenAnswer(invocation -> {
+                        firstWriting.countDown();
+                        release.await(5, TimeUnit.SECONDS);
+                        return 1;
+                    })
+                    .thenReturn(1);
+
+            ImportJob first = concurrent.submit("categories", csv("name,description\nGlass,Jars\n"));
+            assertTrue(firstWriting.await(5, TimeUnit.SECONDS));
+            ImportJob second = concurrent.submit("categories", csv("name,description\nGlass,Jars\n"));
+
+            verify(bulkImportService, after(200).times(1)).findExistingCategoryNames();
+            assertEquals(ImportJob.Status.QUEUED, second.getStatus());
+            release.countDown();
+            verify(bulkImportService, timeout(5_000).times(2)).findExistingCategoryNames();
+            verify(bulkImportService, timeout(5_000).times(2))
+                    .importCategories(anyList(), any(), eq(true), any());
+            assertEquals(ImportJob.Status.COMPLETED, first.getStatus());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Verifies that a category import waiting for another does not take an
+     * import thread, so a tip import submitted after it still runs.
+     */
+    @Test
+    void testQueuedCategoryImportLeavesThreadForOtherImports() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CsvImportService concurrent = new CsvImportService(bulkImportService,
+                    new DataLoaderProperties(), executor);
+            CountDownLatch firstWriting = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            when(bulkImportService.findExistingCategoryNames()).thenAnswer(invocation -> new HashSet<>());
+            when(bulkImportService.importCategories(anyList(), any(), eq(true), any()))
+                    .thenAnswer(invocation -> {
+                        firstWriting.countDown();
+                        release.await(5, TimeUnit.SECONDS);
+                        return 1;
+                    })
+                    .thenReturn(1);
+            when(bulkImportService.findCategoryIds()).thenReturn(Map.of());
+
+            ImportJob first = concurrent.submit("categories", csv("name,description\nGlass,Jars\n"));
+            assertTrue(firstWriting.await(5, TimeUnit.SECONDS));
+            ImportJob second = concurrent.submit("categories", csv("name,description\nTins,Cans\n"));
+            ImportJob tips = concurrent.submit("tips", csv("title,content,category_name\n"));
+
+            verify(bulkImportService, timeout(5_000)).findCategoryIds();
+            assertEquals(ImportJob.Status.RUNNING, first.getStatus());
+            assertEquals(ImportJob.Status.QUEUED, second.getStatus());
+            release.countDown();
+            verify(bulkImportService, timeout(5_000).times(2))
+                    .importCategories(anyList(), any(), eq(true), any());
+            verify(bulkImportService, timeout(5_000).times(3)).invalidateCaches();
+            assertEquals(ImportJob.Status.COMPLETED, tips.getStatus());
+            assertEquals(ImportJob.Status.COMPLETED, second.getStatus());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Verifies that unknown job IDs are reported as absent.
+     */
+    @Test
+    void testGetUnknownJob() {
+        assertTrue(service.getJob("missing").isEmpty());
+    }
+}
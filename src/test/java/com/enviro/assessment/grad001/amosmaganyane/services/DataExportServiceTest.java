@@ -0,0 +1,223 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheConfig;
+import com.enviro.assessment.grad001.amosmaganyane.config.DataLoaderProperties;
+import com.enviro.assessment.grad001.amosmaganyane.dto.RecyclingTipDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.RecyclingTipRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for DataExportService.
+ * Exports data from the in-memory database and checks it can be read back.
+ */
+@DataJpaTest
+@AutoConfigureJdbc
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CacheConfig.class, WasteCategoryServiceImpl.class, RecyclingTipServiceImpl.class,
+        DisposalGuidelineServiceImpl.class, BulkImportService.class, DataSnapshotService.class,
+        CategoryLeaderboard.class, SearchResultCache.class, TrigramIndex.class, FuzzyIndex.class,
+        EntityIdAllocator.class, DataLoaderProperties.class})
+class DataExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private WasteCategoryRepository categoryRepository;
+
+    @Autowired
+    private RecyclingTipRepository tipRepository;
+
+    @Autowired
+    private DisposalGuidelineRepository guidelineRepository;
+
+    @Autowired
+    private WasteCategoryService categoryService;
+
+    @Autowired
+    private RecyclingTipService tipService;
+
+    @Autowired
+    private DisposalGuidelineService guidelineService;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private DataSnapshotService snapshotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    private Path dataDir;
+
+    private DataExportService exportService;
+
+    /**
+     * Empties the tables, since each test commits its own data, and inserts sample rows.
+     */
+    @BeforeEach
+    void insertData() {
+        jdbcTemplate.update("DELETE FROM disposal_guidelines");
+        jdbcTemplate.update("DELETE FROM recycling_tips");
+        jdbcTemplate.update("DELETE FROM waste_categories");
+        jdbcTemplate.update("INSERT INTO waste_categories (id, name, description) VALUES "
+                + "(1, 'Recyclable Plastic', 'Bottles, tubs and \"clean\" wrap'), "
+                + "(2, 'Hazardous Waste', 'Batteries and paint')");
+        jdbcTemplate.update("INSERT INTO recycling_tips (id, title, content, category_id) VALUES "
+                + "(10, 'Rinse', 'Rinse containers,\nthen let them dry', 1), "
+                + "(11, 'Caps', 'Remove caps from bottles first', 1), "
+                + "(12, 'Batteries', 'Tape the terminals of batteries', 2)");
+        jdbcTemplate.update("INSERT INTO disposal_guidelines (id, title, instructions, category_id) "
+                + "VALUES (20, 'Paint', 'Take paint to a hazardous waste site', 2)");
+        exportService = new DataExportService(categoryRepository, tipRepository,
+                guidelineRepository, transactionTemplate, objectMapper);
+    }
+
+    private String export(ImportJob.Entity entity, DataExportService.Format format)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(entity, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private List<Map<String, Object>> readTables() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        rows.addAll(jdbcTemplate.queryForList(
+                "SELECT name, description FROM waste_categories ORDER BY name"));
+        rows.addAll(jdbcTemplate.queryForList("SELECT t.title, t.content, c.name "
+                + "FROM recycling_tips t JOIN waste_categories c ON c.id = t.category_id ORDER BY t.title"));
+        rows.addAll(jdbcTemplate.queryForList("SELECT g.title, g.instructions, c.name "
+                + "FROM disposal_guidelines g JOIN waste_categories c ON c.id = g.category_id"));
+        return rows;
+    }
+
+    /**
+     * Verifies that CSV dumps use the loader's file layout by loading them
+     * into empty tables and comparing the result with the original data.
+     */
+    @Test
+    void testCsvExportCanBeLoadedAgain() throws IOException {
+        List<Map<String, Object>> expected = readTables();
+        for (ImportJob.Entity entity : ImportJob.Entity.values()) {
+            Files.writeString(dataDir.resolve(
+                            exportService.fileName(entity, DataExportService.Format.CSV)),
+                    export(entity, DataExportService.Format.CSV));
+        }
+        jdbcTemplate.update("DELETE FROM disposal_guidelines");
+        jdbcTemplate.update("DELETE FROM recycling_tips");
+        jdbcTemplate.update("DELETE FROM waste_categories");
+        DataLoaderProperties properties = new DataLoaderProperties();
+        properties.setMode(DataLoaderProperties.Mode.BULK);
+        properties.setLocation(dataDir.toUri().toString());
+
+        new DataLoaderService(categoryService, tipService, guidelineService, bulkImportService,
+                snapshotService, properties, new DefaultResourceLoader(), Runnable::run).loadData();
+
+        assertEquals(expected, readTables());
+    }
+
+    /**
+     * Verifies that the CSV header matches the data files read on startup.
+     */
+    @Test
+    void testCsvExportStartsWithLoaderHeader() throws IOException {
+        String csv = export(ImportJob.Entity.TIPS, DataExportService.Format.CSV);
+
+        assertTrue(csv.startsWith("title,content,category_name\n"));
+        assertTrue(csv.contains("\"Caps\",\"Remove caps from bottles first\",\"Recyclable Plastic\"\n"));
+    }
+
+    /**
+     * Verifies that NDJSON dumps hold one DTO-shaped object per line, in ID order.
+     */
+    @Test
+    void testNdjsonExportWritesOneObjectPerLine() throws IOException {
+        String[] lines = export(ImportJob.Entity.TIPS, DataExportService.Format.NDJSON).split("\n");
+
+        assertEquals(3, lines.length);
+        RecyclingTipDTO first = objectMapper.readValue(lines[0], RecyclingTipDTO.class);
+        assertEquals(10L, first.getId());
+        assertEquals("Rinse containers,\nthen let them dry", first.getContent());
+        assertEquals("Recyclable Plastic", first.getCategoryName());
+    }
+
+    /**
+     * Verifies that exported categories carry their tip and guideline counts.
+     */
+    @Test
+    void testNdjsonCategoryExportIncludesCounts() throws IOException {
+        String[] lines = export(ImportJob.Entity.CATEGORIES, DataExportService.Format.NDJSON)
+                .split("\n");
+
+        WasteCategoryDTO hazardous = objectMapper.readValue(lines[1], WasteCategoryDTO.class);
+        assertEquals("Hazardous Waste", hazardous.getName());
+        assertEquals(1, hazardous.getTipsCount());
+        assertEquals(1, hazardous.getGuidelinesCount());
+    }
+
+    /**
+     * Verifies that every row of an export spanning many fetches is written.
+     */
+    @Test
+    void testExportWritesEveryRow() throws IOException {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            rows.add(new Object[]{1000L + i, "Tip " + i, "Generated tip content " + i, 1L});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO recycling_tips (id, title, content, category_id) VALUES (?, ?, ?, ?)",
+                rows);
+
+        long written = exportService.export(ImportJob.Entity.TIPS, DataExportService.Format.NDJSON,
+                OutputStream.nullOutputStream());
+
+        assertEquals(5003, written);
+    }
+
+    /**
+     * Verifies that a failing client connection ends the export with an IOException.
+     */
+    @Test
+    void testExportStopsWhenWriteFails() {
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+
+        assertThrows(IOException.class, () -> exportService.export(
+                ImportJob.Entity.TIPS, DataExportService.Format.CSV, failing));
+    }
+}
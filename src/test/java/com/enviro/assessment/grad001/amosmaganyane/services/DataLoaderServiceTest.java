@@ -0,0 +1,367 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheConfig;
+import com.enviro.assessment.grad001.amosmaganyane.config.DataLoaderProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for DataLoaderService.
+ * Runs each loading mode against the in-memory database and checks they produce the same data.
+ */
+@DataJpaTest
+@AutoConfigureJdbc
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CacheConfig.class, WasteCategoryServiceImpl.class, RecyclingTipServiceImpl.class,
+        DisposalGuidelineServiceImpl.class, BulkImportService.class, DataSnapshotService.class,
+        CategoryLeaderboard.class, SearchResultCache.class, TrigramIndex.class, FuzzyIndex.class,
+        EntityIdAllocator.class, DataLoaderProperties.class})
+class DataLoaderServiceTest {
+
+    private static final String VALID_CONTENT = "Rinse containers before recycling them";
+    private static final String VALID_INSTRUCTIONS = "Take to the designated collection point";
+    private static final String TIP_CONTENTS =
+            "SELECT title || '|' || content FROM recycling_tips ORDER BY title";
+
+    @Autowired
+    private WasteCategoryService categoryService;
+
+    @Autowired
+    private RecyclingTipService tipService;
+
+    @Autowired
+    private DisposalGuidelineService guidelineService;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private DataSnapshotService snapshotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    private Path dataDir;
+
+    /**
+     * Empties the tables, since each test commits its own data.
+     */
+    @BeforeEach
+    void clearTables() {
+        jdbcTemplate.update("DELETE FROM disposal_guidelines");
+        jdbcTemplate.update("DELETE FROM recycling_tips");
+        jdbcTemplate.update("DELETE FROM waste_categories");
+    }
+
+    private DataLoaderProperties properties(DataLoaderProperties.Mode mode, String location,
+                                            int chunkSize) {
+        DataLoaderProperties properties = new DataLoaderProperties();
+        properties.setMode(mode);
+        properties.setLocation(location);
+        properties.setChunkSize(chunkSize);
+        properties.setParallelism(4);
+        return properties;
+    }
+
+    private DataLoaderService createLoader(DataLoaderProperties properties, Executor executor) {
+        return new DataLoaderService(categoryService, tipService, guidelineService,
+                bulkImportService, snapshotService, properties, new DefaultResourceLoader(), executor);
+    }
+
+    private DataLoaderService createLoader(DataLoaderProperties.Mode mode, String location,
+                                           int chunkSize) {
+        return createLoader(properties(mode, location, chunkSize), Runnable::run);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private void writeData(int tipCount, String invalidGuideline) throws IOException {
+        Files.writeString(dataDir.resolve("categories.csv"),
+                "name,description\nRecyclable Plastic,Plastic\nHazardous Waste,Hazardous\n");
+        List<String> tips = new ArrayList<>(List.of("title,content,category_name"));
+        List<String> guidelines = new ArrayList<>(List.of("title,instructions,category_name"));
+        for (int i = 0; i < tipCount; i++) {
+            String category = i % 2 == 0 ? "Recyclable Plastic" : "Hazardous Waste";
+            tips.add("Tip " + i + "," + VALID_CONTENT + "," + category);
+            guidelines.add("Guideline " + i + "," + VALID_INSTRUCTIONS + "," + category);
+        }
+        if (invalidGuideline != null) {
+            guidelines.add(invalidGuideline);
+        }
+        Files.write(dataDir.resolve("recycling_tips.csv"), tips);
+        Files.write(dataDir.resolve("disposal_guidelines.csv"), guidelines);
+    }
+
+    /**
+     * Verifies that every mode loads the bundled data set completely.
+     */
+    @ParameterizedTest
+    @EnumSource(DataLoaderProperties.Mode.class)
+    void testLoadDataLoadsBundledFiles(DataLoaderProperties.Mode mode) {
+        DataLoaderService loader = createLoader(mode, "classpath:/data/", 1000);
+
+        loader.loadData();
+
+        assertEquals(DataLoadProgress.Status.READY, loader.getProgress().getStatus());
+        assertEquals(categoryService.getAllCategories().size(), count("waste_categories"));
+        assertTrue(count("waste_categories") > 0);
+        assertEquals(count("waste_categories"), count("recycling_tips"));
+        assertEquals(count("waste_categories"), count("disposal_guidelines"));
+    }
+
+    /**
+     * Verifies that parallel mode writes every row exactly once when
+     * files span many chunks written concurrently.
+     */
+    @Test
+    void testParallelLoadWritesEveryChunk() throws IOException {
+        writeData(1000, null);
+
+        createLoader(DataLoaderProperties.Mode.PARALLEL, dataDir.toUri().toString(), 7).loadData();
+
+        assertEquals(2, count("waste_categories"));
+        assertEquals(1000, count("recycling_tips"));
+        assertEquals(1000, count("disposal_guidelines"));
+        assertEquals(1000, jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT title) FROM recycling_tips", Long.class));
+    }
+
+    /**
+     * Verifies that an invalid row in a concurrently loaded file fails the load.
+     */
+    @Test
+    void testParallelLoadFailsOnInvalidRow() throws IOException {
+        writeData(100, "Broken,Too short,Recyclable Plastic");
+        DataLoaderService loader =
+                createLoader(DataLoaderProperties.Mode.PARALLEL, dataDir.toUri().toString(), 10);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, loader::loadData);
+
+        assertTrue(exception.getMessage().contains("Invalid guideline data"));
+    }
+
+    /**
+     * Verifies that a missing file in the configured location is reported.
+     */
+    @Test
+    void testLoadDataFailsWhenLocationHasNoFiles() {
+        DataLoaderService loader =
+                createLoader(DataLoaderProperties.Mode.BULK, dataDir.toUri().toString(), 10);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, loader::loadData);
+
+        assertTrue(exception.getMessage().startsWith("Failed to read CSV files"));
+    }
+
+    /**
+     * Verifies that async mode does not start loading until the application is
+     * ready, reports progress while loading and becomes ready once the
+     * background task completes.
+     */
+    @Test
+    void testAsyncLoadRunsInBackground() throws IOException {
+        writeData(100, null);
+        List<Runnable> tasks = new ArrayList<>();
+        DataLoaderProperties properties =
+                properties(DataLoaderProperties.Mode.BULK, dataDir.toUri().toString(), 10);
+        properties.setAsync(true);
+        DataLoaderService loader = createLoader(properties, tasks::add);
+
+        loader.loadData();
+
+        assertEquals(0, tasks.size());
+        assertEquals(DataLoadProgress.Status.LOADING, loader.getProgress().getStatus());
+
+        loader.startBackgroundLoad();
+
+        assertEquals(1, tasks.size());
+        assertEquals(DataLoadProgress.Status.LOADING, loader.getProgress().getStatus());
+        assertEquals(0, loader.getProgress().getPercentComplete());
+        assertEquals(0, count("waste_categories"));
+
+        tasks.get(0).run();
+
+        assertTrue(loader.getProgress().isReady());
+        assertEquals(100, loader.getProgress().getPercentComplete());
+        assertEquals(100, count("recycling_tips"));
+    }
+
+    /**
+     * Verifies that a failed background load is reported instead of thrown.
+     */
+    @Test
+    void testAsyncLoadReportsFailure() throws IOException {
+        writeData(10, "Broken,Too short,Recyclable Plastic");
+        DataLoaderProperties properties =
+                properties(DataLoaderProperties.Mode.STANDARD, dataDir.toUri().toString(), 10);
+        properties.setAsync(true);
+        DataLoaderService loader = createLoader(properties, Runnable::run);
+
+        loader.loadData();
+        assertDoesNotThrow(loader::startBackgroundLoad);
+
+        assertEquals(DataLoadProgress.Status.FAILED, loader.getProgress().getStatus());
+        assertNotNull(loader.getProgress().getError());
+    }
+
+    /**
+     * Verifies that a snapshot written after loading is restored on the next
+     * load, and ignored once the CSV files change.
+     */
+    @Test
+    void testLoadUsesSnapshotWhileCsvFilesAreUnchanged() throws IOException {
+        writeData(20, null);
+        Path snapshot = dataDir.resolve("snapshot").resolve("data.snapshot");
+        DataLoaderProperties bulk =
+                properties(DataLoaderProperties.Mode.BULK, dataDir.toUri().toString(), 10);
+        bulk.setSnapshotPath(snapshot.toString());
+        DataLoaderProperties standard =
+                properties(DataLoaderProperties.Mode.STANDARD, dataDir.toUri().toString(), 10);
+        standard.setSnapshotPath(snapshot.toString());
+        createLoader(bulk, Runnable::run).loadData();
+        assertTrue(Files.exists(snapshot));
+        List<Map<String, Object>> loadedTips =
+                jdbcTemplate.queryForList("SELECT * FROM recycling_tips ORDER BY id");
+        clearTables();
+
+        DataLoaderService restored = createLoader(standard, Runnable::run);
+        restored.loadData();
+
+        assertTrue(restored.getProgress().isReady());
+        assertEquals(loadedTips,
+                jdbcTemplate.queryForList("SELECT * FROM recycling_tips ORDER BY id"));
+
+        clearTables();
+        writeData(30, null);
+        createLoader(bulk, Runnable::run).loadData();
+
+        assertEquals(30, count("recycling_tips"));
+    }
+
+    /**
+     * Verifies that a snapshot failing to restore is dropped and the data is
+     * loaded from the CSV files instead.
+     */
+    @Test
+    void testLoadFallsBackToCsvWhenSnapshotRestoreFails() throws IOException {
+        writeData(20, null);
+        Path snapshot = dataDir.resolve("snapshot").resolve("data.snapshot");
+        DataLoaderProperties properties =
+                properties(DataLoaderProperties.Mode.BULK, dataDir.toUri().toString(), 10);
+        properties.setSnapshotPath(snapshot.toString());
+        createLoader(properties, Runnable::run).loadData();
+        long snapshotMaxId = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM recycling_tips", Long.class);
+        clearTables();
+        // Rejects the restored tips, while the CSV load assigns new, higher IDs
+        jdbcTemplate.execute("ALTER TABLE recycling_tips "
+                + "ADD CONSTRAINT no_restored_ids CHECK (id > " + snapshotMaxId + ")");
+        DataLoaderService loader = createLoader(properties, Runnable::run);
+        try {
+            loader.loadData();
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE recycling_tips DROP CONSTRAINT no_restored_ids");
+        }
+
+        assertTrue(loader.getProgress().isReady());
+        assertEquals(2, count("waste_categories"));
+        assertEquals(20, count("recycling_tips"));
+        assertEquals(20, count("disposal_guidelines"));
+        assertTrue(Files.exists(snapshot));
+    }
+
+    /**
+     * Verifies that the memory-mapped parser loads the same rows as OpenCSV.
+     */
+    @Test
+    void testMappedParserLoadsSameRowsAsOpenCsv() throws IOException {
+        writeData(250, null);
+        DataLoaderProperties properties =
+                properties(DataLoaderProperties.Mode.PARALLEL, dataDir.toUri().toString(), 16);
+        createLoader(properties, Runnable::run).loadData();
+        List<String> expected = jdbcTemplate.queryForList(TIP_CONTENTS, String.class);
+        clearTables();
+
+        properties.setParser(DataLoaderProperties.Parser.MAPPED);
+        DataLoaderService loader = createLoader(properties, Runnable::run);
+        loader.loadData();
+
+        assertTrue(loader.getProgress().isReady());
+        assertEquals(250, count("disposal_guidelines"));
+        assertEquals(expected, jdbcTemplate.queryForList(TIP_CONTENTS, String.class));
+    }
+
+    /**
+     * Verifies that loading the same files twice in upsert mode leaves the
+     * data as it was after the first load, with the same identifiers.
+     */
+    @Test
+    void testUpsertLoadIsRepeatable() throws IOException {
+        writeData(30, null);
+        DataLoaderService loader =
+                createLoader(DataLoaderProperties.Mode.UPSERT, dataDir.toUri().toString(), 7);
+        loader.loadData();
+        List<Map<String, Object>> first = jdbcTemplate.queryForList(
+                "SELECT * FROM recycling_tips ORDER BY id");
+
+        loader.loadData();
+
+        assertEquals(first, jdbcTemplate.queryForList("SELECT * FROM recycling_tips ORDER BY id"));
+        assertEquals(2, count("waste_categories"));
+        assertEquals(30, count("disposal_guidelines"));
+    }
+
+    /**
+     * Verifies that an upsert updates rows matching a natural key in place,
+     * inserts new ones and leaves rows missing from the files alone.
+     */
+    @Test
+    void testUpsertLoadUpdatesExistingRows() throws IOException {
+        writeData(4, null);
+        createLoader(DataLoaderProperties.Mode.BULK, dataDir.toUri().toString(), 10).loadData();
+        Long tipId = jdbcTemplate.queryForObject(
+                "SELECT id FROM recycling_tips WHERE title = 'Tip 0'", Long.class);
+        Files.writeString(dataDir.resolve("categories.csv"),
+                "name,description\nRECYCLABLE PLASTIC,Bottles and tubs\nOrganic Waste,Food\n");
+        Files.writeString(dataDir.resolve("recycling_tips.csv"), "title,content,category_name\n"
+                + "Tip 0,Squash bottles to save space,RECYCLABLE PLASTIC\n"
+                + "Compost,Compost fruit and vegetable peels,Organic Waste\n");
+        Files.writeString(dataDir.resolve("disposal_guidelines.csv"),
+                "title,instructions,category_name\n");
+
+        createLoader(DataLoaderProperties.Mode.UPSERT, dataDir.toUri().toString(), 10).loadData();
+
+        assertEquals(3, count("waste_categories"));
+        assertEquals("Bottles and tubs", jdbcTemplate.queryForObject(
+                "SELECT description FROM waste_categories WHERE name = 'RECYCLABLE PLASTIC'",
+                String.class));
+        assertEquals("Squash bottles to save space", jdbcTemplate.queryForObject(
+                "SELECT content FROM recycling_tips WHERE id = ?", String.class, tipId));
+        assertEquals(5, count("recycling_tips"));
+        assertEquals(4, count("disposal_guidelines"));
+    }
+}
@@ -0,0 +1,425 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheConfig;
+import com.enviro.assessment.grad001.amosmaganyane.config.DataLoaderProperties;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.opencsv.exceptions.CsvException;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for DataReloadService.
+ * Loads CSV files from a temporary directory, edits them and checks that
+ * only the edited rows are written.
+ */
+@DataJpaTest
+@AutoConfigureJdbc
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CacheConfig.class, WasteCategoryServiceImpl.class, RecyclingTipServiceImpl.class,
+        DisposalGuidelineServiceImpl.class, BulkImportService.class, DataSnapshotService.class,
+        CategoryLeaderboard.class, SearchResultCache.class, TrigramIndex.class, FuzzyIndex.class,
+        EntityIdAllocator.class, DataLoaderProperties.class})
+class DataReloadServiceTest {
+
+    private static final String CATEGORIES = "name,description\n"
+            + "Recyclable Plastic,Plastic\n"
+            + "Hazardous Waste,Hazardous\n";
+    private static final String TIPS = "title,content,category_name\n"
+            + "Rinse,Rinse containers before recycling them,Recyclable Plastic\n"
+            + "Caps,Remove caps from bottles first,Recyclable Plastic\n"
+            + "Batteries,Tape the terminals of batteries,Hazardous Waste\n";
+    private static final String GUIDELINES = "title,instructions,category_name\n"
+            + "Paint,Take paint to a hazardous waste site,Hazardous Waste\n";
+
+    @Autowired
+    private WasteCategoryService categoryService;
+
+    @Autowired
+    private RecyclingTipService tipService;
+
+    @Autowired
+    private DisposalGuidelineService guidelineService;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private DataSnapshotService snapshotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityCacheManager cacheManager;
+
+    @Autowired
+    private CategoryLeaderboard leaderboard;
+
+    @Autowired
+    private SearchResultCache searchCache;
+
+    @Autowired
+    private List<CatalogChangeListener> changeListeners;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @TempDir
+    private Path dataDir;
+
+    private DataLoaderProperties properties;
+
+    private DataLoaderService loader;
+
+    /**
+     * Empties the tables, since each test commits its own data, then loads the initial files.
+     */
+    @BeforeEach
+    void loadInitialData() throws IOException {
+        jdbcTemplate.update("DELETE FROM disposal_guidelines");
+        jdbcTemplate.update("DELETE FROM recycling_tips");
+        jdbcTemplate.update("DELETE FROM waste_categories");
+        writeData(CATEGORIES, TIPS, GUIDELINES);
+        properties = new DataLoaderProperties();
+        properties.setMode(DataLoaderProperties.Mode.BULK);
+        properties.setLocation(dataDir.toUri().toString());
+        // Keeps the loaded files, which the reload service takes as its baseline
+        properties.setWatch(true);
+        loader = new DataLoaderService(categoryService, tipService, guidelineService,
+                bulkImportService, snapshotService, properties, new DefaultResourceLoader(),
+                Runnable::run);
+        loader.loadData();
+    }
+
+    private DataReloadService newReloadService(Executor watcherExecutor) {
+        return new DataReloadService(loader, bulkImportService,
+                categoryService, tipService, guidelineService, jdbcTemplate, transactionTemplate,
+                cacheManager, leaderboard, searchCache, changeListeners, entityManagerFactory,
+                properties, new DefaultResourceLoader(), watcherExecutor);
+    }
+
+    private DataReloadService createReloadService() throws IOException, CsvException {
+        DataReloadService reloadService = newReloadService(Runnable::run);
+        reloadService.captureBaseline();
+        return reloadService;
+    }
+
+    private void writeData(String categories, String tips, String guidelines) throws IOException {
+        Files.writeString(dataDir.resolve("categories.csv"), categories);
+        Files.writeString(dataDir.resolve("recycling_tips.csv"), tips);
+        Files.writeString(dataDir.resolve("disposal_guidelines.csv"), guidelines);
+    }
+
+    private Long tipId(String title) {
+        return jdbcTemplate.queryForObject(
+                "SELECT id FROM recycling_tips WHERE title = ?", Long.class, title);
+    }
+
+    private List<String> tipContents() {
+        return jdbcTemplate.queryForList(
+                "SELECT title || '|' || content FROM recycling_tips ORDER BY title, content",
+                String.class);
+    }
+
+    private List<String> storedCounts() {
+        return jdbcTemplate.queryForList("SELECT name || '|' || guideline_count || '|' || tip_count "
+                + "FROM waste_categories ORDER BY name", String.class);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    /**
+     * Verifies that only inserted, changed and removed rows are written,
+     * and that unchanged rows keep their identity.
+     */
+    @Test
+    void testReloadAppliesOnlyChangedRows() throws IOException, CsvException {
+        DataReloadService reloadService = createReloadService();
+        Long unchangedId = tipId("Batteries");
+        Long changedId = tipId("Rinse");
+        writeData(CATEGORIES.replace("Hazardous Waste,Hazardous", "Hazardous Waste,Dangerous")
+                        + "Organic Waste,Food scraps\n",
+                "title,content,category_name\n"
+                        + "Rinse,Rinse and dry containers before recycling,Recyclable Plastic\n"
+                        + "Batteries,Tape the terminals of batteries,Hazardous Waste\n"
+                        + "Compost,Compost fruit and vegetable peels,Organic Waste\n",
+                GUIDELINES);
+
+        DeltaReport report = reloadService.reload();
+
+        assertEquals(1, report.getCategories().getInserted());
+        assertEquals(1, report.getCategories().getUpdated());
+        assertEquals(1, report.getTips().getInserted());
+        assertEquals(1, report.getTips().getUpdated());
+        assertEquals(1, report.getTips().getRemoved());
+        assertTrue(report.getGuidelines().isEmpty());
+        assertEquals(List.of("Batteries|Tape the terminals of batteries",
+                "Compost|Compost fruit and vegetable peels",
+                "Rinse|Rinse and dry containers before recycling"), tipContents());
+        assertEquals(unchangedId, tipId("Batteries"));
+        assertEquals(changedId, tipId("Rinse"));
+        assertEquals(List.of("Hazardous Waste|1|1", "Organic Waste|0|1", "Recyclable Plastic|0|1"),
+                storedCounts());
+        assertEquals("Dangerous", jdbcTemplate.queryForObject(
+                "SELECT description FROM waste_categories WHERE name = 'Hazardous Waste'",
+                String.class));
+    }
+
+    /**
+     * Verifies that a reload invalidates only the rows it wrote, while the
+     * caches, search index and leaderboard still see every change.
+     */
+    @Test
+    void testReloadInvalidatesOnlyWrittenRows() throws IOException, CsvException {
+        DataReloadService reloadService = createReloadService();
+        Long unchangedId = tipId("Batteries");
+        Long changedId = tipId("Rinse");
+        tipService.getTipById(changedId);
+        tipService.searchTips("compost");
+        leaderboard.getTop(CategoryLeaderboard.Ranking.TIPS, 3, false);
+        ContentVersion unchanged = cacheManager.getContentVersion(EntityCacheManager.TIPS, unchangedId);
+        writeData(CATEGORIES + "Organic Waste,Food scraps\n",
+                TIPS.replace("Rinse containers before recycling them", "Rinse and dry containers first")
+                        + "Compost,Compost fruit and vegetable peels,Organic Waste\n",
+                GUIDELINES);
+
+        reloadService.reload();
+
+        assertEquals(unchanged, cacheManager.getContentVersion(EntityCacheManager.TIPS, unchangedId));
+        assertEquals("Rinse and dry containers first",
+                tipService.getTipById(changedId).orElseThrow().getContent());
+        assertEquals(List.of("Compost"),
+                tipService.searchTips("compost").stream().map(RecyclingTip::getTitle).toList());
+        assertEquals(List.of("Recyclable Plastic|2", "Hazardous Waste|1", "Organic Waste|1"),
+                leaderboard.getTop(CategoryLeaderboard.Ranking.TIPS, 3, false).stream()
+                        .map(entry -> entry.getName() + "|" + entry.getTipsCount()).toList());
+    }
+
+    /**
+     * Verifies that the baseline is the version of the files the loader
+     * imported, so an edit made after the load is still applied.
+     */
+    @Test
+    void testBaselineIsTheVersionTheLoaderImported() throws IOException, CsvException {
+        writeData(CATEGORIES, TIPS + "Glass,Separate glass by colour,Recyclable Plastic\n",
+                GUIDELINES);
+        DataReloadService reloadService = createReloadService();
+
+        DeltaReport report = reloadService.reload();
+
+        assertEquals(1, report.getTips().getInserted());
+        assertEquals(4, count("recycling_tips"));
+    }
+
+    /**
+     * Verifies that a tip created through the API with the title of one in
+     * the file is neither updated nor removed with the file's row.
+     */
+    @Test
+    void testReloadLeavesApiRowWithSameTitleAlone() throws IOException, CsvException {
+        DataReloadService reloadService = createReloadService();
+        Long categoryId = jdbcTemplate.queryForObject(
+                "SELECT id FROM waste_categories WHERE name = 'Recyclable Plastic'", Long.class);
+        tipService.createTip(categoryId,
+                new RecyclingTip(null, "Rinse", "Added through the API by a user", null));
+        writeData(CATEGORIES,
+                TIPS.replace("Rinse containers before recycling them", "Rinse and dry containers first"),
+                GUIDELINES);
+
+        assertEquals(1, reloadService.reload().getTips().getUpdated());
+        assertEquals(List.of("Batteries|Tape the terminals of batteries",
+                "Caps|Remove caps from bottles first",
+                "Rinse|Added through the API by a user",
+                "Rinse|Rinse and dry containers first"), tipContents());
+
+        writeData(CATEGORIES, TIPS.replace(
+                "Rinse,Rinse containers before recycling them,Recyclable Plastic\n", ""), GUIDELINES);
+
+        assertEquals(1, reloadService.reload().getTips().getRemoved());
+        assertEquals(List.of("Batteries|Tape the terminals of batteries",
+                "Caps|Remove caps from bottles first",
+                "Rinse|Added through the API by a user"), tipContents());
+    }
+
+    /**
+     * Verifies that reloading unchanged files writes nothing.
+     */
+    @Test
+    void testReloadWithoutChangesWritesNothing() throws IOException, CsvException {
+        DataReloadService reloadService = createReloadService();
+
+        assertTrue(reloadService.reload().isEmpty());
+    }
+
+    /**
+     * Verifies that rows created through the API survive a reload,
+     * since they are not part of either version of the files.
+     */
+    @Test
+    void testReloadKeepsRowsCreatedThroughApi() throws IOException, CsvException {
+        DataReloadService reloadService = createReloadService();
+        Long categoryId = categoryService.getAllCategories().get(0).getId();
+        tipService.createTip(categoryId,
+                new RecyclingTip(null, "Manual", "Added through the API by a user", null));
+        writeData(CATEGORIES, "title,content,category_name\n", GUIDELINES);
+
+        DeltaReport report = reloadService.reload();
+
+        assertEquals(3, report.getTips().getRemoved());
+        assertEquals(List.of("Manual|Added through the API by a user"), tipContents());
+    }
+
+    /**
+     * Verifies that a category added to the file under the name of one
+     * created through the API is matched and updated instead of failing the reload.
+     */
+    @Test
+    void testReloadMatchesNewCategoryCreatedThroughApi() throws IOException, CsvException {
+        DataReloadService reloadService = createReloadService();
+        Long categoryId = categoryService.createCategory(
+                new WasteCategory(null, "organic waste", "Added through the API")).getId();
+        writeData(CATEGORIES + "Organic Waste,Food scraps\n",
+                TIPS + "Compost,Compost fruit and vegetable peels,Organic Waste\n", GUIDELINES);
+
+        DeltaReport report = reloadService.reload();
+
+        assertEquals(0, report.getCategories().getInserted());
+        assertEquals(1, report.getCategories().getUpdated());
+        assertEquals(1, report.getTips().getInserted());
+        assertEquals("Organic Waste|Food scraps", jdbcTemplate.queryForObject(
+                "SELECT name || '|' || description FROM waste_categories WHERE id = ?",
+                String.class, categoryId));
+        assertEquals(3, count("waste_categories"));
+
+        writeData(CATEGORIES + "Organic Waste,Garden and food waste\n",
+                TIPS + "Compost,Compost fruit and vegetable peels,Organic Waste\n", GUIDELINES);
+
+        assertEquals(1, reloadService.reload().getCategories().getUpdated());
+    }
+
+    /**
+     * Verifies that removing a category also removes its tips and guidelines.
+     */
+    @Test
+    void testReloadRemovesCategoryWithItsEntries() throws IOException, CsvException {
+        DataReloadService reloadService = createReloadService();
+        writeData("name,description\nRecyclable Plastic,Plastic\n",
+                "title,content,category_name\n"
+                        + "Rinse,Rinse containers before recycling them,Recyclable Plastic\n"
+                        + "Caps,Remove caps from bottles first,Recyclable Plastic\n",
+                "title,instructions,category_name\n");
+
+        DeltaReport report = reloadService.reload();
+
+        assertEquals(1, report.getCategories().getRemoved());
+        assertEquals(1, report.getTips().getRemoved());
+        assertEquals(1, report.getGuidelines().getRemoved());
+        assertEquals(1, count("waste_categories"));
+        assertEquals(0, count("disposal_guidelines"));
+    }
+
+    /**
+     * Verifies that invalid files leave the database untouched and that the
+     * previous version stays the baseline, so fixing the files applies the
+     * whole delta.
+     */
+    @Test
+    void testReloadRollsBackInvalidData() throws IOException, CsvException {
+        DataReloadService reloadService = createReloadService();
+        List<String> before = tipContents();
+        String validTips = "title,content,category_name\n"
+                + "Rinse,Rinse containers before recycling them,Recyclable Plastic\n"
+                + "Batteries,Tape the terminals of batteries,Hazardous Waste\n";
+        writeData(CATEGORIES, validTips + "Short,Too short,Hazardous Waste\n", GUIDELINES);
+
+        assertThrows(IllegalArgumentException.class, reloadService::reload);
+        assertEquals(before, tipContents());
+
+        writeData(CATEGORIES, validTips, GUIDELINES);
+        DeltaReport report = reloadService.reload();
+
+        assertEquals(1, report.getTips().getRemoved());
+        assertEquals(2, count("recycling_tips"));
+    }
+
+    /**
+     * Verifies that tips still referring to a removed category are rejected
+     * instead of being removed with it.
+     */
+    @Test
+    void testReloadRejectsEntriesOfRemovedCategory() throws IOException, CsvException {
+        DataReloadService reloadService = createReloadService();
+        writeData("name,description\nRecyclable Plastic,Plastic\n", TIPS, GUIDELINES);
+
+        assertThrows(IllegalArgumentException.class, reloadService::reload);
+        assertEquals(2, count("waste_categories"));
+        assertEquals(3, count("recycling_tips"));
+    }
+
+    /**
+     * Verifies that a title repeated within one category is rejected,
+     * as the delta could not tell the rows apart.
+     */
+    @Test
+    void testReloadRejectsDuplicateNaturalKeys() throws IOException, CsvException {
+        DataReloadService reloadService = createReloadService();
+        writeData(CATEGORIES, TIPS + "Caps,Remove caps from bottles again,Recyclable Plastic\n",
+                GUIDELINES);
+
+        assertThrows(IllegalArgumentException.class, reloadService::reload);
+        assertEquals(3, count("recycling_tips"));
+    }
+
+    /**
+     * Verifies that the watcher applies an edited file on its own.
+     */
+    @Test
+    void testWatcherAppliesEditedFile() throws IOException, InterruptedException {
+        properties.setWatchDebounce(Duration.ofMillis(50));
+        ExecutorService watcherExecutor = Executors.newSingleThreadExecutor();
+        DataReloadService reloadService = newReloadService(watcherExecutor);
+        reloadService.start();
+        try {
+            Files.writeString(dataDir.resolve("recycling_tips.csv"),
+                    TIPS + "Glass,Separate glass by colour,Recyclable Plastic\n");
+
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (count("recycling_tips") < 4 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+
+            assertEquals(4, count("recycling_tips"));
+        } finally {
+            reloadService.stop();
+            watcherExecutor.shutdownNow();
+        }
+    }
+}
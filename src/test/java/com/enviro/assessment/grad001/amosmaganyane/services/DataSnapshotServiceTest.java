@@ -0,0 +1,213 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheConfig;
+import com.enviro.assessment.grad001.amosmaganyane.config.DataLoaderProperties;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for DataSnapshotService.
+ * Writes snapshots of the in-memory database and restores them into empty tables.
+ */
+@DataJpaTest
+@AutoConfigureJdbc
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CacheConfig.class, DataSnapshotService.class, EntityIdAllocator.class,
+        DataLoaderProperties.class})
+class DataSnapshotServiceTest {
+
+    private static final long SOURCE_CHECKSUM = 42L;
+
+    @Autowired
+    private DataSnapshotService snapshotService;
+
+    @Autowired
+    private WasteCategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    private Path tempDir;
+
+    private Path snapshot;
+
+    /**
+     * Empties the tables, since each test commits its own data.
+     */
+    @BeforeEach
+    void clearTables() {
+        snapshot = tempDir.resolve("data.snapshot");
+        jdbcTemplate.update("DELETE FROM disposal_guidelines");
+        jdbcTemplate.update("DELETE FROM recycling_tips");
+        jdbcTemplate.update("DELETE FROM waste_categories");
+    }
+
+    private void insertData() {
+        jdbcTemplate.update("INSERT INTO waste_categories (id, name, description, tip_count) "
+                + "VALUES (?, ?, ?, ?)", 7L, "Électronique", "Déchets électroniques ♻", 1);
+        jdbcTemplate.update("INSERT INTO waste_categories (id, name, description, guideline_count) "
+                + "VALUES (?, ?, ?, ?)", 9L, "Hazardous Waste", "Hazardous", 1);
+        jdbcTemplate.update("INSERT INTO recycling_tips (id, title, content, category_id) "
+                + "VALUES (?, ?, ?, ?)", 120L, "Batteries", "Tape the terminals of batteries", 7L);
+        jdbcTemplate.update("INSERT INTO disposal_guidelines (id, title, instructions, category_id) "
+                + "VALUES (?, ?, ?, ?)", 300L, "Paint", "Take paint to a hazardous waste site", 9L);
+    }
+
+    private List<Map<String, Object>> readTables() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        rows.addAll(jdbcTemplate.queryForList("SELECT * FROM waste_categories ORDER BY id"));
+        rows.addAll(jdbcTemplate.queryForList("SELECT * FROM recycling_tips ORDER BY id"));
+        rows.addAll(jdbcTemplate.queryForList("SELECT * FROM disposal_guidelines ORDER BY id"));
+        return rows;
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    /**
+     * Verifies that restoring a snapshot reproduces every row with its identifier.
+     */
+    @Test
+    void testRestoreReproducesWrittenData() throws IOException {
+        insertData();
+        List<Map<String, Object>> expected = readTables();
+        snapshotService.write(snapshot, SOURCE_CHECKSUM);
+        clearTables();
+
+        assertTrue(snapshotService.restore(snapshot, SOURCE_CHECKSUM));
+
+        assertEquals(expected, readTables());
+    }
+
+    /**
+     * Verifies that sequences are moved past the restored identifiers,
+     * so entities saved afterwards do not collide with restored rows.
+     */
+    @Test
+    void testRestoreAdvancesSequences() throws IOException {
+        insertData();
+        snapshotService.write(snapshot, SOURCE_CHECKSUM);
+        clearTables();
+        snapshotService.restore(snapshot, SOURCE_CHECKSUM);
+
+        WasteCategory saved = categoryRepository.save(
+                new WasteCategory(null, "Organic Waste", "Food scraps"));
+
+        assertTrue(saved.getId() > 9L);
+    }
+
+    /**
+     * Verifies that a snapshot is not restored over rows already in the tables.
+     */
+    @Test
+    void testRestoreIgnoresSnapshotWhenTablesHoldData() throws IOException {
+        insertData();
+        snapshotService.write(snapshot, SOURCE_CHECKSUM);
+        jdbcTemplate.update("DELETE FROM disposal_guidelines");
+        List<Map<String, Object>> expected = readTables();
+
+        assertFalse(snapshotService.restore(snapshot, SOURCE_CHECKSUM));
+
+        assertEquals(expected, readTables());
+    }
+
+    /**
+     * Verifies that a restore failing part way rolls back every section,
+     * leaving the tables empty rather than holding a partial catalog.
+     */
+    @Test
+    void testFailedRestoreLeavesTablesEmpty() throws IOException {
+        insertData();
+        snapshotService.write(snapshot, SOURCE_CHECKSUM);
+        clearTables();
+        jdbcTemplate.execute("ALTER TABLE disposal_guidelines "
+                + "ADD CONSTRAINT no_paint CHECK (title <> 'Paint')");
+        try {
+            assertThrows(DataIntegrityViolationException.class,
+                    () -> snapshotService.restore(snapshot, SOURCE_CHECKSUM));
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE disposal_guidelines DROP CONSTRAINT no_paint");
+        }
+
+        assertEquals(0, count("waste_categories"));
+        assertEquals(0, count("recycling_tips"));
+        assertEquals(0, count("disposal_guidelines"));
+    }
+
+    /**
+     * Verifies that a snapshot taken from different CSV files is ignored.
+     */
+    @Test
+    void testRestoreIgnoresSnapshotOfChangedSources() throws IOException {
+        insertData();
+        snapshotService.write(snapshot, SOURCE_CHECKSUM);
+        clearTables();
+
+        assertFalse(snapshotService.restore(snapshot, SOURCE_CHECKSUM + 1));
+        assertEquals(0, count("waste_categories"));
+    }
+
+    /**
+     * Verifies that a damaged snapshot is detected before anything is written.
+     */
+    @Test
+    void testRestoreIgnoresCorruptedSnapshot() throws IOException {
+        insertData();
+        snapshotService.write(snapshot, SOURCE_CHECKSUM);
+        clearTables();
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(snapshot, bytes);
+
+        assertFalse(snapshotService.restore(snapshot, SOURCE_CHECKSUM));
+        assertEquals(0, count("waste_categories"));
+    }
+
+    /**
+     * Verifies that a missing or truncated snapshot is ignored.
+     */
+    @Test
+    void testRestoreIgnoresMissingOrTruncatedSnapshot() throws IOException {
+        assertFalse(snapshotService.restore(snapshot, SOURCE_CHECKSUM));
+
+        Files.write(snapshot, new byte[]{1, 2, 3});
+
+        assertFalse(snapshotService.restore(snapshot, SOURCE_CHECKSUM));
+    }
+
+    /**
+     * Verifies that the source checksum changes when content moves between files.
+     */
+    @Test
+    void testChecksumDependsOnFileBoundaries() throws IOException {
+        long original = DataSnapshotService.checksum(List.of(
+                new ByteArrayResource("ab".getBytes()), new ByteArrayResource("c".getBytes())));
+        long moved = DataSnapshotService.checksum(List.of(
+                new ByteArrayResource("a".getBytes()), new ByteArrayResource("bc".getBytes())));
+
+        assertNotEquals(original, moved);
+    }
+}
@@ -1,6 +1,7 @@
 package com.enviro.assessment.grad001.amosmaganyane.services;
 
-
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheProperties;
+import com.enviro.assessment.grad001.amosmaganyane.config.SearchCacheProperties;
 import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
 import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
 import com.enviro.assessment.grad001.amosmaganyane.repositories.DisposalGuidelineRepository;
@@ -31,6 +32,12 @@ class DisposalGuidelineServiceTest {
     @Mock
     private WasteCategoryRepository categoryRepository;
 
+    @Mock
+    private TrigramIndex trigramIndex;
+
+    @Mock
+    private FuzzyIndex fuzzyIndex;
+
     private DisposalGuidelineService service;
     private WasteCategory testCategory;
 
@@ -39,7 +46,11 @@ class DisposalGuidelineServiceTest {
      */
     @BeforeEach
     void initializeRepositories() {
-        service = new DisposalGuidelineServiceImpl(guidelineRepository, categoryRepository);
+        EntityCacheManager cacheManager = new EntityCacheManager(new CacheProperties());
+        service = new DisposalGuidelineServiceImpl(guidelineRepository, categoryRepository, cacheManager,
+                new CategoryLeaderboard(categoryRepository, cacheManager),
+                new SearchResultCache(new SearchCacheProperties(), cacheManager), trigramIndex, fuzzyIndex,
+                List.of());
         testCategory = new WasteCategory(1L, "Hazardous Waste", "Description");
     }
 
@@ -64,6 +75,22 @@ class DisposalGuidelineServiceTest {
         assertNotNull(created.getId());
         assertEquals("Battery Disposal", created.getTitle());
         verify(guidelineRepository).save(any(DisposalGuideline.class));
+        verify(categoryRepository).adjustGuidelineCount(categoryId, 1);
+    }
+
+    /**
+     * Verifies that deleting a guideline decrements its category's stored count.
+     */
+    @Test
+    void testDeleteGuidelineDecrementsCategoryCount() {
+        DisposalGuideline guideline = new DisposalGuideline(5L, "Battery Disposal",
+                "Take batteries to a designated collection point", testCategory);
+        when(guidelineRepository.findById(5L)).thenReturn(Optional.of(guideline));
+
+        service.deleteGuideline(5L);
+
+        verify(guidelineRepository).delete(guideline);
+        verify(categoryRepository).adjustGuidelineCount(1L, -1);
     }
 
     /**
@@ -160,8 +187,8 @@ class DisposalGuidelineServiceTest {
                 new DisposalGuideline(1L, "Battery Disposal",
                         "Detailed instructions for battery disposal", testCategory)
         );
-        when(guidelineRepository.findByTitleContainingIgnoreCase(keyword))
-                .thenReturn(expectedGuidelines);
+        when(trigramIndex.search(EntityCacheManager.GUIDELINES, keyword)).thenReturn(List.of(1L));
+        when(guidelineRepository.findById(1L)).thenReturn(Optional.of(expectedGuidelines.get(0)));
 
         List<DisposalGuideline> results = service.searchGuidelines(keyword);
 
@@ -217,8 +244,7 @@ class DisposalGuidelineServiceTest {
     @Test
     void testHandleEmptySearchResults() {
         String nonExistentKeyword = "nonexistent";
-        when(guidelineRepository.findByTitleContainingIgnoreCase(nonExistentKeyword))
-                .thenReturn(List.of());
+        when(trigramIndex.search(EntityCacheManager.GUIDELINES, nonExistentKeyword)).thenReturn(List.of());
 
         List<DisposalGuideline> results = service.searchGuidelines(nonExistentKeyword);
 
@@ -232,21 +258,12 @@ class DisposalGuidelineServiceTest {
     @Test
     void testCountGuidelinesInCategory() {
         Long categoryId = 1L;
-        WasteCategory mockCategory = mock(WasteCategory.class);
-        List<DisposalGuideline> guidelines = List.of(
-                new DisposalGuideline(1L, "Guideline 1",
-                        "Instructions 1", mockCategory),
-                new DisposalGuideline(2L, "Guideline 2",
-                        "Instructions 2", mockCategory)
-        );
-
-        when(categoryRepository.findById(categoryId))
-                .thenReturn(Optional.of(mockCategory));
-        when(mockCategory.getGuidelines()).thenReturn(guidelines);
+        when(categoryRepository.findGuidelineCountById(categoryId)).thenReturn(Optional.of(2));
 
         int count = service.countGuidelinesInCategory(categoryId);
 
         assertEquals(2, count);
+        verify(categoryRepository, never()).findById(any());
     }
 
     /**
@@ -260,14 +277,14 @@ class DisposalGuidelineServiceTest {
                 new DisposalGuideline(1L, "Battery Disposal",
                         "Instructions", testCategory)
         );
-        when(guidelineRepository.findByTitleContainingIgnoreCase(keyword))
-                .thenReturn(expectedGuidelines);
+        when(trigramIndex.search(EntityCacheManager.GUIDELINES, keyword)).thenReturn(List.of(1L));
+        when(guidelineRepository.findById(1L)).thenReturn(Optional.of(expectedGuidelines.get(0)));
 
         List<DisposalGuideline> results = service.searchGuidelines(keyword);
 
         assertEquals(1, results.size());
         assertEquals("Battery Disposal", results.get(0).getTitle());
-        verify(guidelineRepository).findByTitleContainingIgnoreCase(keyword);
+        verify(trigramIndex).search(EntityCacheManager.GUIDELINES, keyword);
     }
 
     /**
@@ -288,6 +305,6 @@ class DisposalGuidelineServiceTest {
 
         assertEquals(2, results.size());
         verify(guidelineRepository).findAll();
-        verify(guidelineRepository, never()).findByTitleContainingIgnoreCase(any());
+        verify(trigramIndex, never()).search(any(), any());
     }
 }
@@ -0,0 +1,97 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheConfig;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for EntityIdAllocator.
+ * Mixes JPA saves with JDBC bulk inserts on a fresh schema, where the first
+ * sequence values are the easiest to hand out twice.
+ */
+@DataJpaTest
+@AutoConfigureJdbc
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CacheConfig.class, WasteCategoryServiceImpl.class, RecyclingTipServiceImpl.class,
+        DisposalGuidelineServiceImpl.class, BulkImportService.class, CategoryLeaderboard.class,
+        SearchResultCache.class, TrigramIndex.class, FuzzyIndex.class, EntityIdAllocator.class})
+class EntityIdAllocatorTest {
+
+    private static final int ROUNDS = 100;
+
+    @Autowired
+    private WasteCategoryRepository repository;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Interleaves repository saves with bulk category imports, first from two
+     * threads at once, starting on the fresh sequences, and then in turn, and
+     * checks that every row was written with its own identifier.
+     */
+    @Test
+    void shouldNotReuseIdsAcrossJpaSavesAndBulkImports() throws Exception {
+        assertEquals(0, repository.count(), "expected a fresh schema");
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?> saves = executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ROUNDS; i++) {
+                    repository.save(new WasteCategory(null, "Saved " + i, "Description"));
+                }
+                return null;
+            });
+            Future<?> imports = executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ROUNDS; i++) {
+                    importCategory("Imported " + i);
+                }
+                return null;
+            });
+            start.countDown();
+            saves.get(60, TimeUnit.SECONDS);
+            imports.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        for (int i = ROUNDS; i < 2 * ROUNDS; i++) {
+            repository.save(new WasteCategory(null, "Saved " + i, "Description"));
+            importCategory("Imported " + i);
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM waste_categories", Long.class);
+        assertEquals(4 * ROUNDS, ids.size());
+        assertEquals(4 * ROUNDS, new HashSet<>(ids).size());
+    }
+
+    private void importCategory(String name) {
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[]{name, "Description"});
+        bulkImportService.importCategories(rows, new HashSet<>(), false, new ImportReport());
+    }
+}
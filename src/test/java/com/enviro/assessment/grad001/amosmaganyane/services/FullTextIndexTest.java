@@ -0,0 +1,261 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheProperties;
+import com.enviro.assessment.grad001.amosmaganyane.dto.DisposalGuidelineDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.RecyclingTipDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SearchHitDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
+import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.RecyclingTipRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for FullTextIndex.
+ * The repositories are mocked, so every rebuild from the database is counted.
+ */
+@ExtendWith(MockitoExtension.class)
+class FullTextIndexTest {
+
+    @Mock
+    private WasteCategoryRepository categoryRepository;
+
+    @Mock
+    private RecyclingTipRepository tipRepository;
+
+    @Mock
+    private DisposalGuidelineRepository guidelineRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EntityCacheManager cacheManager;
+    private FullTextIndex index;
+    private WasteCategory plastic;
+
+    /**
+     * Creates an index over two categories, three tips and one guideline.
+     */
+    @BeforeEach
+    void initializeIndex() {
+        cacheManager = new EntityCacheManager(new CacheProperties());
+        index = new FullTextIndex(categoryRepository, tipRepository, guidelineRepository,
+                new TransactionTemplate(transactionManager), cacheManager);
+        plastic = new WasteCategory(1L, "Recyclable Plastic", "Bottles and containers");
+        // Lenient, since the tokenizer test never loads the index
+        lenient().when(categoryRepository.findAllSummaries()).thenReturn(List.of(
+                new WasteCategoryDTO(1L, "Recyclable Plastic", "Bottles and containers", 1, 2),
+                new WasteCategoryDTO(2L, "Hazardous", "Batteries and paint", 0, 1)));
+        lenient().when(tipRepository.streamAllForExport()).thenAnswer(invocation -> Stream.of(
+                new RecyclingTipDTO(1L, "Rinse Bottles", "Rinse plastic bottles before recycling", 1L, null),
+                new RecyclingTipDTO(2L, "Caps", "Keep the caps on plastic bottles", 1L, null),
+                new RecyclingTipDTO(3L, "Battery Drop-off", "Take batteries to a collection point", 2L, null)));
+        lenient().when(guidelineRepository.streamAllForExport()).thenAnswer(invocation -> Stream.of(
+                new DisposalGuidelineDTO(1L, "Paint", "Never pour paint down the drain", 2L, null)));
+    }
+
+    private List<Long> ids(List<SearchHitDTO> hits) {
+        return hits.stream().map(SearchHitDTO::getId).toList();
+    }
+
+    private List<SearchHitDTO> search(String query) {
+        return index.search(query, Set.of(), 10);
+    }
+
+    /**
+     * Verifies that text is split into lower-case words of letters and
+     * digits, dropping single characters.
+     */
+    @Test
+    void testTokenize() {
+        assertEquals(List.of("drop", "off", "pet", "bottles"),
+                FullTextIndex.tokenize("Drop-off: a PET #1 bottles"));
+        assertEquals(List.of(), FullTextIndex.tokenize(null));
+    }
+
+    /**
+     * Verifies that a word in a title outranks the same word in the body, and
+     * that results of every kind are returned with their category.
+     */
+    @Test
+    void testTitleMatchesRankHigher() {
+        List<SearchHitDTO> hits = search("bottles");
+
+        assertEquals(List.of(1L, 1L, 2L), ids(hits));
+        assertEquals("tip", hits.get(0).getType());
+        assertEquals("Rinse Bottles", hits.get(0).getTitle());
+        assertEquals("category", hits.get(1).getType());
+        assertTrue(hits.get(0).getScore() > hits.get(2).getScore());
+
+        SearchHitDTO paint = search("paint drain").get(0);
+        assertEquals("guideline", paint.getType());
+        assertEquals(2L, paint.getCategoryId());
+    }
+
+    /**
+     * Verifies that documents matching more of the query words rank higher,
+     * and that results can be limited and filtered by kind.
+     */
+    @Test
+    void testMultipleWordsTypesAndLimit() {
+        assertEquals(2L, search("caps plastic").get(0).getId());
+        assertEquals(List.of(3L), ids(index.search("batteries", Set.of(FullTextIndex.DocumentType.TIP), 10)));
+        assertEquals(1, index.search("plastic", Set.of(), 1).size());
+        assertEquals(List.of(), search("aluminium"));
+        assertEquals(List.of(), search("!"));
+    }
+
+    /**
+     * Verifies that writes reported by the services change the results
+     * without reading from the database again.
+     */
+    @Test
+    void testWritesUpdateIndexWithoutQuery() {
+        search("plastic");
+
+        index.tipSaved(new RecyclingTip(4L, "Glass Jars", "Remove the lids from glass jars", plastic));
+        index.tipSaved(new RecyclingTip(1L, "Rinse Containers", "Rinse containers before recycling", plastic));
+        index.tipDeleted(2L);
+        index.guidelineSaved(new DisposalGuideline(2L, "Glass", "Wrap broken glass in paper first", plastic));
+
+        // The shorter guideline ranks first
+        assertEquals(List.of(2L, 4L), ids(search("glass")));
+        assertEquals(List.of(1L), ids(search("bottles")));
+        assertEquals(List.of(), search("caps"));
+        assertEquals(7, index.size());
+        verify(categoryRepository, times(1)).findAllSummaries();
+    }
+
+    /**
+     * Verifies that deleting a category removes its tips and guidelines as well.
+     */
+    @Test
+    void testCategoryDeleteRemovesChildren() {
+        index.categorySaved(new WasteCategory(2L, "Hazardous Waste", "Batteries and paint"));
+        assertEquals(List.of(2L, 1L, 3L), ids(search("hazardous batteries paint")));
+
+        index.categoryDeleted(2L);
+
+        assertEquals(List.of(), search("hazardous batteries paint"));
+        assertEquals(3, index.size());
+    }
+
+    /**
+     * Verifies that a write made in a transaction is applied only once it commits.
+     */
+    @Test
+    void testWritesWaitForCommit() {
+        search("plastic");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.tipSaved(new RecyclingTip(4L, "Glass Jars", "Remove the lids", plastic));
+            assertEquals(List.of(), search("glass"));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+            assertEquals(List.of(4L), ids(search("glass")));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Verifies that emptying the entity caches, as bulk imports do, makes the
+     * next search rebuild the index from the database.
+     */
+    @Test
+    void testInvalidateAllRebuildsIndex() {
+        search("plastic");
+        when(categoryRepository.findAllSummaries()).thenReturn(List.of(
+                new WasteCategoryDTO(5L, "Textiles", "Old clothes", 0, 0)));
+        when(tipRepository.streamAllForExport()).thenAnswer(invocation -> Stream.empty());
+        when(guidelineRepository.streamAllForExport()).thenAnswer(invocation -> Stream.empty());
+
+        cacheManager.invalidateAll();
+
+        assertEquals(List.of(), search("plastic"));
+        assertEquals(List.of(5L), ids(search("clothes")));
+        verify(categoryRepository, times(2)).findAllSummaries();
+    }
+
+    /**
+     * Verifies that a write committed while the index loads is applied to the new index.
+     */
+    @Test
+    void testWriteDuringRebuildIsReplayed() {
+        when(guidelineRepository.streamAllForExport()).thenAnswer(invocation -> {
+            index.tipSaved(new RecyclingTip(4L, "Glass Jars", "Remove the lids", plastic));
+            return Stream.empty();
+        });
+
+        assertEquals(List.of(4L), ids(search("glass")));
+    }
+
+    /**
+     * Verifies that results stay the same once deleted documents are compacted away.
+     */
+    @Test
+    void testCompactionKeepsResults() {
+        search("plastic");
+        for (long id = 10; id < 3_010; id++) {
+            index.tipSaved(new RecyclingTip(id, "Tip " + id, "Flatten cardboard boxes", plastic));
+        }
+        for (long id = 10; id < 3_000; id++) {
+            index.tipDeleted(id);
+        }
+
+        assertEquals(List.of(3_000L, 3_001L, 3_002L), ids(index.search("cardboard", Set.of(), 3)));
+        assertEquals(List.of(1L, 1L, 2L), ids(search("bottles")));
+        assertEquals(16, index.size());
+    }
+
+    /**
+     * Verifies that skipping documents which cannot make the top results
+     * returns the same results, in the same order, as ranking every match.
+     */
+    @Test
+    void testTopResultsMatchFullRanking() {
+        search("plastic");
+        Random random = new Random(7);
+        for (long id = 10; id < 5_010; id++) {
+            index.tipSaved(new RecyclingTip(id, words(random, 3), words(random, 3 + random.nextInt(20)), plastic));
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String query = words(random, 1 + random.nextInt(3));
+            List<SearchHitDTO> all = index.search(query, Set.of(), 10_000);
+            List<SearchHitDTO> top = index.search(query, Set.of(), 5);
+            assertEquals(ids(all.subList(0, Math.min(5, all.size()))), ids(top), query);
+        }
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append("w").append((int) (50 * Math.pow(random.nextDouble(), 2))).append(' ');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,241 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheProperties;
+import com.enviro.assessment.grad001.amosmaganyane.config.FuzzySearchProperties;
+import com.enviro.assessment.grad001.amosmaganyane.dto.DisposalGuidelineDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.RecyclingTipDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
+import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.RecyclingTipRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for FuzzyIndex.
+ * The repositories are mocked, so every rebuild from the database is counted.
+ */
+@ExtendWith(MockitoExtension.class)
+class FuzzyIndexTest {
+
+    @Mock
+    private WasteCategoryRepository categoryRepository;
+
+    @Mock
+    private RecyclingTipRepository tipRepository;
+
+    @Mock
+    private DisposalGuidelineRepository guidelineRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WasteCategory plastic;
+
+    /**
+     * Stubs two categories, four tips and one guideline.
+     */
+    @BeforeEach
+    void initializeRepositories() {
+        plastic = new WasteCategory(1L, "Recyclable Plastic", "Bottles and containers");
+        when(categoryRepository.findAllSummaries()).thenReturn(List.of(
+                new WasteCategoryDTO(1L, "Recyclable Plastic", "Bottles and containers", 1, 3),
+                new WasteCategoryDTO(2L, "Aluminium and Metal", "Cans and foil", 0, 1)));
+        when(tipRepository.streamAllForExport()).thenAnswer(invocation -> Stream.of(
+                new RecyclingTipDTO(1L, "Rinse Polystyrene Trays", "Rinse before recycling", 1L, null),
+                new RecyclingTipDTO(2L, "Polystyrene", "Check the recycling code", 1L, null),
+                new RecyclingTipDTO(3L, "Plastic Bottle Caps", "Keep the caps on", 1L, null),
+                new RecyclingTipDTO(4L, "Crush Aluminium Cans", "Saves space", 2L, null)));
+        when(guidelineRepository.streamAllForExport()).thenAnswer(invocation -> Stream.of(
+                new DisposalGuidelineDTO(1L, "Paint Tins", "Never pour paint down the drain", 2L, null)));
+    }
+
+    private FuzzyIndex createIndex(int maxEdits) {
+        FuzzySearchProperties properties = new FuzzySearchProperties();
+        properties.setMaxEdits(maxEdits);
+        return new FuzzyIndex(categoryRepository, tipRepository, guidelineRepository,
+                new TransactionTemplate(transactionManager), new EntityCacheManager(new CacheProperties()),
+                properties);
+    }
+
+    /**
+     * Verifies that misspelt words are found, with fewer typos first, then
+     * shorter titles, and that short words must match exactly.
+     */
+    @Test
+    void testFindsMisspeltWords() {
+        FuzzyIndex index = createIndex(2);
+
+        assertEquals(List.of(2L, 1L), index.search(EntityCacheManager.TIPS, "polystyrine"));
+        assertEquals(List.of(2L), index.search(EntityCacheManager.CATEGORIES, "aluminum"));
+        assertEquals(List.of(1L), index.search(EntityCacheManager.CATEGORIES, "PLASIC"));
+        assertEquals(List.of(4L), index.search(EntityCacheManager.TIPS, "alumnum can"));
+        assertEquals(List.of(1L), index.search(EntityCacheManager.GUIDELINES, "pain"));
+        // Three to five letters allow one typo, two letters none
+        assertEquals(List.of(), index.search(EntityCacheManager.TIPS, "cuts"));
+        assertEquals(List.of(3L), index.search(EntityCacheManager.TIPS, "cups"));
+        assertEquals(List.of(), index.search(EntityCacheManager.TIPS, "ca"));
+        assertEquals(List.of(), index.search(EntityCacheManager.TIPS, "!"));
+        assertThrows(IllegalArgumentException.class, () -> index.search("articles", "glass"));
+    }
+
+    /**
+     * Verifies that every word of the keyword must match, and that the
+     * typos of all words are added up for ranking.
+     */
+    @Test
+    void testAllWordsMustMatch() {
+        FuzzyIndex index = createIndex(2);
+
+        assertEquals(List.of(1L), index.search(EntityCacheManager.TIPS, "rinse polystyrine"));
+        assertEquals(List.of(), index.search(EntityCacheManager.TIPS, "rinse aluminium"));
+        // "Trays" needs no typo and "Polystyrene" one in tip 1, while tip 2 has no tray
+        assertEquals(List.of(1L), index.search(EntityCacheManager.TIPS, "trays polystyrine"));
+    }
+
+    /**
+     * Verifies that the configured maximum limits typos in long words.
+     */
+    @Test
+    void testMaxEditsIsConfigurable() {
+        FuzzyIndex index = createIndex(1);
+
+        assertEquals(List.of(), index.search(EntityCacheManager.TIPS, "polystirine"));
+        assertEquals(List.of(2L, 1L), index.search(EntityCacheManager.TIPS, "polystirene"));
+        assertEquals(1, index.editsAllowed(10));
+        assertEquals(2, createIndex(2).editsAllowed(6));
+        assertThrows(IllegalArgumentException.class, () -> new FuzzySearchProperties().setMaxEdits(3));
+    }
+
+    /**
+     * Verifies that writes reported by the services change the results
+     * without reading from the database again, and that words no title
+     * uses any more are dropped.
+     */
+    @Test
+    void testWritesUpdateIndexWithoutQuery() {
+        FuzzyIndex index = createIndex(2);
+        int vocabulary = index.vocabularySize(EntityCacheManager.TIPS);
+
+        index.tipSaved(new RecyclingTip(5L, "Glass Jars", "Remove the lids", plastic));
+        index.tipSaved(new RecyclingTip(2L, "Styrofoam", "Check the recycling code", plastic));
+        index.guidelineDeleted(1L);
+
+        assertEquals(List.of(5L), index.search(EntityCacheManager.TIPS, "glas"));
+        assertEquals(List.of(1L), index.search(EntityCacheManager.TIPS, "polystyrene"));
+        assertEquals(List.of(2L), index.search(EntityCacheManager.TIPS, "styrofom"));
+        assertEquals(List.of(), index.search(EntityCacheManager.GUIDELINES, "paint"));
+        assertEquals(vocabulary + 3, index.vocabularySize(EntityCacheManager.TIPS));
+        assertEquals(0, index.vocabularySize(EntityCacheManager.GUIDELINES));
+        verify(categoryRepository, times(1)).findAllSummaries();
+    }
+
+    /**
+     * Verifies that deleting a category removes its tips and guidelines as well.
+     */
+    @Test
+    void testCategoryDeleteRemovesChildren() {
+        FuzzyIndex index = createIndex(2);
+        index.vocabularySize(EntityCacheManager.TIPS);
+
+        index.categoryDeleted(2L);
+
+        assertEquals(List.of(), index.search(EntityCacheManager.CATEGORIES, "aluminium"));
+        assertEquals(List.of(), index.search(EntityCacheManager.TIPS, "aluminium"));
+        assertEquals(List.of(), index.search(EntityCacheManager.GUIDELINES, "paint"));
+        assertEquals(List.of(2L, 1L), index.search(EntityCacheManager.TIPS, "polystyrene"));
+    }
+
+    /**
+     * Verifies on random titles and keywords that the trie walk finds
+     * exactly the titles a full scan computing every edit distance finds,
+     * ranked the same way.
+     */
+    @Test
+    void testMatchesFullScan() {
+        FuzzyIndex index = createIndex(2);
+        index.vocabularySize(EntityCacheManager.TIPS);
+        Random random = new Random(24);
+        Map<Long, String> titles = new HashMap<>(Map.of(1L, "Rinse Polystyrene Trays", 2L, "Polystyrene",
+                3L, "Plastic Bottle Caps", 4L, "Crush Aluminium Cans"));
+        for (long id = 10; id < 400; id++) {
+            String title = randomWords(random, 1 + random.nextInt(4));
+            titles.put(id, title);
+            index.tipSaved(new RecyclingTip(id, title, "Content", plastic));
+        }
+
+        for (int i = 0; i < 300; i++) {
+            String keyword = randomWords(random, 1 + random.nextInt(2));
+            assertEquals(scanAll(index, titles, keyword), index.search(EntityCacheManager.TIPS, keyword), keyword);
+        }
+    }
+
+    // Words of two to eight letters from a small alphabet, so many are a typo or two apart
+    private static String randomWords(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            for (int length = 2 + random.nextInt(7); length > 0; length--) {
+                text.append((char) ('a' + random.nextInt(4)));
+            }
+            text.append(' ');
+        }
+        return text.toString().strip();
+    }
+
+    private static List<Long> scanAll(FuzzyIndex index, Map<Long, String> titles, String keyword) {
+        List<String> keywords = FullTextIndex.tokenize(keyword).stream().distinct().toList();
+        Map<Long, Integer> totals = new HashMap<>();
+        titles.forEach((id, title) -> {
+            int total = 0;
+            for (String word : keywords) {
+                int best = Integer.MAX_VALUE;
+                for (String candidate : FullTextIndex.tokenize(title)) {
+                    best = Math.min(best, distance(word, candidate));
+                }
+                if (best > index.editsAllowed(word.length())) {
+                    return;
+                }
+                total += best;
+            }
+            totals.put(id, total);
+        });
+        List<Long> ids = new ArrayList<>(totals.keySet());
+        ids.sort(Comparator.<Long>comparingInt(totals::get)
+                .thenComparingInt(id -> titles.get(id).length())
+                .thenComparing(Comparator.naturalOrder()));
+        return ids;
+    }
+
+    private static int distance(String a, String b) {
+        int[][] table = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                table[i][j] = i == 0 ? j : j == 0 ? i : Math.min(
+                        table[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1),
+                        Math.min(table[i - 1][j], table[i][j - 1]) + 1);
+            }
+        }
+        return table[a.length()][b.length()];
+    }
+}
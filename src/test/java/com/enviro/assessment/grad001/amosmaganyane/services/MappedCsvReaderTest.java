@@ -0,0 +1,209 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+import com.opencsv.exceptions.CsvMalformedLineException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MappedCsvReader.
+ * Compares its output with OpenCSV, using small mapping windows so that
+ * lines regularly cross window boundaries.
+ */
+class MappedCsvReaderTest {
+
+    private static final String ALPHABET = "abcXYZ019 .;-éü♻";
+
+    @TempDir
+    private Path tempDir;
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile(tempDir, "data", ".csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private List<String[]> readMapped(Path file, int keptColumns, int windowSize)
+            throws IOException {
+        List<String[]> lines = new ArrayList<>();
+        try (MappedCsvReader reader = new MappedCsvReader(file, keptColumns, windowSize)) {
+            String[] line;
+            while ((line = reader.readNext()) != null) {
+                lines.add(line);
+            }
+            assertEquals(Files.size(file), reader.getPosition());
+        }
+        return lines;
+    }
+
+    private List<String[]> readOpenCsv(String content) throws IOException, CsvException {
+        try (CSVReader reader = new CSVReader(new StringReader(content))) {
+            return reader.readAll();
+        }
+    }
+
+    private void assertSameLines(List<String[]> expected, List<String[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i), "line " + (i + 1));
+        }
+    }
+
+    /**
+     * Verifies that the bundled data files are read exactly as OpenCSV reads them,
+     * including quoted fields preceded by a space.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"categories.csv", "recycling_tips.csv", "disposal_guidelines.csv"})
+    void testReadsBundledFilesLikeOpenCsv(String fileName)
+            throws IOException, CsvException, URISyntaxException {
+        Path file = Path.of(getClass().getResource("/data/" + fileName).toURI());
+        String content = Files.readString(file);
+
+        assertSameLines(readOpenCsv(content), readMapped(file, 3, 64));
+    }
+
+    /**
+     * Verifies quoting rules: separators, line breaks and doubled quotes inside quotes.
+     */
+    @Test
+    void testParsesQuotedFields() throws IOException {
+        Path file = write("\"a,b\",\"say \"\"hi\"\"\",\"two\r\nlines\"\r\nplain, \"spaced\",\n");
+
+        List<String[]> lines = readMapped(file, 3, 1024);
+
+        assertEquals(2, lines.size());
+        assertArrayEquals(new String[]{"a,b", "say \"hi\"", "two\r\nlines"}, lines.get(0));
+        assertArrayEquals(new String[]{"plain", "spaced", ""}, lines.get(1));
+    }
+
+    /**
+     * Verifies that only the kept columns are returned and short lines stay short.
+     */
+    @Test
+    void testReturnsOnlyKeptColumns() throws IOException {
+        Path file = write("a,b,c,d\nshort\n\n");
+
+        List<String[]> lines = readMapped(file, 2, 1024);
+
+        assertArrayEquals(new String[]{"a", "b"}, lines.get(0));
+        assertArrayEquals(new String[]{"short"}, lines.get(1));
+        assertArrayEquals(new String[]{""}, lines.get(2));
+    }
+
+    /**
+     * Verifies that a UTF-8 byte order mark is not part of the first field.
+     */
+    @Test
+    void testSkipsByteOrderMark() throws IOException {
+        Path file = write("\uFEFFname,description\n");
+
+        assertArrayEquals(new String[]{"name", "description"}, readMapped(file, 2, 1024).get(0));
+    }
+
+    /**
+     * Verifies that a quoted field left open at the end of the file is rejected.
+     */
+    @Test
+    void testRejectsUnterminatedQuote() throws IOException {
+        Path file = write("a,b\n\"open,c\n");
+
+        assertThrows(CsvMalformedLineException.class, () -> readMapped(file, 2, 4));
+    }
+
+    /**
+     * Verifies that a line longer than the mapping window is still read.
+     */
+    @Test
+    void testReadsLineLargerThanWindow() throws IOException {
+        String longField = "x".repeat(1000);
+        Path file = write("a\n\"" + longField + "\",b\nc\n");
+
+        List<String[]> lines = readMapped(file, 2, 16);
+
+        assertEquals(longField, lines.get(1)[0]);
+        assertArrayEquals(new String[]{"c"}, lines.get(2));
+    }
+
+    /**
+     * Verifies on randomly generated files that the mapped reader produces
+     * the same lines as OpenCSV for every window size.
+     */
+    @Test
+    void testMatchesOpenCsvOnRandomFiles() throws IOException, CsvException {
+        Random random = new Random(20240607L);
+        for (int round = 0; round < 200; round++) {
+            String content = randomCsv(random);
+            Path file = write(content);
+            List<String[]> expected = readOpenCsv(content);
+            int columns = expected.stream().mapToInt(line -> line.length).max().orElse(1);
+
+            for (int windowSize : new int[]{7, 64, 4096}) {
+                assertSameLines(expected, readMapped(file, columns, windowSize));
+            }
+        }
+    }
+
+    private String randomCsv(Random random) {
+        StringBuilder csv = new StringBuilder();
+        int lines = 1 + random.nextInt(30);
+        for (int line = 0; line < lines; line++) {
+            int fields = 1 + random.nextInt(5);
+            for (int field = 0; field < fields; field++) {
+                if (field > 0) {
+                    csv.append(',');
+                    if (random.nextInt(4) == 0) {
+                        // Whitespace before a quoted field is dropped by both parsers. OpenCSV
+                        // misreads such a field if it starts with an escaped quote, so skip that.
+                        csv.append("  \"a");
+                        csv.append(randomQuoted(random).substring(1));
+                        continue;
+                    }
+                }
+                csv.append(random.nextBoolean() ? randomQuoted(random) : randomText(random));
+            }
+            boolean last = line == lines - 1;
+            if (!last || random.nextBoolean()) {
+                csv.append(random.nextBoolean() ? "\n" : "\r\n");
+            }
+        }
+        return csv.toString();
+    }
+
+    private String randomQuoted(Random random) {
+        StringBuilder field = new StringBuilder("\"");
+        int length = random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(8)) {
+                case 0 -> field.append("\"\"");
+                case 1 -> field.append(',');
+                case 2 -> field.append('\n');
+                default -> field.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+        }
+        return field.append('"').toString();
+    }
+
+    private String randomText(Random random) {
+        char[] text = new char[1 + random.nextInt(10)];
+        for (int i = 0; i < text.length; i++) {
+            text[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        return new String(text);
+    }
+}
@@ -1,5 +1,7 @@
 package com.enviro.assessment.grad001.amosmaganyane.services;
 
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheProperties;
+import com.enviro.assessment.grad001.amosmaganyane.config.SearchCacheProperties;
 import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
 import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
 import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
@@ -30,6 +32,12 @@ class RecyclingTipServiceTest {
     @Mock
     private WasteCategoryRepository categoryRepository;
 
+    @Mock
+    private TrigramIndex trigramIndex;
+
+    @Mock
+    private FuzzyIndex fuzzyIndex;
+
     private RecyclingTipService service;
     private WasteCategory testCategory;
 
@@ -38,7 +46,11 @@ class RecyclingTipServiceTest {
      */
     @BeforeEach
     void initializeRepositories() {
-        service = new RecyclingTipServiceImpl(tipRepository, categoryRepository);
+        EntityCacheManager cacheManager = new EntityCacheManager(new CacheProperties());
+        service = new RecyclingTipServiceImpl(tipRepository, categoryRepository, cacheManager,
+                new CategoryLeaderboard(categoryRepository, cacheManager),
+                new SearchResultCache(new SearchCacheProperties(), cacheManager), trigramIndex, fuzzyIndex,
+                List.of());
         testCategory = new WasteCategory(1L, "Recyclable", "Description");
     }
 
@@ -63,6 +75,33 @@ class RecyclingTipServiceTest {
         assertNotNull(created.getId());
         assertEquals("Paper Recycling", created.getTitle());
         verify(tipRepository).save(any(RecyclingTip.class));
+        verify(categoryRepository).adjustTipCount(categoryId, 1);
+    }
+
+    /**
+     * Verifies that deleting a tip decrements its category's stored count.
+     */
+    @Test
+    void testDeleteTipDecrementsCategoryCount() {
+        RecyclingTip tip = new RecyclingTip(5L, "Paper Recycling",
+                "How to recycle paper properly", testCategory);
+        when(tipRepository.findById(5L)).thenReturn(Optional.of(tip));
+
+        service.deleteTip(5L);
+
+        verify(tipRepository).delete(tip);
+        verify(categoryRepository).adjustTipCount(1L, -1);
+    }
+
+    /**
+     * Verifies that deleting a missing tip leaves the counts untouched.
+     */
+    @Test
+    void testDeleteTipNotFound() {
+        when(tipRepository.findById(5L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalStateException.class, () -> service.deleteTip(5L));
+        verify(categoryRepository, never()).adjustTipCount(any(), anyInt());
     }
 
     /**
@@ -141,6 +180,42 @@ class RecyclingTipServiceTest {
         verify(tipRepository, never()).save(any());
     }
 
+    /**
+     * Verifies that a tip read by ID is served from the cache on the next read.
+     */
+    @Test
+    void testGetTipByIdIsCached() {
+        RecyclingTip tip = new RecyclingTip(1L, "Paper Recycling",
+                "How to recycle paper properly", testCategory);
+        when(tipRepository.findById(1L)).thenReturn(Optional.of(tip));
+
+        assertEquals(Optional.of(tip), service.getTipById(1L));
+        assertEquals(Optional.of(tip), service.getTipById(1L));
+
+        verify(tipRepository, times(1)).findById(1L);
+    }
+
+    /**
+     * Verifies that updating a tip evicts it, so the next read sees the new title.
+     */
+    @Test
+    void testUpdateTipInvalidatesCachedTip() {
+        RecyclingTip existingTip = new RecyclingTip(1L, "Old Title", "Old content", testCategory);
+        RecyclingTip updatedTip = new RecyclingTip(1L, "Updated Title", "Updated content",
+                testCategory);
+        when(tipRepository.findById(1L))
+                .thenReturn(Optional.of(existingTip))
+                .thenReturn(Optional.of(existingTip))
+                .thenReturn(Optional.of(updatedTip));
+        when(tipRepository.save(any(RecyclingTip.class))).thenReturn(updatedTip);
+
+        service.getTipById(1L);
+        service.updateTip(1L, new RecyclingTip(1L, "Updated Title", "Updated content", null));
+
+        assertEquals("Updated Title", service.getTipById(1L).orElseThrow().getTitle());
+        verify(tipRepository, times(3)).findById(1L);
+    }
+
     /**
      * Tests the search functionality for recycling tips with a matching keyword.
      * Verifies that the search returns tips with titles containing the keyword.
@@ -152,8 +227,8 @@ class RecyclingTipServiceTest {
                 new RecyclingTip(1L, "Paper Recycling",
                         "Content about paper recycling", testCategory)
         );
-        when(tipRepository.findByTitleContainingIgnoreCase(keyword))
-                .thenReturn(expectedTips);
+        when(trigramIndex.search(EntityCacheManager.TIPS, keyword)).thenReturn(List.of(1L));
+        when(tipRepository.findById(1L)).thenReturn(Optional.of(expectedTips.get(0)));
 
         List<RecyclingTip> results = service.searchTips(keyword);
 
@@ -162,6 +237,25 @@ class RecyclingTipServiceTest {
         assertTrue(results.get(0).getTitle().toLowerCase().contains(keyword));
     }
 
+    /**
+     * Verifies that a fuzzy search returns tips in the order the fuzzy index
+     * ranks them, skipping any no longer found, and all tips for a blank keyword.
+     */
+    @Test
+    void shouldFuzzySearchTipsInRankedOrder() {
+        RecyclingTip polystyrene = new RecyclingTip(2L, "Polystyrene", "Check the code", testCategory);
+        RecyclingTip trays = new RecyclingTip(1L, "Rinse Polystyrene Trays", "Rinse first", testCategory);
+        when(fuzzyIndex.search(EntityCacheManager.TIPS, "polystyrine")).thenReturn(List.of(2L, 3L, 1L));
+        when(tipRepository.findById(2L)).thenReturn(Optional.of(polystyrene));
+        when(tipRepository.findById(3L)).thenReturn(Optional.empty());
+        when(tipRepository.findById(1L)).thenReturn(Optional.of(trays));
+        when(tipRepository.findAll()).thenReturn(List.of(trays, polystyrene));
+
+        assertEquals(List.of(polystyrene, trays), service.fuzzySearchTips("polystyrine"));
+        assertEquals(2, service.fuzzySearchTips(" ").size());
+        verify(trigramIndex, never()).search(any(), any());
+    }
+
     /**
      * Tests the validation of tip content.
      * Verifies that content meets length requirements and isn't null or empty.
@@ -207,21 +301,22 @@ class RecyclingTipServiceTest {
     @Test
     void testCountRecyclingTipsInCategory() {
         Long categoryId = 1L;
-        WasteCategory mockCategory = mock(WasteCategory.class);
-        List<RecyclingTip> tips = List.of(
-                new RecyclingTip(1L, "Tip 1",
-                        "Content 1", mockCategory),
-                new RecyclingTip(2L, "Tip 2",
-                        "Content 2", mockCategory)
-        );
-
-        when(categoryRepository.findById(categoryId))
-                .thenReturn(Optional.of(mockCategory));
-        when(mockCategory.getRecyclingTips()).thenReturn(tips);
+        when(categoryRepository.findTipCountById(categoryId)).thenReturn(Optional.of(2));
 
         int count = service.countTipsInCategory(categoryId);
 
         assertEquals(2, count);
+        verify(categoryRepository, never()).findById(any());
+    }
+
+    /**
+     * Verifies that counting tips of a missing category is rejected.
+     */
+    @Test
+    void testCountRecyclingTipsInMissingCategory() {
+        when(categoryRepository.findTipCountById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> service.countTipsInCategory(99L));
     }
 
     /**
@@ -234,14 +329,14 @@ class RecyclingTipServiceTest {
         List<RecyclingTip> expectedTips = List.of(
                 new RecyclingTip(1L, "Paper Recycling", "Content", testCategory)
         );
-        when(tipRepository.findByTitleContainingIgnoreCase(keyword))
-                .thenReturn(expectedTips);
+        when(trigramIndex.search(EntityCacheManager.TIPS, keyword)).thenReturn(List.of(1L));
+        when(tipRepository.findById(1L)).thenReturn(Optional.of(expectedTips.get(0)));
 
         List<RecyclingTip> results = service.searchTips(keyword);
 
         assertEquals(1, results.size());
         assertEquals("Paper Recycling", results.get(0).getTitle());
-        verify(tipRepository).findByTitleContainingIgnoreCase(keyword);
+        verify(trigramIndex).search(EntityCacheManager.TIPS, keyword);
     }
 
     /**
@@ -260,7 +355,7 @@ class RecyclingTipServiceTest {
 
         assertEquals(2, results.size());
         verify(tipRepository).findAll();
-        verify(tipRepository, never()).findByTitleContainingIgnoreCase(any());
+        verify(trigramIndex, never()).search(any(), any());
     }
 
     /**
@@ -279,6 +374,6 @@ class RecyclingTipServiceTest {
 
         assertEquals(2, results.size());
         verify(tipRepository).findAll();
-        verify(tipRepository, never()).findByTitleContainingIgnoreCase(any());
+        verify(trigramIndex, never()).search(any(), any());
     }
 }
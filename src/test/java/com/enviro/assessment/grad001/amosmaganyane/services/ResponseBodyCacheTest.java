@@ -0,0 +1,117 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.ResponseCacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ResponseBodyCache.
+ * Encodes lists of strings with a plain ObjectMapper.
+ */
+class ResponseBodyCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ResponseCacheProperties properties = new ResponseCacheProperties();
+    private final ResponseBodyCache cache = new ResponseBodyCache(objectMapper, properties);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private static ContentVersion version(long version) {
+        return new ContentVersion(version, "\"tips-" + version + "\"", 0);
+    }
+
+    private List<String> load() {
+        loads.incrementAndGet();
+        return List.of("Rinse", "Caps");
+    }
+
+    /**
+     * Verifies that a body is encoded once per version and reused until the version changes.
+     */
+    @Test
+    void testBodyIsReusedUntilVersionChanges() {
+        EncodedBody first = cache.get("tips", version(1), null, this::load);
+        EncodedBody second = cache.get("tips", version(1), null, this::load);
+
+        assertEquals("[\"Rinse\",\"Caps\"]", new String(first.getBytes(), StandardCharsets.UTF_8));
+        assertSame(first.getBytes(), second.getBytes());
+        assertEquals(1, loads.get());
+
+        cache.get("tips", version(2), null, this::load);
+        assertEquals(2, loads.get());
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+    }
+
+    /**
+     * Verifies that large bodies are gzip-compressed for clients that accept it,
+     * and that the compressed bytes decode to the plain body.
+     */
+    @Test
+    void testLargeBodyIsCompressedForGzipClients() throws IOException {
+        List<String> tips = Collections.nCopies(200, "Rinse containers before recycling them");
+
+        EncodedBody plain = cache.get("tips", version(1), null, () -> tips);
+        EncodedBody gzip = cache.get("tips", version(1), "br, gzip;q=0.8", () -> tips);
+
+        assertFalse(plain.isGzip());
+        assertTrue(gzip.isGzip());
+        assertEquals("gzip", gzip.getHeaders().getFirst("Content-Encoding"));
+        assertTrue(gzip.getBytes().length < plain.getBytes().length / 10);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getBytes()))) {
+            assertArrayEquals(plain.getBytes(), in.readAllBytes());
+        }
+    }
+
+    /**
+     * Verifies that bodies below the minimum size, or with gzip turned off, are sent uncompressed.
+     */
+    @Test
+    void testSmallBodyIsNotCompressed() {
+        assertFalse(cache.get("tips", version(1), "gzip", this::load).isGzip());
+
+        properties.setGzip(false);
+        List<String> tips = Collections.nCopies(200, "Rinse containers before recycling them");
+        assertFalse(cache.get("guidelines", version(1), "gzip", () -> tips).isGzip());
+    }
+
+    /**
+     * Verifies that a disabled cache encodes every response.
+     */
+    @Test
+    void testDisabledCacheEncodesEveryResponse() {
+        properties.setEnabled(false);
+
+        cache.get("tips", version(1), null, this::load);
+        cache.get("tips", version(1), null, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.getStats().getSize());
+    }
+
+    /**
+     * Verifies the parsing of Accept-Encoding headers.
+     */
+    @Test
+    void testAcceptsGzip() {
+        assertTrue(ResponseBodyCache.acceptsGzip("gzip, deflate, br"));
+        assertTrue(ResponseBodyCache.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(ResponseBodyCache.acceptsGzip("*"));
+        assertFalse(ResponseBodyCache.acceptsGzip(null));
+        assertFalse(ResponseBodyCache.acceptsGzip("identity"));
+        assertFalse(ResponseBodyCache.acceptsGzip("gzip;q=0"));
+        assertFalse(ResponseBodyCache.acceptsGzip("br, gzip; q=0.000"));
+        assertFalse(ResponseBodyCache.acceptsGzip("x-gzip"));
+    }
+}
@@ -0,0 +1,261 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheProperties;
+import com.enviro.assessment.grad001.amosmaganyane.config.SearchCacheProperties;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SearchKeywordDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SearchResultCache.
+ * Rows are titles held in a map, and every search of the map is counted.
+ */
+class SearchResultCacheTest {
+
+    private final Map<Long, String> titles = new TreeMap<>();
+    private final AtomicInteger queries = new AtomicInteger();
+    private final AtomicLong clock = new AtomicLong();
+    private EntityCacheManager cacheManager;
+    private SearchResultCache cache;
+
+    /**
+     * Creates a cache holding at most three keywords for one minute, and three tips.
+     */
+    @BeforeEach
+    void initializeCache() {
+        cacheManager = new EntityCacheManager(new CacheProperties());
+        cache = createCache(true);
+        titles.put(1L, "Rinse Plastic Bottles");
+        titles.put(2L, "Flatten Plastic Containers");
+        titles.put(3L, "Fold Cardboard");
+    }
+
+    private SearchResultCache createCache(boolean enabled) {
+        SearchCacheProperties properties = new SearchCacheProperties();
+        properties.setEnabled(enabled);
+        properties.setMaxEntries(3);
+        properties.setTtl(Duration.ofMinutes(1));
+        return new SearchResultCache(properties, cacheManager, clock::get);
+    }
+
+    private List<String> search(String keyword) {
+        return cache.search(EntityCacheManager.TIPS, SearchResultCache.normalize(keyword), this::query,
+                this::idOf, id -> Optional.ofNullable(titles.get(id)));
+    }
+
+    private List<String> query(String keyword) {
+        queries.incrementAndGet();
+        return titles.values().stream()
+                .filter(title -> title.toLowerCase().contains(keyword))
+                .toList();
+    }
+
+    private Long idOf(String title) {
+        return titles.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(title))
+                .findFirst().orElseThrow().getKey();
+    }
+
+    /**
+     * Verifies that keywords are trimmed, have inner whitespace collapsed and are folded to lower case.
+     */
+    @Test
+    void testNormalize() {
+        assertEquals("plastic bottles", SearchResultCache.normalize("  Plastic \t  BOTTLES\n"));
+        assertEquals("glass", SearchResultCache.normalize("glass"));
+    }
+
+    /**
+     * Verifies that spellings of one keyword share an entry, and that a hit
+     * returns the rows without searching again.
+     */
+    @Test
+    void testRepeatedSearchIsAnsweredFromCache() {
+        assertEquals(List.of("Rinse Plastic Bottles", "Flatten Plastic Containers"), search("plastic"));
+        assertEquals(List.of("Rinse Plastic Bottles", "Flatten Plastic Containers"), search("  PLASTIC "));
+        search("Plastic");
+
+        assertEquals(1, queries.get());
+        CacheStats stats = cache.getStats();
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+    }
+
+    /**
+     * Verifies that a hit returns the current state of each row, as read by the lookup.
+     */
+    @Test
+    void testHitReadsRowsThroughLookup() {
+        search("cardboard");
+        titles.put(3L, "Fold Cardboard Flat");
+
+        assertEquals(List.of("Fold Cardboard Flat"), search("cardboard"));
+        assertEquals(1, queries.get());
+    }
+
+    /**
+     * Verifies that a write drops the results containing the row and leaves the others.
+     */
+    @Test
+    void testInvalidateDropsResultsContainingRow() {
+        search("plastic");
+        search("cardboard");
+
+        titles.put(2L, "Flatten Containers");
+        cache.invalidate(EntityCacheManager.TIPS, 2L, "Flatten Containers");
+
+        assertEquals(List.of("Rinse Plastic Bottles"), search("plastic"));
+        search("cardboard");
+        assertEquals(3, queries.get());
+    }
+
+    /**
+     * Verifies that a new row drops the results whose keyword it contains,
+     * including results that matched nothing.
+     */
+    @Test
+    void testInvalidateDropsResultsMatchingNewText() {
+        assertEquals(List.of(), search("glass"));
+        search("plastic");
+
+        titles.put(4L, "Sort Glass Jars");
+        cache.invalidate(EntityCacheManager.TIPS, 4L, "Sort  GLASS Jars");
+
+        assertEquals(List.of("Sort Glass Jars"), search("glass"));
+        search("plastic");
+        assertEquals(3, queries.get());
+    }
+
+    /**
+     * Verifies that a write to one collection leaves the results of the others.
+     */
+    @Test
+    void testInvalidateIsPerCollection() {
+        search("plastic");
+
+        cache.invalidate(EntityCacheManager.GUIDELINES, 1L, "Plastic");
+        search("plastic");
+        assertEquals(1, queries.get());
+
+        cache.invalidateAll(EntityCacheManager.TIPS);
+        search("plastic");
+        assertEquals(2, queries.get());
+    }
+
+    /**
+     * Verifies that a row deleted without the cache being told makes the search run again.
+     */
+    @Test
+    void testMissingRowSearchesAgain() {
+        search("plastic");
+        titles.remove(1L);
+
+        assertEquals(List.of("Flatten Plastic Containers"), search("plastic"));
+        assertEquals(2, queries.get());
+        assertEquals(List.of("Flatten Plastic Containers"), search("plastic"));
+        assertEquals(2, queries.get());
+    }
+
+    /**
+     * Verifies that the least recently used keyword is evicted once the cache
+     * is full, and that results expire after the TTL.
+     */
+    @Test
+    void testEvictionAndExpiry() {
+        search("plastic");
+        search("cardboard");
+        search("fold");
+        search("plastic");
+        search("rinse");
+        assertEquals(4, queries.get());
+
+        search("plastic");
+        search("cardboard");
+        assertEquals(5, queries.get());
+
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+        search("plastic");
+        assertEquals(6, queries.get());
+
+        CacheStats stats = cache.getStats();
+        assertEquals(2, stats.getEvictions());
+        assertEquals(1, stats.getExpirations());
+    }
+
+    /**
+     * Verifies that emptying the entity caches, as bulk imports do, empties the search cache.
+     */
+    @Test
+    void testInvalidateAllEmptiesCache() {
+        search("plastic");
+
+        cacheManager.invalidateAll();
+
+        assertEquals(0, cache.getStats().getSize());
+        search("plastic");
+        assertEquals(2, queries.get());
+    }
+
+    /**
+     * Verifies that a result loaded while a write invalidated the cache is not stored.
+     */
+    @Test
+    void testResultLoadedDuringInvalidationIsNotStored() {
+        cache.search(EntityCacheManager.TIPS, "plastic", keyword -> {
+            List<String> rows = query(keyword);
+            cache.invalidate(EntityCacheManager.TIPS, 1L, "Rinse Bottles");
+            return rows;
+        }, this::idOf, id -> Optional.ofNullable(titles.get(id)));
+
+        search("plastic");
+        assertEquals(2, queries.get());
+    }
+
+    /**
+     * Verifies that the top keywords are ordered by hits and report their result counts.
+     */
+    @Test
+    void testTopKeywords() {
+        search("cardboard");
+        search("plastic");
+        search("plastic");
+        search("plastic");
+        search("cardboard");
+        search("glass");
+
+        List<SearchKeywordDTO> top = cache.getTopKeywords(2);
+        assertEquals(List.of("plastic", "cardboard"), top.stream().map(SearchKeywordDTO::getKeyword).toList());
+        assertEquals(2, top.get(0).getHits());
+        assertEquals(2, top.get(0).getResults());
+        assertEquals(EntityCacheManager.TIPS, top.get(0).getCollection());
+        assertEquals(1, top.get(1).getHits());
+    }
+
+    /**
+     * Verifies that a disabled cache searches every time but still counts the searches.
+     */
+    @Test
+    void testDisabledCacheAlwaysSearches() {
+        cache = createCache(false);
+
+        search("plastic");
+        search("plastic");
+
+        assertEquals(2, queries.get());
+        CacheStats stats = cache.getStats();
+        assertFalse(stats.isEnabled());
+        assertEquals(2, stats.getMisses());
+        assertEquals(0, stats.getSize());
+    }
+}
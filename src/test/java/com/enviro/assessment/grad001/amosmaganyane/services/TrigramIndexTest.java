@@ -0,0 +1,227 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheConfig;
+import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
+import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.RecyclingTipRepository;
+import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureJdbc;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for TrigramIndex.
+ * Every search is compared with the repositories' LIKE queries on the same data.
+ */
+@DataJpaTest
+@AutoConfigureJdbc
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CacheConfig.class, WasteCategoryServiceImpl.class, RecyclingTipServiceImpl.class,
+        DisposalGuidelineServiceImpl.class, CategoryLeaderboard.class, SearchResultCache.class,
+        TrigramIndex.class, FuzzyIndex.class})
+class TrigramIndexTest {
+
+    // Mixed case, LIKE wildcards and the escape character, and letters whose case folding is unusual
+    private static final String ALPHABET = "abcABC xyz-09%_\\ßéÉıİ";
+    private static final String TIP_CONTENT = "Rinse containers before recycling them";
+    private static final String INSTRUCTIONS = "Take to the designated collection point";
+
+    @Autowired
+    private TrigramIndex trigramIndex;
+
+    @Autowired
+    private WasteCategoryService categoryService;
+
+    @Autowired
+    private RecyclingTipService tipService;
+
+    @Autowired
+    private DisposalGuidelineService guidelineService;
+
+    @Autowired
+    private WasteCategoryRepository categoryRepository;
+
+    @Autowired
+    private RecyclingTipRepository tipRepository;
+
+    @Autowired
+    private DisposalGuidelineRepository guidelineRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Random random = new Random(22);
+
+    /**
+     * Empties the tables, since each test commits its own data.
+     */
+    @BeforeEach
+    void emptyTables() {
+        jdbcTemplate.update("DELETE FROM disposal_guidelines");
+        jdbcTemplate.update("DELETE FROM recycling_tips");
+        jdbcTemplate.update("DELETE FROM waste_categories");
+        trigramIndex.markStale();
+    }
+
+    private String randomText(int maxLength) {
+        StringBuilder text = new StringBuilder();
+        for (int i = random.nextInt(maxLength + 1); i > 0; i--) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+
+    // Half the keywords are pieces of existing texts, with their case changed at random
+    private String randomKeyword(List<String> texts) {
+        String text = texts.get(random.nextInt(texts.size()));
+        if (random.nextBoolean() || text.isEmpty()) {
+            return randomText(5);
+        }
+        int start = random.nextInt(text.length());
+        String piece = text.substring(start, start + 1 + random.nextInt(Math.min(6, text.length() - start)));
+        return random.nextBoolean() ? piece.toUpperCase(Locale.ROOT) : piece.toLowerCase(Locale.ROOT);
+    }
+
+    private void assertSameAsLike(List<String> texts) {
+        for (int i = 0; i < 300; i++) {
+            String keyword = randomKeyword(texts);
+            assertEquals(like(categoryRepository::findByNameContainingIgnoreCase, WasteCategory::getId, keyword),
+                    trigramIndex.search(EntityCacheManager.CATEGORIES, keyword), keyword);
+            assertEquals(like(tipRepository::findByTitleContainingIgnoreCase, RecyclingTip::getId, keyword),
+                    trigramIndex.search(EntityCacheManager.TIPS, keyword), keyword);
+            assertEquals(like(guidelineRepository::findByTitleContainingIgnoreCase, DisposalGuideline::getId,
+                    keyword), trigramIndex.search(EntityCacheManager.GUIDELINES, keyword), keyword);
+        }
+    }
+
+    private static <T> List<Long> like(Function<String, List<T>> query, Function<T, Long> idOf, String keyword) {
+        return query.apply(keyword).stream().map(idOf).sorted().toList();
+    }
+
+    /**
+     * Verifies on random names and titles, and random keywords, that the
+     * index finds exactly the rows the LIKE queries find, in ID order.
+     */
+    @Test
+    void testMatchesLikeQueries() {
+        List<String> texts = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            String name = randomText(12);
+            String tipTitle = randomText(30);
+            String guidelineTitle = randomText(30);
+            texts.addAll(List.of(name, tipTitle, guidelineTitle));
+            jdbcTemplate.update("INSERT INTO waste_categories (id, name, description, guideline_count, tip_count) "
+                    + "VALUES (?, ?, 'Description', 1, 1)", id, name);
+            jdbcTemplate.update("INSERT INTO recycling_tips (id, title, content, category_id) VALUES (?, ?, ?, ?)",
+                    id, tipTitle, TIP_CONTENT, id);
+            jdbcTemplate.update("INSERT INTO disposal_guidelines (id, title, instructions, category_id) "
+                    + "VALUES (?, ?, ?, ?)", id, guidelineTitle, INSTRUCTIONS, id);
+        }
+
+        assertEquals(200, trigramIndex.size(EntityCacheManager.TIPS));
+        assertSameAsLike(texts);
+    }
+
+    /**
+     * Verifies that creates, renames and deletes through the services,
+     * including deleting a category with its children, keep the index equal
+     * to the LIKE queries without rebuilding it.
+     */
+    @Test
+    void testFollowsServiceWrites() {
+        List<String> texts = new ArrayList<>();
+        List<Long> categoryIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String name = "Category " + randomText(10);
+            texts.add(name);
+            categoryIds.add(categoryService.createCategory(new WasteCategory(null, name, "Description")).getId());
+        }
+        // Load the index before the writes, so they are applied to it
+        trigramIndex.size(EntityCacheManager.TIPS);
+        List<Long> tipIds = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Long categoryId = categoryIds.get(random.nextInt(categoryIds.size()));
+            String tipTitle = "Tip " + randomText(20);
+            String guidelineTitle = "Guideline " + randomText(20);
+            texts.addAll(List.of(tipTitle, guidelineTitle));
+            tipIds.add(tipService.createTip(categoryId, new RecyclingTip(null, tipTitle, TIP_CONTENT, null)).getId());
+            guidelineService.createGuideline(categoryId,
+                    new DisposalGuideline(null, guidelineTitle, INSTRUCTIONS, null));
+        }
+        for (int i = 0; i < 20; i++) {
+            String title = "Renamed " + randomText(20);
+            texts.add(title);
+            tipService.updateTip(tipIds.get(i), new RecyclingTip(null, title, TIP_CONTENT, null));
+        }
+        for (int i = 20; i < 30; i++) {
+            tipService.deleteTip(tipIds.get(i));
+        }
+        categoryService.updateCategory(categoryIds.get(0), new WasteCategory(null, "Renamed Category", "Description"));
+        texts.add("Renamed Category");
+        categoryService.deleteCategory(categoryIds.get(1));
+
+        assertSameAsLike(texts);
+        assertEquals(tipRepository.count(), trigramIndex.size(EntityCacheManager.TIPS));
+        assertEquals(guidelineRepository.count(), trigramIndex.size(EntityCacheManager.GUIDELINES));
+    }
+
+    /**
+     * Verifies that the service searches return the rows the index finds,
+     * for keywords of every length.
+     */
+    @Test
+    void testServiceSearchesUseIndex() {
+        Long plasticId = categoryService.createCategory(
+                new WasteCategory(null, "Recyclable Plastic", "Plastic")).getId();
+        categoryService.createCategory(new WasteCategory(null, "Hazardous Waste", "Hazardous"));
+        tipService.createTip(plasticId, new RecyclingTip(null, "Styrofoam Trays", TIP_CONTENT, null));
+        tipService.createTip(plasticId, new RecyclingTip(null, "Rinse Bottles", TIP_CONTENT, null));
+        guidelineService.createGuideline(plasticId,
+                new DisposalGuideline(null, "Lithium Batteries", INSTRUCTIONS, null));
+
+        assertEquals(List.of("Styrofoam Trays"),
+                tipService.searchTips("styro").stream().map(RecyclingTip::getTitle).toList());
+        assertEquals(List.of("Styrofoam Trays", "Rinse Bottles"),
+                tipService.searchTips("s").stream().map(RecyclingTip::getTitle).toList());
+        assertEquals(List.of("Lithium Batteries"),
+                guidelineService.searchGuidelines("LITH").stream().map(DisposalGuideline::getTitle).toList());
+        assertEquals(List.of("Recyclable Plastic"),
+                categoryService.searchCategories("plast").stream().map(WasteCategory::getName).toList());
+        assertEquals(List.of(plasticId),
+                categoryService.searchCategorySummaries("le p").stream().map(WasteCategoryDTO::getId).toList());
+        assertTrue(tipService.searchTips("trays rinse").isEmpty());
+    }
+
+    /**
+     * Verifies that rows written around the services are found once the
+     * entity caches are emptied, as bulk imports do.
+     */
+    @Test
+    void testInvalidateAllRebuildsIndex(@Autowired EntityCacheManager cacheManager) {
+        assertEquals(List.of(), trigramIndex.search(EntityCacheManager.CATEGORIES, "glass"));
+        jdbcTemplate.update("INSERT INTO waste_categories (id, name, description, guideline_count, tip_count) "
+                + "VALUES (7, 'Glass', 'Jars', 0, 0)");
+
+        cacheManager.invalidateAll();
+
+        assertEquals(List.of(7L), trigramIndex.search(EntityCacheManager.CATEGORIES, "glass"));
+        assertThrows(IllegalArgumentException.class, () -> trigramIndex.search("articles", "glass"));
+    }
+}
@@ -0,0 +1,184 @@
+package com.enviro.assessment.grad001.amosmaganyane.services;
+
+import com.enviro.assessment.grad001.amosmaganyane.config.UnifiedSearchProperties;
+import com.enviro.assessment.grad001.amosmaganyane.dto.CategoryFacetDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SearchGroupDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SearchHitDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.SearchResultsDTO;
+import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
+import com.enviro.assessment.grad001.amosmaganyane.models.DisposalGuideline;
+import com.enviro.assessment.grad001.amosmaganyane.models.RecyclingTip;
+import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UnifiedSearchService.
+ * Sources run on a real thread pool so that timeouts can be checked.
+ */
+@ExtendWith(MockitoExtension.class)
+class UnifiedSearchServiceTest {
+
+    @Mock
+    private WasteCategoryService categoryService;
+
+    @Mock
+    private RecyclingTipService tipService;
+
+    @Mock
+    private DisposalGuidelineService guidelineService;
+
+    private ExecutorService executor;
+    private UnifiedSearchProperties properties;
+    private UnifiedSearchService service;
+    private WasteCategory plastics;
+    private WasteCategory hazardous;
+
+    @BeforeEach
+    void initializeService() {
+        executor = Executors.newFixedThreadPool(3);
+        properties = new UnifiedSearchProperties();
+        service = new UnifiedSearchService(categoryService, tipService, guidelineService, executor, properties);
+        plastics = new WasteCategory(1L, "Plastics", "Plastic waste");
+        hazardous = new WasteCategory(2L, "Hazardous", "Hazardous waste");
+    }
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Verifies that matches of every kind are merged on one score, grouped by
+     * kind with the best group first, and counted per category.
+     */
+    @Test
+    void shouldMergeGroupAndFacetMatchesFromEverySource() {
+        when(categoryService.searchCategorySummaries("plastic")).thenReturn(List.of(
+                new WasteCategoryDTO(1L, "Plastics", "Plastic waste", 1, 2)));
+        when(tipService.searchTips("plastic")).thenReturn(List.of(
+                new RecyclingTip(10L, "Rinse plastic bottles", "Content", plastics),
+                new RecyclingTip(11L, "Plastic", "Content", plastics)));
+        when(guidelineService.searchGuidelines("plastic")).thenReturn(List.of(
+                new DisposalGuideline(20L, "Burning bioplastics", "Instructions", hazardous)));
+
+        SearchResultsDTO results = service.search("  plastic ", 10);
+
+        assertEquals("plastic", results.getQuery());
+        assertEquals(List.of(), results.getUnavailable());
+        assertEquals(List.of("tip:11", "category:1", "tip:10", "guideline:20"),
+                results.getHits().stream().map(hit -> hit.getType() + ":" + hit.getId()).toList());
+        assertEquals(List.of("tip", "category", "guideline"),
+                results.getGroups().stream().map(SearchGroupDTO::getType).toList());
+        assertEquals(2, results.getGroups().get(0).getTotal());
+        assertEquals(List.of("1:Plastics:3", "2:Hazardous:1"), results.getFacets().stream()
+                .map(facet -> facet.getCategoryId() + ":" + facet.getCategoryName() + ":" + facet.getCount())
+                .toList());
+    }
+
+    /**
+     * Verifies that the limit applies to the merged hits and to each group,
+     * while group totals and facets still count every match.
+     */
+    @Test
+    void shouldLimitHitsButCountEveryMatch() {
+        when(categoryService.searchCategorySummaries("bag")).thenReturn(List.of());
+        when(tipService.searchTips("bag")).thenReturn(List.of(
+                new RecyclingTip(10L, "Bag reuse", "Content", plastics),
+                new RecyclingTip(11L, "Bags for life", "Content", plastics),
+                new RecyclingTip(12L, "Return shopping bags", "Content", plastics)));
+        when(guidelineService.searchGuidelines("bag")).thenReturn(List.of());
+
+        SearchResultsDTO results = service.search("bag", 2);
+
+        assertEquals(2, results.getHits().size());
+        SearchGroupDTO tips = results.getGroups().get(0);
+        assertEquals("tip", tips.getType());
+        assertEquals(3, tips.getTotal());
+        assertEquals(List.of(10L, 11L), tips.getHits().stream().map(SearchHitDTO::getId).toList());
+        assertEquals(0, results.getGroups().get(1).getTotal());
+        assertEquals(List.of(3), results.getFacets().stream().map(CategoryFacetDTO::getCount).toList());
+    }
+
+    /**
+     * Verifies that a source still running at the timeout is reported as
+     * unavailable while the other sources' results are returned.
+     */
+    @Test
+    void shouldLeaveOutSourceThatTimesOut() throws Exception {
+        properties.setSourceTimeout(Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        when(categoryService.searchCategorySummaries("glass")).thenReturn(List.of(
+                new WasteCategoryDTO(3L, "Glass", "Glass waste", 0, 0)));
+        when(tipService.searchTips("glass")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        when(guidelineService.searchGuidelines("glass")).thenReturn(List.of());
+
+        long start = System.nanoTime();
+        SearchResultsDTO results = service.search("glass", 10);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        assertTrue(elapsedMillis < 2_000, "search waited " + elapsedMillis + "ms");
+        assertEquals(List.of("tip"), results.getUnavailable());
+        assertEquals(List.of("category", "guideline"),
+                results.getGroups().stream().map(SearchGroupDTO::getType).toList());
+        assertEquals(3L, results.getHits().get(0).getId());
+    }
+
+    /**
+     * Verifies that a source that fails is reported as unavailable.
+     */
+    @Test
+    void shouldLeaveOutSourceThatFails() {
+        when(categoryService.searchCategorySummaries("oil")).thenThrow(new IllegalStateException("down"));
+        when(tipService.searchTips("oil")).thenReturn(List.of());
+        when(guidelineService.searchGuidelines("oil")).thenReturn(List.of(
+                new DisposalGuideline(20L, "Used oil", "Instructions", hazardous)));
+
+        SearchResultsDTO results = service.search("oil", 10);
+
+        assertEquals(List.of("category"), results.getUnavailable());
+        assertEquals(List.of(20L), results.getHits().stream().map(SearchHitDTO::getId).toList());
+    }
+
+    /**
+     * Verifies that a blank query or a limit below 1 is rejected without searching.
+     */
+    @Test
+    void shouldRejectBlankQueryOrLimitBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> service.search(" ", 10));
+        assertThrows(IllegalArgumentException.class, () -> service.search("glass", 0));
+
+        verify(tipService, never()).searchTips(anyString());
+    }
+
+    /**
+     * Verifies the score tiers: whole title, start of title, start of a word, elsewhere.
+     */
+    @Test
+    void shouldScoreByWhereTheQueryOccurs() {
+        assertEquals(4.0, UnifiedSearchService.score("glass", "Glass"));
+        assertEquals(2.5, UnifiedSearchService.score("glass", "Glass jars"), 1e-9);
+        assertEquals(1.5, UnifiedSearchService.score("glass", "Sort glass"), 1e-9);
+        assertEquals(0.5, UnifiedSearchService.score("glass", "Fibreglass"), 1e-9);
+        assertEquals(0.0, UnifiedSearchService.score("glass", "Cans"));
+    }
+}
@@ -1,5 +1,8 @@
 package com.enviro.assessment.grad001.amosmaganyane.services;
 
+import com.enviro.assessment.grad001.amosmaganyane.config.CacheProperties;
+import com.enviro.assessment.grad001.amosmaganyane.config.SearchCacheProperties;
+import com.enviro.assessment.grad001.amosmaganyane.dto.WasteCategoryDTO;
 import com.enviro.assessment.grad001.amosmaganyane.models.WasteCategory;
 import com.enviro.assessment.grad001.amosmaganyane.repositories.WasteCategoryRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +17,9 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -28,12 +34,22 @@ class WasteCategoryServiceTest {
     @Mock
     private WasteCategoryRepository wasteCategoryRepository;
 
+    @Mock
+    private TrigramIndex trigramIndex;
+
+    @Mock
+    private FuzzyIndex fuzzyIndex;
+
     /**
      * Initializes the service with a mocked repository before each test.
      */
     @BeforeEach
     void initializeService(){
-        service = new WasteCategoryServiceImpl(wasteCategoryRepository);
+        EntityCacheManager cacheManager = new EntityCacheManager(new CacheProperties());
+        service = new WasteCategoryServiceImpl(wasteCategoryRepository, cacheManager,
+                new CategoryLeaderboard(wasteCategoryRepository, cacheManager),
+                new SearchResultCache(new SearchCacheProperties(), cacheManager), trigramIndex, fuzzyIndex,
+                List.of());
     }
 
     /**
@@ -114,14 +130,28 @@ class WasteCategoryServiceTest {
     @Test
     void shouldHandleEmptySearchResults() {
         String nonExistentKeyword = "NonExistent";
-        when(wasteCategoryRepository.findByNameContainingIgnoreCase(nonExistentKeyword))
-                .thenReturn(List.of());
+        when(trigramIndex.search(EntityCacheManager.CATEGORIES, nonExistentKeyword)).thenReturn(List.of());
 
         List<WasteCategory> results = service.searchCategories(nonExistentKeyword);
 
         assertTrue(results.isEmpty());
     }
 
+    /**
+     * Verifies that categories found by the trigram index are read in one
+     * query and returned in ID order.
+     */
+    @Test
+    void testSearchCategoriesReadsMatchesById() {
+        WasteCategory organic = new WasteCategory(2L, "Organic Recyclables", "Description");
+        WasteCategory recyclable = new WasteCategory(1L, "Recyclable", "Description");
+        when(trigramIndex.search(EntityCacheManager.CATEGORIES, "recycl")).thenReturn(List.of(1L, 2L));
+        when(wasteCategoryRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(organic, recyclable));
+
+        assertEquals(List.of(recyclable, organic), service.searchCategories("recycl"));
+        verify(wasteCategoryRepository, never()).findByNameContainingIgnoreCase(any());
+    }
+
     /**
      * Verifies that all categories are returned when the search keyword is null.
      */
@@ -140,6 +170,57 @@ class WasteCategoryServiceTest {
         assertEquals(2, results.size());
     }
 
+    /**
+     * Verifies that summaries come from the projection query rather than entities.
+     */
+    @Test
+    void testGetAllCategorySummaries() {
+        List<WasteCategoryDTO> summaries = List.of(
+                new WasteCategoryDTO(1L, "Recyclable", "Description", 1L, 2L));
+        when(wasteCategoryRepository.findAllSummaries()).thenReturn(summaries);
+
+        List<WasteCategoryDTO> results = service.getAllCategorySummaries();
+
+        assertEquals(summaries, results);
+        verify(wasteCategoryRepository, never()).findAll();
+    }
+
+    /**
+     * Verifies that a summary search with a keyword reads the summaries of
+     * the categories found by the trigram index, and that a blank keyword
+     * returns every summary.
+     */
+    @Test
+    void testSearchCategorySummaries() {
+        List<WasteCategoryDTO> summaries = List.of(
+                new WasteCategoryDTO(1L, "Recyclable", "Description", 0L, 0L));
+        when(trigramIndex.search(EntityCacheManager.CATEGORIES, "recycl")).thenReturn(List.of(1L));
+        when(wasteCategoryRepository.findSummaryById(1L)).thenReturn(Optional.of(summaries.get(0)));
+        when(wasteCategoryRepository.findAllSummaries()).thenReturn(List.of());
+
+        assertEquals(summaries, service.searchCategorySummaries("recycl"));
+        assertTrue(service.searchCategorySummaries(" ").isEmpty());
+        verify(wasteCategoryRepository).findAllSummaries();
+    }
+
+    /**
+     * Verifies that a summary read by ID is cached until the category is deleted.
+     */
+    @Test
+    void testCategorySummaryIsCachedUntilDeleted() {
+        WasteCategoryDTO summary = new WasteCategoryDTO(1L, "Recyclable", "Description", 0L, 2L);
+        when(wasteCategoryRepository.findSummaryById(1L))
+                .thenReturn(Optional.of(summary))
+                .thenReturn(Optional.empty());
+
+        assertEquals(Optional.of(summary), service.getCategorySummaryById(1L));
+        assertEquals(Optional.of(summary), service.getCategorySummaryById(1L));
+        service.deleteCategory(1L);
+
+        assertTrue(service.getCategorySummaryById(1L).isEmpty());
+        verify(wasteCategoryRepository, times(2)).findSummaryById(1L);
+    }
+
     /**
      * Tests category deletion validation.
      * Verifies that a category with no associated items can be deleted.
@@ -147,12 +228,48 @@ class WasteCategoryServiceTest {
     @Test
     void shouldCheckIfCategoryCanBeDeleted() {
         Long id = 1L;
-        WasteCategory category = new WasteCategory(id, "Recyclable", "Description");
-        when(wasteCategoryRepository.findById(id)).thenReturn(Optional.of(category));
+        when(wasteCategoryRepository.hasChildrenById(id)).thenReturn(Optional.of(false));
+        when(wasteCategoryRepository.hasChildrenById(2L)).thenReturn(Optional.of(true));
+        when(wasteCategoryRepository.hasChildrenById(3L)).thenReturn(Optional.empty());
+
+        assertTrue(service.canDeleteCategory(id));
+        assertFalse(service.canDeleteCategory(2L));
+        assertTrue(service.canDeleteCategory(3L));
+        verify(wasteCategoryRepository, never()).findById(any());
+    }
+
+    /**
+     * Tests the safe delete of a category.
+     * Verifies that an empty category is deleted and its cached summary dropped,
+     * and that the existence query runs only when nothing was deleted.
+     */
+    @Test
+    void shouldDeleteCategoryOnlyIfEmpty() {
+        when(wasteCategoryRepository.findSummaryById(1L))
+                .thenReturn(Optional.of(new WasteCategoryDTO(1L, "Recyclable", "Description", 0, 0)))
+                .thenReturn(Optional.empty());
+        service.getCategorySummaryById(1L);
+        when(wasteCategoryRepository.deleteByIdIfEmpty(1L)).thenReturn(1);
+        when(wasteCategoryRepository.deleteByIdIfEmpty(2L)).thenReturn(0);
+        when(wasteCategoryRepository.existsById(2L)).thenReturn(true);
 
-        boolean canDelete = service.canDeleteCategory(id);
+        assertTrue(service.deleteCategoryIfEmpty(1L));
+        assertFalse(service.deleteCategoryIfEmpty(2L));
 
-        assertTrue(canDelete);
+        assertTrue(service.getCategorySummaryById(1L).isEmpty());
+        verify(wasteCategoryRepository, never()).existsById(1L);
+        verify(wasteCategoryRepository, never()).deleteById(any());
+    }
+
+    /**
+     * Tests that a safe delete of a missing category fails.
+     */
+    @Test
+    void shouldFailSafeDeleteOfMissingCategory() {
+        when(wasteCategoryRepository.deleteByIdIfEmpty(9L)).thenReturn(0);
+        when(wasteCategoryRepository.existsById(9L)).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> service.deleteCategoryIfEmpty(9L));
     }
 
     /**
@@ -162,31 +279,34 @@ class WasteCategoryServiceTest {
     @Test
     void testCountGuidelinesInCategory() {
         Long categoryId = 1L;
-        WasteCategory category = new WasteCategory(categoryId, "Recyclable", "Description");
-        when(wasteCategoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
+        when(wasteCategoryRepository.findGuidelineCountById(categoryId)).thenReturn(Optional.of(4));
+        when(wasteCategoryRepository.findTipCountById(categoryId)).thenReturn(Optional.of(2));
 
-        int count = service.countGuidelinesInCategory(categoryId);
-
-        assertEquals(0, count);
+        assertEquals(4, service.countGuidelinesInCategory(categoryId));
+        assertEquals(2, service.countRecyclingTipsInCategory(categoryId));
+        verify(wasteCategoryRepository, never()).findById(any());
     }
 
     /**
      * Tests retrieval of categories ordered by guideline count.
-     * Verifies that categories are returned in correct order with limit applied.
+     * Verifies that categories are returned in correct order with limit applied,
+     * ranked by the leaderboard rather than by counting guidelines in a query.
      */
     @Test
     void testGetCategoriesWithMostGuidelines() {
         int limit = 2;
-        List<WasteCategory> topCategories = List.of(
-                new WasteCategory(1L, "Recyclable", "Most guidelines"),
-                new WasteCategory(2L, "Organic", "Second most guidelines")
-        );
-        when(wasteCategoryRepository.findTopCategoriesByGuidelineCount(limit))
-                .thenReturn(topCategories);
+        when(wasteCategoryRepository.findAllSummaries()).thenReturn(List.of(
+                new WasteCategoryDTO(1L, "Recyclable", "Fewest guidelines", 1, 0),
+                new WasteCategoryDTO(2L, "Organic", "Most guidelines", 5, 0),
+                new WasteCategoryDTO(3L, "Hazardous", "Second most guidelines", 3, 0)));
+        when(wasteCategoryRepository.findById(2L))
+                .thenReturn(Optional.of(new WasteCategory(2L, "Organic", "Most guidelines")));
+        when(wasteCategoryRepository.findById(3L))
+                .thenReturn(Optional.of(new WasteCategory(3L, "Hazardous", "Second most guidelines")));
 
         List<WasteCategory> result = service.getCategoriesWithMostGuidelines(limit);
 
-        assertEquals(2, result.size());
-        verify(wasteCategoryRepository).findTopCategoriesByGuidelineCount(limit);
+        assertEquals(List.of("Organic", "Hazardous"), result.stream().map(WasteCategory::getName).toList());
+        verify(wasteCategoryRepository, never()).findTopCategoriesByGuidelineCount(anyInt());
     }
 }